@@ -1,6 +1,11 @@
 package io.github.kevinmaggi.coin_collection_manager.app;
 
 import java.awt.EventQueue;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.Callable;
@@ -9,15 +14,33 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import io.github.kevinmaggi.coin_collection_manager.business.change.postgresql.PostgresChangeFeed;
 import io.github.kevinmaggi.coin_collection_manager.business.service.AlbumManager;
 import io.github.kevinmaggi.coin_collection_manager.business.service.CoinManager;
 import io.github.kevinmaggi.coin_collection_manager.business.service.transactional.AlbumTransactionalManager;
 import io.github.kevinmaggi.coin_collection_manager.business.service.transactional.CoinTransactionalManager;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.CoinAlbumTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.ExecutorAsyncTransactionManager;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.IsolationLevel;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.RetryPolicy;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.TransactionManager;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.memory.InMemoryTransactionManagerFactory;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.metrics.JmxMetricsRegistry;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.metrics.MeteredTransactionManager;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.postgresql.GroupCommitTransactionManager;
 import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.postgresql.PostgresTransactionManagerFactory;
+import io.github.kevinmaggi.coin_collection_manager.business.transfer.CoinImporter;
+import io.github.kevinmaggi.coin_collection_manager.business.transfer.ExportFilter;
+import io.github.kevinmaggi.coin_collection_manager.business.transfer.ExportFormat;
+import io.github.kevinmaggi.coin_collection_manager.business.transfer.ImportFormat;
+import io.github.kevinmaggi.coin_collection_manager.business.transfer.ImportReport;
+import io.github.kevinmaggi.coin_collection_manager.business.transfer.postgresql.PostgresCoinExporter;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.memory.FileDatabase;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.memory.InMemoryDatabase;
 import io.github.kevinmaggi.coin_collection_manager.ui.presenter.AlbumPresenter;
 import io.github.kevinmaggi.coin_collection_manager.ui.presenter.CoinPresenter;
 import io.github.kevinmaggi.coin_collection_manager.ui.view.swing.SwingView;
-import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
 import picocli.CommandLine;
@@ -47,8 +70,69 @@ public class App implements Callable<Void> {
 	@Option(names = { "--postgres-password" }, description = "Postgres DB password")
 	private String dbPassword = "postgres-password";
 
+	@Option(names = { "--pool-size" }, description = "Maximum number of connections to Postgres, i.e. of transactions running in parallel")
+	private int poolSize = 10;
+
+	@Option(names = { "--ui-queue-size" }, description = "Maximum number of user actions waiting for a transaction, the further ones are refused")
+	private int uiQueueSize = 64;
+
+	@Option(names = { "--album-cache" }, description = "Keep albums and their queries in the second-level cache, collecting its statistics")
+	private boolean albumCache = false;
+
+	@Option(names = { "--transaction-attempts" }, description = "Maximum number of attempts of a transaction failed because of a concurrent one")
+	private int transactionAttempts = 3;
+
+	@Option(names = { "--coin-album-isolation" }, description = "Isolation level of the transactions involving both coins and albums: ${COMPLETION-CANDIDATES}")
+	private IsolationLevel coinAlbumIsolation = IsolationLevel.READ_COMMITTED;
+
+	@Option(names = { "--group-commit-window" }, description = "Milliseconds a write waits for other ones to commit together with, 0 to commit every write alone")
+	private long groupCommitWindow = 0;
+
+	@Option(names = { "--group-commit-size" }, description = "Maximum number of writes committed together")
+	private int groupCommitSize = 64;
+
+	@Option(names = { "--jmx-metrics" }, description = "Record latency and outcome of the transactions of every operation and export them through JMX")
+	private boolean jmxMetrics = false;
+
+	@Option(names = { "--in-memory" }, description = "Keep the collection in memory instead of Postgres, it's lost on exit")
+	private boolean inMemory = false;
+
+	@Option(names = { "--data-dir" }, description = "Keep the collection in files in this directory instead of Postgres")
+	private Path dataDirectory;
+
+	@Option(names = { "--import" }, description = "CSV or JSON file of coins to import once started, see the docs of CoinColumns")
+	private Path importFile;
+
+	@Option(names = { "--import-batch-size" }, description = "Number of imported coins added in a single transaction")
+	private int importBatchSize = 1000;
+
+	@Option(names = { "--import-threads" }, description = "Number of threads validating the imported rows")
+	private int importThreads = Runtime.getRuntime().availableProcessors();
+
+	@Option(names = { "--export" }, description = "File where to export the coins of the Postgres DB once started")
+	private Path exportFile;
+
+	@Option(names = { "--export-format" }, description = "Format of the exported file: ${COMPLETION-CANDIDATES}")
+	private ExportFormat exportFormat = ExportFormat.CSV;
+
+	@Option(names = { "--export-compressed" }, description = "Compress the exported file with gzip")
+	private boolean exportCompressed = false;
+
+	@Option(names = { "--export-fetch-size" }, description = "Number of exported coins fetched from the DB at a time")
+	private int exportFetchSize = 10000;
+
+	@Option(names = { "--export-country" }, description = "Export only the coins of this country")
+	private String exportCountry;
+
+	@Option(names = { "--export-grade" }, description = "Export only the coins of this grade: ${COMPLETION-CANDIDATES}")
+	private Grade exportGrade;
+
 	private EntityManagerFactory emf;
-	private EntityManager em;
+	private FileDatabase fileDatabase;
+	private GroupCommitTransactionManager groupCommitTm;
+	private PostgresChangeFeed changeFeed;
+	private JmxMetricsRegistry metricsRegistry;
+	private ExecutorAsyncTransactionManager asyncTm;
 
 	/**
 	 * Starts the application with arguments.
@@ -67,32 +151,49 @@ public class App implements Callable<Void> {
 		LOGGER.info("Starting app");
 		EventQueue.invokeLater(() -> {
 			try {
-				LOGGER.info("Connecting to DB");
-				String jdbcUrl = String.format("jdbc:postgresql://%s:%s/%s", dbUrl, dbPort, dbName);
-
-				Map<String, String> propertiesOverriding = new HashMap<>();
-				propertiesOverriding.put("jakarta.persistence.jdbc.url", jdbcUrl);
-				propertiesOverriding.put("jakarta.persistence.jdbc.user", dbUser);
-				propertiesOverriding.put("jakarta.persistence.jdbc.password", dbPassword);
-
-				emf = Persistence.createEntityManagerFactory("postgres", propertiesOverriding);
-				em = emf.createEntityManager();
+				TransactionManager tm;
+				if (inMemory) {
+					tm = new InMemoryTransactionManagerFactory(new InMemoryDatabase()).getTransactionManager();
+					LOGGER.info("Using a DB in memory");
+				}
+				else if (dataDirectory != null) {
+					LOGGER.info(() -> String.format("Opening DB in %s", dataDirectory));
+					fileDatabase = FileDatabase.open(dataDirectory);
+					tm = new InMemoryTransactionManagerFactory(fileDatabase).getTransactionManager();
+					LOGGER.info("DB opened");
+				}
+				else
+					tm = connectToPostgres();
 
-				LOGGER.info("Connected to DB");
+				if (jmxMetrics) {
+					metricsRegistry = new JmxMetricsRegistry();
+					tm = new MeteredTransactionManager(tm, metricsRegistry);
+					LOGGER.info(() -> String.format("Exporting metrics of the transactions to JMX in %s", JmxMetricsRegistry.DEFAULT_DOMAIN));
+				}
 
-				PostgresTransactionManagerFactory tmf = new PostgresTransactionManagerFactory(em);
+				AlbumManager am = new AlbumTransactionalManager(tm);
+				CoinManager cm = new CoinTransactionalManager(tm);
 
-				AlbumManager am = new AlbumTransactionalManager(tmf.getTransactionManager());
-				CoinManager cm = new CoinTransactionalManager(tmf.getTransactionManager());
-
-				SwingView view = new SwingView();
+				// As many user actions run in parallel as connections to the DB, the other ones wait in a bounded queue
+				asyncTm = new ExecutorAsyncTransactionManager(tm, poolSize, uiQueueSize);
+				SwingView view = new SwingView(asyncTm);
 
 				AlbumPresenter ap = new AlbumPresenter(view, am);
 				CoinPresenter cp = new CoinPresenter(view, cm, am);
 
+				if (changeFeed != null) {
+					changeFeed.subscribeToAlbums(ap);
+					changeFeed.subscribeToCoins(cp);
+				}
+
 				view.setPresenters(cp, ap);
 				view.setVisible(true);
 				LOGGER.info("App started");
+
+				if (importFile != null)
+					startImport(cm, am, cp, ap);
+				if (exportFile != null)
+					startExport();
 			} catch (Exception e) {
 				LOGGER.error(() -> "Something went wrong");
 				LOGGER.debug(() -> String.format("Caught Exception: %s", ExceptionUtils.getStackTrace(e)));
@@ -103,14 +204,113 @@ public class App implements Callable<Void> {
 			@Override
 			public void run() {
 				LOGGER.info("Closing connection with DB");
-				if (em != null && em.isOpen())
-					em.close();
+				try {
+					if (changeFeed != null)
+						changeFeed.close();
+					if (groupCommitTm != null)
+						groupCommitTm.close();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				if (asyncTm != null) {
+					LOGGER.info(() -> String.format("User actions completed: %d, refused: %d", asyncTm.getCompletedCount(), asyncTm.getRejectedCount()));
+					asyncTm.close();
+				}
+				if (metricsRegistry != null)
+					metricsRegistry.close();
 				if (emf != null && emf.isOpen())
 					emf.close();
+				if (fileDatabase != null) {
+					try {
+						fileDatabase.close();
+					} catch (IOException e) {
+						LOGGER.error(() -> "Something went wrong writing the DB, its log is kept");
+					}
+				}
 				LOGGER.info("Connection closed");
 			}
 		});
 
 		return null;
 	}
+
+	// The import runs in background, the view is refreshed at the end unless the change feed has already done it
+	private void startImport(CoinManager cm, AlbumManager am, CoinPresenter cp, AlbumPresenter ap) {
+		new Thread(() -> {
+			LOGGER.info(() -> String.format("Importing %s", importFile));
+			try {
+				ImportReport report = new CoinImporter(cm, am, importBatchSize, importThreads)
+						.importCoins(importFile, ImportFormat.of(importFile), row -> LOGGER.warn(() -> String.format("Rejected %s", row)));
+				LOGGER.info(() -> String.format("Import completed: %s", report));
+			} catch (IOException | RuntimeException e) {
+				LOGGER.error(() -> "Something went wrong importing, the coins added until then are kept");
+				LOGGER.debug(() -> String.format("Caught Exception: %s", ExceptionUtils.getStackTrace(e)));
+			}
+			if (changeFeed == null) {
+				ap.getAllAlbums();
+				cp.getAllCoins();
+			}
+		}, "import").start();
+	}
+
+	// The coins are read through a cursor of Postgres, the other backends can't export
+	private void startExport() {
+		if (emf == null) {
+			LOGGER.warn("The coins can be exported only from a Postgres DB");
+			return;
+		}
+		new Thread(() -> {
+			LOGGER.info(() -> String.format("Exporting to %s", exportFile));
+			try {
+				long exported = new PostgresCoinExporter(emf, exportFetchSize)
+						.exportCoins(exportFile, exportFormat, new ExportFilter(null, exportCountry, exportGrade), exportCompressed);
+				LOGGER.info(() -> String.format("Export completed: %d coins exported", exported));
+			} catch (IOException | RuntimeException e) {
+				LOGGER.error(() -> "Something went wrong exporting");
+				LOGGER.debug(() -> String.format("Caught Exception: %s", ExceptionUtils.getStackTrace(e)));
+			}
+		}, "export").start();
+	}
+
+	private TransactionManager connectToPostgres() {
+		LOGGER.info("Connecting to DB");
+		String jdbcUrl = String.format("jdbc:postgresql://%s:%s/%s?reWriteBatchedInserts=true", dbUrl, dbPort, dbName);
+
+		Map<String, String> propertiesOverriding = new HashMap<>();
+		propertiesOverriding.put("jakarta.persistence.jdbc.url", jdbcUrl);
+		propertiesOverriding.put("jakarta.persistence.jdbc.user", dbUser);
+		propertiesOverriding.put("jakarta.persistence.jdbc.password", dbPassword);
+		propertiesOverriding.put("hibernate.hikari.maximumPoolSize", String.valueOf(poolSize));
+		if (albumCache) {
+			propertiesOverriding.put("hibernate.cache.use_second_level_cache", "true");
+			propertiesOverriding.put("hibernate.cache.use_query_cache", "true");
+			propertiesOverriding.put("hibernate.generate_statistics", "true");
+		}
+
+		emf = Persistence.createEntityManagerFactory("postgres", propertiesOverriding);
+
+		LOGGER.info("Connected to DB");
+
+		TransactionManager tm;
+		if (groupCommitWindow > 0) {
+			groupCommitTm = new GroupCommitTransactionManager(emf, groupCommitSize, Duration.ofMillis(groupCommitWindow));
+			tm = groupCommitTm;
+		}
+		else {
+			RetryPolicy retryPolicy = new RetryPolicy(transactionAttempts, Duration.ofMillis(20), Duration.ofMillis(500));
+			tm = new PostgresTransactionManagerFactory(emf, retryPolicy, Map.of(CoinAlbumTransactionCode.class, coinAlbumIsolation))
+					.getTransactionManager();
+		}
+
+		// The notifications are listened for on a connection of their own, outside of the pool
+		String listenUrl = String.format("jdbc:postgresql://%s:%s/%s", dbUrl, dbPort, dbName);
+		try {
+			changeFeed = new PostgresChangeFeed(() -> DriverManager.getConnection(listenUrl, dbUser, dbPassword), tm, Duration.ofSeconds(5));
+			LOGGER.info("Listening for changes in DB");
+		} catch (SQLException e) {
+			LOGGER.warn("Impossible to listen for changes in DB, the ones made by others will be shown only when reloading");
+			LOGGER.debug(() -> String.format("Caught Exception: %s", ExceptionUtils.getStackTrace(e)));
+		}
+		return tm;
+	}
 }
@@ -0,0 +1,67 @@
+package io.github.kevinmaggi.coin_collection_manager.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs benchmarks with the GC profiler of JMH and prints, next to their scores, the bytes they allocate per operation.
+ * The arguments are the ones of the JMH command line; without any benchmark selected it runs {@link ModelBenchmark}.
+ */
+public final class AllocationProfile {
+	private static final String ALLOCATED = "gc.alloc.rate.norm";
+	private static final String HEADER_FORMAT = "%-50s %14s %12s  %-8s %14s %12s  %s";
+	private static final String ROW_FORMAT = "%-50s %14.3f %12.3f  %-8s %14.3f %12.3f  %s";
+
+	private AllocationProfile() {
+	}
+
+	/**
+	 * Main.
+	 *
+	 * @param args	options of the JMH command line
+	 * @throws CommandLineOptionException	if the options are not valid
+	 * @throws RunnerException				if a benchmark fails
+	 */
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+		ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine).addProfiler(GCProfiler.class);
+		if (commandLine.getIncludes().isEmpty())
+			options.include(ModelBenchmark.class.getSimpleName());
+		Collection<RunResult> results = new Runner(options.build()).run();
+
+		List<String> rows = new ArrayList<>();
+		for (RunResult result : results) {
+			Result<?> score = result.getPrimaryResult();
+			Result<?> allocated = allocated(result);
+			String benchmark = result.getParams().getBenchmark();
+			rows.add(String.format(ROW_FORMAT, benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1),
+					score.getScore(), score.getScoreError(), score.getScoreUnit(),
+					allocated == null ? Double.NaN : allocated.getScore(), allocated == null ? Double.NaN : allocated.getScoreError(),
+					allocated == null ? "" : allocated.getScoreUnit()));
+		}
+
+		System.out.println();
+		System.out.println(String.format(HEADER_FORMAT, "Benchmark", "Score", "Error", "Units", "Allocated", "Error", "Units"));
+		rows.stream().sorted().forEach(System.out::println);
+	}
+
+	// The names of the results of profilers are prefixed by a separator that changed across versions of JMH
+	private static Result<?> allocated(RunResult result) {
+		return result.getSecondaryResults().entrySet().stream()
+				.filter(entry -> entry.getKey().endsWith(ALLOCATED))
+				.map(Map.Entry::getValue)
+				.findFirst().orElse(null);
+	}
+}
@@ -0,0 +1,76 @@
+package io.github.kevinmaggi.coin_collection_manager.benchmarks;
+
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.TransactionManager;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.memory.InMemoryTransactionManagerFactory;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.postgresql.PostgresTransactionManagerFactory;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.memory.InMemoryDatabase;
+
+/**
+ * A database on which a benchmark is run, chosen by the name of its backend (usually a {@code @Param} of the benchmark).
+ */
+abstract class BenchmarkDatabase implements AutoCloseable {
+	/**
+	 * Backend of the database kept in memory.
+	 */
+	static final String MEMORY = "memory";
+	/**
+	 * Backend of Postgres, see {@link PostgresStandIn}.
+	 */
+	static final String POSTGRES = "postgres";
+
+	/**
+	 * Opens a database.
+	 *
+	 * @param backend	{@value #MEMORY} or {@value #POSTGRES}
+	 * @return			the database
+	 * @throws IllegalArgumentException	if the backend is unknown
+	 */
+	static BenchmarkDatabase open(String backend) throws IllegalArgumentException {
+		if (MEMORY.equals(backend))
+			return new Memory();
+		else if (POSTGRES.equals(backend))
+			return new Postgres(PostgresStandIn.start());
+		else
+			throw new IllegalArgumentException("Unknown backend: " + backend);
+	}
+
+	/**
+	 * Empties the database.
+	 *
+	 * @return		the transaction manager to use from now on
+	 */
+	abstract TransactionManager empty();
+
+	@Override
+	public void close() {
+		// Nothing to release by default
+	}
+
+	private static final class Memory extends BenchmarkDatabase {
+		@Override
+		TransactionManager empty() {
+			return new InMemoryTransactionManagerFactory(new InMemoryDatabase()).getTransactionManager();
+		}
+	}
+
+	private static final class Postgres extends BenchmarkDatabase {
+		private final PostgresStandIn standIn;
+		private final TransactionManager tm;
+
+		Postgres(PostgresStandIn standIn) {
+			this.standIn = standIn;
+			this.tm = new PostgresTransactionManagerFactory(standIn.getEntityManagerFactory()).getTransactionManager();
+		}
+
+		@Override
+		TransactionManager empty() {
+			standIn.clear();
+			return tm;
+		}
+
+		@Override
+		public void close() {
+			standIn.close();
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package io.github.kevinmaggi.coin_collection_manager.benchmarks;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.kevinmaggi.coin_collection_manager.business.service.transactional.AlbumTransactionalManager;
+import io.github.kevinmaggi.coin_collection_manager.business.service.transactional.CoinTransactionalManager;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.TransactionManager;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+
+/**
+ * Throughput benchmarks of {@code CoinTransactionalManager.addCoin} and {@code CoinTransactionalManager.moveCoin}.
+ * They are meant to be run at many numbers of threads, e.g. with {@code -t} or by {@link ThreadScaling}, which runs them
+ * from 1 to 64 threads.
+ *
+ * The database is emptied before every iteration, so it doesn't grow with the throughput, and it starts with a few albums
+ * with room for anything: the added coins go round-robin over them, while every thread moves its own coin back and forth
+ * between two of them, so the threads contend for the same album rows as the users of a shared collection do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class CoinManagerBenchmark {
+	private static final int ALBUMS = 16;
+
+	@Param({BenchmarkDatabase.MEMORY, BenchmarkDatabase.POSTGRES})
+	private String backend;
+
+	private BenchmarkDatabase database;
+	private CoinTransactionalManager coinManager;
+	private List<Album> albums;
+	private final AtomicLong added = new AtomicLong();
+
+	/**
+	 * The coin a thread moves, added to the first album at the beginning of every iteration.
+	 */
+	@State(Scope.Thread)
+	public static class MovingCoin {
+		private Coin coin;
+		private boolean inFirstAlbum;
+
+		@Setup(Level.Iteration)
+		public void setUp(CoinManagerBenchmark benchmark) {
+			coin = benchmark.coinManager.addCoin(SampleCollection.coin(benchmark.added.getAndIncrement(), benchmark.albums.get(0).getId()));
+			inFirstAlbum = true;
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setUpTrial() {
+		database = BenchmarkDatabase.open(backend);
+	}
+
+	@Setup(Level.Iteration)
+	public void setUpIteration() {
+		TransactionManager tm = database.empty();
+		coinManager = new CoinTransactionalManager(tm);
+		albums = SampleCollection.fill(coinManager, new AlbumTransactionalManager(tm), ALBUMS, Integer.MAX_VALUE, 0).getAlbums();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDownTrial() {
+		database.close();
+	}
+
+	@Benchmark
+	public Coin addCoin() {
+		long n = added.getAndIncrement();
+		return coinManager.addCoin(SampleCollection.coin(n, albums.get((int) (n % ALBUMS)).getId()));
+	}
+
+	@Benchmark
+	public Coin moveCoin(MovingCoin moving) {
+		UUID target = albums.get(moving.inFirstAlbum ? 1 : 0).getId();
+		moving.coin = coinManager.moveCoin(moving.coin, target);
+		moving.inFirstAlbum = !moving.inFirstAlbum;
+		return moving.coin;
+	}
+}
@@ -0,0 +1,121 @@
+package io.github.kevinmaggi.coin_collection_manager.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.kevinmaggi.coin_collection_manager.business.service.transactional.AlbumTransactionalManager;
+import io.github.kevinmaggi.coin_collection_manager.business.service.transactional.CoinTransactionalManager;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.TransactionManager;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.ui.presenter.CoinPresenter;
+
+/**
+ * End-to-end benchmarks of {@code CoinPresenter}, from the call made by the view down to the database and back to a
+ * {@link NoOpView}, so they measure what a user waits for minus the drawing.
+ * They are single-threaded, as the presenters are called by the thread of the view.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+// The ui module brings its own configuration of Log4j, which logs every call of the presenters
+@Fork(value = 2, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmarks.xml")
+public class CoinPresenterBenchmark {
+	private static final int ALBUMS = 20;
+
+	@Param({BenchmarkDatabase.MEMORY, BenchmarkDatabase.POSTGRES})
+	private String backend;
+
+	@Param({"1000", "10000"})
+	private int coins;
+
+	private BenchmarkDatabase database;
+	private NoOpView view;
+	private CoinPresenter presenter;
+	private List<Album> albums;
+	private List<Coin> collection;
+	private int next = 0;
+	private long added;
+	private Coin moving;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		database = BenchmarkDatabase.open(backend);
+		TransactionManager tm = database.empty();
+		CoinTransactionalManager coinManager = new CoinTransactionalManager(tm);
+		AlbumTransactionalManager albumManager = new AlbumTransactionalManager(tm);
+		SampleCollection sample = SampleCollection.fill(coinManager, albumManager, ALBUMS, Integer.MAX_VALUE, coins);
+		albums = sample.getAlbums();
+		collection = sample.getCoins();
+		added = coins;
+		moving = collection.get(0);
+
+		view = new NoOpView();
+		presenter = new CoinPresenter(view, coinManager, albumManager);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		database.close();
+	}
+
+	@Benchmark
+	public Object getAllCoins() {
+		presenter.getAllCoins();
+		return view.getShown();
+	}
+
+	@Benchmark
+	public Object getCoinsByAlbum() {
+		presenter.getCoinsByAlbum(albums.get(next(ALBUMS)));
+		return view.getShown();
+	}
+
+	@Benchmark
+	public Object getCoin() {
+		presenter.getCoin(collection.get(next(coins)).getId());
+		return view.getShown();
+	}
+
+	@Benchmark
+	public Object searchCoins() {
+		presenter.searchCoins(SampleCollection.DENOMINATIONS.get(next(SampleCollection.DENOMINATIONS.size())));
+		return view.getShown();
+	}
+
+	@Benchmark
+	public Object addCoin() {
+		long n = added++;
+		presenter.addCoin(SampleCollection.coin(n, albums.get((int) (n % ALBUMS)).getId()));
+		return view.getShown();
+	}
+
+	@Benchmark
+	public Object moveCoin() {
+		Album target = albums.get(albums.get(0).getId().equals(moving.getAlbum()) ? 1 : 0);
+		presenter.moveCoin(moving, target);
+		moving.setAlbum(target.getId());
+		return view.getShown();
+	}
+
+	private int next(int size) {
+		next = (next + 1) % size;
+		return next;
+	}
+}
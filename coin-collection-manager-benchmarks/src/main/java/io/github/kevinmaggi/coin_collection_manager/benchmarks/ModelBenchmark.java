@@ -0,0 +1,156 @@
+package io.github.kevinmaggi.coin_collection_manager.benchmarks;
+
+import java.time.Year;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinSummary;
+import io.github.kevinmaggi.coin_collection_manager.core.utility.YearAttributeConverter;
+
+/**
+ * Micro-benchmarks of the methods of the model called for every row read from the database and for every element of the
+ * lists shown, each measured per element over {@value #ROWS} rows.
+ * The {@code ...Baseline} ones run the implementations these methods had before being optimized, to compare with; run
+ * them with {@link AllocationProfile} to see the bytes allocated per element too.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@OperationsPerInvocation(ModelBenchmark.ROWS)
+public class ModelBenchmark {
+	static final int ROWS = 1000;
+	private static final int ALBUMS = 20;
+
+	private final YearAttributeConverter converter = new YearAttributeConverter();
+	private final Integer[] columns = new Integer[ROWS];
+	private final Year[] years = new Year[ROWS];
+	private final Coin[] coins = new Coin[ROWS];
+	private final CoinSummary[] summaries = new CoinSummary[ROWS];
+	private final Album[] albums = new Album[ALBUMS];
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		for (int i = 0; i < ALBUMS; i++)
+			albums[i] = new Album("Album " + i, 1, "Shelf " + i % 4, 1000, i * 10);
+		for (int i = 0; i < ROWS; i++) {
+			Coin coin = SampleCollection.coin(i, albums[i % ALBUMS].getId());
+			coins[i] = coin;
+			summaries[i] = new CoinSummary(UUID.randomUUID(), coin.getGrade(), coin.getCountry(), coin.getMintingYear(),
+					coin.getDescription(), coin.getNote(), coin.getAlbum());
+			// As read by the JDBC driver, a new instance for every row (years are out of the cache of Integer)
+			columns[i] = Integer.valueOf(coin.getMintingYear().getValue());
+			years[i] = coin.getMintingYear();
+		}
+	}
+
+	@Benchmark
+	public void convertToEntityAttribute(Blackhole bh) {
+		for (Integer column : columns)
+			bh.consume(converter.convertToEntityAttribute(column));
+	}
+
+	@Benchmark
+	public void convertToEntityAttributeBaseline(Blackhole bh) {
+		for (Integer column : columns)
+			bh.consume(column != null ? Year.of(column) : null);
+	}
+
+	@Benchmark
+	public void convertToDatabaseColumn(Blackhole bh) {
+		for (Year year : years)
+			bh.consume(converter.convertToDatabaseColumn(year));
+	}
+
+	@Benchmark
+	public void convertToDatabaseColumnBaseline(Blackhole bh) {
+		for (Year year : years)
+			bh.consume(year != null ? Integer.valueOf(year.getValue()) : null);
+	}
+
+	@Benchmark
+	public void coinHashCode(Blackhole bh) {
+		for (Coin coin : coins)
+			bh.consume(coin.hashCode());
+	}
+
+	@Benchmark
+	public void coinHashCodeBaseline(Blackhole bh) {
+		for (Coin coin : coins)
+			bh.consume(Objects.hash(coin.getGrade(), coin.getCountry(), coin.getMintingYear(), coin.getDescription(), coin.getNote()));
+	}
+
+	@Benchmark
+	public void coinToString(Blackhole bh) {
+		for (Coin coin : coins)
+			bh.consume(coin.toString());
+	}
+
+	@Benchmark
+	public void coinToStringBaseline(Blackhole bh) {
+		for (Coin coin : coins)
+			bh.consume("[" + coin.getCountry() + " " + coin.getMintingYear() + "] {" + coin.getGrade().toString() + "} "
+					+ coin.getDescription() + " (" + coin.getNote() + ")");
+	}
+
+	@Benchmark
+	public void coinSummaryToString(Blackhole bh) {
+		for (CoinSummary summary : summaries)
+			bh.consume(summary.toString());
+	}
+
+	@Benchmark
+	public void coinSummaryToStringBaseline(Blackhole bh) {
+		for (CoinSummary summary : summaries)
+			bh.consume("[" + summary.getCountry() + " " + summary.getMintingYear() + "] {" + summary.getGrade().toString() + "} "
+					+ summary.getDescription() + " (" + summary.getNote() + ")");
+	}
+
+	@Benchmark
+	public void albumToString(Blackhole bh) {
+		for (int i = 0; i < ROWS; i++)
+			bh.consume(albums[i % ALBUMS].toString());
+	}
+
+	@Benchmark
+	public void albumToStringBaseline(Blackhole bh) {
+		for (int i = 0; i < ROWS; i++) {
+			Album album = albums[i % ALBUMS];
+			bh.consume(album.getName() + " vol." + album.getVolume() + " [" + album.getOccupiedSlots() + "/" + album.getNumberOfSlots()
+					+ "] (" + album.getLocation() + ")");
+		}
+	}
+
+	@Benchmark
+	public void albumHashCode(Blackhole bh) {
+		for (int i = 0; i < ROWS; i++)
+			bh.consume(albums[i % ALBUMS].hashCode());
+	}
+
+	@Benchmark
+	public void albumHashCodeBaseline(Blackhole bh) {
+		for (int i = 0; i < ROWS; i++) {
+			Album album = albums[i % ALBUMS];
+			bh.consume(Objects.hash(album.getName(), album.getVolume()));
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package io.github.kevinmaggi.coin_collection_manager.benchmarks;
+
+import java.util.List;
+import java.util.UUID;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinSummary;
+import io.github.kevinmaggi.coin_collection_manager.ui.presenter.AlbumPresenter;
+import io.github.kevinmaggi.coin_collection_manager.ui.presenter.CoinPresenter;
+import io.github.kevinmaggi.coin_collection_manager.ui.view.View;
+
+/**
+ * A {@code View} that shows nothing, so the benchmarks of the presenters measure only the presenters and what's behind them.
+ * It keeps the last thing it has been asked to show, which the benchmarks return to JMH so it can't be optimized away.
+ */
+final class NoOpView implements View {
+	private Object shown;
+
+	/**
+	 * @return	the last thing shown, if any
+	 */
+	Object getShown() {
+		return shown;
+	}
+
+	@Override
+	public void setPresenters(CoinPresenter coinPresenter, AlbumPresenter albumPresenter) {
+		// Nothing to bind
+	}
+
+	@Override
+	public void showAllAlbums(List<Album> albums) {
+		shown = albums;
+	}
+
+	@Override
+	public void showSearchedAlbum(Album album, String search) {
+		shown = album;
+	}
+
+	@Override
+	public void showAlbum(Album album) {
+		shown = album;
+	}
+
+	@Override
+	public void albumAdded(Album album) {
+		shown = album;
+	}
+
+	@Override
+	public void albumDeleted(Album album) {
+		shown = album;
+	}
+
+	@Override
+	public void albumMoved(Album album) {
+		shown = album;
+	}
+
+	@Override
+	public void albumChanged(Album album) {
+		shown = album;
+	}
+
+	@Override
+	public void albumRemoved(UUID id) {
+		shown = id;
+	}
+
+	@Override
+	public void showAllCoins(List<CoinSummary> coins) {
+		shown = coins;
+	}
+
+	@Override
+	public void showSearchedCoins(List<CoinSummary> coins, String search) {
+		shown = coins;
+	}
+
+	@Override
+	public void showCoinsInAlbum(List<CoinSummary> coins, Album album) {
+		shown = coins;
+	}
+
+	@Override
+	public void showCoin(Coin coin, Album album) {
+		shown = coin;
+	}
+
+	@Override
+	public void coinAdded(Coin coin) {
+		shown = coin;
+	}
+
+	@Override
+	public void coinDeleted(Coin coin) {
+		shown = coin;
+	}
+
+	@Override
+	public void coinMoved(Coin coin, Album oldAlbum, Album newAlbum) {
+		shown = coin;
+	}
+
+	@Override
+	public void coinChanged(Coin coin) {
+		shown = coin;
+	}
+
+	@Override
+	public void coinRemoved(UUID id) {
+		shown = id;
+	}
+
+	@Override
+	public void showError(String msg) {
+		shown = msg;
+	}
+
+	@Override
+	public void showSuccess(String msg) {
+		shown = msg;
+	}
+}
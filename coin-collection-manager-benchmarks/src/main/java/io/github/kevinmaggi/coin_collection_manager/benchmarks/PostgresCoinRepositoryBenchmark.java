@@ -0,0 +1,179 @@
+package io.github.kevinmaggi.coin_collection_manager.benchmarks;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.kevinmaggi.coin_collection_manager.business.service.transactional.AlbumTransactionalManager;
+import io.github.kevinmaggi.coin_collection_manager.business.service.transactional.CoinTransactionalManager;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.TransactionManager;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.postgresql.PostgresTransactionManagerFactory;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinSummary;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.postgresql.PostgresCoinRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+
+/**
+ * Benchmarks of the finders of {@code PostgresCoinRepository}, each call in a read-only transaction with a new
+ * {@code EntityManager}, as the transaction managers do.
+ * The lookups cycle over the coins and the albums of the collection, so every call finds something.
+ *
+ * The {@code namedQuery}/{@code adHocQuery} pair compares the same JPQL query created by name, as the repository does, and
+ * created from its text at every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class PostgresCoinRepositoryBenchmark {
+	private static final String FIND_BY_ALBUM_JPQL = "SELECT c FROM Coin c WHERE c.album = :album";
+	private static final int ALBUMS = 100;
+	private static final int PAGE_SIZE = 100;
+
+	@Param({"10000", "100000"})
+	private int coins;
+
+	private PostgresStandIn standIn;
+	private EntityManagerFactory emf;
+	private SampleCollection collection;
+
+	/**
+	 * The position of a thread in the lookups.
+	 */
+	@State(Scope.Thread)
+	public static class Cursor {
+		private int next = 0;
+
+		int next(int size) {
+			next = (next + 1) % size;
+			return next;
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		standIn = PostgresStandIn.start();
+		standIn.clear();
+		emf = standIn.getEntityManagerFactory();
+		TransactionManager tm = new PostgresTransactionManagerFactory(emf).getTransactionManager();
+		collection = SampleCollection.fill(new CoinTransactionalManager(tm), new AlbumTransactionalManager(tm), ALBUMS,
+				coins / ALBUMS + 1, coins);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		standIn.close();
+	}
+
+	@Benchmark
+	public Coin findById(Cursor cursor) {
+		UUID id = nextCoin(cursor).getId();
+		return inReadOnlyTransaction(em -> new PostgresCoinRepository(em).findById(id));
+	}
+
+	@Benchmark
+	public List<Coin> findByAlbum(Cursor cursor) {
+		UUID album = nextAlbum(cursor);
+		return inReadOnlyTransaction(em -> new PostgresCoinRepository(em).findByAlbum(album));
+	}
+
+	@Benchmark
+	public List<CoinSummary> findSummariesByAlbum(Cursor cursor) {
+		UUID album = nextAlbum(cursor);
+		return inReadOnlyTransaction(em -> new PostgresCoinRepository(em).findSummariesByAlbum(album));
+	}
+
+	@Benchmark
+	public List<CoinSummary> findSummariesByDescription(Cursor cursor) {
+		String description = nextDenomination(cursor);
+		return inReadOnlyTransaction(em -> new PostgresCoinRepository(em).findSummariesByDescription(description));
+	}
+
+	@Benchmark
+	public List<Coin> searchByDescription(Cursor cursor) {
+		String description = nextDenomination(cursor);
+		return inReadOnlyTransaction(em -> new PostgresCoinRepository(em).searchByDescription(description));
+	}
+
+	@Benchmark
+	public Coin findByGradeCountryYearDescriptionAndNote(Cursor cursor) {
+		Coin coin = nextCoin(cursor);
+		return inReadOnlyTransaction(em -> new PostgresCoinRepository(em).findByGradeCountryYearDescriptionAndNote(coin.getGrade(),
+				coin.getCountry(), coin.getMintingYear(), coin.getDescription(), coin.getNote()));
+	}
+
+	@Benchmark
+	public List<Coin> findPage(Cursor cursor) {
+		UUID after = nextCoin(cursor).getId();
+		return inReadOnlyTransaction(em -> new PostgresCoinRepository(em).findPage(after, PAGE_SIZE));
+	}
+
+	@Benchmark
+	public List<Coin> namedQuery(Cursor cursor) {
+		UUID album = nextAlbum(cursor);
+		return inReadOnlyTransaction(em -> em.createNamedQuery("Coin.findByAlbum", Coin.class)
+				.setParameter("album", album)
+				.getResultList());
+	}
+
+	@Benchmark
+	public List<Coin> adHocQuery(Cursor cursor) {
+		UUID album = nextAlbum(cursor);
+		return inReadOnlyTransaction(em -> em.createQuery(FIND_BY_ALBUM_JPQL, Coin.class)
+				.setParameter("album", album)
+				.getResultList());
+	}
+
+	private Coin nextCoin(Cursor cursor) {
+		return collection.getCoins().get(cursor.next(collection.getCoins().size()));
+	}
+
+	private UUID nextAlbum(Cursor cursor) {
+		return collection.getAlbums().get(cursor.next(ALBUMS)).getId();
+	}
+
+	private static String nextDenomination(Cursor cursor) {
+		return SampleCollection.DENOMINATIONS.get(cursor.next(SampleCollection.DENOMINATIONS.size()));
+	}
+
+	private <R> R inReadOnlyTransaction(Function<EntityManager, R> code) {
+		EntityManager em = emf.createEntityManager();
+		EntityTransaction transaction = em.getTransaction();
+		try {
+			// Set up as PostgresTransactionManager does for the read-only transactions
+			Session session = em.unwrap(Session.class);
+			session.setDefaultReadOnly(true);
+			session.setHibernateFlushMode(FlushMode.MANUAL);
+			transaction.begin();
+			session.doWork(connection -> connection.setReadOnly(true));
+			R result = code.apply(em);
+			transaction.commit();
+			return result;
+		} finally {
+			if (transaction.isActive())
+				transaction.rollback();
+			em.close();
+		}
+	}
+}
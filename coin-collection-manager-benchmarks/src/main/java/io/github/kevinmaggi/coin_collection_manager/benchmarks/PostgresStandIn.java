@@ -0,0 +1,111 @@
+package io.github.kevinmaggi.coin_collection_manager.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+
+/**
+ * The Postgres database on which the benchmarks are run.
+ *
+ * By default it's a container started for each fork of the benchmarks, with the same image as the app's, so the numbers
+ * don't depend on the data or on the configuration of a local installation. Another database can be given with the
+ * {@value #URL_PROPERTY}, {@value #USER_PROPERTY} and {@value #PASSWORD_PROPERTY} system properties: it's emptied by the
+ * benchmarks, so it must never be the one of a real collection.
+ */
+final class PostgresStandIn implements AutoCloseable {
+	/**
+	 * System property with the JDBC url of the database to use instead of a container.
+	 */
+	static final String URL_PROPERTY = "benchmark.postgres.url";
+	/**
+	 * System property with the user of the database given by {@value #URL_PROPERTY}.
+	 */
+	static final String USER_PROPERTY = "benchmark.postgres.user";
+	/**
+	 * System property with the password of the database given by {@value #URL_PROPERTY}.
+	 */
+	static final String PASSWORD_PROPERTY = "benchmark.postgres.password";
+
+	private static final String PERSISTENCE_UNIT = "postgres-benchmark";
+	private static final String IMAGE = "postgres:15.1";
+	private static final String DEFAULT_USER = "postgres-user";
+	private static final String DEFAULT_PASSWORD = "postgres-password";
+
+	private final PostgreSQLContainer<?> container;
+	private final EntityManagerFactory emf;
+
+	private PostgresStandIn(PostgreSQLContainer<?> container, String url, String user, String password) {
+		this.container = container;
+		Map<String, String> properties = new HashMap<>();
+		properties.put("jakarta.persistence.jdbc.url", url);
+		properties.put("jakarta.persistence.jdbc.user", user);
+		properties.put("jakarta.persistence.jdbc.password", password);
+		this.emf = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT, properties);
+	}
+
+	/**
+	 * Starts the database, or connects to the one given by the system properties, and creates its schema.
+	 *
+	 * @return		the database
+	 */
+	static PostgresStandIn start() {
+		String url = System.getProperty(URL_PROPERTY);
+		if (url != null)
+			return new PostgresStandIn(null, url, System.getProperty(USER_PROPERTY, DEFAULT_USER),
+					System.getProperty(PASSWORD_PROPERTY, DEFAULT_PASSWORD));
+
+		PostgreSQLContainer<?> container = new PostgreSQLContainer<>(IMAGE)
+				.withDatabaseName("benchmarks")
+				.withUsername(DEFAULT_USER)
+				.withPassword(DEFAULT_PASSWORD);
+		container.start();
+		try {
+			return new PostgresStandIn(container, container.getJdbcUrl(), DEFAULT_USER, DEFAULT_PASSWORD);
+		} catch (RuntimeException e) {
+			container.stop();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return		the factory of the {@code EntityManager}s of the database
+	 */
+	EntityManagerFactory getEntityManagerFactory() {
+		return emf;
+	}
+
+	/**
+	 * Deletes every coin and album, also from the second-level cache.
+	 */
+	void clear() {
+		EntityManager em = emf.createEntityManager();
+		try {
+			em.getTransaction().begin();
+			em.createNativeQuery("TRUNCATE coins, albums").executeUpdate();
+			em.getTransaction().commit();
+		} finally {
+			if (em.getTransaction().isActive())
+				em.getTransaction().rollback();
+			em.close();
+		}
+		emf.getCache().evictAll();
+	}
+
+	/**
+	 * Closes the {@code EntityManagerFactory} and stops the container, if any.
+	 */
+	@Override
+	public void close() {
+		try {
+			emf.close();
+		} finally {
+			if (container != null)
+				container.stop();
+		}
+	}
+}
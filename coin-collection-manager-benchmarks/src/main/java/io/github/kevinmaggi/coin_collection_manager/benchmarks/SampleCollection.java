@@ -0,0 +1,93 @@
+package io.github.kevinmaggi.coin_collection_manager.benchmarks;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import io.github.kevinmaggi.coin_collection_manager.business.service.AlbumManager;
+import io.github.kevinmaggi.coin_collection_manager.business.service.CoinManager;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+
+/**
+ * A collection of coins spread over some albums, always the same for the same sizes so the runs can be compared.
+ * The coins are numbered from 0: the n-th has a description made of one of {@link #DENOMINATIONS} and its number, and it's
+ * in the album {@code n % albums}.
+ */
+final class SampleCollection {
+	/**
+	 * The denominations in the descriptions of the coins, each in the same share of them.
+	 */
+	static final List<String> DENOMINATIONS = List.of("500 Lire", "1000 Lire", "1 Franc", "10 Francs", "5 Pesetas", "1 Mark",
+			"2 Euro", "50 Cent", "1 Dollar", "25 Cents");
+
+	private static final List<String> COUNTRIES = List.of("Italy", "France", "Spain", "Germany", "United States", "Greece",
+			"Portugal", "Austria");
+	private static final int BATCH_SIZE = 1000;
+
+	private final List<Album> albums;
+	private final List<Coin> coins;
+
+	private SampleCollection(List<Album> albums, List<Coin> coins) {
+		this.albums = Collections.unmodifiableList(albums);
+		this.coins = Collections.unmodifiableList(coins);
+	}
+
+	/**
+	 * Adds a collection to an empty database.
+	 *
+	 * @param coinManager	manager with which the coins are added
+	 * @param albumManager	manager with which the albums are added
+	 * @param albumCount	number of albums
+	 * @param slots			number of slots of each album, enough for its coins
+	 * @param coinCount		number of coins
+	 * @return				the collection added
+	 */
+	static SampleCollection fill(CoinManager coinManager, AlbumManager albumManager, int albumCount, int slots, int coinCount) {
+		List<Album> albums = new ArrayList<>();
+		for (int i = 0; i < albumCount; i++)
+			albums.add(new Album("Album " + i, 1, "Shelf " + i % 4, slots, 0));
+		albums = albumManager.addAlbums(albums);
+
+		List<Coin> coins = new ArrayList<>(coinCount);
+		List<Coin> batch = new ArrayList<>(BATCH_SIZE);
+		for (int n = 0; n < coinCount; n++) {
+			batch.add(coin(n, albums.get(n % albumCount).getId()));
+			if (batch.size() == BATCH_SIZE || n == coinCount - 1) {
+				coins.addAll(coinManager.addCoins(batch));
+				batch.clear();
+			}
+		}
+		return new SampleCollection(albums, coins);
+	}
+
+	/**
+	 * The n-th coin of a collection, not yet added.
+	 *
+	 * @param n			number of the coin
+	 * @param album		album of the coin
+	 * @return			the coin
+	 */
+	static Coin coin(long n, UUID album) {
+		Grade[] grades = Grade.values();
+		return new Coin(grades[(int) (n % grades.length)], COUNTRIES.get((int) (n % COUNTRIES.size())), Year.of(1900 + (int) (n % 120)),
+				DENOMINATIONS.get((int) (n % DENOMINATIONS.size())) + " #" + n, "", album);
+	}
+
+	/**
+	 * @return	the albums, as added
+	 */
+	List<Album> getAlbums() {
+		return albums;
+	}
+
+	/**
+	 * @return	the coins, as added
+	 */
+	List<Coin> getCoins() {
+		return coins;
+	}
+}
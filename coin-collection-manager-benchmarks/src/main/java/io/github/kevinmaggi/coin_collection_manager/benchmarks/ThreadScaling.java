@@ -0,0 +1,60 @@
+package io.github.kevinmaggi.coin_collection_manager.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs benchmarks at 1, 2, 4, 8, 16, 32 and 64 threads and prints how their scores scale.
+ * The arguments are the ones of the JMH command line, e.g. to select the benchmarks or the number of forks; without any
+ * benchmark selected it runs {@link CoinManagerBenchmark}.
+ */
+public final class ThreadScaling {
+	private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+	private static final String HEADER_FORMAT = "%-40s %-30s %7s %14s %12s  %s";
+	private static final String ROW_FORMAT = "%-40s %-30s %7d %14.3f %12.3f  %s";
+
+	private ThreadScaling() {
+	}
+
+	/**
+	 * Main.
+	 *
+	 * @param args	options of the JMH command line, but the number of threads
+	 * @throws CommandLineOptionException	if the options are not valid
+	 * @throws RunnerException				if a benchmark fails
+	 */
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+		List<String> rows = new ArrayList<>();
+		for (int threads : THREADS) {
+			ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine).threads(threads);
+			if (commandLine.getIncludes().isEmpty())
+				options.include(CoinManagerBenchmark.class.getSimpleName());
+			Collection<RunResult> results = new Runner(options.build()).run();
+			for (RunResult result : results) {
+				Result<?> score = result.getPrimaryResult();
+				String benchmark = result.getParams().getBenchmark();
+				rows.add(String.format(ROW_FORMAT, benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1),
+						result.getParams().getParamsKeys().stream()
+							.map(key -> key + "=" + result.getParams().getParam(key))
+							.reduce((a, b) -> a + "," + b).orElse(""),
+						threads, score.getScore(), score.getScoreError(), score.getScoreUnit()));
+			}
+		}
+
+		System.out.println();
+		System.out.println(String.format(HEADER_FORMAT, "Benchmark", "Params", "Threads", "Score", "Error", "Units"));
+		rows.stream().sorted().forEach(System.out::println);
+	}
+}
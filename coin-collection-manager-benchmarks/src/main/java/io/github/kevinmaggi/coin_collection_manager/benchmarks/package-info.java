@@ -0,0 +1,5 @@
+/**
+ * This package offers the JMH benchmarks of the repositories, the managers and the presenters, run against a database kept
+ * in memory and against Postgres.
+ */
+package io.github.kevinmaggi.coin_collection_manager.benchmarks;
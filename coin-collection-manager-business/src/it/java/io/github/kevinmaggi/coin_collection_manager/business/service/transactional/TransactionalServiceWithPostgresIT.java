@@ -2,8 +2,11 @@ package io.github.kevinmaggi.coin_collection_manager.business.service.transactio
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
 import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
@@ -23,7 +26,9 @@ import io.github.kevinmaggi.coin_collection_manager.business.service.exception.F
 import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.TransactionManagerFactory;
 import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.postgresql.PostgresTransactionManagerFactory;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.AlbumFill;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinCount;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
@@ -43,6 +48,7 @@ class TransactionalServiceWithPostgresIT {
 
 	private AlbumTransactionalManager albumManager;
 	private CoinTransactionalManager coinManager;
+	private StatisticsTransactionalManager statisticsManager;
 
 	@BeforeAll
 	static void setUpTestCase() {
@@ -53,10 +59,11 @@ class TransactionalServiceWithPostgresIT {
 	@BeforeEach
 	void setUp() {
 		em = emf.createEntityManager();
-		factory = new PostgresTransactionManagerFactory(em);
+		factory = new PostgresTransactionManagerFactory(emf);
 
 		albumManager = new AlbumTransactionalManager(factory.getTransactionManager());
 		coinManager = new CoinTransactionalManager(factory.getTransactionManager());
+		statisticsManager = new StatisticsTransactionalManager(factory.getTransactionManager());
 
 		// Ensure to start every test with an empty database
 		em.getTransaction().begin();
@@ -232,10 +239,10 @@ class TransactionalServiceWithPostgresIT {
 
 			int occupiedSlot = ALBUM_COMM_1.getOccupiedSlots();
 
-			coinManager.addCoin(COIN_COMM_1);
+			Coin added = coinManager.addCoin(COIN_COMM_1);
 
 			em.getTransaction().begin();
-			Coin fromDB = em.find(Coin.class, COIN_COMM_1.getId());
+			Coin fromDB = em.find(Coin.class, added.getId());
 			Album album = em.find(Album.class, ALBUM_COMM_1.getId());
 			em.getTransaction().commit();
 
@@ -450,6 +457,82 @@ class TransactionalServiceWithPostgresIT {
 		}
 	}
 
+	@Nested
+	@DisplayName("Tests regarding Statistics Manager")
+	class StatisticsManager {
+		@Test
+		@DisplayName("Test that the coins are counted by the database")
+		void testTheCountsOfTheCoins() {
+			populateDB();
+
+			assertThat(statisticsManager.countCoinsByAlbum()).containsOnly(
+					new CoinCount<UUID>(ALBUM_COMM_1.getId(), 2), new CoinCount<UUID>(ALBUM_PRE.getId(), 1));
+			assertThat(statisticsManager.countCoinsByCountry()).containsExactly(
+					new CoinCount<String>("Greece", 1), new CoinCount<String>("Italy", 2));
+			assertThat(statisticsManager.countCoinsByGrade()).containsExactly(new CoinCount<Grade>(Grade.AG, 3));
+			assertThat(statisticsManager.countCoinsByDecade()).containsExactly(
+					new CoinCount<Year>(Year.of(1990), 1), new CoinCount<Year>(Year.of(2000), 2));
+		}
+
+		@Test
+		@DisplayName("Test that the fill of the albums follows the added coins")
+		void testTheFillOfTheAlbumsAfterAddingACoin() {
+			populateDB();
+
+			coinManager.addCoin(new Coin(Grade.VF, "France", Year.of(2015), "2€ comm. 30th anniversary of the EU flag", "", ALBUM_COMM_2.getId()));
+
+			assertThat(statisticsManager.findAlbumFills()).extracting(AlbumFill::getAlbum, AlbumFill::getOccupiedSlots)
+				.containsExactly(tuple(ALBUM_COMM_1.getId(), 0), tuple(ALBUM_COMM_2.getId(), 1), tuple(ALBUM_PRE.getId(), 0));
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests regarding a long running use of the managers")
+	class LongRunning {
+		private static final int COINS = 200;
+		private static final int TRANSACTIONS = 600;
+		private static final int WINDOW = 100;
+		private static final long MILLIS = 1_000_000;
+		private static final long HEAP_MARGIN = 32L * 1024 * 1024;
+
+		@Test
+		@DisplayName("Test that heap and commit latency stay flat while the coins are read again and again")
+		void testHeapAndCommitLatencyStayFlatOverManyTransactions() {
+			Album album = albumManager.addAlbum(new Album("Soak", 1, "Armadio", COINS, 0));
+			List<Coin> coins = new ArrayList<>();
+			for (int i = 0; i < COINS; i++)
+				coins.add(new Coin(Grade.AG, "Italy", Year.of(2000), "Coin " + i, "", album.getId()));
+			coinManager.addCoins(coins);
+
+			long[] commits = new long[TRANSACTIONS];
+			long heapAfterWarmUp = 0;
+			for (int i = 0; i < TRANSACTIONS; i++) {
+				coinManager.findAllCoins();
+				long start = System.nanoTime();
+				album = albumManager.moveAlbum(album, "Location " + i);
+				commits[i] = System.nanoTime() - start;
+				// the first window warms up the JVM and the connection pool
+				if (i == WINDOW - 1)
+					heapAfterWarmUp = usedHeap();
+			}
+
+			assertThat(median(commits, TRANSACTIONS - WINDOW, TRANSACTIONS)).isLessThan(3 * median(commits, WINDOW, 2 * WINDOW) + MILLIS);
+			assertThat(usedHeap()).isLessThan(heapAfterWarmUp + HEAP_MARGIN);
+		}
+
+		private long median(long[] values, int from, int to) {
+			long[] window = Arrays.copyOfRange(values, from, to);
+			Arrays.sort(window);
+			return window[window.length / 2];
+		}
+
+		private long usedHeap() {
+			System.gc();
+			Runtime runtime = Runtime.getRuntime();
+			return runtime.totalMemory() - runtime.freeMemory();
+		}
+	}
+
 	@AfterEach
 	void cleanTest() throws Exception {
 		em.clear();
@@ -475,6 +558,8 @@ class TransactionalServiceWithPostgresIT {
 		em.persist(COIN_COMM_2);
 		em.persist(COIN_PRE);
 		em.getTransaction().commit();
+		// The managers use their own EntityManager, the test one must not serve stale copies
+		em.clear();
 	}
 
 	private void initCoins() {
@@ -489,6 +574,7 @@ class TransactionalServiceWithPostgresIT {
 		em.persist(ALBUM_COMM_2);
 		em.persist(ALBUM_PRE);
 		em.getTransaction().commit();
+		em.clear();
 	}
 
 	private void initAlbums() {
@@ -0,0 +1,71 @@
+package io.github.kevinmaggi.coin_collection_manager.business.change;
+
+import java.util.Objects;
+import java.util.UUID;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.BaseEntity;
+
+/**
+ * A committed change of an entity: its id, what happened to it and its new state.
+ *
+ * @param <T> Type of the entity
+ */
+public final class Change<T extends BaseEntity> {
+	/**
+	 * What happened to the entity.
+	 */
+	public enum Type {
+		INSERT, UPDATE, DELETE
+	}
+
+	private final Type type;
+	private final UUID id;
+	private final T entity;
+
+	/**
+	 * Constructs a new {@code Change}.
+	 *
+	 * @param type		what happened to the entity
+	 * @param id		id of the entity
+	 * @param entity	the entity as committed, null if it has been deleted
+	 */
+	public Change(Type type, UUID id, T entity) {
+		this.type = type;
+		this.id = id;
+		this.entity = entity;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public UUID getId() {
+		return id;
+	}
+
+	public T getEntity() {
+		return entity;
+	}
+
+	@Override
+	public String toString() {
+		return type + " " + id;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(type, id, entity);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		Change<?> other = (Change<?>) obj;
+		return this.type == other.type && Objects.equals(this.id, other.id) && Objects.equals(this.entity, other.entity);
+	}
+}
@@ -0,0 +1,35 @@
+package io.github.kevinmaggi.coin_collection_manager.business.change;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+
+/**
+ * This interface defines a feed of the changes of coins and albums, committed by this application or by any other one that
+ * shares the same database.
+ * The changes committed together are notified together, in the order of commit; the listeners that subscribe later only get
+ * the following ones.
+ */
+public interface ChangeFeed {
+	/**
+	 * Subscribes a listener to the changes of the coins.
+	 *
+	 * @param listener	the listener
+	 * @throws IllegalArgumentException	if the listener is null
+	 */
+	void subscribeToCoins(ChangeListener<Coin> listener) throws IllegalArgumentException;
+
+	/**
+	 * Subscribes a listener to the changes of the albums.
+	 *
+	 * @param listener	the listener
+	 * @throws IllegalArgumentException	if the listener is null
+	 */
+	void subscribeToAlbums(ChangeListener<Album> listener) throws IllegalArgumentException;
+
+	/**
+	 * Unsubscribes a listener, it's not notified of any other change.
+	 *
+	 * @param listener	the listener
+	 */
+	void unsubscribe(ChangeListener<?> listener);
+}
@@ -0,0 +1,25 @@
+package io.github.kevinmaggi.coin_collection_manager.business.change;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.BaseEntity;
+
+/**
+ * This interface represents who must be notified of the committed changes of a type of entity.
+ * It's called by the thread of the {@code ChangeFeed}, so it should return quickly.
+ *
+ * @param <T> Type of the entity
+ */
+@FunctionalInterface
+public interface ChangeListener<T extends BaseEntity> {
+	/**
+	 * Notifies a committed change.
+	 *
+	 * @param change	the change
+	 */
+	void changed(Change<T> change);
+
+	/**
+	 * Notifies that some changes may have been lost (e.g. while the connection to the database was down), so whatever was
+	 * built from the previous ones must be read again. It does nothing by default.
+	 */
+	default void resynchronize() {}
+}
@@ -0,0 +1,4 @@
+/**
+ * This package contains the necessary for being notified of the changes of the collection committed by anyone.
+ */
+package io.github.kevinmaggi.coin_collection_manager.business.change;
\ No newline at end of file
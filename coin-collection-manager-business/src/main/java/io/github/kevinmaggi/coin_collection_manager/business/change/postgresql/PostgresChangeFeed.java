@@ -0,0 +1,305 @@
+package io.github.kevinmaggi.coin_collection_manager.business.change.postgresql;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import io.github.kevinmaggi.coin_collection_manager.business.change.Change;
+import io.github.kevinmaggi.coin_collection_manager.business.change.ChangeFeed;
+import io.github.kevinmaggi.coin_collection_manager.business.change.ChangeListener;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.exception.DatabaseOperationException;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.CoinAlbumTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.TransactionManager;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.BaseEntity;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.postgresql.PostgresSchemaInitializer;
+
+/**
+ * This class is an implementation of {@code ChangeFeed} for Postgres DBs, based on the notifications sent by the triggers
+ * that {@code PostgresSchemaInitializer} creates on the tables of coins and albums.
+ *
+ * A thread listens for the notifications on a connection of its own, outside of any pool since it's never released. Postgres
+ * delivers the notifications of a transaction only when it's committed, and only once even if the same row has been changed
+ * many times. The notifications received together are coalesced by entity, then the entities are read all at once (with one
+ * query for each batch of ids) in a single read-only transaction of the given {@code TransactionManager} and the changes are notified to the listeners subscribed to their type.
+ * When the connection is lost the thread connects again, after a delay, and asks the listeners to resynchronize, since the
+ * changes committed in the meanwhile have not been notified. The listeners are asked to resynchronize also when the changed
+ * entities can't be read; malformed notifications are skipped.
+ *
+ * @see PostgresSchemaInitializer
+ */
+public class PostgresChangeFeed implements ChangeFeed, AutoCloseable {
+	private static final Logger LOGGER = LogManager.getLogger(PostgresChangeFeed.class);
+
+	private static final int POLL_TIMEOUT_MILLIS = 500;
+	private static final String COINS_TABLE = "coins";
+	private static final String ALBUMS_TABLE = "albums";
+	private static final String THREAD_NAME = "change-feed";
+
+	/**
+	 * Opens the connections on which the notifications are listened for.
+	 */
+	@FunctionalInterface
+	public interface Connector {
+		/**
+		 * Opens a new connection.
+		 *
+		 * @return		the connection, in auto-commit mode
+		 * @throws SQLException	if the connection can't be opened
+		 */
+		Connection connect() throws SQLException;
+	}
+
+	private Connector connector;
+	private TransactionManager tm;
+	private long reconnectDelayMillis;
+
+	private final List<ChangeListener<Coin>> coinListeners = new CopyOnWriteArrayList<>();
+	private final List<ChangeListener<Album>> albumListeners = new CopyOnWriteArrayList<>();
+
+	// Used only by the listening thread, once started
+	private Connection connection;
+	private final Thread listener;
+	private volatile boolean closed = false;
+
+	/**
+	 * Constructor, it connects to the database and starts listening.
+	 *
+	 * @param connector			opens the connection on which the notifications are listened for
+	 * @param tm				transaction manager with which the changed entities are read
+	 * @param reconnectDelay	time waited before connecting again when the connection is lost
+	 * @throws SQLException		if the connection can't be opened
+	 * @throws IllegalArgumentException		if an argument is null or the delay is negative
+	 */
+	public PostgresChangeFeed(Connector connector, TransactionManager tm, Duration reconnectDelay) throws SQLException, IllegalArgumentException {
+		if (connector == null)
+			throw new IllegalArgumentException("Connector can't be null");
+		if (tm == null)
+			throw new IllegalArgumentException("Transaction manager can't be null");
+		if (reconnectDelay == null || reconnectDelay.isNegative())
+			throw new IllegalArgumentException("Delay can't be null or negative");
+
+		this.connector = connector;
+		this.tm = tm;
+		this.reconnectDelayMillis = reconnectDelay.toMillis();
+		this.connection = listen();
+
+		listener = new Thread(this::receiveNotifications, THREAD_NAME);
+		listener.setDaemon(true);
+		listener.start();
+	}
+
+	/**
+	 * Subscribes a listener to the changes of the coins.
+	 *
+	 * @param listener	the listener
+	 * @throws IllegalArgumentException	if the listener is null
+	 */
+	@Override
+	public void subscribeToCoins(ChangeListener<Coin> listener) throws IllegalArgumentException {
+		if (listener == null)
+			throw new IllegalArgumentException("Listener can't be null");
+		coinListeners.add(listener);
+	}
+
+	/**
+	 * Subscribes a listener to the changes of the albums.
+	 *
+	 * @param listener	the listener
+	 * @throws IllegalArgumentException	if the listener is null
+	 */
+	@Override
+	public void subscribeToAlbums(ChangeListener<Album> listener) throws IllegalArgumentException {
+		if (listener == null)
+			throw new IllegalArgumentException("Listener can't be null");
+		albumListeners.add(listener);
+	}
+
+	/**
+	 * Unsubscribes a listener, it's not notified of any other change.
+	 *
+	 * @param listener	the listener
+	 */
+	@Override
+	public void unsubscribe(ChangeListener<?> listener) {
+		coinListeners.remove(listener);
+		albumListeners.remove(listener);
+	}
+
+	/**
+	 * Stops listening, waiting for the changes being notified, if any, and closes the connection.
+	 *
+	 * @throws InterruptedException	if interrupted while waiting
+	 */
+	@Override
+	public void close() throws InterruptedException {
+		closed = true;
+		listener.join();
+	}
+
+	private Connection listen() throws SQLException {
+		Connection newConnection = connector.connect();
+		try (Statement statement = newConnection.createStatement()) {
+			statement.execute("LISTEN " + PostgresSchemaInitializer.CHANGES_CHANNEL);
+		} catch (SQLException e) {
+			newConnection.close();
+			throw e;
+		}
+		return newConnection;
+	}
+
+	private void receiveNotifications() {
+		while (!closed && connection != null) {
+			try {
+				PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications(POLL_TIMEOUT_MILLIS);
+				if (notifications != null && notifications.length > 0)
+					publish(notifications);
+			} catch (SQLException e) {
+				reconnect();
+			} catch (RuntimeException e) {
+				// The thread must go on, but the changes being published may have been lost
+				LOGGER.warn("Can't publish the changes, the listeners will be resynchronized.", e);
+				resynchronizeAll();
+			}
+		}
+		closeConnection();
+	}
+
+	private void reconnect() {
+		closeConnection();
+		while (!closed && connection == null) {
+			try {
+				Thread.sleep(reconnectDelayMillis);
+				connection = listen();
+			} catch (SQLException e) {
+				// The database is still unreachable, try again after the delay
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+		if (connection != null)
+			resynchronizeAll();
+	}
+
+	private void closeConnection() {
+		if (connection == null)
+			return;
+		try {
+			connection.close();
+		} catch (SQLException e) {
+			// The connection is being dropped anyway
+		}
+		connection = null;
+	}
+
+	private void publish(PGNotification[] notifications) {
+		Map<UUID, Change.Type> coinChanges = new LinkedHashMap<>();
+		Map<UUID, Change.Type> albumChanges = new LinkedHashMap<>();
+		for (PGNotification notification : notifications) {
+			String[] payload = notification.getParameter().split(" ");
+			Map<UUID, Change.Type> changes = null;
+			if (payload.length != 3)
+				LOGGER.warn("Malformed notification skipped: {}", notification.getParameter());
+			else if (COINS_TABLE.equals(payload[0]) && !coinListeners.isEmpty())
+				changes = coinChanges;
+			else if (ALBUMS_TABLE.equals(payload[0]) && !albumListeners.isEmpty())
+				changes = albumChanges;
+			if (changes != null) {
+				try {
+					changes.merge(UUID.fromString(payload[2]), Change.Type.valueOf(payload[1]), PostgresChangeFeed::coalesce);
+				} catch (IllegalArgumentException e) {
+					LOGGER.warn("Malformed notification skipped: {}", notification.getParameter());
+				}
+			}
+		}
+		if (coinChanges.isEmpty() && albumChanges.isEmpty())
+			return;
+
+		List<Change<Coin>> coins = new ArrayList<>();
+		List<Change<Album>> albums = new ArrayList<>();
+		try {
+			tm.forOperation("PostgresChangeFeed.publish").doInReadOnlyTransaction((CoinAlbumTransactionCode<Void>) (coinRepo, albumRepo) -> {
+				read(coinChanges, coinRepo::findAllById, coins);
+				read(albumChanges, albumRepo::findAllById, albums);
+				return null;
+			});
+		} catch (DatabaseOperationException e) {
+			// The changed entities can't be read, the listeners must read everything again
+			LOGGER.warn("Can't read the changed entities, the listeners will be resynchronized.", e);
+			resynchronizeAll();
+			return;
+		}
+		coins.forEach(change -> coinListeners.forEach(listener -> notify(listener, change)));
+		albums.forEach(change -> albumListeners.forEach(listener -> notify(listener, change)));
+	}
+
+	// A row inserted and then updated is still new to the listeners, one deleted is gone whatever happened before
+	private static Change.Type coalesce(Change.Type previous, Change.Type next) {
+		if (next == Change.Type.DELETE || previous != Change.Type.INSERT)
+			return next;
+		else
+			return previous;
+	}
+
+	// All the changed entities are read together, with one query for each batch of ids
+	private static <T extends BaseEntity> void read(Map<UUID, Change.Type> changes, Function<Collection<UUID>, List<T>> finder,
+			List<Change<T>> read) {
+		List<UUID> changed = new ArrayList<>();
+		changes.forEach((id, type) -> {
+			if (type != Change.Type.DELETE)
+				changed.add(id);
+		});
+		Map<UUID, T> entities = new HashMap<>();
+		if (!changed.isEmpty())
+			finder.apply(changed).forEach(entity -> entities.put(entity.getId(), entity));
+		changes.forEach((id, type) -> {
+			if (type == Change.Type.DELETE)
+				read.add(new Change<>(type, id, null));
+			else {
+				T entity = entities.get(id);
+				// Deleted after the notification was sent, its own notification follows
+				if (entity != null)
+					read.add(new Change<>(type, id, entity));
+			}
+		});
+	}
+
+	private void resynchronizeAll() {
+		coinListeners.forEach(PostgresChangeFeed::resynchronize);
+		albumListeners.forEach(PostgresChangeFeed::resynchronize);
+	}
+
+	// A faulty listener mustn't stop the thread, nor keep the others from being notified
+	private static <T extends BaseEntity> void notify(ChangeListener<T> listener, Change<T> change) {
+		try {
+			listener.changed(change);
+		} catch (RuntimeException e) {
+			LOGGER.warn("The listener {} failed to handle the change of {}, the feed goes on.", listener, change.getId(), e);
+		}
+	}
+
+	private static void resynchronize(ChangeListener<?> listener) {
+		try {
+			listener.resynchronize();
+		} catch (RuntimeException e) {
+			LOGGER.warn("The listener {} failed to resynchronize, the feed goes on.", listener, e);
+		}
+	}
+}
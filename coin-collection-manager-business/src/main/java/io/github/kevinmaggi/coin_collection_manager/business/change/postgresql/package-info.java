@@ -0,0 +1,4 @@
+/**
+ * This package offers an implementation of the change feed based on the notifications of Postgres DBs.
+ */
+package io.github.kevinmaggi.coin_collection_manager.business.change.postgresql;
\ No newline at end of file
@@ -1,15 +1,23 @@
 package io.github.kevinmaggi.coin_collection_manager.business.service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import io.github.kevinmaggi.coin_collection_manager.business.service.exception.AlbumNotFoundException;
 import io.github.kevinmaggi.coin_collection_manager.business.service.exception.DatabaseException;
 import io.github.kevinmaggi.coin_collection_manager.business.service.exception.DuplicateAlbumException;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.AlbumSummary;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.CacheStatistics;
 
 /**
  * This interface declares the methods that every coin manager must implement.
+ * Every operation has an asynchronous version too, executed on a given {@code Executor}: use a bounded one, like an
+ * {@code ExecutorAsyncTransactionManager} that shares its queue and metrics with the other transactions, and a saturated executor
+ * completes the future exceptionally with a {@code RejectedExecutionException}.
  */
 public interface AlbumManager {
 	/**
@@ -20,6 +28,14 @@ public interface AlbumManager {
 	 */
 	public List<Album> findAllAlbums() throws DatabaseException ;
 
+	/**
+	 * Finds the summaries of all {@code Album}s in DB, to list them without loading the entities.
+	 *
+	 * @return	A list of the summaries of all the {@code Album}s
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	public List<AlbumSummary> findAllAlbumSummaries() throws DatabaseException;
+
 	/**
 	 * Finds a specific {@code Album}.
 	 *
@@ -51,6 +67,16 @@ public interface AlbumManager {
 	 */
 	public Album addAlbum(Album album) throws DatabaseException, DuplicateAlbumException;
 
+	/**
+	 * Adds many {@code Album}s to the DB in a single transaction: either all of them are added or none.
+	 *
+	 * @param albums	The albums to add
+	 * @return			The added albums
+	 * @throws DatabaseException		if an error occurs during database querying
+	 * @throws DuplicateAlbumException	if any album is already present in DB or is repeated
+	 */
+	public List<Album> addAlbums(Collection<Album> albums) throws DatabaseException, DuplicateAlbumException;
+
 	/**
 	 * Removes an {@code Album} from the DB.
 	 *
@@ -70,4 +96,100 @@ public interface AlbumManager {
 	 * @throws AlbumNotFoundException	if try to update an album not yet/anymore in DB
 	 */
 	public Album moveAlbum(Album album, String newLocation) throws DatabaseException, AlbumNotFoundException;
+
+	/**
+	 * Gets the usage statistics of the cache of {@code Album}s.
+	 *
+	 * @return			The statistics, all zero if the cache is disabled
+	 * @throws DatabaseException		if an error occurs during database querying
+	 */
+	public CacheStatistics getAlbumCacheStatistics() throws DatabaseException;
+
+	/**
+	 * Asynchronous version of {@link #findAllAlbums()}: finds all {@code Album}s in DB.
+	 *
+	 * @param executor	The executor where the operation is executed
+	 * @return			A future completed with the result, or exceptionally with the exception thrown by {@code findAllAlbums}
+	 */
+	public default CompletableFuture<List<Album>> findAllAlbumsAsync(Executor executor) {
+		return AsyncOperations.supplyAsync(() -> findAllAlbums(), executor);
+	}
+
+	/**
+	 * Asynchronous version of {@link #findAllAlbumSummaries()}: finds the summaries of all {@code Album}s in DB.
+	 *
+	 * @param executor	The executor where the operation is executed
+	 * @return			A future completed with the result, or exceptionally with the exception thrown by {@code findAllAlbumSummaries}
+	 */
+	public default CompletableFuture<List<AlbumSummary>> findAllAlbumSummariesAsync(Executor executor) {
+		return AsyncOperations.supplyAsync(() -> findAllAlbumSummaries(), executor);
+	}
+
+	/**
+	 * Asynchronous version of {@link #findAlbumById(UUID)}: finds a specific {@code Album}.
+	 *
+	 * @param id			Id of the album
+	 * @param executor	The executor where the operation is executed
+	 * @return			A future completed with the result, or exceptionally with the exception thrown by {@code findAlbumById}
+	 */
+	public default CompletableFuture<Album> findAlbumByIdAsync(UUID id, Executor executor) {
+		return AsyncOperations.supplyAsync(() -> findAlbumById(id), executor);
+	}
+
+	/**
+	 * Asynchronous version of {@link #findAlbumByNameAndVolume(String, int)}: finds a specific {@code Album} by name and volume.
+	 *
+	 * @param name		Name of the album
+	 * @param volume		Volume of the album
+	 * @param executor	The executor where the operation is executed
+	 * @return			A future completed with the result, or exceptionally with the exception thrown by {@code findAlbumByNameAndVolume}
+	 */
+	public default CompletableFuture<Album> findAlbumByNameAndVolumeAsync(String name, int volume, Executor executor) {
+		return AsyncOperations.supplyAsync(() -> findAlbumByNameAndVolume(name, volume), executor);
+	}
+
+	/**
+	 * Asynchronous version of {@link #addAlbum(Album)}: adds an {@code Album} to the DB.
+	 *
+	 * @param album		The album to add
+	 * @param executor	The executor where the operation is executed
+	 * @return			A future completed with the result, or exceptionally with the exception thrown by {@code addAlbum}
+	 */
+	public default CompletableFuture<Album> addAlbumAsync(Album album, Executor executor) {
+		return AsyncOperations.supplyAsync(() -> addAlbum(album), executor);
+	}
+
+	/**
+	 * Asynchronous version of {@link #addAlbums(Collection)}: adds many {@code Album}s to the DB in a single transaction.
+	 *
+	 * @param albums		The albums to add
+	 * @param executor	The executor where the operation is executed
+	 * @return			A future completed with the result, or exceptionally with the exception thrown by {@code addAlbums}
+	 */
+	public default CompletableFuture<List<Album>> addAlbumsAsync(Collection<Album> albums, Executor executor) {
+		return AsyncOperations.supplyAsync(() -> addAlbums(albums), executor);
+	}
+
+	/**
+	 * Asynchronous version of {@link #deleteAlbum(Album)}: removes an {@code Album} from the DB.
+	 *
+	 * @param album		The album to remove
+	 * @param executor	The executor where the operation is executed
+	 * @return			A future completed when the operation is done, or exceptionally with the exception thrown by {@code deleteAlbum}
+	 */
+	public default CompletableFuture<Void> deleteAlbumAsync(Album album, Executor executor) {
+		return AsyncOperations.runAsync(() -> deleteAlbum(album), executor);
+	}
+
+	/**
+	 * Asynchronous version of {@link #moveAlbum(Album, String)}: moves an {@code Album} to another location.
+	 *
+	 * @param album		The album to update
+	 * @param newLocation	The new location
+	 * @param executor	The executor where the operation is executed
+	 * @return				A future completed with the result, or exceptionally with the exception thrown by {@code moveAlbum}
+	 */
+	public default CompletableFuture<Album> moveAlbumAsync(Album album, String newLocation, Executor executor) {
+		return AsyncOperations.supplyAsync(() -> moveAlbum(album, newLocation), executor);
+	}
 }
@@ -0,0 +1,46 @@
+package io.github.kevinmaggi.coin_collection_manager.business.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Utility class with which the managers execute their asynchronous operations.
+ * When the executor is saturated the rejection is reported through the future, as every other failure, so that the callers
+ * handle it in a single place.
+ */
+final class AsyncOperations {
+	private AsyncOperations() {}
+
+	/**
+	 * Executes an operation with a result on an executor.
+	 *
+	 * @param <R>			returning type of the operation
+	 * @param operation		operation to execute
+	 * @param executor		{@code Executor} where the operation is executed
+	 * @return				a future completed with the result, or exceptionally with the exception thrown by the operation or by the executor
+	 */
+	static <R> CompletableFuture<R> supplyAsync(Supplier<R> operation, Executor executor) {
+		try {
+			return CompletableFuture.supplyAsync(operation, executor);
+		} catch (RejectedExecutionException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
+	/**
+	 * Executes an operation without result on an executor.
+	 *
+	 * @param operation		operation to execute
+	 * @param executor		{@code Executor} where the operation is executed
+	 * @return				a future completed when the operation is done, or exceptionally with the exception thrown by the operation or by the executor
+	 */
+	static CompletableFuture<Void> runAsync(Runnable operation, Executor executor) {
+		try {
+			return CompletableFuture.runAsync(operation, executor);
+		} catch (RejectedExecutionException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+}
@@ -1,16 +1,24 @@
 package io.github.kevinmaggi.coin_collection_manager.business.service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 import io.github.kevinmaggi.coin_collection_manager.business.service.exception.CoinNotFoundException;
 import io.github.kevinmaggi.coin_collection_manager.business.service.exception.DatabaseException;
 import io.github.kevinmaggi.coin_collection_manager.business.service.exception.DuplicateCoinException;
 import io.github.kevinmaggi.coin_collection_manager.business.service.exception.FullAlbumException;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinSummary;
 
 /**
  * This interface declares the methods that every coin manager must implement.
+ * Every operation has an asynchronous version too, executed on a given {@code Executor}: use a bounded one, like an
+ * {@code ExecutorAsyncTransactionManager} that shares its queue and metrics with the other transactions, and a saturated executor
+ * completes the future exceptionally with a {@code RejectedExecutionException}.
  */
 public interface CoinManager {
 	/**
@@ -21,6 +29,32 @@ public interface CoinManager {
 	 */
 	public List<Coin> findAllCoins() throws DatabaseException;
 
+	/**
+	 * Finds the summaries of all {@code Coin}s in DB, to list them without loading the entities.
+	 *
+	 * @return	A list of the summaries of all the {@code Coin}s
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	public List<CoinSummary> findAllCoinSummaries() throws DatabaseException;
+
+	/**
+	 * Finds a page of {@code Coin}s in DB, ordered by id.
+	 *
+	 * @param after	Id of the last coin of the previous page, null for the first page
+	 * @param limit	Maximum number of coins in the page
+	 * @return		A list with at most {@code limit} {@code Coin}s
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	public List<Coin> findCoinsPage(UUID after, int limit) throws DatabaseException;
+
+	/**
+	 * Performs an action on every {@code Coin} in DB, fetching them lazily so that they are never all in memory at once.
+	 *
+	 * @param action	The action to perform on each coin
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	public void forEachCoin(Consumer<Coin> action) throws DatabaseException;
+
 	/**
 	 * Finds a specific {@code Coin}.
 	 *
@@ -40,6 +74,15 @@ public interface CoinManager {
 	 */
 	public List<Coin> findCoinsByAlbum(UUID album) throws DatabaseException;
 
+	/**
+	 * Finds the summaries of the {@code Coin}s contained in an {@code Album}.
+	 *
+	 * @param album	The album
+	 * @return		A list of the summaries of all the coins
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	public List<CoinSummary> findCoinSummariesByAlbum(UUID album) throws DatabaseException;
+
 	/**
 	 * Finds a {@code Coin} with a specific description.
 	 *
@@ -49,6 +92,24 @@ public interface CoinManager {
 	 */
 	public List<Coin> findCoinsByDescription(String description) throws DatabaseException;
 
+	/**
+	 * Finds the summaries of the {@code Coin}s with a specific description.
+	 *
+	 * @param description	The description
+	 * @return				A list with the summaries of the {@code Coin}s with that description
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	public List<CoinSummary> findCoinSummariesByDescription(String description) throws DatabaseException;
+
+	/**
+	 * Searches the {@code Coin}s whose description contains a text, ignoring case, the most similar first.
+	 *
+	 * @param description	The text to search
+	 * @return				A list with the matching {@code Coin}s, ranked by similarity
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	public List<Coin> searchCoinsByDescription(String description) throws DatabaseException;
+
 	/**
 	 * Adds a {@code Coin} to the DB.
 	 *
@@ -60,6 +121,17 @@ public interface CoinManager {
 	 */
 	public Coin addCoin(Coin coin) throws DatabaseException, FullAlbumException, DuplicateCoinException;
 
+	/**
+	 * Adds many {@code Coin}s to the DB in a single transaction: either all of them are added or none.
+	 *
+	 * @param coins	The coins to add
+	 * @return		The coins added
+	 * @throws DatabaseException		if an error occurs during database querying
+	 * @throws FullAlbumException		if the coins don't fit in their albums
+	 * @throws DuplicateCoinException	if any coin is already present in DB, with the ones present, or is repeated
+	 */
+	public List<Coin> addCoins(Collection<Coin> coins) throws DatabaseException, FullAlbumException, DuplicateCoinException;
+
 	/**
 	 * Removes a {@code Coin} from the DB.
 	 *
@@ -80,4 +152,158 @@ public interface CoinManager {
 	 * @throws CoinNotFoundException	if try to update a coin not yet/anymore in DB
 	 */
 	public Coin moveCoin(Coin coin, UUID newAlbumId) throws DatabaseException, FullAlbumException, CoinNotFoundException;
+
+	/**
+	 * Asynchronous version of {@link #findAllCoins()}: finds all {@code Coin}s in DB.
+	 *
+	 * @param executor	The executor where the operation is executed
+	 * @return			A future completed with the result, or exceptionally with the exception thrown by {@code findAllCoins}
+	 */
+	public default CompletableFuture<List<Coin>> findAllCoinsAsync(Executor executor) {
+		return AsyncOperations.supplyAsync(() -> findAllCoins(), executor);
+	}
+
+	/**
+	 * Asynchronous version of {@link #findAllCoinSummaries()}: finds the summaries of all {@code Coin}s in DB.
+	 *
+	 * @param executor	The executor where the operation is executed
+	 * @return			A future completed with the result, or exceptionally with the exception thrown by {@code findAllCoinSummaries}
+	 */
+	public default CompletableFuture<List<CoinSummary>> findAllCoinSummariesAsync(Executor executor) {
+		return AsyncOperations.supplyAsync(() -> findAllCoinSummaries(), executor);
+	}
+
+	/**
+	 * Asynchronous version of {@link #findCoinsPage(UUID, int)}: finds a page of {@code Coin}s in DB.
+	 *
+	 * @param after		Id of the last coin of the previous page, null for the first page
+	 * @param limit		Maximum number of coins in the page
+	 * @param executor	The executor where the operation is executed
+	 * @return			A future completed with the result, or exceptionally with the exception thrown by {@code findCoinsPage}
+	 */
+	public default CompletableFuture<List<Coin>> findCoinsPageAsync(UUID after, int limit, Executor executor) {
+		return AsyncOperations.supplyAsync(() -> findCoinsPage(after, limit), executor);
+	}
+
+	/**
+	 * Asynchronous version of {@link #forEachCoin(Consumer)}: performs an action on every {@code Coin} in DB.
+	 *
+	 * @param action		The action to perform on each coin
+	 * @param executor	The executor where the operation is executed
+	 * @return			A future completed when the operation is done, or exceptionally with the exception thrown by {@code forEachCoin}
+	 */
+	public default CompletableFuture<Void> forEachCoinAsync(Consumer<Coin> action, Executor executor) {
+		return AsyncOperations.runAsync(() -> forEachCoin(action), executor);
+	}
+
+	/**
+	 * Asynchronous version of {@link #findCoinById(UUID)}: finds a specific {@code Coin}.
+	 *
+	 * @param id			Id of the coin
+	 * @param executor	The executor where the operation is executed
+	 * @return			A future completed with the result, or exceptionally with the exception thrown by {@code findCoinById}
+	 */
+	public default CompletableFuture<Coin> findCoinByIdAsync(UUID id, Executor executor) {
+		return AsyncOperations.supplyAsync(() -> findCoinById(id), executor);
+	}
+
+	/**
+	 * Asynchronous version of {@link #findCoinsByAlbum(UUID)}: finds {@code Coin}s contained in an {@code Album}.
+	 *
+	 * @param album		The album
+	 * @param executor	The executor where the operation is executed
+	 * @return			A future completed with the result, or exceptionally with the exception thrown by {@code findCoinsByAlbum}
+	 */
+	public default CompletableFuture<List<Coin>> findCoinsByAlbumAsync(UUID album, Executor executor) {
+		return AsyncOperations.supplyAsync(() -> findCoinsByAlbum(album), executor);
+	}
+
+	/**
+	 * Asynchronous version of {@link #findCoinSummariesByAlbum(UUID)}: finds the summaries of the {@code Coin}s contained in an {@code Album}.
+	 *
+	 * @param album		The album
+	 * @param executor	The executor where the operation is executed
+	 * @return			A future completed with the result, or exceptionally with the exception thrown by {@code findCoinSummariesByAlbum}
+	 */
+	public default CompletableFuture<List<CoinSummary>> findCoinSummariesByAlbumAsync(UUID album, Executor executor) {
+		return AsyncOperations.supplyAsync(() -> findCoinSummariesByAlbum(album), executor);
+	}
+
+	/**
+	 * Asynchronous version of {@link #findCoinsByDescription(String)}: finds {@code Coin}s with a specific description.
+	 *
+	 * @param description	The description
+	 * @param executor	The executor where the operation is executed
+	 * @return				A future completed with the result, or exceptionally with the exception thrown by {@code findCoinsByDescription}
+	 */
+	public default CompletableFuture<List<Coin>> findCoinsByDescriptionAsync(String description, Executor executor) {
+		return AsyncOperations.supplyAsync(() -> findCoinsByDescription(description), executor);
+	}
+
+	/**
+	 * Asynchronous version of {@link #findCoinSummariesByDescription(String)}: finds the summaries of the {@code Coin}s with a specific description.
+	 *
+	 * @param description	The description
+	 * @param executor	The executor where the operation is executed
+	 * @return				A future completed with the result, or exceptionally with the exception thrown by {@code findCoinSummariesByDescription}
+	 */
+	public default CompletableFuture<List<CoinSummary>> findCoinSummariesByDescriptionAsync(String description, Executor executor) {
+		return AsyncOperations.supplyAsync(() -> findCoinSummariesByDescription(description), executor);
+	}
+
+	/**
+	 * Asynchronous version of {@link #searchCoinsByDescription(String)}: searches the {@code Coin}s whose description contains a text.
+	 *
+	 * @param description	The text to search
+	 * @param executor	The executor where the operation is executed
+	 * @return				A future completed with the result, or exceptionally with the exception thrown by {@code searchCoinsByDescription}
+	 */
+	public default CompletableFuture<List<Coin>> searchCoinsByDescriptionAsync(String description, Executor executor) {
+		return AsyncOperations.supplyAsync(() -> searchCoinsByDescription(description), executor);
+	}
+
+	/**
+	 * Asynchronous version of {@link #addCoin(Coin)}: adds a {@code Coin} to the DB.
+	 *
+	 * @param coin		The coin to add
+	 * @param executor	The executor where the operation is executed
+	 * @return			A future completed with the result, or exceptionally with the exception thrown by {@code addCoin}
+	 */
+	public default CompletableFuture<Coin> addCoinAsync(Coin coin, Executor executor) {
+		return AsyncOperations.supplyAsync(() -> addCoin(coin), executor);
+	}
+
+	/**
+	 * Asynchronous version of {@link #addCoins(Collection)}: adds many {@code Coin}s to the DB in a single transaction.
+	 *
+	 * @param coins		The coins to add
+	 * @param executor	The executor where the operation is executed
+	 * @return			A future completed with the result, or exceptionally with the exception thrown by {@code addCoins}
+	 */
+	public default CompletableFuture<List<Coin>> addCoinsAsync(Collection<Coin> coins, Executor executor) {
+		return AsyncOperations.supplyAsync(() -> addCoins(coins), executor);
+	}
+
+	/**
+	 * Asynchronous version of {@link #deleteCoin(Coin)}: removes a {@code Coin} from the DB.
+	 *
+	 * @param coin		The coin to remove
+	 * @param executor	The executor where the operation is executed
+	 * @return			A future completed when the operation is done, or exceptionally with the exception thrown by {@code deleteCoin}
+	 */
+	public default CompletableFuture<Void> deleteCoinAsync(Coin coin, Executor executor) {
+		return AsyncOperations.runAsync(() -> deleteCoin(coin), executor);
+	}
+
+	/**
+	 * Asynchronous version of {@link #moveCoin(Coin, UUID)}: moves a {@code Coin} to another album.
+	 *
+	 * @param coin		The coin to update
+	 * @param newAlbumId	The album where to move it
+	 * @param executor	The executor where the operation is executed
+	 * @return				A future completed with the result, or exceptionally with the exception thrown by {@code moveCoin}
+	 */
+	public default CompletableFuture<Coin> moveCoinAsync(Coin coin, UUID newAlbumId, Executor executor) {
+		return AsyncOperations.supplyAsync(() -> moveCoin(coin, newAlbumId), executor);
+	}
 }
@@ -0,0 +1,55 @@
+package io.github.kevinmaggi.coin_collection_manager.business.service;
+
+import java.time.Year;
+import java.util.List;
+import java.util.UUID;
+
+import io.github.kevinmaggi.coin_collection_manager.business.service.exception.DatabaseException;
+import io.github.kevinmaggi.coin_collection_manager.core.model.AlbumFill;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinCount;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+
+/**
+ * This interface declares the methods that every statistics manager must implement.
+ */
+public interface StatisticsManager {
+	/**
+	 * Counts the coins stored in each {@code Album}.
+	 *
+	 * @return	A list with the number of coins for each album's id (null for the coins not in an album)
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	public List<CoinCount<UUID>> countCoinsByAlbum() throws DatabaseException;
+
+	/**
+	 * Counts the coins of each country.
+	 *
+	 * @return	A list with the number of coins for each country, ordered by country
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	public List<CoinCount<String>> countCoinsByCountry() throws DatabaseException;
+
+	/**
+	 * Counts the coins of each {@code Grade}.
+	 *
+	 * @return	A list with the number of coins for each grade, ordered by grade
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	public List<CoinCount<Grade>> countCoinsByGrade() throws DatabaseException;
+
+	/**
+	 * Counts the coins minted in each decade.
+	 *
+	 * @return	A list with the number of coins for each decade, identified by its first year, ordered by decade
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	public List<CoinCount<Year>> countCoinsByDecade() throws DatabaseException;
+
+	/**
+	 * Finds how much each {@code Album} is filled.
+	 *
+	 * @return	A list with the fill of each album, ordered by name and volume
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	public List<AlbumFill> findAlbumFills() throws DatabaseException;
+}
@@ -1,5 +1,10 @@
 package io.github.kevinmaggi.coin_collection_manager.business.service.exception;
 
+import java.util.Collection;
+import java.util.List;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+
 /**
  * This exception will be thrown if will be found a {@code Coin} in the DB that interfere with current operation.
  */
@@ -7,13 +12,27 @@ public class DuplicateCoinException extends RuntimeException {
 
 	private static final long serialVersionUID = 1L;
 
+	// Not serialized, coins aren't serializable
+	private final transient List<Coin> duplicates;
+
 	/**
 	 * Constructs a new exception.
 	 *
 	 * @param message	the message
 	 */
 	public DuplicateCoinException(String message) {
+		this(message, List.of());
+	}
+
+	/**
+	 * Constructs a new exception with the {@code Coin}s found to be duplicates.
+	 *
+	 * @param message		the message
+	 * @param duplicates	the {@code Coin}s already present in DB
+	 */
+	public DuplicateCoinException(String message, Collection<Coin> duplicates) {
 		super(message);
+		this.duplicates = List.copyOf(duplicates);
 	}
 
 	/**
@@ -24,6 +43,16 @@ public class DuplicateCoinException extends RuntimeException {
 	 */
 	public DuplicateCoinException(String message, Throwable cause) {
 		super(message, cause);
+		this.duplicates = List.of();
+	}
+
+	/**
+	 * Returns the {@code Coin}s found to be duplicates, if known.
+	 *
+	 * @return	the {@code Coin}s already present in DB, empty if they aren't known
+	 */
+	public List<Coin> getDuplicates() {
+		return duplicates == null ? List.of() : duplicates;
 	}
 
 }
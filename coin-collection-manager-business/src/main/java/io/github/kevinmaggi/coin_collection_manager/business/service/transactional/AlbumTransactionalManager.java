@@ -1,5 +1,8 @@
 package io.github.kevinmaggi.coin_collection_manager.business.service.transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.UUID;
 
@@ -10,7 +13,7 @@ import io.github.kevinmaggi.coin_collection_manager.business.service.exception.D
 import io.github.kevinmaggi.coin_collection_manager.business.transaction.exception.DatabaseOperationException;
 import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.TransactionManager;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
-import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.AlbumSummary;
 import io.github.kevinmaggi.coin_collection_manager.core.repository.*;
 
 /**
@@ -40,7 +43,22 @@ public class AlbumTransactionalManager extends TransactionalManager implements A
 	@Override
 	public List<Album> findAllAlbums() throws DatabaseException {
 		try {
-			return tm.doInTransaction(AlbumRepository::findAll);
+			return tm.forOperation("AlbumTransactionalManager.findAllAlbums").doInReadOnlyTransaction(AlbumRepository::findAll);
+		} catch (DatabaseOperationException e) {
+			throw new DatabaseException(DB_EXCEPTION_MSG, e);
+		}
+	}
+
+	/**
+	 * Finds the summaries of all {@code Album}s in DB, to list them without loading the entities.
+	 *
+	 * @return	A list of the summaries of all the {@code Album}s
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	@Override
+	public List<AlbumSummary> findAllAlbumSummaries() throws DatabaseException {
+		try {
+			return tm.forOperation("AlbumTransactionalManager.findAllAlbumSummaries").doInReadOnlyTransaction(AlbumRepository::findAllSummaries);
 		} catch (DatabaseOperationException e) {
 			throw new DatabaseException(DB_EXCEPTION_MSG, e);
 		}
@@ -57,8 +75,8 @@ public class AlbumTransactionalManager extends TransactionalManager implements A
 	@Override
 	public Album findAlbumById(UUID id) throws DatabaseException, AlbumNotFoundException {
 		try {
-			Album returned = tm.doInTransaction(
-								(AlbumRepository albumRepo) -> albumRepo.findById(id)
+			Album returned = tm.forOperation("AlbumTransactionalManager.findAlbumById").doInReadOnlyTransaction(
+								(AlbumRepository albumRepo) -> albumRepo.findFreshById(id)
 								);
 			if (returned == null)
 				throw new AlbumNotFoundException(ALBUM_NOT_FOUND_MSG);
@@ -81,7 +99,7 @@ public class AlbumTransactionalManager extends TransactionalManager implements A
 	@Override
 	public Album findAlbumByNameAndVolume(String name, int volume) throws DatabaseException, AlbumNotFoundException {
 		try {
-			Album returned = tm.doInTransaction(
+			Album returned = tm.forOperation("AlbumTransactionalManager.findAlbumByNameAndVolume").doInReadOnlyTransaction(
 								(AlbumRepository albumRepo) -> albumRepo.findByNameAndVolume(name, volume)
 								);
 			if (returned == null)
@@ -97,17 +115,46 @@ public class AlbumTransactionalManager extends TransactionalManager implements A
 	 * Adds an {@code Album} to the DB.
 	 *
 	 * @param album		The album to add
-	 * @return			The added album
+	 * @return			The added album, a different instance from the given one
 	 * @throws DatabaseException		if an error occurs during database querying
 	 * @throws DuplicateAlbumException	if try to add an album already present in DB
 	 */
 	@Override
 	public Album addAlbum(Album album) throws DatabaseException, DuplicateAlbumException {
 		try {
-			return tm.doInTransaction(
+			return tm.forOperation("AlbumTransactionalManager.addAlbum").doInTransaction(
 					(AlbumRepository albumRepo) -> {
 						if (albumRepo.findByNameAndVolume(album.getName(), album.getVolume()) == null) {
-							return albumRepo.save(album);
+							return albumRepo.save(newCopy(album));
+						}
+						else
+							throw new DuplicateAlbumException(DUPLICATE_ALBUM_MSG);
+					}
+					);
+		} catch (DatabaseOperationException e) {
+			throw new DatabaseException(DB_EXCEPTION_MSG, e);
+		}
+	}
+
+	/**
+	 * Adds many {@code Album}s to the DB in a single transaction: either all of them are added or none.
+	 * Duplicates are checked once for each batch of albums.
+	 *
+	 * @param albums	The albums to add
+	 * @return			The added albums, different instances from the given ones
+	 * @throws DatabaseException		if an error occurs during database querying
+	 * @throws DuplicateAlbumException	if any album is already present in DB or is repeated
+	 */
+	@Override
+	public List<Album> addAlbums(Collection<Album> albums) throws DatabaseException, DuplicateAlbumException {
+		try {
+			return tm.forOperation("AlbumTransactionalManager.addAlbums").doInTransaction(
+					(AlbumRepository albumRepo) -> {
+						if (new HashSet<>(albums).size() == albums.size() && albumRepo.findAllMatching(albums).isEmpty()) {
+							List<Album> copies = new ArrayList<>(albums.size());
+							for (Album album : albums)
+								copies.add(newCopy(album));
+							return albumRepo.saveAll(copies);
 						}
 						else
 							throw new DuplicateAlbumException(DUPLICATE_ALBUM_MSG);
@@ -128,16 +175,14 @@ public class AlbumTransactionalManager extends TransactionalManager implements A
 	@Override
 	public void deleteAlbum(Album album) throws DatabaseException, AlbumNotFoundException {
 		try {
-			tm.doInTransaction(
+			tm.forOperation("AlbumTransactionalManager.deleteAlbum").doInTransaction(
 				(CoinRepository coinRepo, AlbumRepository albumRepo) -> {
 					if (album.getId() == null)
 						throw new AlbumNotFoundException(ALBUM_NOT_FOUND_MSG);
 					Album dbAlbum = albumRepo.findById(album.getId());
 					if (dbAlbum != null) {
-						List<Coin> coins = coinRepo.findByAlbum(album.getId());
-						for (Coin coin : coins)
-							coinRepo.delete(coin);
-						albumRepo.delete(album);
+						coinRepo.deleteByAlbum(dbAlbum.getId());
+						albumRepo.delete(dbAlbum);
 						return null;
 					}
 					else
@@ -160,14 +205,14 @@ public class AlbumTransactionalManager extends TransactionalManager implements A
 	 */
 	public Album moveAlbum(Album album, String newLocation) throws DatabaseException, AlbumNotFoundException {
 		try {
-			return tm.doInTransaction(
+			return tm.forOperation("AlbumTransactionalManager.moveAlbum").doInTransaction(
 					(AlbumRepository albumRepo) -> {
 						if (album.getId() == null)
 							throw new AlbumNotFoundException(ALBUM_NOT_FOUND_MSG);
 						Album dbAlbum = albumRepo.findById(album.getId());
 						if (dbAlbum != null) {
-							album.setLocation(newLocation);
-							return albumRepo.save(album);
+							dbAlbum.setLocation(newLocation);
+							return albumRepo.save(dbAlbum);
 						}
 						else
 							throw new AlbumNotFoundException(ALBUM_NOT_FOUND_MSG);
@@ -178,4 +223,26 @@ public class AlbumTransactionalManager extends TransactionalManager implements A
 		}
 	}
 
+	/**
+	 * Gets the usage statistics of the cache of {@code Album}s.
+	 *
+	 * @return			The statistics, all zero if the cache is disabled
+	 * @throws DatabaseException		if an error occurs during database querying
+	 */
+	@Override
+	public CacheStatistics getAlbumCacheStatistics() throws DatabaseException {
+		try {
+			return tm.forOperation("AlbumTransactionalManager.getAlbumCacheStatistics").doInReadOnlyTransaction(AlbumRepository::getCacheStatistics);
+		} catch (DatabaseOperationException e) {
+			throw new DatabaseException(DB_EXCEPTION_MSG, e);
+		}
+	}
+
+	/**
+	 * Copies an album to add. Persisting an album assigns its id: every attempt of the transaction saves its own copy, so that
+	 * one retried after a concurrent transaction inserts it again, instead of merging an album that the rollback removed.
+	 */
+	private static Album newCopy(Album album) {
+		return new Album(album.getName(), album.getVolume(), album.getLocation(), album.getNumberOfSlots(), album.getOccupiedSlots());
+	}
 }
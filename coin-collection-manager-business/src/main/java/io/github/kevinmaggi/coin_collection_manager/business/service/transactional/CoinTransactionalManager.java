@@ -1,7 +1,16 @@
 package io.github.kevinmaggi.coin_collection_manager.business.service.transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import io.github.kevinmaggi.coin_collection_manager.business.service.CoinManager;
 import io.github.kevinmaggi.coin_collection_manager.business.service.exception.CoinNotFoundException;
@@ -11,7 +20,7 @@ import io.github.kevinmaggi.coin_collection_manager.business.service.exception.F
 import io.github.kevinmaggi.coin_collection_manager.business.transaction.exception.DatabaseOperationException;
 import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.TransactionManager;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
-import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinSummary;
 import io.github.kevinmaggi.coin_collection_manager.core.repository.*;
 
 /**
@@ -23,6 +32,12 @@ public class CoinTransactionalManager extends TransactionalManager implements Co
 	private static final String DUPLICATE_COIN_MSG = "Such coin is already present in the DB";
 	private static final String FULL_ALBUM_MSG = "Can't add such coin to the album because it's already full";
 	private static final String COIN_NOT_FOUND_MSG = "Doesn't exist such coin in the DB";
+	private static final String SLOTS_MISMATCH_MSG = "The album of the coin doesn't count it among its occupied slots";
+
+	/**
+	 * Order in which albums' slots are updated by a transaction, so that concurrent transactions can't deadlock.
+	 */
+	private static final Comparator<UUID> ALBUM_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
 
 	/**
 	 * Simple constructor.
@@ -42,7 +57,63 @@ public class CoinTransactionalManager extends TransactionalManager implements Co
 	@Override
 	public List<Coin> findAllCoins() throws DatabaseException {
 		try {
-			return tm.doInTransaction(CoinRepository::findAll);
+			return tm.forOperation("CoinTransactionalManager.findAllCoins").doInReadOnlyTransaction(CoinRepository::findAll);
+		} catch (DatabaseOperationException e) {
+			throw new DatabaseException(DB_EXCEPTION_MSG, e);
+		}
+	}
+
+	/**
+	 * Finds the summaries of all {@code Coin}s in DB, to list them without loading the entities.
+	 *
+	 * @return	A list of the summaries of all the {@code Coin}s
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	@Override
+	public List<CoinSummary> findAllCoinSummaries() throws DatabaseException {
+		try {
+			return tm.forOperation("CoinTransactionalManager.findAllCoinSummaries").doInReadOnlyTransaction(CoinRepository::findAllSummaries);
+		} catch (DatabaseOperationException e) {
+			throw new DatabaseException(DB_EXCEPTION_MSG, e);
+		}
+	}
+
+	/**
+	 * Finds a page of {@code Coin}s in DB, ordered by id.
+	 *
+	 * @param after	Id of the last coin of the previous page, null for the first page
+	 * @param limit	Maximum number of coins in the page
+	 * @return		A list with at most {@code limit} {@code Coin}s
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	@Override
+	public List<Coin> findCoinsPage(UUID after, int limit) throws DatabaseException {
+		try {
+			return tm.forOperation("CoinTransactionalManager.findCoinsPage").doInReadOnlyTransaction(
+					(CoinRepository repo) -> repo.findPage(after, limit)
+					);
+		} catch (DatabaseOperationException e) {
+			throw new DatabaseException(DB_EXCEPTION_MSG, e);
+		}
+	}
+
+	/**
+	 * Performs an action on every {@code Coin} in DB, fetching them lazily so that they are never all in memory at once.
+	 *
+	 * @param action	The action to perform on each coin
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	@Override
+	public void forEachCoin(Consumer<Coin> action) throws DatabaseException {
+		try {
+			tm.forOperation("CoinTransactionalManager.forEachCoin").doInReadOnlyTransaction(
+					(CoinRepository repo) -> {
+						try (Stream<Coin> coins = repo.streamAll()) {
+							coins.forEach(action);
+						}
+						return null;
+					}
+					);
 		} catch (DatabaseOperationException e) {
 			throw new DatabaseException(DB_EXCEPTION_MSG, e);
 		}
@@ -59,8 +130,8 @@ public class CoinTransactionalManager extends TransactionalManager implements Co
 	@Override
 	public Coin findCoinById(UUID id) throws DatabaseException, CoinNotFoundException {
 		try {
-			Coin returned = tm.doInTransaction(
-								(CoinRepository repo) -> repo.findById(id)
+			Coin returned = tm.forOperation("CoinTransactionalManager.findCoinById").doInReadOnlyTransaction(
+								(CoinRepository repo) -> repo.findFreshById(id)
 								);
 			if (returned == null)
 				throw new CoinNotFoundException(COIN_NOT_FOUND_MSG);
@@ -81,7 +152,7 @@ public class CoinTransactionalManager extends TransactionalManager implements Co
 	@Override
 	public List<Coin> findCoinsByAlbum(UUID album) throws DatabaseException {
 		try {
-			return tm.doInTransaction(
+			return tm.forOperation("CoinTransactionalManager.findCoinsByAlbum").doInReadOnlyTransaction(
 					(CoinRepository repo) -> repo.findByAlbum(album)
 					);
 		} catch (DatabaseOperationException e) {
@@ -89,6 +160,24 @@ public class CoinTransactionalManager extends TransactionalManager implements Co
 		}
 	}
 
+	/**
+	 * Finds the summaries of the {@code Coin}s contained in an {@code Album}.
+	 *
+	 * @param album	The album
+	 * @return		A list of the summaries of all the coins
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	@Override
+	public List<CoinSummary> findCoinSummariesByAlbum(UUID album) throws DatabaseException {
+		try {
+			return tm.forOperation("CoinTransactionalManager.findCoinSummariesByAlbum").doInReadOnlyTransaction(
+					(CoinRepository repo) -> repo.findSummariesByAlbum(album)
+					);
+		} catch (DatabaseOperationException e) {
+			throw new DatabaseException(DB_EXCEPTION_MSG, e);
+		}
+	}
+
 	/**
 	 * Finds a {@code Coin} with a specific description.
 	 *
@@ -99,7 +188,7 @@ public class CoinTransactionalManager extends TransactionalManager implements Co
 	@Override
 	public List<Coin> findCoinsByDescription(String description) throws DatabaseException {
 		try {
-			return tm.doInTransaction(
+			return tm.forOperation("CoinTransactionalManager.findCoinsByDescription").doInReadOnlyTransaction(
 					(CoinRepository repo) -> repo.findByDescription(description)
 					);
 		} catch (DatabaseOperationException e) {
@@ -107,11 +196,47 @@ public class CoinTransactionalManager extends TransactionalManager implements Co
 		}
 	}
 
+	/**
+	 * Finds the summaries of the {@code Coin}s with a specific description.
+	 *
+	 * @param description	The description
+	 * @return				A list with the summaries of the {@code Coin}s with that description
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	@Override
+	public List<CoinSummary> findCoinSummariesByDescription(String description) throws DatabaseException {
+		try {
+			return tm.forOperation("CoinTransactionalManager.findCoinSummariesByDescription").doInReadOnlyTransaction(
+					(CoinRepository repo) -> repo.findSummariesByDescription(description)
+					);
+		} catch (DatabaseOperationException e) {
+			throw new DatabaseException(DB_EXCEPTION_MSG, e);
+		}
+	}
+
+	/**
+	 * Searches the {@code Coin}s whose description contains a text, ignoring case, the most similar first.
+	 *
+	 * @param description	The text to search
+	 * @return				A list with the matching {@code Coin}s, ranked by similarity
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	@Override
+	public List<Coin> searchCoinsByDescription(String description) throws DatabaseException {
+		try {
+			return tm.forOperation("CoinTransactionalManager.searchCoinsByDescription").doInReadOnlyTransaction(
+					(CoinRepository repo) -> repo.searchByDescription(description)
+					);
+		} catch (DatabaseOperationException e) {
+			throw new DatabaseException(DB_EXCEPTION_MSG, e);
+		}
+	}
+
 	/**
 	 * Adds a {@code Coin} to the DB.
 	 *
 	 * @param coin	The coin to add
-	 * @return		The coin added
+	 * @return		The coin added, a different instance from the given one
 	 * @throws DatabaseException		if an error occurs during database querying
 	 * @throws FullAlbumException		if try to add a coin to a full album
 	 * @throws DuplicateCoinException	if try to add a coin already present in DB
@@ -119,23 +244,51 @@ public class CoinTransactionalManager extends TransactionalManager implements Co
 	@Override
 	public Coin addCoin(Coin coin) throws DatabaseException, FullAlbumException, DuplicateCoinException {
 		try {
-			return tm.doInTransaction(
+			return tm.forOperation("CoinTransactionalManager.addCoin").doInTransaction(
 					(CoinRepository coinRepo, AlbumRepository albumRepo) -> {
-						if (coinRepo.findByGradeCountryYearDescriptionAndNote(
-								coin.getGrade(), coin.getCountry(), coin.getMintingYear(), coin.getDescription(), coin.getNote()
-								) == null
-						) {
-							Album album = albumRepo.findById(coin.getAlbum());
-							if (album.getOccupiedSlots() < album.getNumberOfSlots()) {
-								album.setOccupiedSlots(album.getOccupiedSlots() + 1);
-								albumRepo.save(album);
-								return coinRepo.save(coin);
-							}
-							else
-								throw new FullAlbumException(FULL_ALBUM_MSG);
-						}
+						// the insert checks for duplicates by itself, if the album is full the rollback removes the coin
+						Coin added = coinRepo.insertIfAbsent(coin);
+						if (added == null)
+							throw new DuplicateCoinException(DUPLICATE_COIN_MSG);
+						else if (albumRepo.occupySlots(coin.getAlbum(), 1))
+							return added;
 						else
+							throw new FullAlbumException(FULL_ALBUM_MSG);
+					}
+					);
+		} catch (DatabaseOperationException e) {
+			throw new DatabaseException(DB_EXCEPTION_MSG, e);
+		}
+	}
+
+	/**
+	 * Adds many {@code Coin}s to the DB in a single transaction: either all of them are added or none.
+	 * Duplicates are checked by fingerprint once for each batch of coins and the slots of each album are updated once.
+	 *
+	 * @param coins	The coins to add
+	 * @return		The coins added, different instances from the given ones
+	 * @throws DatabaseException		if an error occurs during database querying
+	 * @throws FullAlbumException		if the coins don't fit in their albums
+	 * @throws DuplicateCoinException	if any coin is already present in DB, with the ones present, or is repeated
+	 */
+	@Override
+	public List<Coin> addCoins(Collection<Coin> coins) throws DatabaseException, FullAlbumException, DuplicateCoinException {
+		try {
+			return tm.forOperation("CoinTransactionalManager.addCoins").doInTransaction(
+					(CoinRepository coinRepo, AlbumRepository albumRepo) -> {
+						if (new HashSet<>(coins).size() < coins.size())
 							throw new DuplicateCoinException(DUPLICATE_COIN_MSG);
+						List<Coin> duplicates = coinRepo.findAllMatching(coins);
+						if (!duplicates.isEmpty())
+							throw new DuplicateCoinException(DUPLICATE_COIN_MSG, duplicates);
+						Map<UUID, Integer> coinsPerAlbum = new TreeMap<>(ALBUM_ORDER);
+						for (Coin coin : coins)
+							coinsPerAlbum.merge(coin.getAlbum(), 1, Integer::sum);
+						for (Map.Entry<UUID, Integer> entry : coinsPerAlbum.entrySet()) {
+							if (!albumRepo.occupySlots(entry.getKey(), entry.getValue()))
+								throw new FullAlbumException(FULL_ALBUM_MSG);
+						}
+						return coinRepo.saveAll(newCopies(coins));
 					}
 					);
 		} catch (DatabaseOperationException e) {
@@ -153,16 +306,14 @@ public class CoinTransactionalManager extends TransactionalManager implements Co
 	@Override
 	public void deleteCoin(Coin coin) throws DatabaseException, CoinNotFoundException {
 		try {
-			tm.doInTransaction(
+			tm.forOperation("CoinTransactionalManager.deleteCoin").doInTransaction(
 					(CoinRepository coinRepo, AlbumRepository albumRepo) -> {
 						if (coin.getId() == null)
 							throw new CoinNotFoundException(COIN_NOT_FOUND_MSG);
 						Coin dbCoin = coinRepo.findById(coin.getId());
 						if (dbCoin != null) {
-							Album album = albumRepo.findById(coin.getAlbum());
-							album.setOccupiedSlots(album.getOccupiedSlots() - 1);
-							albumRepo.save(album);
-							coinRepo.delete(coin);
+							releaseSlot(albumRepo, dbCoin.getAlbum());
+							coinRepo.delete(dbCoin);
 							return null;
 						}
 						else
@@ -186,27 +337,31 @@ public class CoinTransactionalManager extends TransactionalManager implements Co
 	 */
 	public Coin moveCoin(Coin coin, UUID newAlbumId) throws DatabaseException, FullAlbumException, CoinNotFoundException {
 		try {
-			return tm.doInTransaction(
+			return tm.forOperation("CoinTransactionalManager.moveCoin").doInTransaction(
 					(CoinRepository coinRepo, AlbumRepository albumRepo) -> {
 						if (coin.getId() == null)
 							throw new CoinNotFoundException(COIN_NOT_FOUND_MSG);
 						Coin dbCoin = coinRepo.findById(coin.getId());
 						if (dbCoin != null) {
-							// retrieve coin's old album from coin's record on the db
-							Album oldAlbum = albumRepo.findById(coin.getAlbum());
-							// retrieve coin's new album directly from coin
-							Album newAlbum = albumRepo.findById(newAlbumId);
-							if (newAlbum.equals(oldAlbum)) {
-								return coinRepo.save(coin);
+							UUID oldAlbumId = dbCoin.getAlbum();
+							if (Objects.equals(newAlbumId, oldAlbumId)) {
+								return coinRepo.save(dbCoin);
 							}
 							else {
-								if (newAlbum.getOccupiedSlots() < newAlbum.getNumberOfSlots()) {
-									oldAlbum.setOccupiedSlots(oldAlbum.getOccupiedSlots() - 1);
-									albumRepo.save(oldAlbum);
-									newAlbum.setOccupiedSlots(newAlbum.getOccupiedSlots() + 1);
-									albumRepo.save(newAlbum);
-									coin.setAlbum(newAlbumId);
-									return coinRepo.save(coin);
+								// albums are updated in id order, so concurrent moves lock them in the same order
+								boolean moved;
+								if (ALBUM_ORDER.compare(oldAlbumId, newAlbumId) < 0) {
+									releaseSlot(albumRepo, oldAlbumId);
+									moved = albumRepo.occupySlots(newAlbumId, 1);
+								}
+								else {
+									moved = albumRepo.occupySlots(newAlbumId, 1);
+									if (moved)
+										releaseSlot(albumRepo, oldAlbumId);
+								}
+								if (moved) {
+									dbCoin.setAlbum(newAlbumId);
+									return coinRepo.save(dbCoin);
 								}
 								else
 									throw new FullAlbumException(FULL_ALBUM_MSG);
@@ -221,4 +376,23 @@ public class CoinTransactionalManager extends TransactionalManager implements Co
 		}
 	}
 
+	/**
+	 * Copies the coins to add. Persisting a coin assigns its id: every attempt of the transaction saves its own copies, so that
+	 * one retried after a concurrent transaction inserts them again, instead of merging coins that the rollback removed.
+	 */
+	private static List<Coin> newCopies(Collection<Coin> coins) {
+		List<Coin> copies = new ArrayList<>(coins.size());
+		for (Coin coin : coins)
+			copies.add(new Coin(coin.getGrade(), coin.getCountry(), coin.getMintingYear(), coin.getDescription(), coin.getNote(), coin.getAlbum()));
+		return copies;
+	}
+
+	/**
+	 * Releases the slot of a coin leaving its album. If the album doesn't count the coin its counters have drifted from the
+	 * coins in it: the transaction is rolled back rather than leaving them wrong.
+	 */
+	private static void releaseSlot(AlbumRepository albumRepo, UUID albumId) {
+		if (!albumRepo.releaseSlots(albumId, 1))
+			throw new DatabaseOperationException(SLOTS_MISMATCH_MSG);
+	}
 }
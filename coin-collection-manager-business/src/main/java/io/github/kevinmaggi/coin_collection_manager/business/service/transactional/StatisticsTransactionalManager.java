@@ -0,0 +1,107 @@
+package io.github.kevinmaggi.coin_collection_manager.business.service.transactional;
+
+import java.time.Year;
+import java.util.List;
+import java.util.UUID;
+
+import io.github.kevinmaggi.coin_collection_manager.business.service.StatisticsManager;
+import io.github.kevinmaggi.coin_collection_manager.business.service.exception.DatabaseException;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.exception.DatabaseOperationException;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.TransactionManager;
+import io.github.kevinmaggi.coin_collection_manager.core.model.AlbumFill;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinCount;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.StatisticsRepository;
+
+/**
+ * This class is an implementation of {@code StatisticsManager} using {@code TransactionalManager}.
+ * The statistics are aggregated by the database, none of them loads the coins or the albums.
+ */
+public class StatisticsTransactionalManager extends TransactionalManager implements StatisticsManager {
+
+	private static final String DB_EXCEPTION_MSG = "Something went wrong during the DB querying";
+
+	/**
+	 * Simple constructor.
+	 *
+	 * @param tm	{@code TransactionManager} to use for executing code
+	 */
+	public StatisticsTransactionalManager(TransactionManager tm) {
+		super(tm);
+	}
+
+	/**
+	 * Counts the coins stored in each {@code Album}.
+	 *
+	 * @return	A list with the number of coins for each album's id (null for the coins not in an album)
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	@Override
+	public List<CoinCount<UUID>> countCoinsByAlbum() throws DatabaseException {
+		try {
+			return tm.forOperation("StatisticsTransactionalManager.countCoinsByAlbum").doInReadOnlyTransaction(StatisticsRepository::countCoinsByAlbum);
+		} catch (DatabaseOperationException e) {
+			throw new DatabaseException(DB_EXCEPTION_MSG, e);
+		}
+	}
+
+	/**
+	 * Counts the coins of each country.
+	 *
+	 * @return	A list with the number of coins for each country, ordered by country
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	@Override
+	public List<CoinCount<String>> countCoinsByCountry() throws DatabaseException {
+		try {
+			return tm.forOperation("StatisticsTransactionalManager.countCoinsByCountry").doInReadOnlyTransaction(StatisticsRepository::countCoinsByCountry);
+		} catch (DatabaseOperationException e) {
+			throw new DatabaseException(DB_EXCEPTION_MSG, e);
+		}
+	}
+
+	/**
+	 * Counts the coins of each {@code Grade}.
+	 *
+	 * @return	A list with the number of coins for each grade, ordered by grade
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	@Override
+	public List<CoinCount<Grade>> countCoinsByGrade() throws DatabaseException {
+		try {
+			return tm.forOperation("StatisticsTransactionalManager.countCoinsByGrade").doInReadOnlyTransaction(StatisticsRepository::countCoinsByGrade);
+		} catch (DatabaseOperationException e) {
+			throw new DatabaseException(DB_EXCEPTION_MSG, e);
+		}
+	}
+
+	/**
+	 * Counts the coins minted in each decade.
+	 *
+	 * @return	A list with the number of coins for each decade, identified by its first year, ordered by decade
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	@Override
+	public List<CoinCount<Year>> countCoinsByDecade() throws DatabaseException {
+		try {
+			return tm.forOperation("StatisticsTransactionalManager.countCoinsByDecade").doInReadOnlyTransaction(StatisticsRepository::countCoinsByDecade);
+		} catch (DatabaseOperationException e) {
+			throw new DatabaseException(DB_EXCEPTION_MSG, e);
+		}
+	}
+
+	/**
+	 * Finds how much each {@code Album} is filled.
+	 *
+	 * @return	A list with the fill of each album, ordered by name and volume
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	@Override
+	public List<AlbumFill> findAlbumFills() throws DatabaseException {
+		try {
+			return tm.forOperation("StatisticsTransactionalManager.findAlbumFills").doInReadOnlyTransaction(StatisticsRepository::findAlbumFills);
+		} catch (DatabaseOperationException e) {
+			throw new DatabaseException(DB_EXCEPTION_MSG, e);
+		}
+	}
+}
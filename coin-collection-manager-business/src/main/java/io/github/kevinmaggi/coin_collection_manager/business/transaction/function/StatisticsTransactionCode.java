@@ -0,0 +1,13 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transaction.function;
+
+import java.util.function.Function;
+
+import io.github.kevinmaggi.coin_collection_manager.core.repository.StatisticsRepository;
+
+/**
+ * This interface represents a piece of code that must be executed in a transaction and involve the {@code StatisticsRepository} class.
+ *
+ * @param <R> returning type of the code
+ */
+@FunctionalInterface
+public interface StatisticsTransactionCode<R> extends Function<StatisticsRepository, R> {}
\ No newline at end of file
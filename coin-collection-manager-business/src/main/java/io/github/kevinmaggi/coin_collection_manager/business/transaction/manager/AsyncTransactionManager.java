@@ -0,0 +1,106 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager;
+
+import java.util.concurrent.CompletableFuture;
+
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.AlbumTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.CoinAlbumTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.CoinTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.StatisticsTransactionCode;
+
+/**
+ * This interface is the asynchronous counterpart of {@code TransactionManager}: the pieces of code are executed in a transaction
+ * without blocking the caller, and the result is delivered through a {@code CompletableFuture}, so that many operations can be
+ * composed in a pipeline.
+ *
+ * The failures are never thrown to the caller, the returned future is completed exceptionally instead: with a
+ * {@code DatabaseOperationException} when the code execution fails because of some problem related to DB operation, with the
+ * exception thrown by the code otherwise, or with a {@code RejectedExecutionException} when there's no room for executing it.
+ *
+ * @see TransactionManager
+ */
+public interface AsyncTransactionManager {
+	/**
+	 * Executes asynchronously a piece of code that involve the {@code CoinRepository} class.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute
+	 * @return			a future completed with the result of the execution of {@code code}
+	 */
+	<R> CompletableFuture<R> doInTransactionAsync(CoinTransactionCode<R> code);
+
+	/**
+	 * Executes asynchronously a piece of code that involve the {@code AlbumRepository} class.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute
+	 * @return			a future completed with the result of the execution of {@code code}
+	 */
+	<R> CompletableFuture<R> doInTransactionAsync(AlbumTransactionCode<R> code);
+
+	/**
+	 * Executes asynchronously a piece of code that involve the {@code CoinRepository} and {@code AlbumRepository} classes.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute
+	 * @return			a future completed with the result of the execution of {@code code}
+	 */
+	<R> CompletableFuture<R> doInTransactionAsync(CoinAlbumTransactionCode<R> code);
+
+	/**
+	 * Executes asynchronously a piece of code that involve the {@code StatisticsRepository} class.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute
+	 * @return			a future completed with the result of the execution of {@code code}
+	 */
+	<R> CompletableFuture<R> doInTransactionAsync(StatisticsTransactionCode<R> code);
+
+	/**
+	 * Executes asynchronously in a read-only transaction a piece of code that only reads through the {@code CoinRepository} class.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute, it must not write
+	 * @return			a future completed with the result of the execution of {@code code}
+	 */
+	<R> CompletableFuture<R> doInReadOnlyTransactionAsync(CoinTransactionCode<R> code);
+
+	/**
+	 * Executes asynchronously in a read-only transaction a piece of code that only reads through the {@code AlbumRepository} class.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute, it must not write
+	 * @return			a future completed with the result of the execution of {@code code}
+	 */
+	<R> CompletableFuture<R> doInReadOnlyTransactionAsync(AlbumTransactionCode<R> code);
+
+	/**
+	 * Executes asynchronously in a read-only transaction a piece of code that only reads through the {@code CoinRepository} and
+	 * {@code AlbumRepository} classes.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute, it must not write
+	 * @return			a future completed with the result of the execution of {@code code}
+	 */
+	<R> CompletableFuture<R> doInReadOnlyTransactionAsync(CoinAlbumTransactionCode<R> code);
+
+	/**
+	 * Executes asynchronously in a read-only transaction a piece of code that only reads through the {@code StatisticsRepository} class.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute, it must not write
+	 * @return			a future completed with the result of the execution of {@code code}
+	 */
+	<R> CompletableFuture<R> doInReadOnlyTransactionAsync(StatisticsTransactionCode<R> code);
+
+	/**
+	 * Returns an {@code AsyncTransactionManager} that executes the pieces of code of an operation, see
+	 * {@link TransactionManager#forOperation(String)}.
+	 * By default the operation is ignored and this same {@code AsyncTransactionManager} is returned.
+	 *
+	 * @param operation		name of the operation, e.g. {@code CoinTransactionalManager.addCoin}
+	 * @return				an {@code AsyncTransactionManager} for the operation
+	 */
+	default AsyncTransactionManager forOperation(String operation) {
+		return this;
+	}
+}
@@ -0,0 +1,200 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.AlbumTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.CoinAlbumTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.CoinTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.StatisticsTransactionCode;
+
+/**
+ * Implementation of {@code AsyncTransactionManager} that submits every piece of code to a bounded {@code ThreadPoolExecutor},
+ * where it is executed by a synchronous {@code TransactionManager}.
+ * The executor has a bounded queue, so a burst of operations can't pile up without limit: when it's full the new ones are
+ * rejected. The number of waiting, running, completed and rejected executions is exposed by this class.
+ *
+ * It's an {@code Executor} too, so that the work that runs transactions of its own (e.g. the user actions of the view, or the
+ * asynchronous operations of the managers) shares the same bounded queue and is counted by the same metrics.
+ */
+public class ExecutorAsyncTransactionManager implements AsyncTransactionManager, Executor, AutoCloseable {
+	private final TransactionManager tm;
+	private final ThreadPoolExecutor executor;
+	private final AtomicLong rejected;
+
+	/**
+	 * Constructor, it creates an executor with {@link TransactionExecutors#newBoundedExecutor(int, int)}.
+	 *
+	 * @param tm				{@code TransactionManager} to use for executing the code
+	 * @param threads			maximum number of transactions executed in parallel, usually the size of the connection pool
+	 * @param queueCapacity		maximum number of transactions waiting for a thread
+	 * @throws IllegalArgumentException		if the {@code TransactionManager} is null, or the numbers are not positive
+	 */
+	public ExecutorAsyncTransactionManager(TransactionManager tm, int threads, int queueCapacity) throws IllegalArgumentException {
+		this(tm, TransactionExecutors.newBoundedExecutor(threads, queueCapacity));
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param tm		{@code TransactionManager} to use for executing the code
+	 * @param executor	{@code ThreadPoolExecutor} where the transactions are executed, its queue must be bounded
+	 * @throws IllegalArgumentException		if an argument is null or the queue of the executor is unbounded
+	 */
+	public ExecutorAsyncTransactionManager(TransactionManager tm, ThreadPoolExecutor executor) throws IllegalArgumentException {
+		if (tm == null)
+			throw new IllegalArgumentException("TransactionManager can't be null");
+		if (executor == null)
+			throw new IllegalArgumentException("Executor can't be null");
+		if (executor.getQueue().remainingCapacity() == Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Executor's queue must be bounded");
+
+		this.tm = tm;
+		this.executor = executor;
+		this.rejected = new AtomicLong();
+	}
+
+	private ExecutorAsyncTransactionManager(ExecutorAsyncTransactionManager parent, TransactionManager tm) {
+		this.tm = tm;
+		this.executor = parent.executor;
+		this.rejected = parent.rejected;
+	}
+
+	@Override
+	public <R> CompletableFuture<R> doInTransactionAsync(CoinTransactionCode<R> code) {
+		return submit(() -> tm.doInTransaction(code));
+	}
+
+	@Override
+	public <R> CompletableFuture<R> doInTransactionAsync(AlbumTransactionCode<R> code) {
+		return submit(() -> tm.doInTransaction(code));
+	}
+
+	@Override
+	public <R> CompletableFuture<R> doInTransactionAsync(CoinAlbumTransactionCode<R> code) {
+		return submit(() -> tm.doInTransaction(code));
+	}
+
+	@Override
+	public <R> CompletableFuture<R> doInTransactionAsync(StatisticsTransactionCode<R> code) {
+		return submit(() -> tm.doInTransaction(code));
+	}
+
+	@Override
+	public <R> CompletableFuture<R> doInReadOnlyTransactionAsync(CoinTransactionCode<R> code) {
+		return submit(() -> tm.doInReadOnlyTransaction(code));
+	}
+
+	@Override
+	public <R> CompletableFuture<R> doInReadOnlyTransactionAsync(AlbumTransactionCode<R> code) {
+		return submit(() -> tm.doInReadOnlyTransaction(code));
+	}
+
+	@Override
+	public <R> CompletableFuture<R> doInReadOnlyTransactionAsync(CoinAlbumTransactionCode<R> code) {
+		return submit(() -> tm.doInReadOnlyTransaction(code));
+	}
+
+	@Override
+	public <R> CompletableFuture<R> doInReadOnlyTransactionAsync(StatisticsTransactionCode<R> code) {
+		return submit(() -> tm.doInReadOnlyTransaction(code));
+	}
+
+	/**
+	 * Returns an {@code ExecutorAsyncTransactionManager} that executes the pieces of code of an operation on the same executor,
+	 * with the {@code TransactionManager} returned by {@link TransactionManager#forOperation(String)}.
+	 *
+	 * @param operation		name of the operation, e.g. {@code CoinTransactionalManager.addCoin}
+	 * @return				an {@code ExecutorAsyncTransactionManager} for the operation, sharing executor and metrics with this one
+	 */
+	@Override
+	public ExecutorAsyncTransactionManager forOperation(String operation) {
+		return new ExecutorAsyncTransactionManager(this, tm.forOperation(operation));
+	}
+
+	/**
+	 * Executes a piece of work on the executor of the transactions.
+	 *
+	 * @param command	the work to execute
+	 * @throws RejectedExecutionException	if the queue of the executor is full or the executor has been shut down
+	 */
+	@Override
+	public void execute(Runnable command) throws RejectedExecutionException {
+		try {
+			executor.execute(command);
+		} catch (RejectedExecutionException e) {
+			rejected.incrementAndGet();
+			throw e;
+		}
+	}
+
+	/**
+	 * Get the number of executions waiting for a thread.
+	 *
+	 * @return	the number of executions in the queue
+	 */
+	public int getQueuedCount() {
+		return executor.getQueue().size();
+	}
+
+	/**
+	 * Get the number of executions that can still be queued before the new ones are rejected.
+	 *
+	 * @return	the remaining capacity of the queue
+	 */
+	public int getRemainingQueueCapacity() {
+		return executor.getQueue().remainingCapacity();
+	}
+
+	/**
+	 * Get the approximate number of executions running.
+	 *
+	 * @return	the number of threads executing
+	 */
+	public int getActiveCount() {
+		return executor.getActiveCount();
+	}
+
+	/**
+	 * Get the approximate number of executions completed, successfully or not.
+	 *
+	 * @return	the number of executions completed
+	 */
+	public long getCompletedCount() {
+		return executor.getCompletedTaskCount();
+	}
+
+	/**
+	 * Get the number of executions rejected because the queue was full or the executor shut down.
+	 *
+	 * @return	the number of executions rejected
+	 */
+	public long getRejectedCount() {
+		return rejected.get();
+	}
+
+	/**
+	 * Shut down the executor, shared with the managers returned by {@link #forOperation(String)}: the executions already
+	 * submitted are completed, the new ones are rejected.
+	 */
+	@Override
+	public void close() {
+		executor.shutdown();
+	}
+
+	/**
+	 * Submits the transaction to the executor. When the executor is saturated the rejection is reported through the future, as
+	 * every other failure, so that the callers handle it in a single place.
+	 */
+	private <R> CompletableFuture<R> submit(Supplier<R> transaction) {
+		try {
+			return CompletableFuture.supplyAsync(transaction, this);
+		} catch (RejectedExecutionException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager;
+
+import java.sql.Connection;
+
+/**
+ * Isolation levels at which a transaction can be executed.
+ * The higher ones protect from more anomalies, but make more transactions fail because of concurrent ones: use them with a
+ * {@code RetryPolicy}.
+ */
+public enum IsolationLevel {
+	READ_COMMITTED(Connection.TRANSACTION_READ_COMMITTED),
+	REPEATABLE_READ(Connection.TRANSACTION_REPEATABLE_READ),
+	SERIALIZABLE(Connection.TRANSACTION_SERIALIZABLE);
+
+	private final int jdbcLevel;
+
+	private IsolationLevel(int jdbcLevel) {
+		this.jdbcLevel = jdbcLevel;
+	}
+
+	/**
+	 * Get the level as a constant of {@code java.sql.Connection}.
+	 *
+	 * @return	the JDBC isolation level
+	 */
+	public int getJdbcLevel() {
+		return jdbcLevel;
+	}
+}
@@ -0,0 +1,85 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How many times a transaction that failed because of a transient conflict with a concurrent one (a serialization failure
+ * or a deadlock) is executed again, and how long to wait before every new attempt.
+ *
+ * The wait grows exponentially with the attempts, up to a maximum, and half of it is random: transactions that failed
+ * together don't retry together and fail again.
+ */
+public final class RetryPolicy {
+	private static final RetryPolicy NO_RETRY = new RetryPolicy(1, Duration.ZERO, Duration.ZERO);
+
+	private final int maxAttempts;
+	private final Duration initialBackoff;
+	private final Duration maxBackoff;
+
+	/**
+	 * Constructs a new {@code RetryPolicy}.
+	 *
+	 * @param maxAttempts		maximum number of times a transaction is executed, the first included
+	 * @param initialBackoff	wait before the second attempt, doubled for every following one
+	 * @param maxBackoff		maximum wait before an attempt
+	 */
+	public RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+		if (maxAttempts <= 0)
+			throw new IllegalArgumentException("Number of attempts must be positive");
+		if (initialBackoff == null || initialBackoff.isNegative())
+			throw new IllegalArgumentException("Initial backoff can't be null or negative");
+		if (maxBackoff == null || maxBackoff.compareTo(initialBackoff) < 0)
+			throw new IllegalArgumentException("Maximum backoff can't be null or less than the initial one");
+
+		this.maxAttempts = maxAttempts;
+		this.initialBackoff = initialBackoff;
+		this.maxBackoff = maxBackoff;
+	}
+
+	/**
+	 * Get a policy that never retries the transactions.
+	 *
+	 * @return	the policy with a single attempt
+	 */
+	public static RetryPolicy noRetry() {
+		return NO_RETRY;
+	}
+
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	public Duration getInitialBackoff() {
+		return initialBackoff;
+	}
+
+	public Duration getMaxBackoff() {
+		return maxBackoff;
+	}
+
+	/**
+	 * Get how long to wait before executing a transaction again.
+	 *
+	 * @param failedAttempts	number of attempts that already failed
+	 * @return					the wait
+	 */
+	public Duration getBackoff(int failedAttempts) {
+		return getBackoff(failedAttempts, ThreadLocalRandom.current().nextDouble());
+	}
+
+	Duration getBackoff(int failedAttempts, double jitter) {
+		if (failedAttempts <= 0)
+			throw new IllegalArgumentException("Number of failed attempts must be positive");
+
+		// Shifting more than this would overflow, and the wait would be capped anyway
+		int doublings = Math.min(failedAttempts - 1, Long.numberOfLeadingZeros(Math.max(initialBackoff.toMillis(), 1)) - 1);
+		long backoff = Math.min(initialBackoff.toMillis() << doublings, maxBackoff.toMillis());
+		return Duration.ofMillis(backoff / 2 + (long) (backoff / 2 * jitter));
+	}
+
+	@Override
+	public String toString() {
+		return "RetryPolicy [maxAttempts=" + maxAttempts + ", initialBackoff=" + initialBackoff + ", maxBackoff=" + maxBackoff + "]";
+	}
+}
@@ -0,0 +1,85 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Factory of the executors where the transactions are executed asynchronously.
+ */
+public final class TransactionExecutors {
+	static final String THREAD_NAME_PREFIX = "transaction-";
+	private static final long KEEP_ALIVE_SECONDS = 60;
+
+	private TransactionExecutors() {}
+
+	/**
+	 * Creates an executor with a bounded number of threads and a bounded queue of waiting transactions: when both are full the
+	 * new transactions are rejected with a {@code RejectedExecutionException}, instead of piling up without limit.
+	 * The threads are virtual when the runtime supports them, otherwise they are daemon platform threads; idle threads are
+	 * terminated after a while, so an idle executor keeps no thread alive.
+	 *
+	 * {@code ExecutorAsyncTransactionManager} executes the transactions on such an executor and exposes the metrics of its queueing.
+	 *
+	 * @param threads		maximum number of transactions executed in parallel, usually the size of the connection pool
+	 * @param queueCapacity	maximum number of transactions waiting for a thread
+	 * @return				the executor, to shut down when no longer used
+	 */
+	public static ThreadPoolExecutor newBoundedExecutor(int threads, int queueCapacity) {
+		if (threads <= 0)
+			throw new IllegalArgumentException("Number of threads must be positive");
+		if (queueCapacity <= 0)
+			throw new IllegalArgumentException("Queue capacity must be positive");
+
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(queueCapacity), threadFactory(), new ThreadPoolExecutor.AbortPolicy());
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Check if the runtime supports virtual threads.
+	 *
+	 * @return	true if the transactions are executed on virtual threads
+	 */
+	public static boolean isVirtualThreadSupported() {
+		return VirtualThreads.FACTORY != null;
+	}
+
+	private static ThreadFactory threadFactory() {
+		ThreadFactory delegate = isVirtualThreadSupported() ? VirtualThreads.FACTORY : Thread::new;
+		AtomicInteger counter = new AtomicInteger();
+		return runnable -> {
+			Thread thread = delegate.newThread(runnable);
+			thread.setName(THREAD_NAME_PREFIX + counter.incrementAndGet());
+			if (!thread.isDaemon())
+				thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/**
+	 * Looks up {@code Thread.ofVirtual().factory()} once: the project targets a runtime without virtual threads, so they can only
+	 * be reached reflectively.
+	 */
+	private static final class VirtualThreads {
+		static final ThreadFactory FACTORY = lookup();
+
+		private static ThreadFactory lookup() {
+			try {
+				Class<?> builder = Class.forName("java.lang.Thread$Builder");
+				MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+				MethodHandle ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(Class.forName("java.lang.Thread$Builder$OfVirtual")));
+				MethodHandle factory = lookup.findVirtual(builder, "factory", MethodType.methodType(ThreadFactory.class));
+				return (ThreadFactory) factory.invoke(ofVirtual.invoke());
+			} catch (Throwable e) {
+				return null;
+			}
+		}
+	}
+}
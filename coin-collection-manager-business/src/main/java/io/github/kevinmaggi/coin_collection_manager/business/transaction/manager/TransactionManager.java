@@ -4,10 +4,12 @@ import io.github.kevinmaggi.coin_collection_manager.business.transaction.excepti
 import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.AlbumTransactionCode;
 import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.CoinAlbumTransactionCode;
 import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.CoinTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.StatisticsTransactionCode;
 
 /**
  * This interface defines methods for executing pieces of code inside a transaction. There's a single method overloaded for all possible
- * type of code to execute.
+ * type of code to execute, and its read-only variant for code that only reads: the implementations can execute it more cheaply
+ * (no flush, no dirty checking) and route it to a read replica.
  *
  * It is an intermediate between the business logic, unaware of transaction, and the repository level.
  *
@@ -49,4 +51,76 @@ public interface TransactionManager {
 	 * 										and PersistenceException, they will be re-thrown
 	 */
 	<R> R doInTransaction(CoinAlbumTransactionCode<R> code) throws DatabaseOperationException, RuntimeException;
-}
\ No newline at end of file
+
+	/**
+	 * Executes a piece of code that involve the {@code StatisticsRepository} class and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	<R> R doInTransaction(StatisticsTransactionCode<R> code) throws DatabaseOperationException, RuntimeException;
+
+	/**
+	 * Executes in a read-only transaction a piece of code that only reads through the {@code CoinRepository} class and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute, it must not write
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	<R> R doInReadOnlyTransaction(CoinTransactionCode<R> code) throws DatabaseOperationException, RuntimeException;
+
+	/**
+	 * Executes in a read-only transaction a piece of code that only reads through the {@code AlbumRepository} class and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute, it must not write
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	<R> R doInReadOnlyTransaction(AlbumTransactionCode<R> code) throws DatabaseOperationException, RuntimeException;
+
+	/**
+	 * Executes in a read-only transaction a piece of code that only reads through the {@code CoinRepository} and {@code AlbumRepository} classes and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute, it must not write
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	<R> R doInReadOnlyTransaction(CoinAlbumTransactionCode<R> code) throws DatabaseOperationException, RuntimeException;
+
+	/**
+	 * Executes in a read-only transaction a piece of code that only reads through the {@code StatisticsRepository} class and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute, it must not write
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	<R> R doInReadOnlyTransaction(StatisticsTransactionCode<R> code) throws DatabaseOperationException, RuntimeException;
+
+	/**
+	 * Returns a {@code TransactionManager} that executes the pieces of code of an operation, so that implementations keeping track
+	 * of the operations (e.g. {@code MeteredTransactionManager}) know which one the transactions belong to.
+	 * By default the operation is ignored and this same {@code TransactionManager} is returned.
+	 *
+	 * @param operation		name of the operation, e.g. {@code CoinTransactionalManager.addCoin}
+	 * @return				a {@code TransactionManager} for the operation
+	 */
+	default TransactionManager forOperation(String operation) {
+		return this;
+	}
+}
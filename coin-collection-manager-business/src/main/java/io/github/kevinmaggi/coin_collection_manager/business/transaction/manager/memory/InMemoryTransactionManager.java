@@ -0,0 +1,177 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.memory;
+
+import java.util.function.Function;
+
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.exception.DatabaseOperationException;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.*;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.TransactionManager;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.memory.InMemoryAlbumRepository;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.memory.InMemoryCoinRepository;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.memory.InMemoryDatabase;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.memory.InMemoryStatisticsRepository;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.memory.InMemoryTransaction;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * This class offers methods for executing pieces of code inside a transaction for databases kept in memory.
+ * There's a single method overloaded for all possible type of code to execute.
+ *
+ * It is an intermediate between the business logic, unaware of transaction, and the repository level.
+ * Every transaction has its own repositories bound to an {@code InMemoryTransaction}, whose changes are applied only by the
+ * commit. Write transactions are executed one at a time, so they never fail because of concurrent ones and are never retried,
+ * while read-only ones run in parallel with everything. Entities returned by a transaction are copies, i.e. detached.
+ *
+ * @see io.github.kevinmaggi.coin_collection_manager.business.transaction.function
+ */
+public class InMemoryTransactionManager implements TransactionManager {
+	private static final String EXCEPTION_MSG_ILLEGAL_ARGUMENT = "An illegal argument has been passed, transaction not committed";
+	private static final String EXCEPTION_MSG_GENERIC = "Something went wrong committing to DB, rollback done";
+
+	private InMemoryDatabase database;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param database		{@code InMemoryDatabase} on which every transaction is executed
+	 */
+	public InMemoryTransactionManager(InMemoryDatabase database) {
+		this.database = database;
+	}
+
+	/**
+	 * Executes a piece of code that involve the {@code CoinRepository} class and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	@Override
+	public <R> R doInTransaction(CoinTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return inTransaction(false, transaction -> code.apply(new InMemoryCoinRepository(transaction)));
+	}
+
+	/**
+	 * Executes a piece of code that involve the {@code AlbumRepository} class and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	@Override
+	public <R> R doInTransaction(AlbumTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return inTransaction(false, transaction -> code.apply(new InMemoryAlbumRepository(transaction)));
+	}
+
+	/**
+	 * Executes a piece of code that involve the {@code CoinRepository} and {@code AlbumRepository} classes and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	@Override
+	public <R> R doInTransaction(CoinAlbumTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return inTransaction(false, transaction -> code.apply(new InMemoryCoinRepository(transaction), new InMemoryAlbumRepository(transaction)));
+	}
+
+	/**
+	 * Executes a piece of code that involve the {@code StatisticsRepository} class and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	@Override
+	public <R> R doInTransaction(StatisticsTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return inTransaction(false, transaction -> code.apply(new InMemoryStatisticsRepository(transaction)));
+	}
+
+	/**
+	 * Executes in a read-only transaction a piece of code that only reads through the {@code CoinRepository} class and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute, it must not write
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	@Override
+	public <R> R doInReadOnlyTransaction(CoinTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return inTransaction(true, transaction -> code.apply(new InMemoryCoinRepository(transaction)));
+	}
+
+	/**
+	 * Executes in a read-only transaction a piece of code that only reads through the {@code AlbumRepository} class and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute, it must not write
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	@Override
+	public <R> R doInReadOnlyTransaction(AlbumTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return inTransaction(true, transaction -> code.apply(new InMemoryAlbumRepository(transaction)));
+	}
+
+	/**
+	 * Executes in a read-only transaction a piece of code that only reads through the {@code CoinRepository} and {@code AlbumRepository} classes and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute, it must not write
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	@Override
+	public <R> R doInReadOnlyTransaction(CoinAlbumTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return inTransaction(true, transaction -> code.apply(new InMemoryCoinRepository(transaction), new InMemoryAlbumRepository(transaction)));
+	}
+
+	/**
+	 * Executes in a read-only transaction a piece of code that only reads through the {@code StatisticsRepository} class and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute, it must not write
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	@Override
+	public <R> R doInReadOnlyTransaction(StatisticsTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return inTransaction(true, transaction -> code.apply(new InMemoryStatisticsRepository(transaction)));
+	}
+
+	private <R> R inTransaction(boolean readOnly, Function<InMemoryTransaction, R> code) {
+		InMemoryTransaction transaction = database.begin(readOnly);
+		try {
+			R result = code.apply(transaction);
+			transaction.commit();
+			return result;
+		} catch (IllegalArgumentException e) {
+			throw new DatabaseOperationException(EXCEPTION_MSG_ILLEGAL_ARGUMENT, e);
+		} catch (PersistenceException e) {
+			throw new DatabaseOperationException(EXCEPTION_MSG_GENERIC, e);
+		} finally {
+			// Whatever the code threw, errors included, the lock of the writes must be released
+			if (transaction.isActive())
+				transaction.rollback();
+		}
+	}
+}
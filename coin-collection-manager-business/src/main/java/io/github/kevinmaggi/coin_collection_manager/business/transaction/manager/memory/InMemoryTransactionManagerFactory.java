@@ -0,0 +1,37 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.memory;
+
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.TransactionManagerFactory;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.memory.InMemoryDatabase;
+
+/**
+ * This class is a concrete implementation of {@code TransactionManagerFactory} for databases kept in memory.
+ * The {@code InMemoryTransactionManager} instantiated with this factory binds in-memory repositories to a transaction
+ * on the given {@code InMemoryDatabase}.
+ */
+public class InMemoryTransactionManagerFactory implements TransactionManagerFactory {
+
+	private InMemoryDatabase database;
+	private InMemoryTransactionManager tm = null;
+
+	/**
+	 * Simple constructor.
+	 *
+	 * @param database	the {@code InMemoryDatabase} to use
+	 */
+	public InMemoryTransactionManagerFactory(InMemoryDatabase database) {
+		this.database = database;
+	}
+
+	/**
+	 * Get an instance of {@code InMemoryTransactionManager}.
+	 *
+	 * @return	the {@code InMemoryTransactionManager}
+	 */
+	@Override
+	public InMemoryTransactionManager getTransactionManager() {
+		if (tm == null)
+			tm = new InMemoryTransactionManager(database);
+		return tm;
+	}
+
+}
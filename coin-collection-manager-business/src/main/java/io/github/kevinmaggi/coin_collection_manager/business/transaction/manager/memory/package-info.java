@@ -0,0 +1,4 @@
+/**
+ * This package offers an implementation of the abstract transaction manager for a database kept in memory.
+ */
+package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.memory;
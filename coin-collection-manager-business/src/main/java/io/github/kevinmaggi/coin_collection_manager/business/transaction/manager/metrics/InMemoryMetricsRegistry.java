@@ -0,0 +1,46 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Implementation of {@code MetricsRegistry} that only keeps the metrics in memory, to be read through
+ * {@link #getAllOperationMetrics()}. Subclasses export the metrics of every new operation in {@link #registered}.
+ */
+public class InMemoryMetricsRegistry implements MetricsRegistry {
+	private final ConcurrentMap<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+
+	@Override
+	public OperationMetrics getOperationMetrics(String operation) {
+		if (operation == null)
+			throw new IllegalArgumentException("Operation can't be null");
+
+		OperationMetrics metrics = operations.get(operation);
+		if (metrics == null) {
+			OperationMetrics created = new OperationMetrics();
+			metrics = operations.putIfAbsent(operation, created);
+			// Only the thread that has put them registers them, outside of the map
+			if (metrics == null) {
+				metrics = created;
+				registered(operation, metrics);
+			}
+		}
+		return metrics;
+	}
+
+	@Override
+	public Map<String, OperationMetrics> getAllOperationMetrics() {
+		return Collections.unmodifiableMap(operations);
+	}
+
+	/**
+	 * Called once for every operation, when its metrics are created. It does nothing.
+	 *
+	 * @param operation		name of the operation
+	 * @param metrics		its metrics
+	 */
+	protected void registered(String operation, OperationMetrics metrics) {
+	}
+}
@@ -0,0 +1,88 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Implementation of {@code MetricsRegistry} that exports the metrics of every operation through JMX, as an MXBean named
+ * {@code <domain>:type=Transactions,name=<operation>}, e.g. to be read from JConsole or VisualVM.
+ * Closing it unregisters all of them.
+ */
+public class JmxMetricsRegistry extends InMemoryMetricsRegistry implements AutoCloseable {
+	/**
+	 * Domain of the MXBeans if not given.
+	 */
+	public static final String DEFAULT_DOMAIN = "io.github.kevinmaggi.coin_collection_manager";
+
+	private final MBeanServer server;
+	private final String domain;
+	private final Set<ObjectName> names = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Constructor that exports to the platform {@code MBeanServer} in the default domain.
+	 */
+	public JmxMetricsRegistry() {
+		this(ManagementFactory.getPlatformMBeanServer(), DEFAULT_DOMAIN);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param server	{@code MBeanServer} to export to
+	 * @param domain	domain of the MXBeans, different for every registry exporting to the same server
+	 */
+	public JmxMetricsRegistry(MBeanServer server, String domain) {
+		if (server == null)
+			throw new IllegalArgumentException("MBeanServer can't be null");
+		if (domain == null)
+			throw new IllegalArgumentException("Domain can't be null");
+
+		this.server = server;
+		this.domain = domain;
+	}
+
+	/**
+	 * Returns the name of the MXBean of an operation.
+	 *
+	 * @param operation		name of the operation
+	 * @return				the name of its MXBean
+	 * @throws JMException	if the domain isn't valid
+	 */
+	public ObjectName objectNameOf(String operation) throws JMException {
+		return new ObjectName(domain + ":type=Transactions,name=" + ObjectName.quote(operation));
+	}
+
+	/**
+	 * Registers the metrics as an MXBean.
+	 */
+	@Override
+	protected void registered(String operation, OperationMetrics metrics) {
+		try {
+			ObjectName name = objectNameOf(operation);
+			server.registerMBean(metrics, name);
+			names.add(name);
+		} catch (JMException e) {
+			// The metrics are recorded anyway, a failed export must not fail the transaction
+		}
+	}
+
+	/**
+	 * Unregisters all the MXBeans.
+	 */
+	@Override
+	public void close() {
+		for (ObjectName name : names) {
+			try {
+				server.unregisterMBean(name);
+			} catch (JMException e) {
+				// Already unregistered by someone else, there's nothing left to do
+			}
+			names.remove(name);
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.metrics;
+
+import java.util.function.Supplier;
+
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.exception.DatabaseOperationException;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.AlbumTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.CoinAlbumTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.CoinTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.StatisticsTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.TransactionManager;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.metrics.OperationMetrics.Outcome;
+
+/**
+ * Implementation of {@code TransactionManager} that executes every piece of code through another {@code TransactionManager},
+ * recording in a {@code MetricsRegistry} how long it takes and how it ends.
+ *
+ * The metrics are kept per operation, named by the caller through {@link #forOperation(String)}, e.g.
+ * {@code CoinTransactionalManager.addCoin}; the transactions asked for without naming their operation are kept under
+ * {@value #UNKNOWN_OPERATION}.
+ */
+public class MeteredTransactionManager implements TransactionManager {
+	/**
+	 * Name of the operation of the transactions asked for without naming it.
+	 */
+	public static final String UNKNOWN_OPERATION = "unknown";
+
+	private final TransactionManager tm;
+	private final MetricsRegistry registry;
+	private final String operation;
+
+	/**
+	 * Simple constructor.
+	 *
+	 * @param tm		{@code TransactionManager} to use for executing the code
+	 * @param registry	{@code MetricsRegistry} where the metrics are recorded
+	 */
+	public MeteredTransactionManager(TransactionManager tm, MetricsRegistry registry) {
+		if (tm == null)
+			throw new IllegalArgumentException("TransactionManager can't be null");
+		if (registry == null)
+			throw new IllegalArgumentException("MetricsRegistry can't be null");
+
+		this.tm = tm;
+		this.registry = registry;
+		this.operation = UNKNOWN_OPERATION;
+	}
+
+	private MeteredTransactionManager(TransactionManager tm, MetricsRegistry registry, String operation) {
+		this.tm = tm;
+		this.registry = registry;
+		this.operation = operation;
+	}
+
+	/**
+	 * Returns a {@code MeteredTransactionManager} that records the metrics of its transactions under an operation.
+	 *
+	 * @param operation		name of the operation
+	 * @return				a {@code MeteredTransactionManager} for the operation, executing the code through the same one
+	 * @throws IllegalArgumentException	if the name is null
+	 */
+	@Override
+	public TransactionManager forOperation(String operation) throws IllegalArgumentException {
+		if (operation == null)
+			throw new IllegalArgumentException("Operation can't be null");
+
+		return new MeteredTransactionManager(tm, registry, operation);
+	}
+
+	@Override
+	public <R> R doInTransaction(CoinTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return metered(() -> tm.doInTransaction(code));
+	}
+
+	@Override
+	public <R> R doInTransaction(AlbumTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return metered(() -> tm.doInTransaction(code));
+	}
+
+	@Override
+	public <R> R doInTransaction(CoinAlbumTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return metered(() -> tm.doInTransaction(code));
+	}
+
+	@Override
+	public <R> R doInTransaction(StatisticsTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return metered(() -> tm.doInTransaction(code));
+	}
+
+	@Override
+	public <R> R doInReadOnlyTransaction(CoinTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return metered(() -> tm.doInReadOnlyTransaction(code));
+	}
+
+	@Override
+	public <R> R doInReadOnlyTransaction(AlbumTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return metered(() -> tm.doInReadOnlyTransaction(code));
+	}
+
+	@Override
+	public <R> R doInReadOnlyTransaction(CoinAlbumTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return metered(() -> tm.doInReadOnlyTransaction(code));
+	}
+
+	@Override
+	public <R> R doInReadOnlyTransaction(StatisticsTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return metered(() -> tm.doInReadOnlyTransaction(code));
+	}
+
+	/**
+	 * Executes the transaction, recording its metrics: a {@code DatabaseOperationException} is a rollback, any other exception
+	 * (or error) thrown is counted as such.
+	 */
+	private <R> R metered(Supplier<R> transaction) {
+		OperationMetrics metrics = registry.getOperationMetrics(operation);
+		metrics.started();
+		long start = System.nanoTime();
+		Outcome outcome = Outcome.EXCEPTION;
+		try {
+			R result = transaction.get();
+			outcome = Outcome.COMMIT;
+			return result;
+		} catch (DatabaseOperationException e) {
+			outcome = Outcome.ROLLBACK;
+			throw e;
+		} finally {
+			metrics.ended(outcome, System.nanoTime() - start);
+		}
+	}
+}
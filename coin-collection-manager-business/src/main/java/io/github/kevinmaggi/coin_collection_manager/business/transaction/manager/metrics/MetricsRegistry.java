@@ -0,0 +1,24 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.metrics;
+
+import java.util.Map;
+
+/**
+ * This interface defines where the metrics of the operations are kept. Implementations can export them to any monitoring
+ * system, as {@link JmxMetricsRegistry} does to JMX.
+ */
+public interface MetricsRegistry {
+	/**
+	 * Returns the metrics of an operation, created empty the first time it is asked for.
+	 *
+	 * @param operation		name of the operation
+	 * @return				its metrics, always the same instance
+	 */
+	OperationMetrics getOperationMetrics(String operation);
+
+	/**
+	 * Returns the metrics of all the operations asked for until now.
+	 *
+	 * @return	an unmodifiable map from the name of every operation to its metrics
+	 */
+	Map<String, OperationMetrics> getAllOperationMetrics();
+}
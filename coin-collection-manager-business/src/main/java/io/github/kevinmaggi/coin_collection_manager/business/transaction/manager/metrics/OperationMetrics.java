@@ -0,0 +1,184 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of the transactions of a single operation: how they ended, how many are running and a histogram of their latencies.
+ * All its methods are thread-safe and never block, so that recording doesn't add contention between transactions.
+ *
+ * The histogram has four buckets for every power of two of microseconds, up to about half an hour: the percentiles are the upper
+ * bounds of their buckets, so they are at most 25% greater than the real ones (and never greater than the maximum).
+ */
+public final class OperationMetrics implements OperationMetricsMXBean {
+	private static final int SUB_BUCKETS = 4;
+	// 2^31 microseconds, about 36 minutes, are the lower bound of the last bucket, that has all the longer latencies
+	private static final int MAX_EXPONENT = 31;
+	private static final int BUCKETS = (MAX_EXPONENT - 1) * SUB_BUCKETS + 1;
+	private static final double NANOS_PER_MILLI = 1_000_000d;
+	private static final double MICROS_PER_MILLI = 1_000d;
+
+	private final LongAdder commits = new LongAdder();
+	private final LongAdder rollbacks = new LongAdder();
+	private final LongAdder exceptions = new LongAdder();
+	private final AtomicLong inFlight = new AtomicLong();
+	private final LongAdder totalNanos = new LongAdder();
+	private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+	/**
+	 * How a transaction ended.
+	 */
+	public enum Outcome {
+		/**
+		 * The code returned and the transaction has been committed.
+		 */
+		COMMIT,
+		/**
+		 * The transaction failed because of the DB and has been rolled back.
+		 */
+		ROLLBACK,
+		/**
+		 * The code threw any other exception, re-thrown after rolling back.
+		 */
+		EXCEPTION
+	}
+
+	/**
+	 * Records that a transaction has started.
+	 */
+	public void started() {
+		inFlight.incrementAndGet();
+	}
+
+	/**
+	 * Records that a transaction, started before, has ended.
+	 *
+	 * @param outcome	how it ended
+	 * @param nanos		how long it took, in nanoseconds
+	 */
+	public void ended(Outcome outcome, long nanos) {
+		if (outcome == null)
+			throw new IllegalArgumentException("Outcome can't be null");
+
+		inFlight.decrementAndGet();
+		switch (outcome) {
+		case COMMIT:
+			commits.increment();
+			break;
+		case ROLLBACK:
+			rollbacks.increment();
+			break;
+		default:
+			exceptions.increment();
+		}
+		long latency = Math.max(nanos, 0);
+		totalNanos.add(latency);
+		maxNanos.accumulate(latency);
+		buckets.incrementAndGet(bucketOf(latency / 1000));
+	}
+
+	@Override
+	public long getCommits() {
+		return commits.sum();
+	}
+
+	@Override
+	public long getRollbacks() {
+		return rollbacks.sum();
+	}
+
+	@Override
+	public long getExceptions() {
+		return exceptions.sum();
+	}
+
+	@Override
+	public long getInFlight() {
+		return inFlight.get();
+	}
+
+	@Override
+	public long getCount() {
+		return commits.sum() + rollbacks.sum() + exceptions.sum();
+	}
+
+	@Override
+	public double getMeanMillis() {
+		long count = getCount();
+		return count == 0 ? 0 : totalNanos.sum() / NANOS_PER_MILLI / count;
+	}
+
+	@Override
+	public double getMaxMillis() {
+		return maxNanos.get() / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getP50Millis() {
+		return getPercentileMillis(50);
+	}
+
+	@Override
+	public double getP95Millis() {
+		return getPercentileMillis(95);
+	}
+
+	@Override
+	public double getP99Millis() {
+		return getPercentileMillis(99);
+	}
+
+	/**
+	 * Returns a percentile of the latency of the transactions ended.
+	 *
+	 * @param percentile	the percentile, between 0 (excluded) and 100
+	 * @return				the latency under which are {@code percentile}% of the transactions, 0 if none ended
+	 */
+	public double getPercentileMillis(double percentile) {
+		if (percentile <= 0 || percentile > 100)
+			throw new IllegalArgumentException("Percentile must be in (0, 100]");
+
+		long[] counts = new long[BUCKETS];
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = buckets.get(i);
+			total += counts[i];
+		}
+		if (total == 0)
+			return 0;
+
+		long rank = (long) Math.ceil(total * percentile / 100);
+		long seen = 0;
+		int bucket = 0;
+		while (bucket < BUCKETS - 1 && seen + counts[bucket] < rank) {
+			seen += counts[bucket];
+			bucket++;
+		}
+		return Math.min(upperBoundOf(bucket) / MICROS_PER_MILLI, getMaxMillis());
+	}
+
+	// Values under SUB_BUCKETS have a bucket each, the others a quarter of their power of two
+	static int bucketOf(long micros) {
+		if (micros < SUB_BUCKETS)
+			return (int) micros;
+		int exponent = 63 - Long.numberOfLeadingZeros(micros);
+		if (exponent >= MAX_EXPONENT)
+			return BUCKETS - 1;
+		int sub = (int) (micros >>> (exponent - 2)) & (SUB_BUCKETS - 1);
+		return (exponent - 1) * SUB_BUCKETS + sub;
+	}
+
+	// Exclusive, in microseconds; the last bucket has no upper bound, the maximum is used instead
+	static double upperBoundOf(int bucket) {
+		if (bucket < SUB_BUCKETS)
+			return bucket + 1d;
+		if (bucket == BUCKETS - 1)
+			return Double.POSITIVE_INFINITY;
+		int exponent = bucket / SUB_BUCKETS + 1;
+		int sub = bucket % SUB_BUCKETS;
+		return (double) ((long) (SUB_BUCKETS + sub + 1) << (exponent - 2));
+	}
+}
@@ -0,0 +1,76 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.metrics;
+
+/**
+ * The metrics of the transactions of an operation as exported through JMX, latencies in milliseconds.
+ */
+public interface OperationMetricsMXBean {
+	/**
+	 * Returns the number of transactions that returned normally, and so have been committed.
+	 *
+	 * @return	the number of committed transactions
+	 */
+	long getCommits();
+
+	/**
+	 * Returns the number of transactions that failed because of the DB and have been rolled back.
+	 *
+	 * @return	the number of rolled back transactions
+	 */
+	long getRollbacks();
+
+	/**
+	 * Returns the number of transactions whose code threw any other exception, that has been re-thrown.
+	 *
+	 * @return	the number of transactions failed with an exception
+	 */
+	long getExceptions();
+
+	/**
+	 * Returns the number of transactions running now.
+	 *
+	 * @return	the number of transactions in flight
+	 */
+	long getInFlight();
+
+	/**
+	 * Returns the number of transactions ended, however.
+	 *
+	 * @return	the number of transactions ended
+	 */
+	long getCount();
+
+	/**
+	 * Returns the mean latency of the transactions ended.
+	 *
+	 * @return	the mean latency, 0 if none ended
+	 */
+	double getMeanMillis();
+
+	/**
+	 * Returns the maximum latency of the transactions ended.
+	 *
+	 * @return	the maximum latency, 0 if none ended
+	 */
+	double getMaxMillis();
+
+	/**
+	 * Returns the median latency of the transactions ended.
+	 *
+	 * @return	the median latency, 0 if none ended
+	 */
+	double getP50Millis();
+
+	/**
+	 * Returns the 95th percentile of the latency of the transactions ended.
+	 *
+	 * @return	the 95th percentile, 0 if none ended
+	 */
+	double getP95Millis();
+
+	/**
+	 * Returns the 99th percentile of the latency of the transactions ended.
+	 *
+	 * @return	the 99th percentile, 0 if none ended
+	 */
+	double getP99Millis();
+}
@@ -0,0 +1,5 @@
+/**
+ * This package offers a transaction manager that records the metrics of the transactions executed by another one, and the
+ * registries where they are kept and from which they are exported.
+ */
+package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.metrics;
@@ -0,0 +1,439 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.postgresql;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.hibernate.Session;
+
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.exception.DatabaseOperationException;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.*;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.RetryPolicy;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.TransactionManager;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.AlbumRepository;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.CoinRepository;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.StatisticsRepository;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.postgresql.PostgresAlbumRepository;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.postgresql.PostgresCoinRepository;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.postgresql.PostgresStatisticsRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * This class offers methods for executing pieces of code inside a transaction for Postgres DBs, committing many concurrent
+ * writes together.
+ *
+ * The writing codes are queued and executed by a single thread: the ones that arrive within a short window, up to a maximum
+ * number, are executed one after the other in the same transaction, so that many small writes pay a single commit. Every
+ * code runs inside its own savepoint and is flushed at its end: when it fails only its changes are rolled back and only its
+ * caller gets the exception. When the failure leaves the whole transaction unusable (e.g. a constraint violation, after
+ * which Hibernate marks it rollback-only) the transaction is rolled back: the codes already executed fail too, since they
+ * may have changed the entities they were given and can't be executed again as they were, while the ones not executed yet
+ * are executed in a new transaction.
+ * Every caller waits until the transaction with its code is committed, then gets its own result: a failed commit is reported
+ * to all the callers of the batch. Whatever a code throws, errors included, the writing thread goes on with the next writes.
+ *
+ * The read-only codes are not queued, they are executed in their own transactions as by {@code PostgresTransactionManager}.
+ * A writing code must not use this transaction manager itself, or it would wait for a batch that can't start.
+ *
+ * @see PostgresTransactionManager
+ */
+public class GroupCommitTransactionManager implements TransactionManager, AutoCloseable {
+	private static final String EXCEPTION_MSG_ILLEGAL_ARGUMENT = "An illegal argument has been passed, transaction not committed";
+	private static final String EXCEPTION_MSG_GENERIC = "Something went wrong committing to DB, rollback done";
+	private static final String EXCEPTION_MSG_CLOSED = "The transaction manager has been closed";
+	private static final String EXCEPTION_MSG_ROLLED_BACK = "Rolled back because of another write in the same transaction, not committed";
+	private static final String THREAD_NAME = "group-commit";
+
+	// Queued after the last write when closing
+	private final PendingWrite<Void> closing = new PendingWrite<>(em -> null);
+
+	private EntityManagerFactory emf;
+	private int maxBatchSize;
+	private long maxDelayNanos;
+
+	private Function<EntityManager, ? extends CoinRepository> coinRepoFactory;
+	private Function<EntityManager, ? extends AlbumRepository> albumRepoFactory;
+	private Function<EntityManager, ? extends StatisticsRepository> statisticsRepoFactory;
+
+	private PostgresTransactionManager readOnlyTm;
+
+	private final BlockingQueue<PendingWrite<?>> queue = new LinkedBlockingQueue<>();
+	private final Thread writer;
+	private boolean closed = false;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param emf			{@code EntityManagerFactory} from which every transaction takes its {@code EntityManager}
+	 * @param maxBatchSize	maximum number of writing codes committed together
+	 * @param maxDelay		maximum time a writing code waits for others to commit with, before its transaction starts
+	 */
+	public GroupCommitTransactionManager(EntityManagerFactory emf, int maxBatchSize, Duration maxDelay) {
+		this(emf, maxBatchSize, maxDelay, PostgresCoinRepository::new, PostgresAlbumRepository::new, PostgresStatisticsRepository::new);
+	}
+
+	/**
+	 * Constructor with the way repositories are bound to the {@code EntityManager} of each transaction.
+	 *
+	 * @param emf						{@code EntityManagerFactory} from which every transaction takes its {@code EntityManager}
+	 * @param maxBatchSize				maximum number of writing codes committed together
+	 * @param maxDelay					maximum time a writing code waits for others to commit with
+	 * @param coinRepoFactory			creates the {@code CoinRepository} of a transaction
+	 * @param albumRepoFactory			creates the {@code AlbumRepository} of a transaction
+	 * @param statisticsRepoFactory		creates the {@code StatisticsRepository} of a transaction
+	 */
+	GroupCommitTransactionManager(EntityManagerFactory emf, int maxBatchSize, Duration maxDelay,
+			Function<EntityManager, ? extends CoinRepository> coinRepoFactory,
+			Function<EntityManager, ? extends AlbumRepository> albumRepoFactory,
+			Function<EntityManager, ? extends StatisticsRepository> statisticsRepoFactory) {
+		if (maxBatchSize <= 0)
+			throw new IllegalArgumentException("Batch size must be positive");
+		if (maxDelay == null || maxDelay.isNegative())
+			throw new IllegalArgumentException("Delay can't be null or negative");
+
+		this.emf = emf;
+		this.maxBatchSize = maxBatchSize;
+		this.maxDelayNanos = maxDelay.toNanos();
+		this.coinRepoFactory = coinRepoFactory;
+		this.albumRepoFactory = albumRepoFactory;
+		this.statisticsRepoFactory = statisticsRepoFactory;
+		this.readOnlyTm = new PostgresTransactionManager(emf, RetryPolicy.noRetry(), Map.of(),
+				coinRepoFactory, albumRepoFactory, statisticsRepoFactory);
+
+		writer = new Thread(this::writeBatches, THREAD_NAME);
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * Executes a piece of code that involve the {@code CoinRepository} class, together with the concurrent ones, and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	@Override
+	public <R> R doInTransaction(CoinTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return submit(em -> code.apply(coinRepoFactory.apply(em)));
+	}
+
+	/**
+	 * Executes a piece of code that involve the {@code AlbumRepository} class, together with the concurrent ones, and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	@Override
+	public <R> R doInTransaction(AlbumTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return submit(em -> code.apply(albumRepoFactory.apply(em)));
+	}
+
+	/**
+	 * Executes a piece of code that involve the {@code CoinRepository} and {@code AlbumRepository} classes, together with the
+	 * concurrent ones, and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	@Override
+	public <R> R doInTransaction(CoinAlbumTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return submit(em -> code.apply(coinRepoFactory.apply(em), albumRepoFactory.apply(em)));
+	}
+
+	/**
+	 * Executes a piece of code that involve the {@code StatisticsRepository} class, together with the concurrent ones, and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	@Override
+	public <R> R doInTransaction(StatisticsTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return submit(em -> code.apply(statisticsRepoFactory.apply(em)));
+	}
+
+	/**
+	 * Executes in its own read-only transaction, without waiting for the writes, a piece of code that only reads through
+	 * the {@code CoinRepository} class and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute, it must not write
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	@Override
+	public <R> R doInReadOnlyTransaction(CoinTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return readOnlyTm.doInReadOnlyTransaction(code);
+	}
+
+	/**
+	 * Executes in its own read-only transaction, without waiting for the writes, a piece of code that only reads through
+	 * the {@code AlbumRepository} class and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute, it must not write
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	@Override
+	public <R> R doInReadOnlyTransaction(AlbumTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return readOnlyTm.doInReadOnlyTransaction(code);
+	}
+
+	/**
+	 * Executes in its own read-only transaction, without waiting for the writes, a piece of code that only reads through
+	 * the {@code CoinRepository} and {@code AlbumRepository} classes and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute, it must not write
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	@Override
+	public <R> R doInReadOnlyTransaction(CoinAlbumTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return readOnlyTm.doInReadOnlyTransaction(code);
+	}
+
+	/**
+	 * Executes in its own read-only transaction, without waiting for the writes, a piece of code that only reads through
+	 * the {@code StatisticsRepository} class and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute, it must not write
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	@Override
+	public <R> R doInReadOnlyTransaction(StatisticsTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return readOnlyTm.doInReadOnlyTransaction(code);
+	}
+
+	/**
+	 * Stops accepting writing codes, waits for the queued ones to be committed and stops the writing thread.
+	 *
+	 * @throws InterruptedException	if interrupted while waiting
+	 */
+	@Override
+	public void close() throws InterruptedException {
+		synchronized (this) {
+			if (closed)
+				return;
+			closed = true;
+			queue.add(closing);
+		}
+		writer.join();
+	}
+
+	private <R> R submit(Function<EntityManager, R> code) {
+		PendingWrite<R> write = new PendingWrite<>(code);
+		synchronized (this) {
+			if (closed)
+				throw new DatabaseOperationException(EXCEPTION_MSG_CLOSED);
+			queue.add(write);
+		}
+		try {
+			return write.result.join();
+		} catch (CompletionException e) {
+			// Writes only fail with unchecked exceptions or errors
+			if (e.getCause() instanceof Error)
+				throw (Error) e.getCause();
+			throw (RuntimeException) e.getCause();
+		}
+	}
+
+	private void writeBatches() {
+		boolean closing = false;
+		while (!closing) {
+			List<PendingWrite<?>> batch = new ArrayList<>();
+			closing = nextBatch(batch);
+			while (!batch.isEmpty())
+				batch = commit(batch);
+		}
+	}
+
+	/**
+	 * Waits for the first write, then collects the ones arriving within the window, up to the maximum size of the batch.
+	 *
+	 * @return	true if the manager is closing, and so the batch is the last one
+	 */
+	private boolean nextBatch(List<PendingWrite<?>> batch) {
+		try {
+			PendingWrite<?> write = queue.take();
+			long deadline = System.nanoTime() + maxDelayNanos;
+			while (write != null) {
+				if (write == closing)
+					return true;
+				batch.add(write);
+				if (batch.size() == maxBatchSize)
+					return false;
+				write = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+			}
+			return false;
+		} catch (InterruptedException e) {
+			// Nobody interrupts the writing thread, if it happens stop accepting writes and commit the queued ones
+			Thread.currentThread().interrupt();
+			synchronized (this) {
+				closed = true;
+			}
+			queue.drainTo(batch);
+			batch.remove(closing);
+			return true;
+		}
+	}
+
+	/**
+	 * Executes the writes in a single transaction. Nothing thrown escapes: the writing thread must outlive any write, or its
+	 * callers and {@code close} would wait forever.
+	 *
+	 * @return	the writes to execute in a new transaction, because a failing one has made the transaction unusable before them
+	 */
+	private List<PendingWrite<?>> commit(List<PendingWrite<?>> batch) {
+		EntityManager em = null;
+		EntityTransaction transaction = null;
+		try {
+			em = emf.createEntityManager();
+			transaction = em.getTransaction();
+			Session session = em.unwrap(Session.class);
+			transaction.begin();
+			for (PendingWrite<?> write : batch) {
+				Savepoint savepoint = session.doReturningWork(Connection::setSavepoint);
+				try {
+					write.execute(em);
+					em.flush();
+					session.doWork(connection -> connection.releaseSavepoint(savepoint));
+				} catch (Throwable e) {
+					Throwable failure = translate(e);
+					write.fail(failure);
+					if (transaction.getRollbackOnly()) {
+						rollback(transaction);
+						return notExecuted(batch, failure);
+					}
+					session.doWork(connection -> connection.rollback(savepoint));
+				} finally {
+					// The next write must not see, nor flush, the entities of this one
+					em.clear();
+				}
+			}
+			transaction.commit();
+		} catch (Throwable e) {
+			rollback(transaction);
+			Throwable failure = translate(e);
+			batch.forEach(write -> write.fail(failure));
+		} finally {
+			close(em);
+		}
+		// The callers get the results only when the EntityManager is no longer used
+		batch.forEach(PendingWrite::complete);
+		return List.of();
+	}
+
+	/**
+	 * Fails the writes already executed in a rolled back transaction, which can't be executed again since they may have
+	 * changed the entities they were given: their callers have to write again.
+	 *
+	 * @return	the writes not executed yet
+	 */
+	private List<PendingWrite<?>> notExecuted(List<PendingWrite<?>> batch, Throwable failure) {
+		DatabaseOperationException rolledBack = new DatabaseOperationException(EXCEPTION_MSG_ROLLED_BACK, failure);
+		batch.stream().filter(PendingWrite::isExecuted).forEach(write -> write.fail(rolledBack));
+		return batch.stream().filter(PendingWrite::isPending).collect(Collectors.toList());
+	}
+
+	private Throwable translate(Throwable e) {
+		if (e instanceof IllegalArgumentException)
+			return new DatabaseOperationException(EXCEPTION_MSG_ILLEGAL_ARGUMENT, e);
+		if (e instanceof PersistenceException)
+			return new DatabaseOperationException(EXCEPTION_MSG_GENERIC, e);
+		return e;
+	}
+
+	private void rollback(EntityTransaction transaction) {
+		try {
+			// A failed commit already marks the transaction as inactive
+			if (transaction != null && transaction.isActive())
+				transaction.rollback();
+		} catch (RuntimeException e) {
+			// The connection is broken, closing the EntityManager gives it back to the pool anyway
+		}
+	}
+
+	private void close(EntityManager em) {
+		try {
+			if (em != null)
+				em.close();
+		} catch (RuntimeException e) {
+			// The results of the writes are known already, a failed close can't change them
+		}
+	}
+
+	/**
+	 * A writing code waiting for its transaction to be committed, with its result.
+	 */
+	private static class PendingWrite<R> {
+		private final Function<EntityManager, R> code;
+		private final CompletableFuture<R> result = new CompletableFuture<>();
+		private R value;
+		private boolean executed = false;
+
+		private PendingWrite(Function<EntityManager, R> code) {
+			this.code = code;
+		}
+
+		private void execute(EntityManager em) {
+			// Also a code that fails halfway may have changed its entities
+			executed = true;
+			value = code.apply(em);
+		}
+
+		private boolean isExecuted() {
+			return executed;
+		}
+
+		private boolean isPending() {
+			return !result.isDone();
+		}
+
+		private void complete() {
+			result.complete(value);
+		}
+
+		private void fail(Throwable e) {
+			result.completeExceptionally(e);
+		}
+	}
+}
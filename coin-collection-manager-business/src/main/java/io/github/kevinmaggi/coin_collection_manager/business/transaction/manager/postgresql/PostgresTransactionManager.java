@@ -1,11 +1,28 @@
 package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.postgresql;
 
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+
 import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.*;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.IsolationLevel;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.RetryPolicy;
 import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.TransactionManager;
 import io.github.kevinmaggi.coin_collection_manager.business.transaction.exception.DatabaseOperationException;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.AlbumRepository;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.CoinRepository;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.StatisticsRepository;
 import io.github.kevinmaggi.coin_collection_manager.core.repository.postgresql.PostgresAlbumRepository;
 import io.github.kevinmaggi.coin_collection_manager.core.repository.postgresql.PostgresCoinRepository;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.postgresql.PostgresStatisticsRepository;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.PersistenceException;
 
 /**
@@ -13,29 +30,82 @@ import jakarta.persistence.PersistenceException;
  * There's a single method overloaded for all possible type of code to execute.
  *
  * It is an intermediate between the business logic, unaware of transaction, and the repository level.
+ * Every transaction is a unit of work with its own {@code EntityManager}, taken from the {@code EntityManagerFactory} (and so
+ * from its connection pool) and closed at the end, with repositories bound to it: transactions started by different threads
+ * don't share any persistence context and can run in parallel. Entities returned by a transaction are detached.
+ * Read-only transactions also mark the session as read-only, with manual flush, and the JDBC connection as read-only.
+ *
+ * Every type of code can be executed at its own isolation level, by default the one of the connections. A transaction that
+ * fails because of a concurrent one (serialization failure or deadlock, i.e. SQLState 40001 or 40P01) is executed again from
+ * scratch, as long as the {@code RetryPolicy} allows; any other failure is never retried.
  *
  * @see io.github.kevinmaggi.coin_collection_manager.business.transaction.function
  */
 public class PostgresTransactionManager implements TransactionManager {
 	private static final String EXCEPTION_MSG_ILLEGAL_ARGUMENT = "An illegal argument has been passed, transaction not committed";
 	private static final String EXCEPTION_MSG_GENERIC = "Something went wrong committing to DB, rollback done";
+	// serialization_failure and deadlock_detected
+	private static final Set<String> TRANSIENT_SQL_STATES = Set.of("40001", "40P01");
+	private static final Set<Class<?>> CODE_TYPES = Set.of(CoinTransactionCode.class, AlbumTransactionCode.class,
+			CoinAlbumTransactionCode.class, StatisticsTransactionCode.class);
 
-	private EntityManager em;
+	private EntityManagerFactory emf;
+	private RetryPolicy retryPolicy;
+	private Map<Class<?>, IsolationLevel> isolationLevels;
 
-	private PostgresAlbumRepository albumRepo;
-	private PostgresCoinRepository coinRepo;
+	private Function<EntityManager, ? extends CoinRepository> coinRepoFactory;
+	private Function<EntityManager, ? extends AlbumRepository> albumRepoFactory;
+	private Function<EntityManager, ? extends StatisticsRepository> statisticsRepoFactory;
 
 	/**
 	 * Constructor.
 	 *
-	 * @param em			{@code EntityManager} for interfacing with db
-	 * @param coinRepo		{@code CoinRepository} to use
-	 * @param albumRepo		{@code AlbumRepository} to use
+	 * @param emf		{@code EntityManagerFactory} from which every transaction takes its {@code EntityManager}
 	 */
-	public PostgresTransactionManager(EntityManager em, PostgresCoinRepository coinRepo, PostgresAlbumRepository albumRepo) {
-		this.em = em;
-		this.coinRepo = coinRepo;
-		this.albumRepo = albumRepo;
+	public PostgresTransactionManager(EntityManagerFactory emf) {
+		this(emf, RetryPolicy.noRetry(), Map.of());
+	}
+
+	/**
+	 * Constructor with the retry policy and the isolation levels.
+	 *
+	 * @param emf				{@code EntityManagerFactory} from which every transaction takes its {@code EntityManager}
+	 * @param retryPolicy		how the transactions failed because of concurrent ones are retried
+	 * @param isolationLevels	isolation level for some types of code, e.g. {@code CoinAlbumTransactionCode.class}; the other
+	 * 							types are executed at the isolation level of the connections
+	 */
+	public PostgresTransactionManager(EntityManagerFactory emf, RetryPolicy retryPolicy, Map<Class<?>, IsolationLevel> isolationLevels) {
+		this(emf, retryPolicy, isolationLevels,
+				PostgresCoinRepository::new, PostgresAlbumRepository::new, PostgresStatisticsRepository::new);
+	}
+
+	/**
+	 * Constructor with the way repositories are bound to the {@code EntityManager} of each transaction.
+	 *
+	 * @param emf						{@code EntityManagerFactory} from which every transaction takes its {@code EntityManager}
+	 * @param retryPolicy				how the transactions failed because of concurrent ones are retried
+	 * @param isolationLevels			isolation level for some types of code
+	 * @param coinRepoFactory			creates the {@code CoinRepository} of a transaction
+	 * @param albumRepoFactory			creates the {@code AlbumRepository} of a transaction
+	 * @param statisticsRepoFactory		creates the {@code StatisticsRepository} of a transaction
+	 */
+	PostgresTransactionManager(EntityManagerFactory emf, RetryPolicy retryPolicy, Map<Class<?>, IsolationLevel> isolationLevels,
+			Function<EntityManager, ? extends CoinRepository> coinRepoFactory,
+			Function<EntityManager, ? extends AlbumRepository> albumRepoFactory,
+			Function<EntityManager, ? extends StatisticsRepository> statisticsRepoFactory) {
+		if (retryPolicy == null)
+			throw new IllegalArgumentException("RetryPolicy can't be null");
+		if (isolationLevels == null)
+			throw new IllegalArgumentException("Isolation levels can't be null");
+		if (!CODE_TYPES.containsAll(isolationLevels.keySet()))
+			throw new IllegalArgumentException("Isolation levels can be set only for the types of transaction code");
+
+		this.emf = emf;
+		this.retryPolicy = retryPolicy;
+		this.isolationLevels = new HashMap<>(isolationLevels);
+		this.coinRepoFactory = coinRepoFactory;
+		this.albumRepoFactory = albumRepoFactory;
+		this.statisticsRepoFactory = statisticsRepoFactory;
 	}
 
 	/**
@@ -50,21 +120,7 @@ public class PostgresTransactionManager implements TransactionManager {
 	 */
 	@Override
 	public <R> R doInTransaction(CoinTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
-		try {
-			em.getTransaction().begin();
-			R result = code.apply(coinRepo);
-			em.getTransaction().commit();
-			return result;
-		} catch (IllegalArgumentException e) {
-			em.getTransaction().rollback();
-			throw new DatabaseOperationException(EXCEPTION_MSG_ILLEGAL_ARGUMENT, e);
-		} catch (PersistenceException e) {
-			em.getTransaction().rollback();
-			throw new DatabaseOperationException(EXCEPTION_MSG_GENERIC, e);
-		} catch (RuntimeException e) {
-			em.getTransaction().rollback();
-			throw e;
-		}
+		return inTransaction(false, CoinTransactionCode.class, em -> code.apply(coinRepoFactory.apply(em)));
 	}
 
 	/**
@@ -79,21 +135,7 @@ public class PostgresTransactionManager implements TransactionManager {
 	 */
 	@Override
 	public <R> R doInTransaction(AlbumTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
-		try {
-			em.getTransaction().begin();
-			R result = code.apply(albumRepo);
-			em.getTransaction().commit();
-			return result;
-		} catch (IllegalArgumentException e) {
-			em.getTransaction().rollback();
-			throw new DatabaseOperationException(EXCEPTION_MSG_ILLEGAL_ARGUMENT, e);
-		} catch (PersistenceException e) {
-			em.getTransaction().rollback();
-			throw new DatabaseOperationException(EXCEPTION_MSG_GENERIC, e);
-		} catch (RuntimeException e) {
-			em.getTransaction().rollback();
-			throw e;
-		}
+		return inTransaction(false, AlbumTransactionCode.class, em -> code.apply(albumRepoFactory.apply(em)));
 	}
 
 	/**
@@ -108,21 +150,149 @@ public class PostgresTransactionManager implements TransactionManager {
 	 */
 	@Override
 	public <R> R doInTransaction(CoinAlbumTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return inTransaction(false, CoinAlbumTransactionCode.class, em -> code.apply(coinRepoFactory.apply(em), albumRepoFactory.apply(em)));
+	}
+
+	/**
+	 * Executes a piece of code that involve the {@code StatisticsRepository} class and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	@Override
+	public <R> R doInTransaction(StatisticsTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return inTransaction(false, StatisticsTransactionCode.class, em -> code.apply(statisticsRepoFactory.apply(em)));
+	}
+
+	/**
+	 * Executes in a read-only transaction a piece of code that only reads through the {@code CoinRepository} class and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute, it must not write
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	@Override
+	public <R> R doInReadOnlyTransaction(CoinTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return inTransaction(true, CoinTransactionCode.class, em -> code.apply(coinRepoFactory.apply(em)));
+	}
+
+	/**
+	 * Executes in a read-only transaction a piece of code that only reads through the {@code AlbumRepository} class and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute, it must not write
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	@Override
+	public <R> R doInReadOnlyTransaction(AlbumTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return inTransaction(true, AlbumTransactionCode.class, em -> code.apply(albumRepoFactory.apply(em)));
+	}
+
+	/**
+	 * Executes in a read-only transaction a piece of code that only reads through the {@code CoinRepository} and {@code AlbumRepository} classes and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute, it must not write
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	@Override
+	public <R> R doInReadOnlyTransaction(CoinAlbumTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return inTransaction(true, CoinAlbumTransactionCode.class, em -> code.apply(coinRepoFactory.apply(em), albumRepoFactory.apply(em)));
+	}
+
+	/**
+	 * Executes in a read-only transaction a piece of code that only reads through the {@code StatisticsRepository} class and returns the result.
+	 *
+	 * @param <R>		returning type of the code
+	 * @param code		code to execute, it must not write
+	 * @return			the result of the execution of {@code code}
+	 * @throws DatabaseOperationException	when the code execution fails because of some problem related to DB operation
+	 * @throws RuntimeException				when the code execution throws exception other than IllegalArgumentException
+	 * 										and PersistenceException, they will be re-thrown
+	 */
+	@Override
+	public <R> R doInReadOnlyTransaction(StatisticsTransactionCode<R> code) throws DatabaseOperationException, RuntimeException {
+		return inTransaction(true, StatisticsTransactionCode.class, em -> code.apply(statisticsRepoFactory.apply(em)));
+	}
+
+	private <R> R inTransaction(boolean readOnly, Class<?> codeType, Function<EntityManager, R> code) {
+		IsolationLevel isolationLevel = isolationLevels.get(codeType);
+		for (int attempt = 1; ; attempt++) {
+			try {
+				return attempt(readOnly, isolationLevel, code);
+			} catch (DatabaseOperationException e) {
+				if (attempt >= retryPolicy.getMaxAttempts() || !isTransient(e.getCause()))
+					throw e;
+				waitBeforeRetry(attempt, e);
+			}
+		}
+	}
+
+	private <R> R attempt(boolean readOnly, IsolationLevel isolationLevel, Function<EntityManager, R> code) {
+		EntityManager em = emf.createEntityManager();
+		EntityTransaction transaction = em.getTransaction();
 		try {
-			em.getTransaction().begin();
-			R result = code.apply(coinRepo, albumRepo);
-			em.getTransaction().commit();
+			Session session = em.unwrap(Session.class);
+			if (readOnly) {
+				// Entities are loaded without snapshots and never flushed
+				session.setDefaultReadOnly(true);
+				session.setHibernateFlushMode(FlushMode.MANUAL);
+			}
+			transaction.begin();
+			// The pool resets the connection when it's given back
+			if (readOnly)
+				session.doWork(connection -> connection.setReadOnly(true));
+			if (isolationLevel != null)
+				session.doWork(connection -> connection.setTransactionIsolation(isolationLevel.getJdbcLevel()));
+			R result = code.apply(em);
+			transaction.commit();
 			return result;
 		} catch (IllegalArgumentException e) {
-			em.getTransaction().rollback();
+			rollback(transaction);
 			throw new DatabaseOperationException(EXCEPTION_MSG_ILLEGAL_ARGUMENT, e);
 		} catch (PersistenceException e) {
-			em.getTransaction().rollback();
+			rollback(transaction);
 			throw new DatabaseOperationException(EXCEPTION_MSG_GENERIC, e);
 		} catch (RuntimeException e) {
-			em.getTransaction().rollback();
+			rollback(transaction);
 			throw e;
+		} finally {
+			em.close();
+		}
+	}
+
+	private boolean isTransient(Throwable failure) {
+		for (Throwable cause = failure; cause != null; cause = cause.getCause())
+			if (cause instanceof SQLException && TRANSIENT_SQL_STATES.contains(((SQLException) cause).getSQLState()))
+				return true;
+		return false;
+	}
+
+	private void waitBeforeRetry(int failedAttempts, DatabaseOperationException failure) {
+		try {
+			Thread.sleep(retryPolicy.getBackoff(failedAttempts).toMillis());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw failure;
 		}
 	}
 
+	private void rollback(EntityTransaction transaction) {
+		// A failed commit already marks the transaction as inactive
+		if (transaction.isActive())
+			transaction.rollback();
+	}
 }
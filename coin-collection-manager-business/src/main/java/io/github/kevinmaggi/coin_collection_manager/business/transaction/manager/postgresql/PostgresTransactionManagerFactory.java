@@ -3,66 +3,57 @@
  */
 package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.postgresql;
 
+import java.util.Map;
+
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.IsolationLevel;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.RetryPolicy;
 import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.TransactionManagerFactory;
-import io.github.kevinmaggi.coin_collection_manager.core.repository.postgresql.PostgresAlbumRepository;
-import io.github.kevinmaggi.coin_collection_manager.core.repository.postgresql.PostgresCoinRepository;
-import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 
 /**
  * This class is a concrete implementation of {@code TransactionManagerFactory} for Postgres family of product.
- * Instantiating {@code TransactionManager}, {@code CoinRepoitory} and {@code AlbumRepository} with this factory not only we ensure
- * that they will be coherent in the sense that they are for Postgres DB, but also that they use the same {@code EntityManager}.
+ * The {@code PostgresTransactionManager} instantiated with this factory binds Postgres repositories to an {@code EntityManager}
+ * created by the given {@code EntityManagerFactory} for every transaction.
  */
 public class PostgresTransactionManagerFactory implements TransactionManagerFactory {
 
-	private EntityManager em;
+	private EntityManagerFactory emf;
+	private RetryPolicy retryPolicy;
+	private Map<Class<?>, IsolationLevel> isolationLevels;
 	private PostgresTransactionManager tm = null;
-	private PostgresCoinRepository cr = null;
-	private PostgresAlbumRepository ar = null;
 
 	/**
-	 * Simple constructor.
+	 * Simple constructor, the transactions are never retried and run at the isolation level of the connections.
 	 *
-	 * @param em	the {@code EntityManager} to use
+	 * @param emf	the {@code EntityManagerFactory} to use
 	 */
-	public PostgresTransactionManagerFactory(EntityManager em) {
-		this.em = em;
-	}
-
-	/**
-	 * Get an instance of {@code PostgresTransactionManager}.
-	 *
-	 * @return	the {@code PostgresTransactionManager}
-	 */
-	@Override
-	public PostgresTransactionManager getTransactionManager() {
-		if (tm == null)
-			tm = new PostgresTransactionManager(em, getCoinRepository(), getAlbumRepository());
-		return tm;
+	public PostgresTransactionManagerFactory(EntityManagerFactory emf) {
+		this(emf, RetryPolicy.noRetry(), Map.of());
 	}
 
 	/**
-	 * Get an instance of {@code PostgresCoinRepository}.
+	 * Constructor with the retry policy and the isolation levels of the {@code PostgresTransactionManager}.
 	 *
-	 * @return	the {@code PostgresCoinRepository}
+	 * @param emf				the {@code EntityManagerFactory} to use
+	 * @param retryPolicy		how the transactions failed because of concurrent ones are retried
+	 * @param isolationLevels	isolation level for some types of transaction code
 	 */
-	@Override
-	public PostgresCoinRepository getCoinRepository() {
-		if (cr == null)
-			cr = new PostgresCoinRepository(em);
-		return cr;
+	public PostgresTransactionManagerFactory(EntityManagerFactory emf, RetryPolicy retryPolicy, Map<Class<?>, IsolationLevel> isolationLevels) {
+		this.emf = emf;
+		this.retryPolicy = retryPolicy;
+		this.isolationLevels = isolationLevels;
 	}
 
 	/**
-	 * get an instance of {@code PostgresAlbumRepository}.
+	 * Get an instance of {@code PostgresTransactionManager}.
 	 *
-	 * @return	the {@code PostgresAlbumRepository}
+	 * @return	the {@code PostgresTransactionManager}
 	 */
 	@Override
-	public PostgresAlbumRepository getAlbumRepository() {
-		if (ar == null)
-			ar = new PostgresAlbumRepository(em);
-		return ar;
+	public PostgresTransactionManager getTransactionManager() {
+		if (tm == null)
+			tm = new PostgresTransactionManager(emf, retryPolicy, isolationLevels);
+		return tm;
 	}
 
 }
@@ -0,0 +1,96 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transfer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+
+/**
+ * Writes the coins in a compact binary format.
+ *
+ * The file starts with the bytes {@code CCMB} and the version of the format, 1. Then every coin is written as:
+ * <ul>
+ * <li>the ordinal of its {@code Grade} plus 1, in a byte;</li>
+ * <li>the country, as a shared text;</li>
+ * <li>the minting year, as a signed number;</li>
+ * <li>the description and the note, as texts;</li>
+ * <li>0 if it's in no album, otherwise the name of the album as a shared text followed by its volume as a signed number.</li>
+ * </ul>
+ * The file ends with a 0 byte in place of the grade.
+ *
+ * The unsigned numbers are written in the variable-length format of LEB128, the signed ones too after the zigzag encoding
+ * ({@code (n << 1) ^ (n >> 31)}), so that the small ones take a byte or two whatever their sign. A text is written as its
+ * length in bytes followed by its UTF-8 bytes. A shared text, since the countries and the albums are repeated by many coins,
+ * is written as 0 followed by the text the first time, then as the number of the text in order of appearance, starting from
+ * 1: only the first {@value #MAX_SHARED_TEXTS} texts are numbered, the others are always written in full.
+ */
+final class BinaryCoinWriter implements CoinWriter {
+	/**
+	 * Maximum number of shared texts numbered, so that the memory used doesn't depend on the number of coins.
+	 */
+	static final int MAX_SHARED_TEXTS = 1 << 16;
+
+	static final byte[] MAGIC = {'C', 'C', 'M', 'B'};
+	static final byte VERSION = 1;
+	static final byte END = 0;
+
+	private final ChannelBuffer output;
+	private final Map<String, Integer> sharedTexts = new HashMap<>();
+
+	/**
+	 * Constructor, it writes the header.
+	 *
+	 * @param output		the buffer of the file
+	 * @throws IOException	if the file can't be written
+	 */
+	BinaryCoinWriter(ChannelBuffer output) throws IOException {
+		this.output = output;
+		output.put(MAGIC);
+		output.put(VERSION);
+	}
+
+	@Override
+	public void write(Grade grade, String country, int mintingYear, String description, String note, String albumName, int albumVolume) throws IOException {
+		output.put((byte) (grade.ordinal() + 1));
+		putSharedText(country);
+		putSigned(mintingYear);
+		putText(description);
+		putText(note);
+		if (albumName == null)
+			output.put((byte) 0);
+		else {
+			putSharedText(albumName);
+			putSigned(albumVolume);
+		}
+	}
+
+	@Override
+	public void finish() throws IOException {
+		output.put(END);
+		output.flush();
+	}
+
+	private void putSigned(int value) throws IOException {
+		output.putVarLong(Integer.toUnsignedLong((value << 1) ^ (value >> 31)));
+	}
+
+	private void putText(String text) throws IOException {
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		output.putVarLong(bytes.length);
+		output.put(bytes);
+	}
+
+	private void putSharedText(String text) throws IOException {
+		Integer number = sharedTexts.get(text);
+		if (number != null)
+			output.putVarLong(number);
+		else {
+			output.putVarLong(0);
+			putText(text);
+			if (sharedTexts.size() < MAX_SHARED_TEXTS)
+				sharedTexts.put(text, sharedTexts.size() + 1);
+		}
+	}
+}
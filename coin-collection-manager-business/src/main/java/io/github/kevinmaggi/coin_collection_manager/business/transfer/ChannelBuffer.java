@@ -0,0 +1,115 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transfer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A buffer in front of a channel: the bytes are written to the channel only when the buffer is full or flushed, and the
+ * texts are encoded in UTF-8 straight into the buffer, so that writing a row allocates nothing.
+ */
+final class ChannelBuffer {
+	static final int SIZE = 1 << 16;
+
+	private final WritableByteChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(SIZE);
+	private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+	/**
+	 * Constructor.
+	 *
+	 * @param channel	the channel where the bytes are written
+	 */
+	ChannelBuffer(WritableByteChannel channel) {
+		this.channel = channel;
+	}
+
+	/**
+	 * Puts a byte.
+	 *
+	 * @param b				the byte
+	 * @throws IOException	if the buffer is full and can't be written
+	 */
+	void put(byte b) throws IOException {
+		if (!buffer.hasRemaining())
+			flush();
+		buffer.put(b);
+	}
+
+	/**
+	 * Puts some bytes.
+	 *
+	 * @param bytes			the bytes
+	 * @throws IOException	if the buffer is full and can't be written
+	 */
+	void put(byte[] bytes) throws IOException {
+		int offset = 0;
+		while (offset < bytes.length) {
+			if (!buffer.hasRemaining())
+				flush();
+			int length = Math.min(buffer.remaining(), bytes.length - offset);
+			buffer.put(bytes, offset, length);
+			offset += length;
+		}
+	}
+
+	/**
+	 * Puts an unsigned number in the variable-length format of LEB128: 7 bits per byte, the least significant first, with the
+	 * highest bit set in all the bytes but the last.
+	 *
+	 * @param value			the number, treated as unsigned
+	 * @throws IOException	if the buffer is full and can't be written
+	 */
+	void putVarLong(long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		put((byte) value);
+	}
+
+	/**
+	 * Puts a text encoded in UTF-8, the invalid characters replaced.
+	 *
+	 * @param text			the text
+	 * @throws IOException	if the buffer is full and can't be written
+	 */
+	void putText(CharSequence text) throws IOException {
+		CharBuffer chars = CharBuffer.wrap(text);
+		CoderResult result;
+		encoder.reset();
+		do
+			result = encoder.encode(chars, buffer, true);
+		while (makeRoom(result));
+		do
+			result = encoder.flush(buffer);
+		while (makeRoom(result));
+	}
+
+	/**
+	 * Writes the bytes in the buffer to the channel.
+	 *
+	 * @throws IOException	if the bytes can't be written
+	 */
+	void flush() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining())
+			channel.write(buffer);
+		buffer.clear();
+	}
+
+	// The encoder stops only when the buffer is full, since the invalid characters are replaced
+	private boolean makeRoom(CoderResult result) throws IOException {
+		if (!result.isOverflow())
+			return false;
+		flush();
+		return true;
+	}
+}
@@ -0,0 +1,45 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transfer;
+
+/**
+ * Names of the columns of a {@code Coin} in the transferred files: the headers of a CSV file, the keys of the objects of a
+ * JSON file.
+ * The album is identified by its name and volume, since the ids are not the same in another installation.
+ */
+public final class CoinColumns {
+	/**
+	 * Code of the {@code Grade}, e.g. {@code VF}; its meaning is accepted too, e.g. {@code Very Fine}.
+	 */
+	public static final String GRADE = "grade";
+
+	/**
+	 * Country of the coin.
+	 */
+	public static final String COUNTRY = "country";
+
+	/**
+	 * Minting year of the coin, negative before the Common Era.
+	 */
+	public static final String MINTING_YEAR = "minting_year";
+
+	/**
+	 * Description of the coin.
+	 */
+	public static final String DESCRIPTION = "description";
+
+	/**
+	 * Notes of the coin, optional.
+	 */
+	public static final String NOTE = "note";
+
+	/**
+	 * Name of the album where the coin is located, optional.
+	 */
+	public static final String ALBUM_NAME = "album_name";
+
+	/**
+	 * Volume of the album where the coin is located, required together with its name.
+	 */
+	public static final String ALBUM_VOLUME = "album_volume";
+
+	private CoinColumns() {}
+}
@@ -0,0 +1,429 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transfer;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.Year;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import io.github.kevinmaggi.coin_collection_manager.business.service.AlbumManager;
+import io.github.kevinmaggi.coin_collection_manager.business.service.CoinManager;
+import io.github.kevinmaggi.coin_collection_manager.business.service.exception.AlbumNotFoundException;
+import io.github.kevinmaggi.coin_collection_manager.business.service.exception.DatabaseException;
+import io.github.kevinmaggi.coin_collection_manager.business.service.exception.DuplicateCoinException;
+import io.github.kevinmaggi.coin_collection_manager.business.service.exception.FullAlbumException;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+import io.github.kevinmaggi.coin_collection_manager.core.utility.Years;
+
+/**
+ * Imports the {@code Coin}s of a CSV or JSON file, whose columns are named as in {@code CoinColumns}.
+ *
+ * The file is read one record at a time and the records are validated in batches, in parallel on a pool of threads: only a
+ * bounded number of batches is read ahead of the one being added, so the memory used doesn't depend on the size of the file.
+ * The albums are found by name and volume once per import (by each thread, at worst), then looked up in memory.
+ * Each batch is added with {@link CoinManager#addCoins(java.util.Collection)}, in a transaction of its own, after taking out
+ * the coins that don't fit in their albums; the coins already in DB are taken out as they're found and the batch is added
+ * again without them. If it's rejected anyway (e.g. a coin has been added meanwhile) its coins are added one by one, so that
+ * every row is either imported or rejected with its own reason.
+ *
+ * @see CoinColumns
+ */
+public class CoinImporter {
+	static final String MISSING_FIELD_MSG = "Missing %s";
+	static final String INVALID_FIELD_MSG = "Invalid %s: %s";
+	static final String INCOMPLETE_ALBUM_MSG = "Album name and volume must be given together";
+	static final String ALBUM_NOT_FOUND_MSG = "Album not found: %s vol. %d";
+	static final String FULL_ALBUM_MSG = "Album is full: %s vol. %d";
+	static final String DUPLICATE_COIN_MSG = "Coin already present";
+
+	// Batches validated ahead of the one being added, for each thread
+	private static final int BATCHES_PER_THREAD = 2;
+	private static final String THREAD_NAME_PREFIX = "import-";
+
+	private CoinManager coinManager;
+	private AlbumManager albumManager;
+	private int batchSize;
+	private int parallelism;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param coinManager	manager through which the coins are added
+	 * @param albumManager	manager through which the albums are found
+	 * @param batchSize		number of coins added in a single transaction
+	 * @param parallelism	number of threads validating the records
+	 * @throws IllegalArgumentException	if a manager is null, or the numbers are not positive
+	 */
+	public CoinImporter(CoinManager coinManager, AlbumManager albumManager, int batchSize, int parallelism) throws IllegalArgumentException {
+		if (coinManager == null)
+			throw new IllegalArgumentException("Coin manager can't be null");
+		if (albumManager == null)
+			throw new IllegalArgumentException("Album manager can't be null");
+		if (batchSize <= 0)
+			throw new IllegalArgumentException("Batch size must be positive");
+		if (parallelism <= 0)
+			throw new IllegalArgumentException("Parallelism must be positive");
+
+		this.coinManager = coinManager;
+		this.albumManager = albumManager;
+		this.batchSize = batchSize;
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Imports the coins of a file, encoded in UTF-8.
+	 *
+	 * @param file		the file
+	 * @param format	the format of the file
+	 * @param rejected	takes every row not imported, in the order of the file
+	 * @return			the number of rows read, imported and rejected
+	 * @throws IOException			if the file can't be read or is malformed; the batches added until then stay in DB
+	 * @throws DatabaseException	if an error occurs during database querying; the batches added until then stay in DB
+	 */
+	public ImportReport importCoins(Path file, ImportFormat format, Consumer<RejectedRow> rejected) throws IOException, DatabaseException {
+		return importCoins(Files.newBufferedReader(file, StandardCharsets.UTF_8), format, rejected);
+	}
+
+	/**
+	 * Imports the coins of a file, closing it at the end.
+	 *
+	 * @param input		the file, better if buffered
+	 * @param format	the format of the file
+	 * @param rejected	takes every row not imported, in the order of the file
+	 * @return			the number of rows read, imported and rejected
+	 * @throws IOException			if the file can't be read or is malformed; the batches added until then stay in DB
+	 * @throws DatabaseException	if an error occurs during database querying; the batches added until then stay in DB
+	 */
+	public ImportReport importCoins(Reader input, ImportFormat format, Consumer<RejectedRow> rejected) throws IOException, DatabaseException {
+		RecordReader opened;
+		try {
+			opened = format.open(input);
+		} catch (IOException e) {
+			input.close();
+			throw e;
+		}
+		try (RecordReader records = opened) {
+			return new Import(rejected).run(records);
+		}
+	}
+
+	/**
+	 * The state of a single import.
+	 */
+	private final class Import {
+		private final Consumer<RejectedRow> rejected;
+		// The albums found by name and volume, shared by the threads validating the records
+		private final Map<String, Optional<Album>> albums = new ConcurrentHashMap<>();
+		// Slots still free in each album, updated as the coins are added
+		private final Map<UUID, Integer> freeSlots = new HashMap<>();
+		private long read = 0;
+		private long imported = 0;
+		private long rejectedCount = 0;
+
+		Import(Consumer<RejectedRow> rejected) {
+			this.rejected = rejected;
+		}
+
+		ImportReport run(RecordReader records) throws IOException {
+			AtomicInteger threads = new AtomicInteger();
+			ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+				Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threads.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+			Queue<Future<List<ImportedRow>>> pending = new ArrayDeque<>();
+			try {
+				List<SourceRecord> batch = new ArrayList<>(batchSize);
+				SourceRecord record;
+				while ((record = records.next()) != null) {
+					read++;
+					batch.add(record);
+					if (batch.size() == batchSize) {
+						pending.add(validate(executor, batch));
+						batch = new ArrayList<>(batchSize);
+						if (pending.size() > parallelism * BATCHES_PER_THREAD)
+							add(pending.remove());
+					}
+				}
+				if (!batch.isEmpty())
+					pending.add(validate(executor, batch));
+				while (!pending.isEmpty())
+					add(pending.remove());
+				return new ImportReport(read, imported, rejectedCount);
+			} finally {
+				executor.shutdownNow();
+			}
+		}
+
+		private Future<List<ImportedRow>> validate(ExecutorService executor, List<SourceRecord> batch) {
+			return executor.submit(() -> {
+				List<ImportedRow> rows = new ArrayList<>(batch.size());
+				for (SourceRecord record : batch)
+					rows.add(validate(record));
+				return rows;
+			});
+		}
+
+		private ImportedRow validate(SourceRecord record) {
+			if (record.getError() != null)
+				return ImportedRow.rejected(record.getRow(), record.getError());
+			Map<String, String> fields = record.getFields();
+			try {
+				Grade grade = parseGrade(required(fields, CoinColumns.GRADE));
+				String country = required(fields, CoinColumns.COUNTRY);
+				Year mintingYear = parseYear(required(fields, CoinColumns.MINTING_YEAR));
+				String description = required(fields, CoinColumns.DESCRIPTION);
+				String note = optional(fields, CoinColumns.NOTE);
+				Album album = findAlbum(optional(fields, CoinColumns.ALBUM_NAME), optional(fields, CoinColumns.ALBUM_VOLUME));
+				Coin coin = new Coin(grade, country, mintingYear, description, note, album == null ? null : album.getId());
+				return new ImportedRow(record.getRow(), coin, album, null);
+			} catch (InvalidFieldException e) {
+				return ImportedRow.rejected(record.getRow(), e.getMessage());
+			}
+		}
+
+		private Album findAlbum(String name, String volume) {
+			if (name.isEmpty() && volume.isEmpty())
+				return null;
+			else if (name.isEmpty() || volume.isEmpty())
+				throw new InvalidFieldException(INCOMPLETE_ALBUM_MSG);
+			int number;
+			try {
+				number = Integer.parseInt(volume);
+			} catch (NumberFormatException e) {
+				throw new InvalidFieldException(String.format(INVALID_FIELD_MSG, CoinColumns.ALBUM_VOLUME, volume));
+			}
+			String key = number + " " + name;
+			Optional<Album> album = albums.get(key);
+			if (album == null) {
+				// Looked up outside of the map, which mustn't be locked during a query: two threads may look it up both
+				album = lookUpAlbum(name, number);
+				Optional<Album> previous = albums.putIfAbsent(key, album);
+				if (previous != null)
+					album = previous;
+			}
+			return album.orElseThrow(() -> new InvalidFieldException(String.format(ALBUM_NOT_FOUND_MSG, name, number)));
+		}
+
+		private Optional<Album> lookUpAlbum(String name, int number) {
+			try {
+				return Optional.of(albumManager.findAlbumByNameAndVolume(name, number));
+			} catch (AlbumNotFoundException e) {
+				return Optional.empty();
+			}
+		}
+
+		// Waits for a batch to be validated, then adds the valid coins that fit in their albums
+		private void add(Future<List<ImportedRow>> validated) throws IOException {
+			List<ImportedRow> rows = awaitValidation(validated);
+			List<ImportedRow> valid = new ArrayList<>(rows.size());
+			Set<Coin> coins = new LinkedHashSet<>();
+			for (ImportedRow row : rows) {
+				if (row.getReason() != null)
+					reject(row.getRow(), row.getReason());
+				else if (!coins.add(row.getCoin()))
+					reject(row.getRow(), DUPLICATE_COIN_MSG);
+				else if (!occupySlot(row.getAlbum())) {
+					coins.remove(row.getCoin());
+					reject(row.getRow(), fullAlbum(row.getAlbum()));
+				}
+				else
+					valid.add(row);
+			}
+			if (valid.isEmpty())
+				return;
+
+			Set<ImportedRow> duplicated = new HashSet<>();
+			boolean added = addAll(valid, duplicated);
+			for (ImportedRow row : valid) {
+				if (duplicated.contains(row)) {
+					releaseSlot(row.getAlbum());
+					reject(row.getRow(), DUPLICATE_COIN_MSG);
+				}
+				else if (!added)
+					addAlone(row);
+			}
+			if (added)
+				imported += valid.size() - duplicated.size();
+		}
+
+		// Adds the rows in a single transaction, taking out the ones whose coins are already in DB (into duplicated) and trying
+		// again without them; false if they can't be added together anyway
+		private boolean addAll(List<ImportedRow> rows, Set<ImportedRow> duplicated) {
+			List<ImportedRow> toAdd = rows;
+			while (!toAdd.isEmpty()) {
+				try {
+					coinManager.addCoins(toAdd.stream().map(ImportedRow::getCoin).collect(Collectors.toList()));
+					return true;
+				} catch (DuplicateCoinException e) {
+					Set<Coin> duplicates = new HashSet<>(e.getDuplicates());
+					List<ImportedRow> rest = new ArrayList<>(toAdd.size());
+					for (ImportedRow row : toAdd) {
+						if (duplicates.contains(row.getCoin()))
+							duplicated.add(row);
+						else
+							rest.add(row);
+					}
+					// The coins already in DB aren't known
+					if (rest.size() == toAdd.size())
+						return false;
+					toAdd = rest;
+				} catch (FullAlbumException e) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private void addAlone(ImportedRow row) {
+			try {
+				coinManager.addCoin(row.getCoin());
+				imported++;
+			} catch (DuplicateCoinException e) {
+				releaseSlot(row.getAlbum());
+				reject(row.getRow(), DUPLICATE_COIN_MSG);
+			} catch (FullAlbumException e) {
+				freeSlots.put(row.getAlbum().getId(), 0);
+				reject(row.getRow(), fullAlbum(row.getAlbum()));
+			}
+		}
+
+		private boolean occupySlot(Album album) {
+			if (album == null)
+				return true;
+			int free = freeSlots.computeIfAbsent(album.getId(), id -> album.getNumberOfSlots() - album.getOccupiedSlots());
+			if (free <= 0)
+				return false;
+			freeSlots.put(album.getId(), free - 1);
+			return true;
+		}
+
+		private void releaseSlot(Album album) {
+			if (album != null)
+				freeSlots.merge(album.getId(), 1, Integer::sum);
+		}
+
+		private void reject(long row, String reason) {
+			rejectedCount++;
+			rejected.accept(new RejectedRow(row, reason));
+		}
+
+		private List<ImportedRow> awaitValidation(Future<List<ImportedRow>> validated) throws IOException {
+			try {
+				return validated.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Import interrupted");
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException)
+					throw (RuntimeException) e.getCause();
+				else
+					throw new IllegalStateException(e.getCause());
+			}
+		}
+	}
+
+	private static String required(Map<String, String> fields, String column) {
+		String value = optional(fields, column);
+		if (value.isEmpty())
+			throw new InvalidFieldException(String.format(MISSING_FIELD_MSG, column));
+		return value;
+	}
+
+	private static String optional(Map<String, String> fields, String column) {
+		String value = fields.get(column);
+		return value == null ? "" : value.strip();
+	}
+
+	private static Grade parseGrade(String value) {
+		for (Grade grade : Grade.values()) {
+			if (grade.name().equalsIgnoreCase(value) || grade.getMeaning().equalsIgnoreCase(value))
+				return grade;
+		}
+		throw new InvalidFieldException(String.format(INVALID_FIELD_MSG, CoinColumns.GRADE, value));
+	}
+
+	private static Year parseYear(String value) {
+		try {
+			return Years.of(Integer.parseInt(value));
+		} catch (NumberFormatException | DateTimeException e) {
+			throw new InvalidFieldException(String.format(INVALID_FIELD_MSG, CoinColumns.MINTING_YEAR, value));
+		}
+	}
+
+	private static String fullAlbum(Album album) {
+		return String.format(FULL_ALBUM_MSG, album.getName(), album.getVolume());
+	}
+
+	/**
+	 * A record validated: either the coin to add, with its album if any, or the reason why it's rejected.
+	 */
+	private static final class ImportedRow {
+		private final long row;
+		private final Coin coin;
+		private final Album album;
+		private final String reason;
+
+		ImportedRow(long row, Coin coin, Album album, String reason) {
+			this.row = row;
+			this.coin = coin;
+			this.album = album;
+			this.reason = reason;
+		}
+
+		static ImportedRow rejected(long row, String reason) {
+			return new ImportedRow(row, null, null, reason);
+		}
+
+		long getRow() {
+			return row;
+		}
+
+		Coin getCoin() {
+			return coin;
+		}
+
+		Album getAlbum() {
+			return album;
+		}
+
+		String getReason() {
+			return reason;
+		}
+	}
+
+	/**
+	 * Thrown while validating a record with an invalid field, its message is the reason of the rejection.
+	 */
+	private static final class InvalidFieldException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		InvalidFieldException(String message) {
+			super(message);
+		}
+	}
+}
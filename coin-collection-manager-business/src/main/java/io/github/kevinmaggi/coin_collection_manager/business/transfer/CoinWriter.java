@@ -0,0 +1,35 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transfer;
+
+import java.io.IOException;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+
+/**
+ * Writes the {@code Coin}s to a file one at a time, in one of the {@code ExportFormat}s.
+ * The characteristics of a coin are taken one by one, so that the coins read from the DB are written without building the
+ * entities.
+ *
+ * @see ExportFormat
+ */
+public interface CoinWriter {
+	/**
+	 * Writes a coin.
+	 *
+	 * @param grade			{@code Grade} of the coin
+	 * @param country		Country of the coin
+	 * @param mintingYear	Minting year of the coin
+	 * @param description	Description of the coin
+	 * @param note			Notes of the coin
+	 * @param albumName		Name of the album where the coin is located, null if none
+	 * @param albumVolume	Volume of the album where the coin is located, ignored if none
+	 * @throws IOException	if the coin can't be written
+	 */
+	void write(Grade grade, String country, int mintingYear, String description, String note, String albumName, int albumVolume) throws IOException;
+
+	/**
+	 * Ends the file and writes everything still buffered, without closing the channel.
+	 *
+	 * @throws IOException	if the file can't be written
+	 */
+	void finish() throws IOException;
+}
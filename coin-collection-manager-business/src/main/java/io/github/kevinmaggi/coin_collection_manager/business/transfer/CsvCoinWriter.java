@@ -0,0 +1,72 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transfer;
+
+import java.io.IOException;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+
+/**
+ * Writes the coins in a CSV file (<a href="https://www.rfc-editor.org/rfc/rfc4180">RFC 4180</a>), with the columns of
+ * {@code CoinColumns}: the fields containing commas, line breaks or double quotes are enclosed in double quotes.
+ */
+final class CsvCoinWriter implements CoinWriter {
+	private static final String LINE_BREAK = "\r\n";
+
+	private final ChannelBuffer output;
+	private final StringBuilder line = new StringBuilder();
+
+	/**
+	 * Constructor, it writes the header.
+	 *
+	 * @param output		the buffer of the file
+	 * @throws IOException	if the file can't be written
+	 */
+	CsvCoinWriter(ChannelBuffer output) throws IOException {
+		this.output = output;
+		output.putText(String.join(",", CoinColumns.GRADE, CoinColumns.COUNTRY, CoinColumns.MINTING_YEAR,
+				CoinColumns.DESCRIPTION, CoinColumns.NOTE, CoinColumns.ALBUM_NAME, CoinColumns.ALBUM_VOLUME) + LINE_BREAK);
+	}
+
+	@Override
+	public void write(Grade grade, String country, int mintingYear, String description, String note, String albumName, int albumVolume) throws IOException {
+		line.setLength(0);
+		line.append(grade.name()).append(',');
+		appendField(country);
+		line.append(',').append(mintingYear).append(',');
+		appendField(description);
+		line.append(',');
+		appendField(note);
+		line.append(',');
+		if (albumName != null) {
+			appendField(albumName);
+			line.append(',').append(albumVolume);
+		}
+		else
+			line.append(',');
+		output.putText(line.append(LINE_BREAK));
+	}
+
+	@Override
+	public void finish() throws IOException {
+		output.flush();
+	}
+
+	private void appendField(String value) {
+		boolean quoted = false;
+		for (int i = 0; i < value.length() && !quoted; i++) {
+			char c = value.charAt(i);
+			quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+		}
+		if (!quoted)
+			line.append(value);
+		else {
+			line.append('"');
+			for (int i = 0; i < value.length(); i++) {
+				char c = value.charAt(i);
+				if (c == '"')
+					line.append('"');
+				line.append(c);
+			}
+			line.append('"');
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transfer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the records of a CSV file (<a href="https://www.rfc-editor.org/rfc/rfc4180">RFC 4180</a>), whose first line is the
+ * header with the names of the columns.
+ * A field can be enclosed in double quotes, to contain commas, line breaks and double quotes, these escaped by doubling them.
+ * The blank lines are skipped, a record with a number of fields different from the header is read with an error.
+ */
+final class CsvRecordReader implements RecordReader {
+	private static final char SEPARATOR = ',';
+	private static final char QUOTE = '"';
+	private static final char BYTE_ORDER_MARK = '\uFEFF';
+	private static final int NONE = -2;
+
+	private final Reader input;
+	private final String[] header;
+	private long line = 1;
+	private int pushedBack = NONE;
+
+	/**
+	 * Constructor, it reads the header.
+	 *
+	 * @param input			the file, better if buffered since it's read one character at a time
+	 * @throws IOException	if the file can't be read
+	 */
+	CsvRecordReader(Reader input) throws IOException {
+		this.input = input;
+		int first = read();
+		if (first != BYTE_ORDER_MARK)
+			pushBack(first);
+		List<String> names = readFields();
+		header = names == null ? new String[0] : names.stream().map(String::strip).toArray(String[]::new);
+	}
+
+	@Override
+	public SourceRecord next() throws IOException {
+		long row;
+		List<String> fields;
+		do {
+			row = line;
+			fields = readFields();
+		} while (fields != null && fields.size() == 1 && fields.get(0).isEmpty());
+		if (fields == null)
+			return null;
+
+		Map<String, String> values = new HashMap<>();
+		for (int i = 0; i < Math.min(header.length, fields.size()); i++)
+			values.put(header[i], fields.get(i));
+		if (fields.size() == header.length)
+			return new SourceRecord(row, values, null);
+		else
+			return new SourceRecord(row, values, String.format("Expected %d fields, found %d", header.length, fields.size()));
+	}
+
+	@Override
+	public void close() throws IOException {
+		input.close();
+	}
+
+	// The fields of the next line, null at the end of the file
+	private List<String> readFields() throws IOException {
+		long start = line;
+		int c = read();
+		if (c == -1)
+			return null;
+
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		while (true) {
+			if (quoted) {
+				if (c == -1)
+					throw new IOException("Quoted field not closed, starting at line " + start);
+				else if (c != QUOTE)
+					field.append((char) c);
+				else {
+					int next = read();
+					if (next == QUOTE)
+						field.append(QUOTE);
+					else {
+						quoted = false;
+						c = next;
+						continue;
+					}
+				}
+			}
+			else if (c == QUOTE && field.length() == 0)
+				quoted = true;
+			else if (c == SEPARATOR) {
+				fields.add(field.toString());
+				field.setLength(0);
+			}
+			else if (c == '\n' || c == '\r' || c == -1) {
+				if (c == '\r') {
+					int next = read();
+					// An old Mac line break
+					if (next != '\n') {
+						line++;
+						pushBack(next);
+					}
+				}
+				fields.add(field.toString());
+				return fields;
+			}
+			else
+				field.append((char) c);
+			c = read();
+		}
+	}
+
+	private int read() throws IOException {
+		int c;
+		if (pushedBack != NONE) {
+			c = pushedBack;
+			pushedBack = NONE;
+		}
+		else {
+			c = input.read();
+			if (c == '\n')
+				line++;
+		}
+		return c;
+	}
+
+	private void pushBack(int c) {
+		pushedBack = c;
+	}
+}
@@ -0,0 +1,44 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transfer;
+
+import java.util.UUID;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+
+/**
+ * Selects the {@code Coin}s to export: the ones matching all the characteristics given, any if none.
+ */
+public final class ExportFilter {
+	/**
+	 * The filter that selects all the coins.
+	 */
+	public static final ExportFilter ALL = new ExportFilter(null, null, null);
+
+	private final UUID album;
+	private final String country;
+	private final Grade grade;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param album		id of the album of the coins, null for any
+	 * @param country	country of the coins, null for any
+	 * @param grade		{@code Grade} of the coins, null for any
+	 */
+	public ExportFilter(UUID album, String country, Grade grade) {
+		this.album = album;
+		this.country = country;
+		this.grade = grade;
+	}
+
+	public UUID getAlbum() {
+		return album;
+	}
+
+	public String getCountry() {
+		return country;
+	}
+
+	public Grade getGrade() {
+		return grade;
+	}
+}
@@ -0,0 +1,52 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transfer;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Formats of the files to which the coins can be exported.
+ * The CSV and JSON Lines files can be imported again, with the same columns.
+ *
+ * @see CoinColumns
+ * @see ImportFormat
+ */
+public enum ExportFormat {
+	/**
+	 * Comma-separated values, with a header naming the columns.
+	 */
+	CSV {
+		@Override
+		public CoinWriter newWriter(WritableByteChannel channel) throws IOException {
+			return new CsvCoinWriter(new ChannelBuffer(channel));
+		}
+	},
+
+	/**
+	 * A JSON object per line.
+	 */
+	JSON_LINES {
+		@Override
+		public CoinWriter newWriter(WritableByteChannel channel) {
+			return new JsonLinesCoinWriter(new ChannelBuffer(channel));
+		}
+	},
+
+	/**
+	 * A compact binary format, described in {@code BinaryCoinWriter}.
+	 */
+	BINARY {
+		@Override
+		public CoinWriter newWriter(WritableByteChannel channel) throws IOException {
+			return new BinaryCoinWriter(new ChannelBuffer(channel));
+		}
+	};
+
+	/**
+	 * Creates a writer of the coins in this format.
+	 *
+	 * @param channel		the channel where the file is written
+	 * @return				the writer
+	 * @throws IOException	if the file can't be written
+	 */
+	public abstract CoinWriter newWriter(WritableByteChannel channel) throws IOException;
+}
@@ -0,0 +1,55 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transfer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Formats of the files from which the coins can be imported.
+ */
+public enum ImportFormat {
+	/**
+	 * Comma-separated values, with a header naming the columns.
+	 */
+	CSV {
+		@Override
+		RecordReader open(Reader input) throws IOException {
+			return new CsvRecordReader(input);
+		}
+	},
+
+	/**
+	 * An array of JSON objects, or a JSON object per line.
+	 */
+	JSON {
+		@Override
+		RecordReader open(Reader input) {
+			return new JsonRecordReader(input);
+		}
+	};
+
+	/**
+	 * Opens a reader of the records of a file.
+	 *
+	 * @param input			the file
+	 * @return				the reader
+	 * @throws IOException	if the file can't be read
+	 */
+	abstract RecordReader open(Reader input) throws IOException;
+
+	/**
+	 * Guess the format of a file from its extension: {@code .json}, {@code .jsonl} and {@code .ndjson} are JSON files,
+	 * any other is a CSV file.
+	 *
+	 * @param file	the file
+	 * @return		the format
+	 */
+	public static ImportFormat of(Path file) {
+		String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+		if (name.endsWith(".json") || name.endsWith(".jsonl") || name.endsWith(".ndjson"))
+			return JSON;
+		else
+			return CSV;
+	}
+}
@@ -0,0 +1,60 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transfer;
+
+import java.util.Objects;
+
+/**
+ * Outcome of an import: how many rows have been read, imported and rejected.
+ * The rejected rows themselves are reported one by one while importing, so that they're not kept in memory.
+ */
+public final class ImportReport {
+	private final long read;
+	private final long imported;
+	private final long rejected;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param read		number of rows read
+	 * @param imported	number of rows imported
+	 * @param rejected	number of rows rejected
+	 */
+	public ImportReport(long read, long imported, long rejected) {
+		this.read = read;
+		this.imported = imported;
+		this.rejected = rejected;
+	}
+
+	public long getRead() {
+		return read;
+	}
+
+	public long getImported() {
+		return imported;
+	}
+
+	public long getRejected() {
+		return rejected;
+	}
+
+	@Override
+	public String toString() {
+		return read + " rows read, " + imported + " imported, " + rejected + " rejected";
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(read, imported, rejected);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		ImportReport other = (ImportReport) obj;
+		return read == other.read && imported == other.imported && rejected == other.rejected;
+	}
+}
@@ -0,0 +1,77 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transfer;
+
+import java.io.IOException;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+
+/**
+ * Writes the coins in a <a href="https://jsonlines.org">JSON Lines</a> file, an object per line with the members named as the
+ * columns of {@code CoinColumns}; the album is left out for the coins without one.
+ */
+final class JsonLinesCoinWriter implements CoinWriter {
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	private final ChannelBuffer output;
+	private final StringBuilder line = new StringBuilder();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param output	the buffer of the file
+	 */
+	JsonLinesCoinWriter(ChannelBuffer output) {
+		this.output = output;
+	}
+
+	@Override
+	public void write(Grade grade, String country, int mintingYear, String description, String note, String albumName, int albumVolume) throws IOException {
+		line.setLength(0);
+		line.append('{');
+		appendMember(CoinColumns.GRADE).append('"').append(grade.name()).append('"');
+		line.append(',');
+		appendString(appendMember(CoinColumns.COUNTRY), country);
+		line.append(',');
+		appendMember(CoinColumns.MINTING_YEAR).append(mintingYear);
+		line.append(',');
+		appendString(appendMember(CoinColumns.DESCRIPTION), description);
+		line.append(',');
+		appendString(appendMember(CoinColumns.NOTE), note);
+		if (albumName != null) {
+			line.append(',');
+			appendString(appendMember(CoinColumns.ALBUM_NAME), albumName);
+			line.append(',');
+			appendMember(CoinColumns.ALBUM_VOLUME).append(albumVolume);
+		}
+		output.putText(line.append("}\n"));
+	}
+
+	@Override
+	public void finish() throws IOException {
+		output.flush();
+	}
+
+	// The names are known not to need escaping
+	private StringBuilder appendMember(String name) {
+		return line.append('"').append(name).append("\":");
+	}
+
+	private void appendString(StringBuilder builder, String value) {
+		builder.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\')
+				builder.append('\\').append(c);
+			else if (c == '\n')
+				builder.append("\\n");
+			else if (c == '\r')
+				builder.append("\\r");
+			else if (c == '\t')
+				builder.append("\\t");
+			else if (c < 0x20)
+				builder.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xF]);
+			else
+				builder.append(c);
+		}
+		builder.append('"');
+	}
+}
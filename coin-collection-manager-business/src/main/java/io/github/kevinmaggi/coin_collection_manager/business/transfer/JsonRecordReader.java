@@ -0,0 +1,202 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transfer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads the records of a JSON file, either an array of objects or a sequence of objects (e.g. one per line, as in
+ * <a href="https://jsonlines.org">JSON Lines</a>).
+ * Every object is a record, whose members are strings, numbers, booleans or nulls: the numbers and the booleans are read as
+ * their text, the nulls as missing values. The file is parsed as it's read, so only one record is in memory at a time.
+ */
+final class JsonRecordReader implements RecordReader {
+	private static final char BYTE_ORDER_MARK = '\uFEFF';
+	private static final int NONE = -2;
+
+	private final Reader input;
+	private long line = 1;
+	private int pushedBack = NONE;
+	private boolean started = false;
+	private boolean array = false;
+	private boolean ended = false;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param input		the file, better if buffered since it's read one character at a time
+	 */
+	JsonRecordReader(Reader input) {
+		this.input = input;
+	}
+
+	@Override
+	public SourceRecord next() throws IOException {
+		if (ended)
+			return null;
+		int c = skipWhitespace();
+		if (!started) {
+			started = true;
+			if (c == BYTE_ORDER_MARK)
+				c = skipWhitespace();
+			if (c == '[') {
+				array = true;
+				c = skipWhitespace();
+				if (c == ']')
+					return end();
+			}
+		}
+		else if (array) {
+			if (c == ']')
+				return end();
+			else if (c != ',')
+				throw malformed("',' or ']' expected");
+			c = skipWhitespace();
+		}
+		if (c == -1) {
+			if (array)
+				throw malformed("']' expected");
+			return end();
+		}
+		if (c != '{')
+			throw malformed("'{' expected");
+
+		long row = line;
+		Map<String, String> fields = new HashMap<>();
+		c = skipWhitespace();
+		if (c != '}') {
+			while (true) {
+				if (c != '"')
+					throw malformed("Name of a member expected");
+				String name = readString();
+				if (skipWhitespace() != ':')
+					throw malformed("':' expected");
+				String value = readValue(skipWhitespace());
+				if (value != null)
+					fields.put(name, value);
+				c = skipWhitespace();
+				if (c == '}')
+					break;
+				else if (c != ',')
+					throw malformed("',' or '}' expected");
+				c = skipWhitespace();
+			}
+		}
+		return new SourceRecord(row, fields, null);
+	}
+
+	@Override
+	public void close() throws IOException {
+		input.close();
+	}
+
+	private SourceRecord end() {
+		ended = true;
+		return null;
+	}
+
+	private String readValue(int c) throws IOException {
+		if (c == '"')
+			return readString();
+		else if (c == '-' || (c >= '0' && c <= '9'))
+			return readToken(c, "+-.eE0123456789");
+		else if (c == 't' || c == 'f' || c == 'n') {
+			String literal = readToken(c, "truefalsn");
+			if ("null".equals(literal))
+				return null;
+			else if ("true".equals(literal) || "false".equals(literal))
+				return literal;
+		}
+		else if (c == '{' || c == '[')
+			throw malformed("Nested objects and arrays are not supported");
+		throw malformed("Value expected");
+	}
+
+	private String readToken(int first, String characters) throws IOException {
+		StringBuilder token = new StringBuilder().append((char) first);
+		int c = read();
+		while (c != -1 && characters.indexOf(c) >= 0) {
+			token.append((char) c);
+			c = read();
+		}
+		pushBack(c);
+		return token.toString();
+	}
+
+	// Reads a string after its opening quote
+	private String readString() throws IOException {
+		StringBuilder string = new StringBuilder();
+		int c = read();
+		while (c != '"') {
+			if (c == -1)
+				throw malformed("String not closed");
+			else if (c == '\\')
+				string.append(readEscape());
+			else
+				string.append((char) c);
+			c = read();
+		}
+		return string.toString();
+	}
+
+	private char readEscape() throws IOException {
+		int c = read();
+		switch (c) {
+		case '"':
+		case '\\':
+		case '/':
+			return (char) c;
+		case 'b':
+			return '\b';
+		case 'f':
+			return '\f';
+		case 'n':
+			return '\n';
+		case 'r':
+			return '\r';
+		case 't':
+			return '\t';
+		case 'u':
+			int code = 0;
+			for (int i = 0; i < 4; i++) {
+				int digit = Character.digit(read(), 16);
+				if (digit < 0)
+					throw malformed("Invalid unicode escape");
+				code = code << 4 | digit;
+			}
+			return (char) code;
+		default:
+			throw malformed("Invalid escape");
+		}
+	}
+
+	private int skipWhitespace() throws IOException {
+		int c = read();
+		while (c == ' ' || c == '\t' || c == '\n' || c == '\r')
+			c = read();
+		return c;
+	}
+
+	private int read() throws IOException {
+		int c;
+		if (pushedBack != NONE) {
+			c = pushedBack;
+			pushedBack = NONE;
+		}
+		else {
+			c = input.read();
+			if (c == '\n')
+				line++;
+		}
+		return c;
+	}
+
+	private void pushBack(int c) {
+		pushedBack = c;
+	}
+
+	private IOException malformed(String reason) {
+		return new IOException(String.format("Malformed JSON at line %d: %s", line, reason));
+	}
+}
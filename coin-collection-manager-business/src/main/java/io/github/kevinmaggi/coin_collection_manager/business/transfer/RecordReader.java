@@ -0,0 +1,17 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transfer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads the records of a file one at a time, so that they're never all in memory at once.
+ */
+interface RecordReader extends Closeable {
+	/**
+	 * Reads the next record.
+	 *
+	 * @return				the record, or null at the end of the file
+	 * @throws IOException	if the file can't be read, or it's malformed so that no other record can be read
+	 */
+	SourceRecord next() throws IOException;
+}
@@ -0,0 +1,52 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transfer;
+
+import java.util.Objects;
+
+/**
+ * A row of an imported file that hasn't been imported, with the reason why.
+ */
+public final class RejectedRow {
+	private final long row;
+	private final String reason;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param row		line of the file where the row starts
+	 * @param reason	why the row has been rejected
+	 */
+	public RejectedRow(long row, String reason) {
+		this.row = row;
+		this.reason = reason;
+	}
+
+	public long getRow() {
+		return row;
+	}
+
+	public String getReason() {
+		return reason;
+	}
+
+	@Override
+	public String toString() {
+		return "Row " + row + ": " + reason;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(row, reason);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		RejectedRow other = (RejectedRow) obj;
+		return row == other.row && Objects.equals(reason, other.reason);
+	}
+}
@@ -0,0 +1,37 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transfer;
+
+import java.util.Map;
+
+/**
+ * A record read from a file, not yet validated.
+ */
+final class SourceRecord {
+	private final long row;
+	private final Map<String, String> fields;
+	private final String error;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param row		line of the file where the record starts
+	 * @param fields	values of the record by column, without the missing ones
+	 * @param error		why the record can't be read, or null if it can
+	 */
+	SourceRecord(long row, Map<String, String> fields, String error) {
+		this.row = row;
+		this.fields = fields;
+		this.error = error;
+	}
+
+	long getRow() {
+		return row;
+	}
+
+	Map<String, String> getFields() {
+		return fields;
+	}
+
+	String getError() {
+		return error;
+	}
+}
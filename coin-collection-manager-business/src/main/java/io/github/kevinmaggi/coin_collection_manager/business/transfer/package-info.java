@@ -0,0 +1,4 @@
+/**
+ * This package contains the necessary for moving the collection from and to files, e.g. to import the inventory of a dealer.
+ */
+package io.github.kevinmaggi.coin_collection_manager.business.transfer;
\ No newline at end of file
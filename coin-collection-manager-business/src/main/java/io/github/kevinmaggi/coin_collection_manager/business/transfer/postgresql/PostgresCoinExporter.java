@@ -0,0 +1,163 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transfer.postgresql;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.hibernate.Session;
+
+import io.github.kevinmaggi.coin_collection_manager.business.service.exception.DatabaseException;
+import io.github.kevinmaggi.coin_collection_manager.business.transfer.CoinWriter;
+import io.github.kevinmaggi.coin_collection_manager.business.transfer.ExportFilter;
+import io.github.kevinmaggi.coin_collection_manager.business.transfer.ExportFormat;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * Exports the {@code Coin}s of a Postgres DB to a file, in one of the {@code ExportFormat}s.
+ *
+ * The coins are read in a read-only transaction through a forward-only cursor, that Postgres fills a given number of rows at
+ * a time, and written as they're read without building the entities: the memory used doesn't depend on the number of coins,
+ * and the time is bound by the throughput of the disk.
+ */
+public class PostgresCoinExporter {
+	private static final String DB_EXCEPTION_MSG = "Something went wrong during the DB querying";
+	private static final String SELECT = "SELECT c.grade, c.country, c.minting_year, c.description, c.note, a.name, a.volume "
+			+ "FROM coins c LEFT JOIN albums a ON a.id = c.album";
+	private static final int GZIP_BUFFER_SIZE = 1 << 16;
+	private static final Grade[] GRADES = Grade.values();
+
+	private EntityManagerFactory emf;
+	private int fetchSize;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param emf		factory of the entity managers whose connections are used
+	 * @param fetchSize	number of rows fetched from the DB at a time
+	 * @throws IllegalArgumentException	if the factory is null or the fetch size not positive
+	 */
+	public PostgresCoinExporter(EntityManagerFactory emf, int fetchSize) throws IllegalArgumentException {
+		if (emf == null)
+			throw new IllegalArgumentException("Entity manager factory can't be null");
+		if (fetchSize <= 0)
+			throw new IllegalArgumentException("Fetch size must be positive");
+
+		this.emf = emf;
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * Exports the coins to a file, replacing it if it exists.
+	 *
+	 * @param file			the file
+	 * @param format		the format of the file
+	 * @param filter		the coins to export
+	 * @param compressed	whether the file is compressed with gzip
+	 * @return				the number of coins exported
+	 * @throws IOException			if the file can't be written
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	public long exportCoins(Path file, ExportFormat format, ExportFilter filter, boolean compressed) throws IOException, DatabaseException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.WRITE)) {
+			if (!compressed)
+				return exportCoins(channel, format, filter);
+			try (WritableByteChannel gzip = Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(channel), GZIP_BUFFER_SIZE))) {
+				return exportCoins(gzip, format, filter);
+			}
+		}
+	}
+
+	/**
+	 * Exports the coins to a channel, left open.
+	 *
+	 * @param channel	the channel
+	 * @param format	the format of the file
+	 * @param filter	the coins to export
+	 * @return			the number of coins exported
+	 * @throws IOException			if the channel can't be written
+	 * @throws DatabaseException	if an error occurs during database querying
+	 */
+	public long exportCoins(WritableByteChannel channel, ExportFormat format, ExportFilter filter) throws IOException, DatabaseException {
+		CoinWriter writer = format.newWriter(channel);
+		EntityManager em = emf.createEntityManager();
+		EntityTransaction transaction = em.getTransaction();
+		try {
+			Session session = em.unwrap(Session.class);
+			transaction.begin();
+			// The cursor is used only outside of the auto-commit mode, that the transaction turns off
+			long exported = session.doReturningWork(connection -> {
+				connection.setReadOnly(true);
+				try (PreparedStatement statement = connection.prepareStatement(query(filter), ResultSet.TYPE_FORWARD_ONLY,
+						ResultSet.CONCUR_READ_ONLY)) {
+					statement.setFetchSize(fetchSize);
+					bind(statement, filter);
+					try (ResultSet rows = statement.executeQuery()) {
+						return write(rows, writer);
+					}
+				}
+			});
+			writer.finish();
+			return exported;
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		} catch (PersistenceException e) {
+			throw new DatabaseException(DB_EXCEPTION_MSG, e);
+		} finally {
+			if (transaction.isActive())
+				transaction.rollback();
+			em.close();
+		}
+	}
+
+	private static String query(ExportFilter filter) {
+		List<String> conditions = new ArrayList<>();
+		if (filter.getAlbum() != null)
+			conditions.add("c.album = ?");
+		if (filter.getCountry() != null)
+			conditions.add("c.country = ?");
+		if (filter.getGrade() != null)
+			conditions.add("c.grade = ?");
+		return conditions.isEmpty() ? SELECT : SELECT + " WHERE " + String.join(" AND ", conditions);
+	}
+
+	private static void bind(PreparedStatement statement, ExportFilter filter) throws SQLException {
+		int parameter = 1;
+		if (filter.getAlbum() != null)
+			statement.setObject(parameter++, filter.getAlbum());
+		if (filter.getCountry() != null)
+			statement.setString(parameter++, filter.getCountry());
+		if (filter.getGrade() != null)
+			statement.setInt(parameter, filter.getGrade().ordinal());
+	}
+
+	// The IOExceptions are tunneled through the work, that can throw only SQLExceptions
+	private static long write(ResultSet rows, CoinWriter writer) throws SQLException {
+		long written = 0;
+		try {
+			while (rows.next()) {
+				String albumName = rows.getString(6);
+				writer.write(GRADES[rows.getInt(1)], rows.getString(2), rows.getInt(3), rows.getString(4), rows.getString(5),
+						albumName, albumName == null ? 0 : rows.getInt(7));
+				written++;
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return written;
+	}
+}
@@ -0,0 +1,4 @@
+/**
+ * This package offers an implementation of the export of the coins based on the cursors of Postgres DBs.
+ */
+package io.github.kevinmaggi.coin_collection_manager.business.transfer.postgresql;
\ No newline at end of file
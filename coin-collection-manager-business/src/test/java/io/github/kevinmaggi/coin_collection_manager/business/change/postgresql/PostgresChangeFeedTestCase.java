@@ -0,0 +1,362 @@
+package io.github.kevinmaggi.coin_collection_manager.business.change.postgresql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import io.github.kevinmaggi.coin_collection_manager.business.change.Change;
+import io.github.kevinmaggi.coin_collection_manager.business.change.ChangeListener;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.AlbumTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.CoinAlbumTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.CoinTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.TransactionManager;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.postgresql.PostgresTransactionManagerFactory;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.postgresql.PostgresSchemaInitializer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+
+@Testcontainers
+class PostgresChangeFeedTestCase {
+	// Tests variables
+	private static final long TIMEOUT = 10;
+
+	private Album ALBUM = new Album("Europa pre-euro", 1, "Armadio", 50, 0);
+	private Coin COIN = new Coin(Grade.AG, "Italy", Year.of(1995), "500 Lire", "", null);
+
+	// Tests
+	@Container
+	private static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:15.1")
+																		.withDatabaseName("databasename")
+																		.withUsername("postgres-test")
+																		.withPassword("postgres-test");
+
+	private static EntityManagerFactory emf;
+	private static TransactionManager tm;
+
+	// Connections opened by the feed, in order
+	private List<Connection> connections;
+	private PostgresChangeFeed feed;
+
+	private BlockingQueue<Change<Coin>> coinChanges;
+	private BlockingQueue<Change<Album>> albumChanges;
+	private BlockingQueue<String> resynchronizations;
+
+	@BeforeAll
+	static void setUpTestCase() {
+		System.setProperty("db.port", postgreSQLContainer.getFirstMappedPort().toString());
+		emf = Persistence.createEntityManagerFactory("postgres-test");
+		tm = new PostgresTransactionManagerFactory(emf).getTransactionManager();
+	}
+
+	@BeforeEach
+	void setUpTest() throws SQLException {
+		EntityManager em = emf.createEntityManager();
+		em.getTransaction().begin();
+		em.createNativeQuery("TRUNCATE coins, albums").executeUpdate();
+		em.getTransaction().commit();
+		em.close();
+
+		connections = new CopyOnWriteArrayList<>();
+		coinChanges = new LinkedBlockingQueue<>();
+		albumChanges = new LinkedBlockingQueue<>();
+		resynchronizations = new LinkedBlockingQueue<>();
+		feed = new PostgresChangeFeed(this::connect, tm, Duration.ZERO);
+		feed.subscribeToCoins(new ChangeListener<Coin>() {
+			@Override
+			public void changed(Change<Coin> change) {
+				coinChanges.add(change);
+			}
+
+			@Override
+			public void resynchronize() {
+				resynchronizations.add("coins");
+			}
+		});
+		feed.subscribeToAlbums(albumChanges::add);
+	}
+
+	@Nested
+	@DisplayName("Tests for the changes notified by PostgresChangeFeed")
+	class Notifications {
+		@Test
+		@DisplayName("Test that an inserted coin is notified with its committed state")
+		void testInsertIsNotifiedWithTheEntity() throws InterruptedException {
+			tm.doInTransaction((CoinTransactionCode<Coin>) coinRepo -> coinRepo.save(COIN));
+
+			Change<Coin> change = coinChanges.poll(TIMEOUT, TimeUnit.SECONDS);
+
+			assertThat(change.getType()).isEqualTo(Change.Type.INSERT);
+			assertThat(change.getId()).isEqualTo(COIN.getId());
+			assertThat(change.getEntity()).isEqualTo(COIN);
+			assertThat(albumChanges).isEmpty();
+		}
+
+		@Test
+		@DisplayName("Test that an updated album is notified with its new state")
+		void testUpdateIsNotifiedWithTheNewState() throws InterruptedException {
+			tm.doInTransaction((AlbumTransactionCode<Album>) albumRepo -> albumRepo.save(ALBUM));
+			albumChanges.poll(TIMEOUT, TimeUnit.SECONDS);
+
+			tm.doInTransaction((AlbumTransactionCode<Boolean>) albumRepo -> albumRepo.occupySlots(ALBUM.getId(), 3));
+			Change<Album> change = albumChanges.poll(TIMEOUT, TimeUnit.SECONDS);
+
+			assertThat(change.getType()).isEqualTo(Change.Type.UPDATE);
+			assertThat(change.getEntity().getOccupiedSlots()).isEqualTo(3);
+		}
+
+		@Test
+		@DisplayName("Test that a deleted coin is notified without entity")
+		void testDeleteIsNotifiedWithoutEntity() throws InterruptedException {
+			tm.doInTransaction((CoinTransactionCode<Coin>) coinRepo -> coinRepo.save(COIN));
+			coinChanges.poll(TIMEOUT, TimeUnit.SECONDS);
+
+			tm.doInTransaction((CoinTransactionCode<Void>) coinRepo -> {
+				coinRepo.delete(coinRepo.findById(COIN.getId()));
+				return null;
+			});
+
+			assertThat(coinChanges.poll(TIMEOUT, TimeUnit.SECONDS)).isEqualTo(new Change<Coin>(Change.Type.DELETE, COIN.getId(), null));
+		}
+
+		@Test
+		@DisplayName("Test that the changes of an entity committed together are coalesced")
+		void testChangesOfTheSameTransactionAreCoalesced() throws InterruptedException {
+			tm.doInTransaction((CoinAlbumTransactionCode<Void>) (coinRepo, albumRepo) -> {
+				albumRepo.save(ALBUM);
+				COIN.setAlbum(ALBUM.getId());
+				coinRepo.save(COIN);
+				albumRepo.occupySlots(ALBUM.getId(), 1);
+				return null;
+			});
+
+			Change<Album> change = albumChanges.poll(TIMEOUT, TimeUnit.SECONDS);
+
+			assertThat(change.getType()).isEqualTo(Change.Type.INSERT);
+			assertThat(change.getEntity().getOccupiedSlots()).isEqualTo(1);
+			assertThat(coinChanges.poll(TIMEOUT, TimeUnit.SECONDS).getEntity().getAlbum()).isEqualTo(ALBUM.getId());
+			assertThat(albumChanges).isEmpty();
+		}
+
+		@Test
+		@DisplayName("Test that every row changed by a bulk statement is notified, and the inserted ones read together")
+		void testBulkChangesAreNotifiedForEveryRow() throws InterruptedException {
+			UUID album = UUID.randomUUID();
+			List<Coin> coins = List.of(new Coin(Grade.AG, "Italy", Year.of(1995), "500 Lire", "", album),
+					new Coin(Grade.AG, "Italy", Year.of(1996), "500 Lire", "", album),
+					new Coin(Grade.AG, "Italy", Year.of(1997), "500 Lire", "", album));
+			List<Coin> saved = tm.doInTransaction((CoinTransactionCode<List<Coin>>) coinRepo -> coinRepo.saveAll(coins));
+			List<Change<Coin>> inserts = new ArrayList<>();
+			for (int i = 0; i < coins.size(); i++)
+				inserts.add(coinChanges.poll(TIMEOUT, TimeUnit.SECONDS));
+
+			tm.doInTransaction((CoinTransactionCode<Integer>) coinRepo -> coinRepo.deleteByAlbum(album));
+			List<Change<Coin>> deletes = new ArrayList<>();
+			for (int i = 0; i < coins.size(); i++)
+				deletes.add(coinChanges.poll(TIMEOUT, TimeUnit.SECONDS));
+
+			assertThat(inserts).extracting(Change::getEntity).containsExactlyInAnyOrderElementsOf(saved);
+			assertThat(deletes).extracting(Change::getType).containsOnly(Change.Type.DELETE);
+			assertThat(deletes).extracting(Change::getId).containsExactlyInAnyOrderElementsOf(
+					saved.stream().map(Coin::getId).collect(Collectors.toList()));
+		}
+
+		@Test
+		@DisplayName("Test that a rolled back transaction isn't notified")
+		void testRollbackIsNotNotified() throws InterruptedException {
+			assertThatThrownBy(() -> tm.doInTransaction((CoinTransactionCode<Coin>) coinRepo -> {
+				coinRepo.save(COIN);
+				throw new IllegalStateException();
+			})).isInstanceOf(IllegalStateException.class);
+			Coin committed = new Coin(Grade.G, "Italy", Year.of(1995), "1000 Lire", "", null);
+			tm.doInTransaction((CoinTransactionCode<Coin>) coinRepo -> coinRepo.save(committed));
+
+			assertThat(coinChanges.poll(TIMEOUT, TimeUnit.SECONDS).getEntity()).isEqualTo(committed);
+			assertThat(coinChanges).isEmpty();
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the subscriptions to PostgresChangeFeed")
+	class Subscriptions {
+		@Test
+		@DisplayName("Test that an unsubscribed listener isn't notified anymore")
+		void testUnsubscribedListenerIsNotNotified() throws InterruptedException {
+			BlockingQueue<Change<Album>> unsubscribed = new LinkedBlockingQueue<>();
+			ChangeListener<Album> listener = unsubscribed::add;
+			feed.subscribeToAlbums(listener);
+			feed.unsubscribe(listener);
+
+			tm.doInTransaction((AlbumTransactionCode<Album>) albumRepo -> albumRepo.save(ALBUM));
+
+			assertThat(albumChanges.poll(TIMEOUT, TimeUnit.SECONDS)).isNotNull();
+			assertThat(unsubscribed).isEmpty();
+		}
+
+		@Test
+		@DisplayName("Test that a listener that throws exception doesn't stop the feed")
+		void testFaultyListenerDoesNotStopTheFeed() throws InterruptedException {
+			feed.subscribeToAlbums(change -> {
+				throw new IllegalStateException();
+			});
+			tm.doInTransaction((AlbumTransactionCode<Album>) albumRepo -> albumRepo.save(ALBUM));
+			albumChanges.poll(TIMEOUT, TimeUnit.SECONDS);
+
+			tm.doInTransaction((AlbumTransactionCode<Boolean>) albumRepo -> albumRepo.occupySlots(ALBUM.getId(), 1));
+
+			assertThat(albumChanges.poll(TIMEOUT, TimeUnit.SECONDS)).isNotNull();
+		}
+
+		@Test
+		@DisplayName("Test that a null listener throws IllegalArgumentException")
+		void testSubscribeNullListenerShouldThrowException() {
+			assertThatThrownBy(() -> feed.subscribeToCoins(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Listener can't be null");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the connection of PostgresChangeFeed")
+	class Connections {
+		@Test
+		@DisplayName("Test that the feed connects again and asks to resynchronize when the connection is lost")
+		void testLostConnectionShouldReconnectAndResynchronize() throws SQLException, InterruptedException {
+			connections.get(0).close();
+
+			assertThat(resynchronizations.poll(TIMEOUT, TimeUnit.SECONDS)).isEqualTo("coins");
+			tm.doInTransaction((CoinTransactionCode<Coin>) coinRepo -> coinRepo.save(COIN));
+
+			assertThat(coinChanges.poll(TIMEOUT, TimeUnit.SECONDS).getEntity()).isEqualTo(COIN);
+			assertThat(connections).hasSize(2);
+		}
+
+		@Test
+		@DisplayName("Test that if the first connection can't be opened the constructor throws SQLException")
+		void testConstructorWhenConnectionFailsShouldThrowException() {
+			assertThatThrownBy(() -> new PostgresChangeFeed(() -> {
+				throw new SQLException("unreachable");
+			}, tm, Duration.ZERO)).isInstanceOf(SQLException.class);
+		}
+
+		@Test
+		@DisplayName("Test that a null connector throws IllegalArgumentException")
+		void testConstructorWhenConnectorIsNullShouldThrowException() {
+			assertThatThrownBy(() -> new PostgresChangeFeed(null, tm, Duration.ZERO))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Connector can't be null");
+		}
+
+		@Test
+		@DisplayName("Test that closing the feed closes its connection")
+		void testCloseShouldCloseTheConnection() throws SQLException, InterruptedException {
+			feed.close();
+
+			assertThat(connections.get(0).isClosed()).isTrue();
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the failures handled by PostgresChangeFeed")
+	class Failures {
+		@Test
+		@DisplayName("Test that malformed notifications are skipped and the following changes are notified")
+		void testMalformedNotificationsAreSkipped() throws SQLException, InterruptedException {
+			notifyChange("coins INSERT not-a-uuid");
+			notifyChange("coins UPSERT " + UUID.randomUUID());
+			notifyChange("not a change at all");
+			tm.doInTransaction((CoinTransactionCode<Coin>) coinRepo -> coinRepo.save(COIN));
+
+			assertThat(coinChanges.poll(TIMEOUT, TimeUnit.SECONDS).getEntity()).isEqualTo(COIN);
+			assertThat(resynchronizations).isEmpty();
+		}
+
+		@Test
+		@DisplayName("Test that if reading the changes throws exception the listeners are asked to resynchronize and the feed goes on")
+		@SuppressWarnings("unchecked")
+		void testFailedReadShouldResynchronize() throws SQLException, InterruptedException {
+			TransactionManager failing = mock(TransactionManager.class);
+			when(failing.forOperation(anyString())).thenReturn(failing);
+			when(failing.doInReadOnlyTransaction(any(CoinAlbumTransactionCode.class))).thenThrow(new IllegalStateException());
+			feed.close();
+			feed = new PostgresChangeFeed(PostgresChangeFeedTestCase.this::connect, failing, Duration.ZERO);
+			feed.subscribeToCoins(new ChangeListener<Coin>() {
+				@Override
+				public void changed(Change<Coin> change) {
+					coinChanges.add(change);
+				}
+
+				@Override
+				public void resynchronize() {
+					resynchronizations.add("coins");
+				}
+			});
+
+			notifyChange("coins INSERT " + UUID.randomUUID());
+			assertThat(resynchronizations.poll(TIMEOUT, TimeUnit.SECONDS)).isEqualTo("coins");
+			notifyChange("coins INSERT " + UUID.randomUUID());
+
+			assertThat(resynchronizations.poll(TIMEOUT, TimeUnit.SECONDS)).isEqualTo("coins");
+			assertThat(coinChanges).isEmpty();
+		}
+	}
+
+	@AfterEach
+	void tearDownTest() throws InterruptedException {
+		feed.close();
+	}
+
+	@AfterAll
+	static void tearDownTestCase() {
+		emf.close();
+	}
+
+	private Connection connect() throws SQLException {
+		Connection connection = DriverManager.getConnection("jdbc:postgresql://localhost:" + System.getProperty("db.port") + "/databasename",
+				"postgres-test", "postgres-test");
+		connections.add(connection);
+		return connection;
+	}
+
+	private void notifyChange(String payload) throws SQLException {
+		try (Connection connection = DriverManager.getConnection("jdbc:postgresql://localhost:" + System.getProperty("db.port") + "/databasename",
+				"postgres-test", "postgres-test");
+				PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+			statement.setString(1, PostgresSchemaInitializer.CHANGES_CHANNEL);
+			statement.setString(2, payload);
+			statement.execute();
+		}
+	}
+}
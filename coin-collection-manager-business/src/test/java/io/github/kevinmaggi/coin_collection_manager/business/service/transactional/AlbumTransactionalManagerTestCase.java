@@ -3,6 +3,7 @@ package io.github.kevinmaggi.coin_collection_manager.business.service.transactio
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.AdditionalAnswers.answer;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doReturn;
@@ -14,9 +15,12 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.time.Year;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -37,9 +41,11 @@ import io.github.kevinmaggi.coin_collection_manager.business.transaction.functio
 import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.CoinTransactionCode;
 import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.TransactionManager;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.AlbumSummary;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
 import io.github.kevinmaggi.coin_collection_manager.core.repository.AlbumRepository;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.CacheStatistics;
 import io.github.kevinmaggi.coin_collection_manager.core.repository.CoinRepository;
 
 class AlbumTransactionalManagerTestCase {
@@ -61,6 +67,9 @@ class AlbumTransactionalManagerTestCase {
 
 	// Tests
 	private AutoCloseable closeable;
+	// Given to the manager, it hands out tm for every operation
+	@Mock
+	TransactionManager operationsTm;
 	@Mock
 	TransactionManager tm;
 	@Mock
@@ -74,7 +83,8 @@ class AlbumTransactionalManagerTestCase {
 	void setupTestCase() {
 		closeable = MockitoAnnotations.openMocks(this);
 
-		albumManager = new AlbumTransactionalManager(tm);
+		when(operationsTm.forOperation(anyString())).thenReturn(tm);
+		albumManager = new AlbumTransactionalManager(operationsTm);
 	}
 
 	@Nested
@@ -92,6 +102,9 @@ class AlbumTransactionalManagerTestCase {
 			when(tm.doInTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any()))
 				.thenAnswer(answer((AlbumTransactionCode<?> code) -> code.apply(albumRepo)));
 
+			when(tm.doInReadOnlyTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any()))
+				.thenAnswer(answer((AlbumTransactionCode<?> code) -> code.apply(albumRepo)));
+
 			when(tm.doInTransaction(ArgumentMatchers.<CoinAlbumTransactionCode<?>>any()))
 				.thenAnswer(answer((CoinAlbumTransactionCode<?> code) -> code.apply(coinRepo, albumRepo)));
 		}
@@ -107,19 +120,36 @@ class AlbumTransactionalManagerTestCase {
 
 			assertThat(albumManager.findAllAlbums()).isEqualTo(fictitiousList);
 
-			inOrder.verify(tm).doInTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
+			inOrder.verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
 			inOrder.verify(albumRepo).findAll();
 			verifyNoMoreInteractions(tm);
 			verifyNoMoreInteractions(albumRepo);
 		}
 
+		@Test
+		@DisplayName("Test AlbumTransactionalManager::findAllAlbumSummaries when the code is executed")
+		void testFindAllAlbumSummariesExecutedCode() {
+			List<AlbumSummary> fictitiousList = Arrays.asList(AlbumSummary.of(ALBUM_1), AlbumSummary.of(ALBUM_2));
+
+			when(albumRepo.findAllSummaries()).thenReturn(fictitiousList);
+
+			InOrder inOrder = inOrder(tm, albumRepo);
+
+			assertThat(albumManager.findAllAlbumSummaries()).isEqualTo(fictitiousList);
+
+			inOrder.verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
+			inOrder.verify(albumRepo).findAllSummaries();
+			verifyNoMoreInteractions(tm);
+			verifyNoMoreInteractions(albumRepo);
+		}
+
 		@Nested
 		@DisplayName("Test AlbumTransactionalManager::findAlbumById when the code is executed")
 		class FindAlbumById {
 			@Test
 			@DisplayName("Test that code is executed and an exception is thrown if the album doesn't exists")
 			void testFindAlbumByNameAndVolumeWhenAlbumDoesNotExistShouldThrowException() {
-				when(albumRepo.findById(any())).thenReturn(null);
+				when(albumRepo.findFreshById(any())).thenReturn(null);
 
 				InOrder inOrder = inOrder(tm, albumRepo);
 
@@ -127,8 +157,8 @@ class AlbumTransactionalManagerTestCase {
 					.isInstanceOf(AlbumNotFoundException.class)
 					.hasMessage(ALBUM_NOT_FOUND_MSG);
 
-				inOrder.verify(tm).doInTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
-				inOrder.verify(albumRepo).findById(UUID_ALBUM);
+				inOrder.verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
+				inOrder.verify(albumRepo).findFreshById(UUID_ALBUM);
 				verifyNoMoreInteractions(tm);
 				verifyNoMoreInteractions(albumRepo);
 			}
@@ -136,14 +166,14 @@ class AlbumTransactionalManagerTestCase {
 			@Test
 			@DisplayName("Test that code is executed without exception")
 			void testFindAlbumByIdExecutedCode() {
-				when(albumRepo.findById(any())).thenReturn(ALBUM_1);
+				when(albumRepo.findFreshById(any())).thenReturn(ALBUM_1);
 
 				InOrder inOrder = inOrder(tm, albumRepo);
 
 				assertThat(albumManager.findAlbumById(UUID_ALBUM)).isEqualTo(ALBUM_1);
 
-				inOrder.verify(tm).doInTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
-				inOrder.verify(albumRepo).findById(UUID_ALBUM);
+				inOrder.verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
+				inOrder.verify(albumRepo).findFreshById(UUID_ALBUM);
 				verifyNoMoreInteractions(tm);
 				verifyNoMoreInteractions(albumRepo);
 			}
@@ -163,7 +193,7 @@ class AlbumTransactionalManagerTestCase {
 					.isInstanceOf(AlbumNotFoundException.class)
 					.hasMessage(ALBUM_NOT_FOUND_MSG);
 
-				inOrder.verify(tm).doInTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
+				inOrder.verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
 				inOrder.verify(albumRepo).findByNameAndVolume(ALBUM_1.getName(), ALBUM_1.getVolume());
 				verifyNoMoreInteractions(tm);
 				verifyNoMoreInteractions(albumRepo);
@@ -178,7 +208,7 @@ class AlbumTransactionalManagerTestCase {
 
 				assertThat(albumManager.findAlbumByNameAndVolume(NAME, 1)).isEqualTo(ALBUM_1);
 
-				inOrder.verify(tm).doInTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
+				inOrder.verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
 				inOrder.verify(albumRepo).findByNameAndVolume(NAME, 1);
 				verifyNoMoreInteractions(tm);
 				verifyNoMoreInteractions(albumRepo);
@@ -222,6 +252,58 @@ class AlbumTransactionalManagerTestCase {
 			}
 		}
 
+		@Nested
+		@DisplayName("Tests for method AlbumTransactionalManager::addAlbums when the code is executed")
+		class addAlbums {
+			@Test
+			@DisplayName("Test that code is executed and an exception is thrown if an album is already in db")
+			void testAddAlbumsWhenOneIsAlreadyPersistedShouldThrowException() {
+				List<Album> albums = Arrays.asList(ALBUM_1, ALBUM_2);
+				when(albumRepo.findAllMatching(any())).thenReturn(Arrays.asList(ALBUM_1));
+
+				InOrder inOrder = inOrder(tm, albumRepo);
+
+				assertThatThrownBy(() -> albumManager.addAlbums(albums))
+					.isInstanceOf(DuplicateAlbumException.class)
+					.hasMessage(DUPLICATE_ALBUM_MSG);
+
+				inOrder.verify(tm).doInTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
+				inOrder.verify(albumRepo).findAllMatching(albums);
+				verifyNoMoreInteractions(tm);
+				verifyNoMoreInteractions(albumRepo);
+			}
+
+			@Test
+			@DisplayName("Test that code is executed and an exception is thrown if an album is repeated")
+			void testAddAlbumsWhenOneIsRepeatedShouldThrowException() {
+				assertThatThrownBy(() -> albumManager.addAlbums(Arrays.asList(ALBUM_1, ALBUM_1)))
+					.isInstanceOf(DuplicateAlbumException.class)
+					.hasMessage(DUPLICATE_ALBUM_MSG);
+
+				verify(tm).doInTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
+				verifyNoMoreInteractions(tm);
+				verifyNoMoreInteractions(albumRepo);
+			}
+
+			@Test
+			@DisplayName("Test that code is executed without exception")
+			void testAddAlbumsWhenNoExceptionIsThrown() {
+				List<Album> albums = Arrays.asList(ALBUM_1, ALBUM_2);
+				when(albumRepo.findAllMatching(any())).thenReturn(new ArrayList<>());
+				when(albumRepo.saveAll(any())).thenReturn(albums);
+
+				InOrder inOrder = inOrder(tm, albumRepo);
+
+				assertThat(albumManager.addAlbums(albums)).isEqualTo(albums);
+
+				inOrder.verify(tm).doInTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
+				inOrder.verify(albumRepo).findAllMatching(albums);
+				inOrder.verify(albumRepo).saveAll(albums);
+				verifyNoMoreInteractions(tm);
+				verifyNoMoreInteractions(albumRepo);
+			}
+		}
+
 		@Nested
 		@DisplayName("Tests for method AlbumTransactionalManager::deleteAlbum when the code is executed")
 		class deleteAlbum {
@@ -259,12 +341,10 @@ class AlbumTransactionalManagerTestCase {
 			@Test
 			@DisplayName("Test that code is executed without exception")
 			void testUpdateAlbumWhenNoExceptionIsThrown() {
-				List<Coin> fictitiousList = Arrays.asList(COIN_1, COIN_2);
 				Album spiedAlbum = spy(ALBUM_1);	// need to simulate that ALBUM_1 has an id (generated)
 				doReturn(UUID_ALBUM).when(spiedAlbum).getId();
 				when(albumRepo.findById(any())).thenReturn(spiedAlbum);
-				when(albumRepo.save(spiedAlbum)).thenReturn(spiedAlbum);
-				when(coinRepo.findByAlbum(UUID_ALBUM)).thenReturn(fictitiousList);
+				when(coinRepo.deleteByAlbum(UUID_ALBUM)).thenReturn(2);
 
 				InOrder inOrder = inOrder(tm, albumRepo, coinRepo);
 
@@ -272,12 +352,11 @@ class AlbumTransactionalManagerTestCase {
 
 				inOrder.verify(tm).doInTransaction(ArgumentMatchers.<CoinAlbumTransactionCode<?>>any());
 				inOrder.verify(albumRepo).findById(UUID_ALBUM);
-				inOrder.verify(coinRepo).findByAlbum(UUID_ALBUM);
-				inOrder.verify(coinRepo).delete(COIN_1);
-				inOrder.verify(coinRepo).delete(COIN_2);
+				inOrder.verify(coinRepo).deleteByAlbum(UUID_ALBUM);
 				inOrder.verify(albumRepo).delete(spiedAlbum);
 				verifyNoMoreInteractions(tm);
 				verifyNoMoreInteractions(albumRepo);
+				verifyNoMoreInteractions(coinRepo);
 			}
 		}
 
@@ -335,6 +414,58 @@ class AlbumTransactionalManagerTestCase {
 				verifyNoMoreInteractions(albumRepo);
 			}
 		}
+
+		@Test
+		@DisplayName("Test AlbumTransactionalManager::getAlbumCacheStatistics when the code is executed")
+		void testGetAlbumCacheStatisticsExecutedCode() {
+			CacheStatistics statistics = new CacheStatistics(3, 1, 2, 0);
+			when(albumRepo.getCacheStatistics()).thenReturn(statistics);
+
+			InOrder inOrder = inOrder(tm, albumRepo);
+
+			assertThat(albumManager.getAlbumCacheStatistics()).isEqualTo(statistics);
+
+			inOrder.verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
+			inOrder.verify(albumRepo).getCacheStatistics();
+			verifyNoMoreInteractions(tm);
+			verifyNoMoreInteractions(albumRepo);
+		}
+
+		@Nested
+		@DisplayName("Tests for the asynchronous versions of the AlbumTransactionalManager's methods")
+		class Async {
+			@Test
+			@DisplayName("Test that AlbumTransactionalManager::findAllAlbumsAsync executes the code only on the executor")
+			void testFindAllAlbumsAsyncExecutedCodeOnTheExecutor() {
+				List<Album> fictitiousList = Arrays.asList(ALBUM_1, ALBUM_2);
+				List<Runnable> submitted = new ArrayList<>();
+
+				when(albumRepo.findAll()).thenReturn(fictitiousList);
+
+				CompletableFuture<List<Album>> future = albumManager.findAllAlbumsAsync(submitted::add);
+
+				assertThat(future).isNotDone();
+				verifyNoMoreInteractions(tm);
+
+				submitted.forEach(Runnable::run);
+
+				assertThat(future).isCompletedWithValue(fictitiousList);
+				verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
+				verify(albumRepo).findAll();
+			}
+
+			@Test
+			@DisplayName("Test that AlbumTransactionalManager::findAlbumByIdAsync completes exceptionally if the album doesn't exist")
+			void testFindAlbumByIdAsyncWhenAlbumDoesNotExistShouldCompleteExceptionally() {
+				when(albumRepo.findFreshById(any())).thenReturn(null);
+
+				assertThatThrownBy(() -> albumManager.findAlbumByIdAsync(UUID_ALBUM, Runnable::run).join())
+					.isInstanceOf(CompletionException.class)
+					.cause()
+					.isInstanceOf(AlbumNotFoundException.class)
+					.hasMessage(ALBUM_NOT_FOUND_MSG);
+			}
+		}
 	}
 
 	@Nested
@@ -348,6 +479,9 @@ class AlbumTransactionalManagerTestCase {
 			when(tm.doInTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any()))
 				.thenThrow(DatabaseOperationException.class);
 
+			when(tm.doInReadOnlyTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any()))
+				.thenThrow(DatabaseOperationException.class);
+
 			when(tm.doInTransaction(ArgumentMatchers.<CoinAlbumTransactionCode<?>>any()))
 				.thenThrow(DatabaseOperationException.class);
 		}
@@ -360,7 +494,18 @@ class AlbumTransactionalManagerTestCase {
 				.hasMessage(DB_EXCEPTION_MSG)
 				.hasCauseInstanceOf(DatabaseOperationException.class);
 
-			verify(tm, times(1)).doInTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
+			verify(tm, times(1)).doInReadOnlyTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
+		}
+
+		@Test
+		@DisplayName("Test AlbumTransactionalManager::findAllAlbumSummaries when exception is thrown")
+		void testFindAllAlbumSummariesThrownException() {
+			assertThatThrownBy(() -> albumManager.findAllAlbumSummaries())
+				.isInstanceOf(DatabaseException.class)
+				.hasMessage(DB_EXCEPTION_MSG)
+				.hasCauseInstanceOf(DatabaseOperationException.class);
+
+			verify(tm, times(1)).doInReadOnlyTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
 		}
 
 		@Test
@@ -371,7 +516,7 @@ class AlbumTransactionalManagerTestCase {
 				.hasMessage(DB_EXCEPTION_MSG)
 				.hasCauseInstanceOf(DatabaseOperationException.class);
 
-			verify(tm, times(1)).doInTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
+			verify(tm, times(1)).doInReadOnlyTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
 		}
 
 		@Test
@@ -382,7 +527,7 @@ class AlbumTransactionalManagerTestCase {
 				.hasMessage(DB_EXCEPTION_MSG)
 				.hasCauseInstanceOf(DatabaseOperationException.class);
 
-			verify(tm, times(1)).doInTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
+			verify(tm, times(1)).doInReadOnlyTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
 		}
 
 		@Test
@@ -396,6 +541,17 @@ class AlbumTransactionalManagerTestCase {
 			verify(tm, times(1)).doInTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
 		}
 
+		@Test
+		@DisplayName("Test AlbumTransactionalManager::addAlbums when exception is thrown")
+		void testAddAlbumsThrownException() {
+			assertThatThrownBy(() -> albumManager.addAlbums(Arrays.asList(ALBUM_1, ALBUM_2)))
+				.isInstanceOf(DatabaseException.class)
+				.hasMessage(DB_EXCEPTION_MSG)
+				.hasCauseInstanceOf(DatabaseOperationException.class);
+
+			verify(tm, times(1)).doInTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
+		}
+
 		@Test
 		@DisplayName("Test AlbumTransactionalManager::deleteAlbum when exception is thrown")
 		void testDeleteAlbumThrownException() {
@@ -417,6 +573,42 @@ class AlbumTransactionalManagerTestCase {
 
 			verify(tm, times(1)).doInTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
 		}
+
+		@Test
+		@DisplayName("Test AlbumTransactionalManager::getAlbumCacheStatistics when exception is thrown")
+		void testGetAlbumCacheStatisticsThrownException() {
+			assertThatThrownBy(() -> albumManager.getAlbumCacheStatistics())
+				.isInstanceOf(DatabaseException.class)
+				.hasMessage(DB_EXCEPTION_MSG)
+				.hasCauseInstanceOf(DatabaseOperationException.class);
+
+			verify(tm, times(1)).doInReadOnlyTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
+		}
+
+		@Test
+		@DisplayName("Test AlbumTransactionalManager::moveAlbumAsync when exception is thrown")
+		void testMoveAlbumAsyncThrownException() {
+			assertThatThrownBy(() -> albumManager.moveAlbumAsync(ALBUM_1, NEW_LOCATION, Runnable::run).join())
+				.isInstanceOf(CompletionException.class)
+				.cause()
+				.isInstanceOf(DatabaseException.class)
+				.hasMessage(DB_EXCEPTION_MSG)
+				.hasCauseInstanceOf(DatabaseOperationException.class);
+
+			verify(tm, times(1)).doInTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the operations of AlbumTransactionalManager")
+	class Operations {
+		@Test
+		@DisplayName("Test that the transactions are asked for under the name of the operation")
+		void testTransactionsShouldBeAskedForUnderTheOperation() {
+			albumManager.findAllAlbums();
+
+			verify(operationsTm).forOperation("AlbumTransactionalManager.findAllAlbums");
+		}
 	}
 
 	@AfterEach
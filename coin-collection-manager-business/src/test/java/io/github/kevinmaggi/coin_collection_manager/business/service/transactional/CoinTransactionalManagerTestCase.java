@@ -3,9 +3,12 @@ package io.github.kevinmaggi.coin_collection_manager.business.service.transactio
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.AdditionalAnswers.answer;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -13,9 +16,16 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.time.Year;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -35,9 +45,12 @@ import io.github.kevinmaggi.coin_collection_manager.business.transaction.excepti
 import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.AlbumTransactionCode;
 import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.CoinAlbumTransactionCode;
 import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.CoinTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.ExecutorAsyncTransactionManager;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.TransactionExecutors;
 import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.TransactionManager;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinSummary;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
 import io.github.kevinmaggi.coin_collection_manager.core.repository.AlbumRepository;
 import io.github.kevinmaggi.coin_collection_manager.core.repository.CoinRepository;
@@ -62,6 +75,9 @@ class CoinTransactionalManagerTestCase {
 
 	// Tests
 	private AutoCloseable closeable;
+	// Given to the manager, it hands out tm for every operation
+	@Mock
+	TransactionManager operationsTm;
 	@Mock
 	TransactionManager tm;
 	@Mock
@@ -75,7 +91,8 @@ class CoinTransactionalManagerTestCase {
 	void setupTestCase() {
 		closeable = MockitoAnnotations.openMocks(this);
 
-		coinManager = new CoinTransactionalManager(tm);
+		when(operationsTm.forOperation(anyString())).thenReturn(tm);
+		coinManager = new CoinTransactionalManager(operationsTm);
 
 		// reset test album
 		ALBUM_NOT_FULL.setOccupiedSlots(OCCUPIED_SLOT);
@@ -90,7 +107,7 @@ class CoinTransactionalManagerTestCase {
 			// Effectively we don't need, because stubbing the TransactionManager's methods we "force" them to use our mocked repositories;
 			// so we just need to stub our repositories' methods.
 
-			when(tm.doInTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any()))
+			when(tm.doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any()))
 				.thenAnswer(answer((CoinTransactionCode<?> code) -> code.apply(coinRepo)));
 
 			when(tm.doInTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any()))
@@ -111,19 +128,71 @@ class CoinTransactionalManagerTestCase {
 
 			assertThat(coinManager.findAllCoins()).isEqualTo(fictitiousList);
 
-			inOrder.verify(tm).doInTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+			inOrder.verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
 			inOrder.verify(coinRepo).findAll();
 			verifyNoMoreInteractions(tm);
 			verifyNoMoreInteractions(coinRepo);
 		}
 
+		@Test
+		@DisplayName("Test CoinTransactionalManager::findAllCoinSummaries when the code is executed")
+		void testFindAllCoinSummariesExecutedCode() {
+			List<CoinSummary> fictitiousList = Arrays.asList(CoinSummary.of(COIN_1), CoinSummary.of(COIN_2));
+
+			when(coinRepo.findAllSummaries()).thenReturn(fictitiousList);
+
+			InOrder inOrder = inOrder(tm, coinRepo);
+
+			assertThat(coinManager.findAllCoinSummaries()).isEqualTo(fictitiousList);
+
+			inOrder.verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+			inOrder.verify(coinRepo).findAllSummaries();
+			verifyNoMoreInteractions(tm);
+			verifyNoMoreInteractions(coinRepo);
+		}
+
+		@Test
+		@DisplayName("Test CoinTransactionalManager::findCoinsPage when the code is executed")
+		void testFindCoinsPageExecutedCode() {
+			List<Coin> fictitiousList = Arrays.asList(COIN_1, COIN_2);
+
+			when(coinRepo.findPage(any(), anyInt())).thenReturn(fictitiousList);
+
+			InOrder inOrder = inOrder(tm, coinRepo);
+
+			assertThat(coinManager.findCoinsPage(UUID_COIN, 2)).isEqualTo(fictitiousList);
+
+			inOrder.verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+			inOrder.verify(coinRepo).findPage(UUID_COIN, 2);
+			verifyNoMoreInteractions(tm);
+			verifyNoMoreInteractions(coinRepo);
+		}
+
+		@Test
+		@DisplayName("Test CoinTransactionalManager::forEachCoin when the code is executed")
+		void testForEachCoinExecutedCode() {
+			List<Coin> visited = new ArrayList<>();
+
+			when(coinRepo.streamAll()).thenReturn(Stream.of(COIN_1, COIN_2));
+
+			InOrder inOrder = inOrder(tm, coinRepo);
+
+			coinManager.forEachCoin(visited::add);
+
+			assertThat(visited).containsExactly(COIN_1, COIN_2);
+			inOrder.verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+			inOrder.verify(coinRepo).streamAll();
+			verifyNoMoreInteractions(tm);
+			verifyNoMoreInteractions(coinRepo);
+		}
+
 		@Nested
 		@DisplayName("Test CoinTransactionalManager::FindCoinById when the code is executed")
 		class FindCoinById {
 			@Test
 			@DisplayName("Test that code is executed and exception is thrown if the coin doens't exist")
 			void testFindCoinByIdWhenCoinDoesNotExistShouldThrowException() {
-				when(coinRepo.findById(any())).thenReturn(null);
+				when(coinRepo.findFreshById(any())).thenReturn(null);
 
 				InOrder inOrder = inOrder(tm, coinRepo);
 
@@ -131,8 +200,8 @@ class CoinTransactionalManagerTestCase {
 					.isInstanceOf(CoinNotFoundException.class)
 					.hasMessage(COIN_NOT_FOUND_MSG);
 
-				inOrder.verify(tm).doInTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
-				inOrder.verify(coinRepo).findById(UUID_COIN);
+				inOrder.verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+				inOrder.verify(coinRepo).findFreshById(UUID_COIN);
 				verifyNoMoreInteractions(tm);
 				verifyNoMoreInteractions(coinRepo);
 			}
@@ -140,14 +209,14 @@ class CoinTransactionalManagerTestCase {
 			@Test
 			@DisplayName("Test that code is executed without exception")
 			void testFindCoinByIdExecutedCode() {
-				when(coinRepo.findById(any())).thenReturn(COIN_1);
+				when(coinRepo.findFreshById(any())).thenReturn(COIN_1);
 
 				InOrder inOrder = inOrder(tm, coinRepo);
 
 				assertThat(coinManager.findCoinById(UUID_COIN)).isEqualTo(COIN_1);
 
-				inOrder.verify(tm).doInTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
-				inOrder.verify(coinRepo).findById(UUID_COIN);
+				inOrder.verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+				inOrder.verify(coinRepo).findFreshById(UUID_COIN);
 				verifyNoMoreInteractions(tm);
 				verifyNoMoreInteractions(coinRepo);
 			}
@@ -164,12 +233,29 @@ class CoinTransactionalManagerTestCase {
 
 			assertThat(coinManager.findCoinsByAlbum(UUID_ALBUM)).isEqualTo(fictitiousList);
 
-			inOrder.verify(tm).doInTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+			inOrder.verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
 			inOrder.verify(coinRepo).findByAlbum(UUID_ALBUM);
 			verifyNoMoreInteractions(tm);
 			verifyNoMoreInteractions(coinRepo);
 		}
 
+		@Test
+		@DisplayName("Test CoinTransactionalManager::findCoinSummariesByAlbum when the code is executed")
+		void testFindCoinSummariesByAlbumExecutedCode() {
+			List<CoinSummary> fictitiousList = Arrays.asList(CoinSummary.of(COIN_1), CoinSummary.of(COIN_2));
+
+			when(coinRepo.findSummariesByAlbum(any())).thenReturn(fictitiousList);
+
+			InOrder inOrder = inOrder(tm, coinRepo);
+
+			assertThat(coinManager.findCoinSummariesByAlbum(UUID_ALBUM)).isEqualTo(fictitiousList);
+
+			inOrder.verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+			inOrder.verify(coinRepo).findSummariesByAlbum(UUID_ALBUM);
+			verifyNoMoreInteractions(tm);
+			verifyNoMoreInteractions(coinRepo);
+		}
+
 		@Test
 		@DisplayName("Test CoinTransactionalManager::findCoinsByDescription when the code is executed")
 		void testFindCoinByDescriptionExecutedCode() {
@@ -181,20 +267,53 @@ class CoinTransactionalManagerTestCase {
 
 			assertThat(coinManager.findCoinsByDescription("2€")).isEqualTo(fictitiousList);
 
-			inOrder.verify(tm).doInTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+			inOrder.verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
 			inOrder.verify(coinRepo).findByDescription("2€");
 			verifyNoMoreInteractions(tm);
 			verifyNoMoreInteractions(coinRepo);
 		}
 
+		@Test
+		@DisplayName("Test CoinTransactionalManager::findCoinSummariesByDescription when the code is executed")
+		void testFindCoinSummariesByDescriptionExecutedCode() {
+			List<CoinSummary> fictitiousList = Arrays.asList(CoinSummary.of(COIN_1), CoinSummary.of(COIN_2));
+
+			when(coinRepo.findSummariesByDescription(any())).thenReturn(fictitiousList);
+
+			InOrder inOrder = inOrder(tm, coinRepo);
+
+			assertThat(coinManager.findCoinSummariesByDescription("2€")).isEqualTo(fictitiousList);
+
+			inOrder.verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+			inOrder.verify(coinRepo).findSummariesByDescription("2€");
+			verifyNoMoreInteractions(tm);
+			verifyNoMoreInteractions(coinRepo);
+		}
+
+		@Test
+		@DisplayName("Test CoinTransactionalManager::searchCoinsByDescription when the code is executed")
+		void testSearchCoinsByDescriptionExecutedCode() {
+			List<Coin> fictitiousList = Arrays.asList(COIN_2, COIN_1);
+
+			when(coinRepo.searchByDescription(any())).thenReturn(fictitiousList);
+
+			InOrder inOrder = inOrder(tm, coinRepo);
+
+			assertThat(coinManager.searchCoinsByDescription("2€")).isEqualTo(fictitiousList);
+
+			inOrder.verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+			inOrder.verify(coinRepo).searchByDescription("2€");
+			verifyNoMoreInteractions(tm);
+			verifyNoMoreInteractions(coinRepo);
+		}
+
 		@Nested
 		@DisplayName("Tests for CoinTransactionalManager::addCoin")
 		class addCoin {
 			@Test
 			@DisplayName("Test that code is executed and an exception is thrown if the coin is already in db")
 			void testAddCoinWhenItIsAlreadyPersistedShouldThrowException() {
-				when(coinRepo.findByGradeCountryYearDescriptionAndNote(any(), any(), any(), any(), any()))
-					.thenReturn(COIN_1);
+				when(coinRepo.insertIfAbsent(any())).thenReturn(null);
 
 				InOrder inOrder = inOrder(tm, coinRepo);
 
@@ -203,19 +322,17 @@ class CoinTransactionalManagerTestCase {
 					.hasMessage(DUPLICATE_COIN_MSG);
 
 				inOrder.verify(tm).doInTransaction(ArgumentMatchers.<CoinAlbumTransactionCode<?>>any());
-				inOrder.verify(coinRepo).findByGradeCountryYearDescriptionAndNote(
-						COIN_1.getGrade(), COIN_1.getCountry(), COIN_1.getMintingYear(), COIN_1.getDescription(), COIN_1.getNote()
-						);
+				inOrder.verify(coinRepo).insertIfAbsent(COIN_1);
 				verifyNoMoreInteractions(tm);
 				verifyNoMoreInteractions(coinRepo);
+				verifyNoMoreInteractions(albumRepo);
 			}
 
 			@Test
 			@DisplayName("Test that code is executed and exception is thrown if the coin is not yet in the db but the album is full")
 			void testAddCoinWhenItIsNotYetPersistedAndAlbumIsFullShouldExecuteCodeAndThrowException() {
-				when(coinRepo.findByGradeCountryYearDescriptionAndNote(any(), any(), any(), any(), any()))
-					.thenReturn(null);
-				when(albumRepo.findById(any())).thenReturn(ALBUM_FULL);
+				when(coinRepo.insertIfAbsent(any())).thenReturn(COIN_1);
+				when(albumRepo.occupySlots(any(), anyInt())).thenReturn(false);
 
 				InOrder inOrder = inOrder(tm, coinRepo, albumRepo);
 
@@ -224,10 +341,8 @@ class CoinTransactionalManagerTestCase {
 					.hasMessage(FULL_ALBUM_MSG);
 
 				inOrder.verify(tm).doInTransaction(ArgumentMatchers.<CoinAlbumTransactionCode<?>>any());
-				inOrder.verify(coinRepo).findByGradeCountryYearDescriptionAndNote(
-						COIN_1.getGrade(), COIN_1.getCountry(), COIN_1.getMintingYear(), COIN_1.getDescription(), COIN_1.getNote()
-						);
-				inOrder.verify(albumRepo).findById(COIN_1.getAlbum());
+				inOrder.verify(coinRepo).insertIfAbsent(COIN_1);
+				inOrder.verify(albumRepo).occupySlots(COIN_1.getAlbum(), 1);
 				verifyNoMoreInteractions(tm);
 				verifyNoMoreInteractions(albumRepo);
 				verifyNoMoreInteractions(coinRepo);
@@ -236,25 +351,100 @@ class CoinTransactionalManagerTestCase {
 			@Test
 			@DisplayName("Test that code is executed if the coin is not yet in the db and the album is not full")
 			void testAddCoinWhenItIsNotYetPersistedAndAlbumIsNotFullShouldExecuteCode() {
-				Album spiedAlbum = spy(ALBUM_NOT_FULL);		// need to see if updated slots
-
-				when(coinRepo.findByGradeCountryYearDescriptionAndNote(any(), any(), any(), any(), any()))
-					.thenReturn(null);
-				when(coinRepo.save(any())).thenReturn(COIN_1);
-				when(albumRepo.findById(any())).thenReturn(spiedAlbum);
+				when(coinRepo.insertIfAbsent(any())).thenReturn(COIN_1);
+				when(albumRepo.occupySlots(any(), anyInt())).thenReturn(true);
 
 				InOrder inOrder = inOrder(tm, coinRepo, albumRepo);
 
 				assertThat(coinManager.addCoin(COIN_1)).isEqualTo(COIN_1);
 
 				inOrder.verify(tm).doInTransaction(ArgumentMatchers.<CoinAlbumTransactionCode<?>>any());
-				inOrder.verify(coinRepo).findByGradeCountryYearDescriptionAndNote(
-						COIN_1.getGrade(), COIN_1.getCountry(), COIN_1.getMintingYear(), COIN_1.getDescription(), COIN_1.getNote()
-						);
-				inOrder.verify(albumRepo).findById(COIN_1.getAlbum());
-				inOrder.verify(albumRepo).save(spiedAlbum);
-				verify(spiedAlbum).setOccupiedSlots(OCCUPIED_SLOT+1);
-				inOrder.verify(coinRepo).save(COIN_1);
+				inOrder.verify(coinRepo).insertIfAbsent(COIN_1);
+				inOrder.verify(albumRepo).occupySlots(COIN_1.getAlbum(), 1);
+				verifyNoMoreInteractions(tm);
+				verifyNoMoreInteractions(albumRepo);
+				verifyNoMoreInteractions(coinRepo);
+			}
+		}
+
+		@Nested
+		@DisplayName("Tests for CoinTransactionalManager::addCoins")
+		class addCoins {
+			@Test
+			@DisplayName("Test that code is executed and an exception is thrown if a coin is already in db, with the coins already there")
+			void testAddCoinsWhenOneIsAlreadyPersistedShouldThrowException() {
+				List<Coin> coins = Arrays.asList(COIN_1, COIN_2);
+				when(coinRepo.findAllMatching(any())).thenReturn(Arrays.asList(COIN_2));
+
+				InOrder inOrder = inOrder(tm, coinRepo);
+
+				assertThatThrownBy(() -> coinManager.addCoins(coins))
+					.isInstanceOf(DuplicateCoinException.class)
+					.hasMessage(DUPLICATE_COIN_MSG)
+					.extracting(e -> ((DuplicateCoinException) e).getDuplicates()).isEqualTo(List.of(COIN_2));
+
+				inOrder.verify(tm).doInTransaction(ArgumentMatchers.<CoinAlbumTransactionCode<?>>any());
+				inOrder.verify(coinRepo).findAllMatching(coins);
+				verifyNoMoreInteractions(tm);
+				verifyNoMoreInteractions(coinRepo);
+				verifyNoMoreInteractions(albumRepo);
+			}
+
+			@Test
+			@DisplayName("Test that code is executed and an exception is thrown if a coin is repeated")
+			void testAddCoinsWhenOneIsRepeatedShouldThrowException() {
+				List<Coin> coins = Arrays.asList(COIN_1, COIN_1);
+
+				assertThatThrownBy(() -> coinManager.addCoins(coins))
+					.isInstanceOf(DuplicateCoinException.class)
+					.hasMessage(DUPLICATE_COIN_MSG);
+
+				verify(tm).doInTransaction(ArgumentMatchers.<CoinAlbumTransactionCode<?>>any());
+				verifyNoMoreInteractions(tm);
+				verifyNoMoreInteractions(coinRepo);
+				verifyNoMoreInteractions(albumRepo);
+			}
+
+			@Test
+			@DisplayName("Test that code is executed and exception is thrown if the coins don't fit in the album")
+			void testAddCoinsWhenAlbumIsFullShouldExecuteCodeAndThrowException() {
+				List<Coin> coins = Arrays.asList(COIN_1, COIN_2);
+				when(coinRepo.findAllMatching(any())).thenReturn(new ArrayList<>());
+				when(albumRepo.occupySlots(any(), anyInt())).thenReturn(false);
+
+				InOrder inOrder = inOrder(tm, coinRepo, albumRepo);
+
+				assertThatThrownBy(() -> coinManager.addCoins(coins))
+					.isInstanceOf(FullAlbumException.class)
+					.hasMessage(FULL_ALBUM_MSG);
+
+				inOrder.verify(tm).doInTransaction(ArgumentMatchers.<CoinAlbumTransactionCode<?>>any());
+				inOrder.verify(coinRepo).findAllMatching(coins);
+				inOrder.verify(albumRepo).occupySlots(UUID_ALBUM, 2);
+				verifyNoMoreInteractions(tm);
+				verifyNoMoreInteractions(albumRepo);
+				verifyNoMoreInteractions(coinRepo);
+			}
+
+			@Test
+			@DisplayName("Test that code is executed updating each album once, in id order, if the coins are not yet in the db and fit in the albums")
+			void testAddCoinsWhenTheyAreNotYetPersistedAndFitInAlbumShouldExecuteCode() {
+				Coin coinInNewAlbum = new Coin(Grade.VF, "Italy", Year.of(2005), "2€ comm. European Constitution", "", UUID_NEW_ALBUM);
+				List<Coin> coins = Arrays.asList(coinInNewAlbum, COIN_1, COIN_2);
+
+				when(coinRepo.findAllMatching(any())).thenReturn(new ArrayList<>());
+				when(coinRepo.saveAll(any())).thenReturn(coins);
+				when(albumRepo.occupySlots(any(), anyInt())).thenReturn(true);
+
+				InOrder inOrder = inOrder(tm, coinRepo, albumRepo);
+
+				assertThat(coinManager.addCoins(coins)).isEqualTo(coins);
+
+				inOrder.verify(tm).doInTransaction(ArgumentMatchers.<CoinAlbumTransactionCode<?>>any());
+				inOrder.verify(coinRepo).findAllMatching(coins);
+				inOrder.verify(albumRepo).occupySlots(UUID_ALBUM, 2);
+				inOrder.verify(albumRepo).occupySlots(UUID_NEW_ALBUM, 1);
+				inOrder.verify(coinRepo).saveAll(coins);
 				verifyNoMoreInteractions(tm);
 				verifyNoMoreInteractions(albumRepo);
 				verifyNoMoreInteractions(coinRepo);
@@ -298,12 +488,11 @@ class CoinTransactionalManagerTestCase {
 			@Test
 			@DisplayName("Test that code is executed if the coin is in the db")
 			void testAddCoinWhenItIsNotYetPersistedAndAlbumIsNotFullShouldExecuteCode() {
-				Album spiedAlbum = spy(ALBUM_NOT_FULL);		// need to see if updated slots
 				Coin spiedCoin = spy(COIN_1);	// need to simulate that COIN_1 has an id (generated)
 				doReturn(UUID_COIN).when(spiedCoin).getId();
 
 				when(coinRepo.findById(any())).thenReturn(spiedCoin);
-				when(albumRepo.findById(any())).thenReturn(spiedAlbum);
+				when(albumRepo.releaseSlots(any(), anyInt())).thenReturn(true);
 
 				InOrder inOrder = inOrder(tm, coinRepo, albumRepo);
 
@@ -311,14 +500,28 @@ class CoinTransactionalManagerTestCase {
 
 				inOrder.verify(tm).doInTransaction(ArgumentMatchers.<CoinAlbumTransactionCode<?>>any());
 				inOrder.verify(coinRepo).findById(UUID_COIN);
-				inOrder.verify(albumRepo).findById(UUID_ALBUM);
-				inOrder.verify(albumRepo).save(spiedAlbum);
-				verify(spiedAlbum).setOccupiedSlots(OCCUPIED_SLOT-1);
+				inOrder.verify(albumRepo).releaseSlots(UUID_ALBUM, 1);
 				inOrder.verify(coinRepo).delete(spiedCoin);
 				verifyNoMoreInteractions(tm);
 				verifyNoMoreInteractions(albumRepo);
 				verifyNoMoreInteractions(coinRepo);
 			}
+
+			@Test
+			@DisplayName("Test that the coin isn't deleted and an exception is thrown if its album doesn't count it")
+			void testDeleteCoinWhenTheSlotCantBeReleasedShouldThrowException() {
+				Coin spiedCoin = spy(COIN_1);	// need to simulate that COIN_1 has an id (generated)
+				doReturn(UUID_COIN).when(spiedCoin).getId();
+				when(coinRepo.findById(any())).thenReturn(spiedCoin);
+				when(albumRepo.releaseSlots(any(), anyInt())).thenReturn(false);
+
+				assertThatThrownBy(() -> coinManager.deleteCoin(spiedCoin))
+					.isInstanceOf(DatabaseException.class)
+					.hasMessage(DB_EXCEPTION_MSG);
+
+				verify(albumRepo).releaseSlots(UUID_ALBUM, 1);
+				verify(coinRepo, never()).delete(any());
+			}
 		}
 
 		@Nested
@@ -361,7 +564,8 @@ class CoinTransactionalManagerTestCase {
 				Coin spiedCoin = spy(COIN_1);	// need to simulate that COIN_1 has an id (generated)
 				doReturn(UUID_COIN).when(spiedCoin).getId();
 				when(coinRepo.findById(any())).thenReturn(spiedCoin);
-				when(albumRepo.findById(any())).thenReturn(ALBUM_NOT_FULL).thenReturn(ALBUM_FULL);
+				when(albumRepo.releaseSlots(any(), anyInt())).thenReturn(true);
+				when(albumRepo.occupySlots(any(), anyInt())).thenReturn(false);
 
 				InOrder inOrder = inOrder(tm, coinRepo, albumRepo);
 
@@ -371,8 +575,8 @@ class CoinTransactionalManagerTestCase {
 
 				inOrder.verify(tm).doInTransaction(ArgumentMatchers.<CoinAlbumTransactionCode<?>>any());
 				inOrder.verify(coinRepo).findById(UUID_COIN);
-				inOrder.verify(albumRepo).findById(UUID_ALBUM);
-				inOrder.verify(albumRepo).findById(UUID_NEW_ALBUM);
+				inOrder.verify(albumRepo).releaseSlots(UUID_ALBUM, 1);
+				inOrder.verify(albumRepo).occupySlots(UUID_NEW_ALBUM, 1);
 				verifyNoMoreInteractions(tm);
 				verifyNoMoreInteractions(albumRepo);
 				verifyNoMoreInteractions(coinRepo);
@@ -381,12 +585,11 @@ class CoinTransactionalManagerTestCase {
 			@Test
 			@DisplayName("Test that code is executed if the coin is in the db and the new album is not full")
 			void testMoveCoinWhenItIsNotYetPersistedAndAlbumIsNotFullShouldExecuteCode() {
-				Album spiedAlbumNotFull = spy(ALBUM_NOT_FULL);	// need to see if updated slots
-				Album spiedAlbumFull = spy(ALBUM_FULL);	// need to see if updated slots
 				Coin spiedCoin = spy(COIN_1);	// need to simulate that COIN_1 has an id (generated)
 				doReturn(UUID_COIN).when(spiedCoin).getId();
 				when(coinRepo.findById(any())).thenReturn(spiedCoin);
-				when(albumRepo.findById(any())).thenReturn(spiedAlbumFull).thenReturn(spiedAlbumNotFull);
+				when(albumRepo.releaseSlots(any(), anyInt())).thenReturn(true);
+				when(albumRepo.occupySlots(any(), anyInt())).thenReturn(true);
 				when(coinRepo.save(any())).thenReturn(spiedCoin);
 
 				InOrder inOrder = inOrder(tm, coinRepo, albumRepo, spiedCoin);
@@ -395,12 +598,8 @@ class CoinTransactionalManagerTestCase {
 
 				inOrder.verify(tm).doInTransaction(ArgumentMatchers.<CoinAlbumTransactionCode<?>>any());
 				inOrder.verify(coinRepo).findById(UUID_COIN);
-				inOrder.verify(albumRepo).findById(UUID_ALBUM);
-				inOrder.verify(albumRepo).findById(UUID_NEW_ALBUM);
-				verify(spiedAlbumFull).setOccupiedSlots(NUMBER_OF_SLOTS - 1);
-				verify(spiedAlbumNotFull).setOccupiedSlots(OCCUPIED_SLOT + 1);
-				inOrder.verify(albumRepo).save(spiedAlbumFull);
-				inOrder.verify(albumRepo).save(spiedAlbumNotFull);
+				inOrder.verify(albumRepo).releaseSlots(UUID_ALBUM, 1);
+				inOrder.verify(albumRepo).occupySlots(UUID_NEW_ALBUM, 1);
 				inOrder.verify(spiedCoin).setAlbum(UUID_NEW_ALBUM);
 				inOrder.verify(coinRepo).save(spiedCoin);
 				verifyNoMoreInteractions(tm);
@@ -408,14 +607,76 @@ class CoinTransactionalManagerTestCase {
 				verifyNoMoreInteractions(coinRepo);
 			}
 
+			@Test
+			@DisplayName("Test that the new album is updated first if its id precedes the old one's")
+			void testMoveCoinWhenNewAlbumIdPrecedesOldOneShouldOccupyBeforeReleasing() {
+				UUID precedingAlbum = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+				Coin spiedCoin = spy(COIN_1);	// need to simulate that COIN_1 has an id (generated)
+				doReturn(UUID_COIN).when(spiedCoin).getId();
+				when(coinRepo.findById(any())).thenReturn(spiedCoin);
+				when(albumRepo.occupySlots(any(), anyInt())).thenReturn(true);
+				when(albumRepo.releaseSlots(any(), anyInt())).thenReturn(true);
+				when(coinRepo.save(any())).thenReturn(spiedCoin);
+
+				InOrder inOrder = inOrder(tm, coinRepo, albumRepo, spiedCoin);
+
+				assertThat(coinManager.moveCoin(spiedCoin, precedingAlbum)).isEqualTo(spiedCoin);
+
+				inOrder.verify(tm).doInTransaction(ArgumentMatchers.<CoinAlbumTransactionCode<?>>any());
+				inOrder.verify(coinRepo).findById(UUID_COIN);
+				inOrder.verify(albumRepo).occupySlots(precedingAlbum, 1);
+				inOrder.verify(albumRepo).releaseSlots(UUID_ALBUM, 1);
+				inOrder.verify(spiedCoin).setAlbum(precedingAlbum);
+				inOrder.verify(coinRepo).save(spiedCoin);
+				verifyNoMoreInteractions(tm);
+				verifyNoMoreInteractions(albumRepo);
+				verifyNoMoreInteractions(coinRepo);
+			}
+
+			@Test
+			@DisplayName("Test that the coin isn't moved and an exception is thrown if its old album doesn't count it")
+			void testMoveCoinWhenTheOldSlotCantBeReleasedShouldThrowException() {
+				Coin spiedCoin = spy(COIN_1);	// need to simulate that COIN_1 has an id (generated)
+				doReturn(UUID_COIN).when(spiedCoin).getId();
+				when(coinRepo.findById(any())).thenReturn(spiedCoin);
+				when(albumRepo.releaseSlots(any(), anyInt())).thenReturn(false);
+				when(albumRepo.occupySlots(any(), anyInt())).thenReturn(true);
+
+				assertThatThrownBy(() -> coinManager.moveCoin(spiedCoin, UUID_NEW_ALBUM))
+					.isInstanceOf(DatabaseException.class)
+					.hasMessage(DB_EXCEPTION_MSG);
+
+				verify(albumRepo).releaseSlots(UUID_ALBUM, 1);
+				verify(spiedCoin, never()).setAlbum(any());
+				verify(coinRepo, never()).save(any());
+			}
+
+			@Test
+			@DisplayName("Test that the coin isn't moved and an exception is thrown if its old album doesn't count it, when the new one is updated first")
+			void testMoveCoinWhenNewAlbumIdPrecedesAndTheOldSlotCantBeReleasedShouldThrowException() {
+				UUID precedingAlbum = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+				Coin spiedCoin = spy(COIN_1);	// need to simulate that COIN_1 has an id (generated)
+				doReturn(UUID_COIN).when(spiedCoin).getId();
+				when(coinRepo.findById(any())).thenReturn(spiedCoin);
+				when(albumRepo.occupySlots(any(), anyInt())).thenReturn(true);
+				when(albumRepo.releaseSlots(any(), anyInt())).thenReturn(false);
+
+				assertThatThrownBy(() -> coinManager.moveCoin(spiedCoin, precedingAlbum))
+					.isInstanceOf(DatabaseException.class)
+					.hasMessage(DB_EXCEPTION_MSG);
+
+				verify(albumRepo).occupySlots(precedingAlbum, 1);
+				verify(albumRepo).releaseSlots(UUID_ALBUM, 1);
+				verify(spiedCoin, never()).setAlbum(any());
+				verify(coinRepo, never()).save(any());
+			}
+
 			@Test
 			@DisplayName("Test that code is executed if the coin is in the db and the new album is the same")
 			void testMoveCoinWhenItIsNotYetPersistedAndAlbumIsTheSameShouldExecuteCode() {
-				Album spiedAlbumNotFull = spy(ALBUM_NOT_FULL);	// need to see if updated slots
 				Coin spiedCoin = spy(COIN_1);	// need to simulate that COIN_1 has an id (generated)
 				doReturn(UUID_COIN).when(spiedCoin).getId();
 				when(coinRepo.findById(any())).thenReturn(spiedCoin);
-				when(albumRepo.findById(any())).thenReturn(spiedAlbumNotFull);
 				when(coinRepo.save(any())).thenReturn(spiedCoin);
 
 				InOrder inOrder = inOrder(tm, coinRepo, albumRepo, spiedCoin);
@@ -424,13 +685,78 @@ class CoinTransactionalManagerTestCase {
 
 				inOrder.verify(tm).doInTransaction(ArgumentMatchers.<CoinAlbumTransactionCode<?>>any());
 				inOrder.verify(coinRepo).findById(UUID_COIN);
-				inOrder.verify(albumRepo, times(2)).findById(UUID_ALBUM);
 				inOrder.verify(coinRepo).save(spiedCoin);
 				verifyNoMoreInteractions(tm);
 				verifyNoMoreInteractions(albumRepo);
 				verifyNoMoreInteractions(coinRepo);
 			}
 		}
+
+		@Nested
+		@DisplayName("Tests for the asynchronous versions of the CoinTransactionalManager's methods")
+		class Async {
+			@Test
+			@DisplayName("Test that CoinTransactionalManager::findAllCoinsAsync executes the code only on the executor")
+			void testFindAllCoinsAsyncExecutedCodeOnTheExecutor() {
+				List<Coin> fictitiousList = Arrays.asList(COIN_1, COIN_2);
+				List<Runnable> submitted = new ArrayList<>();
+
+				when(coinRepo.findAll()).thenReturn(fictitiousList);
+
+				CompletableFuture<List<Coin>> future = coinManager.findAllCoinsAsync(submitted::add);
+
+				assertThat(future).isNotDone();
+				verifyNoMoreInteractions(tm);
+
+				submitted.forEach(Runnable::run);
+
+				assertThat(future).isCompletedWithValue(fictitiousList);
+				verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+				verify(coinRepo).findAll();
+			}
+
+			@Test
+			@DisplayName("Test that CoinTransactionalManager::findCoinByIdAsync completes exceptionally if the coin doesn't exist")
+			void testFindCoinByIdAsyncWhenCoinDoesNotExistShouldCompleteExceptionally() {
+				when(coinRepo.findFreshById(any())).thenReturn(null);
+
+				assertThatThrownBy(() -> coinManager.findCoinByIdAsync(UUID_COIN, Runnable::run).join())
+					.isInstanceOf(CompletionException.class)
+					.cause()
+					.isInstanceOf(CoinNotFoundException.class)
+					.hasMessage(COIN_NOT_FOUND_MSG);
+			}
+
+			@Test
+			@DisplayName("Test that CoinTransactionalManager::addCoinAsync completes exceptionally if the executor is saturated")
+			void testAddCoinAsyncWhenExecutorRejectsShouldCompleteExceptionally() {
+				CompletableFuture<Coin> future = coinManager.addCoinAsync(COIN_1, command -> {
+					throw new RejectedExecutionException();
+				});
+
+				assertThatThrownBy(future::join)
+					.isInstanceOf(CompletionException.class)
+					.hasCauseInstanceOf(RejectedExecutionException.class);
+				verifyNoMoreInteractions(tm);
+			}
+
+			@Test
+			@DisplayName("Test that CoinTransactionalManager::findAllCoinsAsync can be executed on an ExecutorAsyncTransactionManager")
+			void testFindAllCoinsAsyncOnExecutorAsyncTransactionManager() throws InterruptedException {
+				List<Coin> fictitiousList = Arrays.asList(COIN_1, COIN_2);
+				ThreadPoolExecutor executor = TransactionExecutors.newBoundedExecutor(1, 1);
+				ExecutorAsyncTransactionManager atm = new ExecutorAsyncTransactionManager(operationsTm, executor);
+
+				when(coinRepo.findAll()).thenReturn(fictitiousList);
+
+				assertThat(coinManager.findAllCoinsAsync(atm).join()).isEqualTo(fictitiousList);
+				atm.close();
+
+				assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+				assertThat(atm.getCompletedCount()).isEqualTo(1);
+				verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+			}
+		}
 	}
 
 	@Nested
@@ -438,7 +764,7 @@ class CoinTransactionalManagerTestCase {
 	class ExceptionNoExecution {
 		@BeforeEach
 		void setupNestedTestCase() {
-			when(tm.doInTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any()))
+			when(tm.doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any()))
 				.thenThrow(DatabaseOperationException.class);
 
 			when(tm.doInTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any()))
@@ -456,7 +782,40 @@ class CoinTransactionalManagerTestCase {
 				.hasMessage(DB_EXCEPTION_MSG)
 				.hasCauseInstanceOf(DatabaseOperationException.class);
 
-			verify(tm, times(1)).doInTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+			verify(tm, times(1)).doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+		}
+
+		@Test
+		@DisplayName("Test CoinTransactionalManager::findAllCoinSummaries when exception is thrown")
+		void testFindAllCoinSummariesThrownException() {
+			assertThatThrownBy(() -> coinManager.findAllCoinSummaries())
+				.isInstanceOf(DatabaseException.class)
+				.hasMessage(DB_EXCEPTION_MSG)
+				.hasCauseInstanceOf(DatabaseOperationException.class);
+
+			verify(tm, times(1)).doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+		}
+
+		@Test
+		@DisplayName("Test CoinTransactionalManager::findCoinsPage when exception is thrown")
+		void testFindCoinsPageThrownException() {
+			assertThatThrownBy(() -> coinManager.findCoinsPage(null, 2))
+				.isInstanceOf(DatabaseException.class)
+				.hasMessage(DB_EXCEPTION_MSG)
+				.hasCauseInstanceOf(DatabaseOperationException.class);
+
+			verify(tm, times(1)).doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+		}
+
+		@Test
+		@DisplayName("Test CoinTransactionalManager::forEachCoin when exception is thrown")
+		void testForEachCoinThrownException() {
+			assertThatThrownBy(() -> coinManager.forEachCoin(coin -> {}))
+				.isInstanceOf(DatabaseException.class)
+				.hasMessage(DB_EXCEPTION_MSG)
+				.hasCauseInstanceOf(DatabaseOperationException.class);
+
+			verify(tm, times(1)).doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
 		}
 
 		@Test
@@ -467,7 +826,7 @@ class CoinTransactionalManagerTestCase {
 				.hasMessage(DB_EXCEPTION_MSG)
 				.hasCauseInstanceOf(DatabaseOperationException.class);
 
-			verify(tm, times(1)).doInTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+			verify(tm, times(1)).doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
 		}
 
 		@Test
@@ -478,7 +837,18 @@ class CoinTransactionalManagerTestCase {
 				.hasMessage(DB_EXCEPTION_MSG)
 				.hasCauseInstanceOf(DatabaseOperationException.class);
 
-			verify(tm, times(1)).doInTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+			verify(tm, times(1)).doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+		}
+
+		@Test
+		@DisplayName("Test CoinTransactionalManager::findCoinSummariesByAlbum when exception is thrown")
+		void testFindCoinSummariesByAlbumThrownException() {
+			assertThatThrownBy(() -> coinManager.findCoinSummariesByAlbum(UUID_ALBUM))
+				.isInstanceOf(DatabaseException.class)
+				.hasMessage(DB_EXCEPTION_MSG)
+				.hasCauseInstanceOf(DatabaseOperationException.class);
+
+			verify(tm, times(1)).doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
 		}
 
 		@Test
@@ -489,7 +859,29 @@ class CoinTransactionalManagerTestCase {
 				.hasMessage(DB_EXCEPTION_MSG)
 				.hasCauseInstanceOf(DatabaseOperationException.class);
 
-			verify(tm, times(1)).doInTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+			verify(tm, times(1)).doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+		}
+
+		@Test
+		@DisplayName("Test CoinTransactionalManager::findCoinSummariesByDescription when exception is thrown")
+		void testFindCoinSummariesByDescriptionThrownException() {
+			assertThatThrownBy(() -> coinManager.findCoinSummariesByDescription("2€"))
+				.isInstanceOf(DatabaseException.class)
+				.hasMessage(DB_EXCEPTION_MSG)
+				.hasCauseInstanceOf(DatabaseOperationException.class);
+
+			verify(tm, times(1)).doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+		}
+
+		@Test
+		@DisplayName("Test CoinTransactionalManager::searchCoinsByDescription when exception is thrown")
+		void testSearchCoinsByDescriptionThrownException() {
+			assertThatThrownBy(() -> coinManager.searchCoinsByDescription("2€"))
+				.isInstanceOf(DatabaseException.class)
+				.hasMessage(DB_EXCEPTION_MSG)
+				.hasCauseInstanceOf(DatabaseOperationException.class);
+
+			verify(tm, times(1)).doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
 		}
 
 		@Test
@@ -503,6 +895,17 @@ class CoinTransactionalManagerTestCase {
 			verify(tm, times(1)).doInTransaction(ArgumentMatchers.<CoinAlbumTransactionCode<?>>any());
 		}
 
+		@Test
+		@DisplayName("Test CoinTransactionalManager::addCoins when exception is thrown")
+		void testAddCoinsThrownException() {
+			assertThatThrownBy(() -> coinManager.addCoins(Arrays.asList(COIN_1, COIN_2)))
+				.isInstanceOf(DatabaseException.class)
+				.hasMessage(DB_EXCEPTION_MSG)
+				.hasCauseInstanceOf(DatabaseOperationException.class);
+
+			verify(tm, times(1)).doInTransaction(ArgumentMatchers.<CoinAlbumTransactionCode<?>>any());
+		}
+
 		@Test
 		@DisplayName("Test CoinTransactionalManager::deleteCoin when exception is thrown")
 		void testDeleteCoinThrownException() {
@@ -524,6 +927,31 @@ class CoinTransactionalManagerTestCase {
 
 			verify(tm, times(1)).doInTransaction(ArgumentMatchers.<CoinAlbumTransactionCode<?>>any());
 		}
+
+		@Test
+		@DisplayName("Test CoinTransactionalManager::moveCoinAsync when exception is thrown")
+		void testMoveCoinAsyncThrownException() {
+			assertThatThrownBy(() -> coinManager.moveCoinAsync(COIN_1, UUID_NEW_ALBUM, Runnable::run).join())
+				.isInstanceOf(CompletionException.class)
+				.cause()
+				.isInstanceOf(DatabaseException.class)
+				.hasMessage(DB_EXCEPTION_MSG)
+				.hasCauseInstanceOf(DatabaseOperationException.class);
+
+			verify(tm, times(1)).doInTransaction(ArgumentMatchers.<CoinAlbumTransactionCode<?>>any());
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the operations of CoinTransactionalManager")
+	class Operations {
+		@Test
+		@DisplayName("Test that the transactions are asked for under the name of the operation")
+		void testTransactionsShouldBeAskedForUnderTheOperation() {
+			coinManager.findAllCoins();
+
+			verify(operationsTm).forOperation("CoinTransactionalManager.findAllCoins");
+		}
 	}
 
 	@AfterEach
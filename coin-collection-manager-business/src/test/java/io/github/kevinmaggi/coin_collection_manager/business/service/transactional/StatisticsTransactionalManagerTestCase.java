@@ -0,0 +1,241 @@
+package io.github.kevinmaggi.coin_collection_manager.business.service.transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.answer;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Year;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import io.github.kevinmaggi.coin_collection_manager.business.service.exception.DatabaseException;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.exception.DatabaseOperationException;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.StatisticsTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.TransactionManager;
+import io.github.kevinmaggi.coin_collection_manager.core.model.AlbumFill;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinCount;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.StatisticsRepository;
+
+class StatisticsTransactionalManagerTestCase {
+	// Test variable
+	private String DB_EXCEPTION_MSG = "Something went wrong during the DB querying";
+
+	private UUID UUID_ALBUM_1 = UUID.fromString("123e4567-e89b-12d3-a456-426614174001");
+	private UUID UUID_ALBUM_2 = UUID.fromString("123e4567-e89b-12d3-a456-426614174002");
+
+	// Tests
+	private AutoCloseable closeable;
+	// Given to the manager, it hands out tm for every operation
+	@Mock
+	TransactionManager operationsTm;
+	@Mock
+	TransactionManager tm;
+	@Mock
+	StatisticsRepository statisticsRepo;
+
+	StatisticsTransactionalManager statisticsManager;
+
+	@BeforeEach
+	void setupTestCase() {
+		closeable = MockitoAnnotations.openMocks(this);
+
+		when(operationsTm.forOperation(anyString())).thenReturn(tm);
+		statisticsManager = new StatisticsTransactionalManager(operationsTm);
+	}
+
+	@Nested
+	@DisplayName("Tests when TransactionManager don't throw exception")
+	class ExecutionNoException {
+		@BeforeEach
+		void setupNestedTestCase() {
+			when(tm.doInReadOnlyTransaction(ArgumentMatchers.<StatisticsTransactionCode<?>>any()))
+				.thenAnswer(answer((StatisticsTransactionCode<?> code) -> code.apply(statisticsRepo)));
+		}
+
+		@Test
+		@DisplayName("Test StatisticsTransactionalManager::countCoinsByAlbum when the code is executed")
+		void testCountCoinsByAlbumExecutedCode() {
+			List<CoinCount<UUID>> fictitiousList = Arrays.asList(new CoinCount<UUID>(UUID_ALBUM_1, 2), new CoinCount<UUID>(UUID_ALBUM_2, 1));
+
+			when(statisticsRepo.countCoinsByAlbum()).thenReturn(fictitiousList);
+
+			InOrder inOrder = inOrder(tm, statisticsRepo);
+
+			assertThat(statisticsManager.countCoinsByAlbum()).isEqualTo(fictitiousList);
+
+			inOrder.verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<StatisticsTransactionCode<?>>any());
+			inOrder.verify(statisticsRepo).countCoinsByAlbum();
+			verifyNoMoreInteractions(tm);
+			verifyNoMoreInteractions(statisticsRepo);
+		}
+
+		@Test
+		@DisplayName("Test StatisticsTransactionalManager::countCoinsByCountry when the code is executed")
+		void testCountCoinsByCountryExecutedCode() {
+			List<CoinCount<String>> fictitiousList = Arrays.asList(new CoinCount<String>("Greece", 1), new CoinCount<String>("Italy", 2));
+
+			when(statisticsRepo.countCoinsByCountry()).thenReturn(fictitiousList);
+
+			InOrder inOrder = inOrder(tm, statisticsRepo);
+
+			assertThat(statisticsManager.countCoinsByCountry()).isEqualTo(fictitiousList);
+
+			inOrder.verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<StatisticsTransactionCode<?>>any());
+			inOrder.verify(statisticsRepo).countCoinsByCountry();
+			verifyNoMoreInteractions(tm);
+			verifyNoMoreInteractions(statisticsRepo);
+		}
+
+		@Test
+		@DisplayName("Test StatisticsTransactionalManager::countCoinsByGrade when the code is executed")
+		void testCountCoinsByGradeExecutedCode() {
+			List<CoinCount<Grade>> fictitiousList = Arrays.asList(new CoinCount<Grade>(Grade.AG, 2), new CoinCount<Grade>(Grade.VF, 1));
+
+			when(statisticsRepo.countCoinsByGrade()).thenReturn(fictitiousList);
+
+			InOrder inOrder = inOrder(tm, statisticsRepo);
+
+			assertThat(statisticsManager.countCoinsByGrade()).isEqualTo(fictitiousList);
+
+			inOrder.verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<StatisticsTransactionCode<?>>any());
+			inOrder.verify(statisticsRepo).countCoinsByGrade();
+			verifyNoMoreInteractions(tm);
+			verifyNoMoreInteractions(statisticsRepo);
+		}
+
+		@Test
+		@DisplayName("Test StatisticsTransactionalManager::countCoinsByDecade when the code is executed")
+		void testCountCoinsByDecadeExecutedCode() {
+			List<CoinCount<Year>> fictitiousList = Arrays.asList(new CoinCount<Year>(Year.of(1990), 1), new CoinCount<Year>(Year.of(2000), 2));
+
+			when(statisticsRepo.countCoinsByDecade()).thenReturn(fictitiousList);
+
+			InOrder inOrder = inOrder(tm, statisticsRepo);
+
+			assertThat(statisticsManager.countCoinsByDecade()).isEqualTo(fictitiousList);
+
+			inOrder.verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<StatisticsTransactionCode<?>>any());
+			inOrder.verify(statisticsRepo).countCoinsByDecade();
+			verifyNoMoreInteractions(tm);
+			verifyNoMoreInteractions(statisticsRepo);
+		}
+
+		@Test
+		@DisplayName("Test StatisticsTransactionalManager::findAlbumFills when the code is executed")
+		void testFindAlbumFillsExecutedCode() {
+			List<AlbumFill> fictitiousList = Arrays.asList(new AlbumFill(UUID_ALBUM_1, "Europa pre-euro", 1, 10, 50),
+					new AlbumFill(UUID_ALBUM_2, "Europa pre-euro", 2, 50, 50));
+
+			when(statisticsRepo.findAlbumFills()).thenReturn(fictitiousList);
+
+			InOrder inOrder = inOrder(tm, statisticsRepo);
+
+			assertThat(statisticsManager.findAlbumFills()).isEqualTo(fictitiousList);
+
+			inOrder.verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<StatisticsTransactionCode<?>>any());
+			inOrder.verify(statisticsRepo).findAlbumFills();
+			verifyNoMoreInteractions(tm);
+			verifyNoMoreInteractions(statisticsRepo);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests when TransactionManager throws exception")
+	class ExceptionNoExecution {
+		@BeforeEach
+		void setupNestedTestCase() {
+			when(tm.doInReadOnlyTransaction(ArgumentMatchers.<StatisticsTransactionCode<?>>any()))
+				.thenThrow(DatabaseOperationException.class);
+		}
+
+		@Test
+		@DisplayName("Test StatisticsTransactionalManager::countCoinsByAlbum when exception is thrown")
+		void testCountCoinsByAlbumThrownException() {
+			assertThatThrownBy(() -> statisticsManager.countCoinsByAlbum())
+				.isInstanceOf(DatabaseException.class)
+				.hasMessage(DB_EXCEPTION_MSG)
+				.hasCauseInstanceOf(DatabaseOperationException.class);
+
+			verify(tm, times(1)).doInReadOnlyTransaction(ArgumentMatchers.<StatisticsTransactionCode<?>>any());
+		}
+
+		@Test
+		@DisplayName("Test StatisticsTransactionalManager::countCoinsByCountry when exception is thrown")
+		void testCountCoinsByCountryThrownException() {
+			assertThatThrownBy(() -> statisticsManager.countCoinsByCountry())
+				.isInstanceOf(DatabaseException.class)
+				.hasMessage(DB_EXCEPTION_MSG)
+				.hasCauseInstanceOf(DatabaseOperationException.class);
+
+			verify(tm, times(1)).doInReadOnlyTransaction(ArgumentMatchers.<StatisticsTransactionCode<?>>any());
+		}
+
+		@Test
+		@DisplayName("Test StatisticsTransactionalManager::countCoinsByGrade when exception is thrown")
+		void testCountCoinsByGradeThrownException() {
+			assertThatThrownBy(() -> statisticsManager.countCoinsByGrade())
+				.isInstanceOf(DatabaseException.class)
+				.hasMessage(DB_EXCEPTION_MSG)
+				.hasCauseInstanceOf(DatabaseOperationException.class);
+
+			verify(tm, times(1)).doInReadOnlyTransaction(ArgumentMatchers.<StatisticsTransactionCode<?>>any());
+		}
+
+		@Test
+		@DisplayName("Test StatisticsTransactionalManager::countCoinsByDecade when exception is thrown")
+		void testCountCoinsByDecadeThrownException() {
+			assertThatThrownBy(() -> statisticsManager.countCoinsByDecade())
+				.isInstanceOf(DatabaseException.class)
+				.hasMessage(DB_EXCEPTION_MSG)
+				.hasCauseInstanceOf(DatabaseOperationException.class);
+
+			verify(tm, times(1)).doInReadOnlyTransaction(ArgumentMatchers.<StatisticsTransactionCode<?>>any());
+		}
+
+		@Test
+		@DisplayName("Test StatisticsTransactionalManager::findAlbumFills when exception is thrown")
+		void testFindAlbumFillsThrownException() {
+			assertThatThrownBy(() -> statisticsManager.findAlbumFills())
+				.isInstanceOf(DatabaseException.class)
+				.hasMessage(DB_EXCEPTION_MSG)
+				.hasCauseInstanceOf(DatabaseOperationException.class);
+
+			verify(tm, times(1)).doInReadOnlyTransaction(ArgumentMatchers.<StatisticsTransactionCode<?>>any());
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the operations of StatisticsTransactionalManager")
+	class Operations {
+		@Test
+		@DisplayName("Test that the transactions are asked for under the name of the operation")
+		void testTransactionsShouldBeAskedForUnderTheOperation() {
+			statisticsManager.countCoinsByAlbum();
+
+			verify(operationsTm).forOperation("StatisticsTransactionalManager.countCoinsByAlbum");
+		}
+	}
+
+	@AfterEach
+	void cleanTestCase() throws Exception {
+		closeable.close();
+	}
+}
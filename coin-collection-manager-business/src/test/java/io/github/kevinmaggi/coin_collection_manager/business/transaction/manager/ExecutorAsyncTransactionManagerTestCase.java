@@ -0,0 +1,391 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.answer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.exception.DatabaseOperationException;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.AlbumTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.CoinAlbumTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.CoinTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.StatisticsTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.AlbumRepository;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.CoinRepository;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.StatisticsRepository;
+
+class ExecutorAsyncTransactionManagerTestCase {
+	// Test variable
+	private static final String RESULT = "result";
+	private static final long TIMEOUT_SECONDS = 10;
+
+	// Tests
+	private AutoCloseable closeable;
+	@Mock
+	TransactionManager tm;
+	@Mock
+	CoinRepository coinRepo;
+	@Mock
+	AlbumRepository albumRepo;
+	@Mock
+	StatisticsRepository statisticsRepo;
+	@Mock
+	TransactionManager operationTm;
+
+	private List<Runnable> submitted;
+
+	private ExecutorAsyncTransactionManager atm;
+
+	@BeforeEach
+	void setupTestCase() {
+		closeable = MockitoAnnotations.openMocks(this);
+
+		submitted = new ArrayList<>();
+		atm = new ExecutorAsyncTransactionManager(tm, new BoundedExecutor(1) {
+			@Override
+			public void execute(Runnable command) {
+				submitted.add(command);
+			}
+		});
+	}
+
+	@Nested
+	@DisplayName("Tests for the constructor of ExecutorAsyncTransactionManager")
+	class Constructor {
+		@Test
+		@DisplayName("Test that a null TransactionManager is refused")
+		void testConstructorWithNullTransactionManagerShouldThrowException() {
+			assertThatThrownBy(() -> new ExecutorAsyncTransactionManager(null, new BoundedExecutor(1)))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("TransactionManager can't be null");
+		}
+
+		@Test
+		@DisplayName("Test that a null Executor is refused")
+		void testConstructorWithNullExecutorShouldThrowException() {
+			assertThatThrownBy(() -> new ExecutorAsyncTransactionManager(tm, null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Executor can't be null");
+		}
+
+		@Test
+		@DisplayName("Test that an Executor with an unbounded queue is refused")
+		void testConstructorWithUnboundedExecutorShouldThrowException() {
+			ThreadPoolExecutor unbounded = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+
+			assertThatThrownBy(() -> new ExecutorAsyncTransactionManager(tm, unbounded))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Executor's queue must be bounded");
+		}
+
+		@Test
+		@DisplayName("Test that a not positive number of threads is refused")
+		void testConstructorWithNoThreadsShouldThrowException() {
+			assertThatThrownBy(() -> new ExecutorAsyncTransactionManager(tm, 0, 1))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Number of threads must be positive");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method ExecutorAsyncTransactionManager::doInTransactionAsync")
+	class DoInTransactionAsync {
+		@Test
+		@DisplayName("Test that the code involving the CoinRepository is executed in a transaction only on the executor")
+		void testDoInTransactionAsyncWithCoinCodeIsExecutedOnTheExecutor() {
+			when(tm.doInTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any()))
+				.thenAnswer(answer((CoinTransactionCode<?> code) -> code.apply(coinRepo)));
+
+			CompletableFuture<String> future = atm.doInTransactionAsync((CoinRepository repo) -> RESULT);
+
+			assertThat(future).isNotDone();
+			verifyNoInteractions(tm);
+
+			runSubmitted();
+
+			assertThat(future).isCompletedWithValue(RESULT);
+			verify(tm).doInTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+			verifyNoMoreInteractions(tm);
+		}
+
+		@Test
+		@DisplayName("Test that the code involving the AlbumRepository is executed in a transaction only on the executor")
+		void testDoInTransactionAsyncWithAlbumCodeIsExecutedOnTheExecutor() {
+			when(tm.doInTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any()))
+				.thenAnswer(answer((AlbumTransactionCode<?> code) -> code.apply(albumRepo)));
+
+			CompletableFuture<String> future = atm.doInTransactionAsync((AlbumRepository repo) -> RESULT);
+
+			assertThat(future).isNotDone();
+			verifyNoInteractions(tm);
+
+			runSubmitted();
+
+			assertThat(future).isCompletedWithValue(RESULT);
+			verify(tm).doInTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
+			verifyNoMoreInteractions(tm);
+		}
+
+		@Test
+		@DisplayName("Test that the code involving both the repositories is executed in a transaction only on the executor")
+		void testDoInTransactionAsyncWithCoinAlbumCodeIsExecutedOnTheExecutor() {
+			when(tm.doInTransaction(ArgumentMatchers.<CoinAlbumTransactionCode<?>>any()))
+				.thenAnswer(answer((CoinAlbumTransactionCode<?> code) -> code.apply(coinRepo, albumRepo)));
+
+			CompletableFuture<String> future = atm.doInTransactionAsync((CoinRepository coins, AlbumRepository albums) -> RESULT);
+
+			assertThat(future).isNotDone();
+			verifyNoInteractions(tm);
+
+			runSubmitted();
+
+			assertThat(future).isCompletedWithValue(RESULT);
+			verify(tm).doInTransaction(ArgumentMatchers.<CoinAlbumTransactionCode<?>>any());
+			verifyNoMoreInteractions(tm);
+		}
+
+		@Test
+		@DisplayName("Test that the code involving the StatisticsRepository is executed in a transaction only on the executor")
+		void testDoInTransactionAsyncWithStatisticsCodeIsExecutedOnTheExecutor() {
+			when(tm.doInTransaction(ArgumentMatchers.<StatisticsTransactionCode<?>>any()))
+				.thenAnswer(answer((StatisticsTransactionCode<?> code) -> code.apply(statisticsRepo)));
+
+			CompletableFuture<String> future = atm.doInTransactionAsync((StatisticsRepository repo) -> RESULT);
+
+			assertThat(future).isNotDone();
+			verifyNoInteractions(tm);
+
+			runSubmitted();
+
+			assertThat(future).isCompletedWithValue(RESULT);
+			verify(tm).doInTransaction(ArgumentMatchers.<StatisticsTransactionCode<?>>any());
+			verifyNoMoreInteractions(tm);
+		}
+
+		@Test
+		@DisplayName("Test that the future completes exceptionally when the transaction fails")
+		void testDoInTransactionAsyncWhenTransactionFailsShouldCompleteExceptionally() {
+			DatabaseOperationException failure = new DatabaseOperationException("failure");
+			when(tm.doInTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any())).thenThrow(failure);
+
+			CompletableFuture<String> future = atm.doInTransactionAsync((CoinRepository repo) -> RESULT);
+			runSubmitted();
+
+			assertThat(future).isCompletedExceptionally();
+			assertThatThrownBy(future::join)
+				.isInstanceOf(CompletionException.class)
+				.hasCause(failure);
+		}
+
+		@Test
+		@DisplayName("Test that the future completes exceptionally when the executor rejects the transaction")
+		void testDoInTransactionAsyncWhenExecutorRejectsShouldCompleteExceptionally() {
+			atm = new ExecutorAsyncTransactionManager(tm, new BoundedExecutor(1) {
+				@Override
+				public void execute(Runnable command) {
+					throw new RejectedExecutionException();
+				}
+			});
+
+			CompletableFuture<String> future = atm.doInTransactionAsync((CoinRepository repo) -> RESULT);
+
+			assertThatThrownBy(future::join)
+				.isInstanceOf(CompletionException.class)
+				.hasCauseInstanceOf(RejectedExecutionException.class);
+			assertThat(atm.getRejectedCount()).isEqualTo(1);
+			verifyNoInteractions(tm);
+		}
+
+		@Test
+		@DisplayName("Test that the code of an operation is executed by the TransactionManager of the operation")
+		void testDoInTransactionAsyncForOperationUsesTheTransactionManagerOfTheOperation() {
+			when(tm.forOperation("operation")).thenReturn(operationTm);
+			when(operationTm.doInTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any()))
+				.thenAnswer(answer((CoinTransactionCode<?> code) -> code.apply(coinRepo)));
+
+			CompletableFuture<String> future = atm.forOperation("operation").doInTransactionAsync((CoinRepository repo) -> RESULT);
+			runSubmitted();
+
+			assertThat(future).isCompletedWithValue(RESULT);
+			verify(operationTm).doInTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+			verify(tm).forOperation("operation");
+			verifyNoMoreInteractions(tm);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method ExecutorAsyncTransactionManager::doInReadOnlyTransactionAsync")
+	class DoInReadOnlyTransactionAsync {
+		@Test
+		@DisplayName("Test that the code involving the CoinRepository is executed in a read-only transaction only on the executor")
+		void testDoInReadOnlyTransactionAsyncWithCoinCodeIsExecutedOnTheExecutor() {
+			when(tm.doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any()))
+				.thenAnswer(answer((CoinTransactionCode<?> code) -> code.apply(coinRepo)));
+
+			CompletableFuture<String> future = atm.doInReadOnlyTransactionAsync((CoinRepository repo) -> RESULT);
+
+			assertThat(future).isNotDone();
+			verifyNoInteractions(tm);
+
+			runSubmitted();
+
+			assertThat(future).isCompletedWithValue(RESULT);
+			verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<CoinTransactionCode<?>>any());
+			verifyNoMoreInteractions(tm);
+		}
+
+		@Test
+		@DisplayName("Test that the code involving the AlbumRepository is executed in a read-only transaction only on the executor")
+		void testDoInReadOnlyTransactionAsyncWithAlbumCodeIsExecutedOnTheExecutor() {
+			when(tm.doInReadOnlyTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any()))
+				.thenAnswer(answer((AlbumTransactionCode<?> code) -> code.apply(albumRepo)));
+
+			CompletableFuture<String> future = atm.doInReadOnlyTransactionAsync((AlbumRepository repo) -> RESULT);
+
+			assertThat(future).isNotDone();
+			verifyNoInteractions(tm);
+
+			runSubmitted();
+
+			assertThat(future).isCompletedWithValue(RESULT);
+			verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<AlbumTransactionCode<?>>any());
+			verifyNoMoreInteractions(tm);
+		}
+
+		@Test
+		@DisplayName("Test that the code involving both the repositories is executed in a read-only transaction only on the executor")
+		void testDoInReadOnlyTransactionAsyncWithCoinAlbumCodeIsExecutedOnTheExecutor() {
+			when(tm.doInReadOnlyTransaction(ArgumentMatchers.<CoinAlbumTransactionCode<?>>any()))
+				.thenAnswer(answer((CoinAlbumTransactionCode<?> code) -> code.apply(coinRepo, albumRepo)));
+
+			CompletableFuture<String> future = atm.doInReadOnlyTransactionAsync((CoinRepository coins, AlbumRepository albums) -> RESULT);
+
+			assertThat(future).isNotDone();
+			verifyNoInteractions(tm);
+
+			runSubmitted();
+
+			assertThat(future).isCompletedWithValue(RESULT);
+			verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<CoinAlbumTransactionCode<?>>any());
+			verifyNoMoreInteractions(tm);
+		}
+
+		@Test
+		@DisplayName("Test that the code involving the StatisticsRepository is executed in a read-only transaction only on the executor")
+		void testDoInReadOnlyTransactionAsyncWithStatisticsCodeIsExecutedOnTheExecutor() {
+			when(tm.doInReadOnlyTransaction(ArgumentMatchers.<StatisticsTransactionCode<?>>any()))
+				.thenAnswer(answer((StatisticsTransactionCode<?> code) -> code.apply(statisticsRepo)));
+
+			CompletableFuture<String> future = atm.doInReadOnlyTransactionAsync((StatisticsRepository repo) -> RESULT);
+
+			assertThat(future).isNotDone();
+			verifyNoInteractions(tm);
+
+			runSubmitted();
+
+			assertThat(future).isCompletedWithValue(RESULT);
+			verify(tm).doInReadOnlyTransaction(ArgumentMatchers.<StatisticsTransactionCode<?>>any());
+			verifyNoMoreInteractions(tm);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the executor and the metrics of ExecutorAsyncTransactionManager")
+	class Metrics {
+		private CountDownLatch release = new CountDownLatch(1);
+		private ThreadPoolExecutor executor = TransactionExecutors.newBoundedExecutor(1, 1);
+
+		@Test
+		@DisplayName("Test that the running, queued, rejected and completed executions are counted")
+		void testMetricsCountTheExecutions() throws InterruptedException {
+			atm = new ExecutorAsyncTransactionManager(tm, executor);
+			CountDownLatch started = new CountDownLatch(1);
+			atm.execute(() -> {
+				started.countDown();
+				awaitRelease();
+			});
+			assertThat(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+
+			CompletableFuture<String> queued = atm.doInReadOnlyTransactionAsync((CoinRepository repo) -> RESULT);
+			CompletableFuture<String> rejected = atm.doInTransactionAsync((CoinRepository repo) -> RESULT);
+
+			assertThat(atm.getActiveCount()).isEqualTo(1);
+			assertThat(atm.getQueuedCount()).isEqualTo(1);
+			assertThat(atm.getRemainingQueueCapacity()).isZero();
+			assertThat(atm.getRejectedCount()).isEqualTo(1);
+			assertThatThrownBy(rejected::join).hasCauseInstanceOf(RejectedExecutionException.class);
+
+			release.countDown();
+			atm.close();
+
+			assertThat(executor.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+			assertThat(queued).isDone();
+			assertThat(atm.getCompletedCount()).isEqualTo(2);
+			assertThat(atm.getQueuedCount()).isZero();
+		}
+
+		@Test
+		@DisplayName("Test that the work executed directly is rejected once the executor is closed")
+		void testExecuteAfterCloseShouldThrowException() {
+			atm = new ExecutorAsyncTransactionManager(tm, executor);
+			atm.close();
+
+			assertThatThrownBy(() -> atm.execute(() -> {}))
+				.isInstanceOf(RejectedExecutionException.class);
+			assertThat(atm.getRejectedCount()).isEqualTo(1);
+		}
+
+		@AfterEach
+		void cleanTest() {
+			release.countDown();
+			executor.shutdownNow();
+		}
+
+		private void awaitRelease() {
+			try {
+				release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	@AfterEach
+	void cleanTestCase() throws Exception {
+		closeable.close();
+	}
+
+	// Private methods
+	private void runSubmitted() {
+		submitted.forEach(Runnable::run);
+	}
+
+	// A bounded executor, whose execute is overridden by the tests that run the submitted code themselves
+	private static class BoundedExecutor extends ThreadPoolExecutor {
+		BoundedExecutor(int queueCapacity) {
+			super(1, 1, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>(queueCapacity));
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class RetryPolicyTestCase {
+	// Test variable
+	private static final Duration INITIAL_BACKOFF = Duration.ofMillis(100);
+	private static final Duration MAX_BACKOFF = Duration.ofMillis(1000);
+
+	private RetryPolicy policy = new RetryPolicy(5, INITIAL_BACKOFF, MAX_BACKOFF);
+
+	@Nested
+	@DisplayName("Tests for the constructor of RetryPolicy")
+	class Constructor {
+		@Test
+		@DisplayName("Test that a non positive number of attempts is refused")
+		void testConstructorWithNonPositiveAttemptsShouldThrowException() {
+			assertThatThrownBy(() -> new RetryPolicy(0, INITIAL_BACKOFF, MAX_BACKOFF))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Number of attempts must be positive");
+		}
+
+		@Test
+		@DisplayName("Test that a null or negative initial backoff is refused")
+		void testConstructorWithInvalidInitialBackoffShouldThrowException() {
+			assertThatThrownBy(() -> new RetryPolicy(1, null, MAX_BACKOFF))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Initial backoff can't be null or negative");
+			assertThatThrownBy(() -> new RetryPolicy(1, Duration.ofMillis(-1), MAX_BACKOFF))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Initial backoff can't be null or negative");
+		}
+
+		@Test
+		@DisplayName("Test that a null maximum backoff or one less than the initial backoff is refused")
+		void testConstructorWithInvalidMaxBackoffShouldThrowException() {
+			assertThatThrownBy(() -> new RetryPolicy(1, INITIAL_BACKOFF, null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Maximum backoff can't be null or less than the initial one");
+			assertThatThrownBy(() -> new RetryPolicy(1, INITIAL_BACKOFF, Duration.ofMillis(99)))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Maximum backoff can't be null or less than the initial one");
+		}
+
+		@Test
+		@DisplayName("Test that the policy without retries has a single attempt")
+		void testNoRetryHasASingleAttempt() {
+			assertThat(RetryPolicy.noRetry().getMaxAttempts()).isEqualTo(1);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method RetryPolicy::getBackoff")
+	class GetBackoff {
+		@Test
+		@DisplayName("Test that the backoff doubles at every failed attempt, half of it being random")
+		void testGetBackoffGrowsExponentially() {
+			assertThat(policy.getBackoff(1, 0)).isEqualTo(Duration.ofMillis(50));
+			assertThat(policy.getBackoff(1, 1)).isEqualTo(Duration.ofMillis(100));
+			assertThat(policy.getBackoff(2, 0)).isEqualTo(Duration.ofMillis(100));
+			assertThat(policy.getBackoff(3, 0.5)).isEqualTo(Duration.ofMillis(300));
+		}
+
+		@Test
+		@DisplayName("Test that the backoff never exceeds the maximum one, even after many failed attempts")
+		void testGetBackoffIsCapped() {
+			assertThat(policy.getBackoff(5, 1)).isEqualTo(MAX_BACKOFF);
+			assertThat(policy.getBackoff(Integer.MAX_VALUE, 1)).isEqualTo(MAX_BACKOFF);
+		}
+
+		@Test
+		@DisplayName("Test that the random backoff is between half and all the exponential one")
+		void testGetBackoffIsJittered() {
+			for (int i = 0; i < 100; i++)
+				assertThat(policy.getBackoff(2)).isBetween(Duration.ofMillis(100), Duration.ofMillis(200));
+		}
+
+		@Test
+		@DisplayName("Test that a non positive number of failed attempts is refused")
+		void testGetBackoffWithNonPositiveFailedAttemptsShouldThrowException() {
+			assertThatThrownBy(() -> policy.getBackoff(0))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Number of failed attempts must be positive");
+		}
+	}
+}
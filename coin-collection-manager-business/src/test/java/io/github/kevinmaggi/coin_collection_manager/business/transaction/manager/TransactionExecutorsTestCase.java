@@ -0,0 +1,96 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class TransactionExecutorsTestCase {
+	private static final long TIMEOUT_SECONDS = 5;
+
+	private ThreadPoolExecutor executor;
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	@Nested
+	@DisplayName("Tests for method TransactionExecutors::newBoundedExecutor")
+	class NewBoundedExecutor {
+		@Test
+		@DisplayName("Test that a non positive number of threads is refused")
+		void testNewBoundedExecutorWithNonPositiveThreadsShouldThrowException() {
+			assertThatThrownBy(() -> TransactionExecutors.newBoundedExecutor(0, 1))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Number of threads must be positive");
+		}
+
+		@Test
+		@DisplayName("Test that a non positive queue capacity is refused")
+		void testNewBoundedExecutorWithNonPositiveQueueCapacityShouldThrowException() {
+			assertThatThrownBy(() -> TransactionExecutors.newBoundedExecutor(1, 0))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Queue capacity must be positive");
+		}
+
+		@Test
+		@DisplayName("Test that the transactions are executed on named daemon threads")
+		void testNewBoundedExecutorUsesNamedDaemonThreads() throws Exception {
+			executor = TransactionExecutors.newBoundedExecutor(1, 1);
+			AtomicReference<Thread> worker = new AtomicReference<>();
+
+			executor.submit(() -> worker.set(Thread.currentThread())).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+			assertThat(worker.get().getName()).startsWith(TransactionExecutors.THREAD_NAME_PREFIX);
+			assertThat(worker.get().isDaemon()).isTrue();
+		}
+
+		@Test
+		@DisplayName("Test that the threads and the queue are bounded and that the exceeding transactions are rejected")
+		void testNewBoundedExecutorRejectsWhenThreadsAndQueueAreFull() throws Exception {
+			executor = TransactionExecutors.newBoundedExecutor(2, 1);
+			CountDownLatch started = new CountDownLatch(2);
+
+			for (int i = 0; i < 3; i++)
+				executor.execute(() -> {
+					started.countDown();
+					awaitRelease();
+				});
+
+			assertThat(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+			assertThat(executor.getActiveCount()).isEqualTo(2);
+			assertThat(executor.getQueue()).hasSize(1);
+			assertThatThrownBy(() -> executor.execute(() -> {}))
+				.isInstanceOf(RejectedExecutionException.class);
+
+			release.countDown();
+			executor.shutdown();
+
+			assertThat(executor.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+			assertThat(executor.getCompletedTaskCount()).isEqualTo(3);
+			assertThat(executor.getLargestPoolSize()).isEqualTo(2);
+		}
+	}
+
+	@AfterEach
+	void cleanTest() {
+		release.countDown();
+		if (executor != null)
+			executor.shutdownNow();
+	}
+
+	// Private methods
+	private void awaitRelease() {
+		try {
+			release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
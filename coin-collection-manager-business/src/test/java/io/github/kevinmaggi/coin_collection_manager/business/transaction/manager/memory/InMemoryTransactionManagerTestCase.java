@@ -0,0 +1,197 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Year;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.exception.DatabaseOperationException;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.AlbumTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.CoinAlbumTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.CoinTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.StatisticsTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinCount;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.memory.InMemoryDatabase;
+import jakarta.persistence.PersistenceException;
+
+class InMemoryTransactionManagerTestCase {
+	private Album ALBUM = new Album("Europa pre-euro", 1, "Armadio", 50, 0);
+	private Coin COIN = new Coin(Grade.AG, "Italy", Year.of(2004), "2€ comm. World Food Programme", "", null);
+	private static final long TIMEOUT_SECONDS = 10;
+
+	private InMemoryDatabase database;
+	private InMemoryTransactionManager tm;
+
+	@BeforeEach
+	void setUp() {
+		database = new InMemoryDatabase();
+		tm = new InMemoryTransactionManager(database);
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryTransactionManager::doInTransaction(CoinTransactionCode)")
+	class DoInTransactionCoin {
+		@Test
+		@DisplayName("Test that should commit and return the returned if code succeds")
+		void testDoInTransactionWhenCodeSuccedsShouldCommitAndReturn() {
+			Coin saved = tm.doInTransaction((CoinTransactionCode<Coin>) coinRepo -> coinRepo.save(COIN));
+
+			assertThat(saved.getId()).isNotNull();
+			assertThat(tm.doInReadOnlyTransaction((CoinTransactionCode<Coin>) coinRepo -> coinRepo.findById(saved.getId())))
+				.isEqualTo(COIN);
+		}
+
+		@Test
+		@DisplayName("Test that should rollback and throw exception if the code throws IllegalArgumentException")
+		void testDoInTransactionWhenCodeThrowIAEShouldThrowException() {
+			CoinTransactionCode<Coin> code = coinRepo -> {
+				coinRepo.save(COIN);
+				return coinRepo.findById(null);
+			};
+
+			assertThatThrownBy(() -> tm.doInTransaction(code))
+				.isInstanceOf(DatabaseOperationException.class)
+				.hasMessage("An illegal argument has been passed, transaction not committed")
+				.hasCauseInstanceOf(IllegalArgumentException.class);
+			assertThat(countCoins()).isZero();
+		}
+
+		@Test
+		@DisplayName("Test that should rollback and throw exception if the code throws PersistenceException")
+		void testDoInTransactionWhenCodeThrowPEShouldThrowException() {
+			CoinTransactionCode<Coin> code = coinRepo -> {
+				coinRepo.save(COIN);
+				return coinRepo.save(new Coin(Grade.AG, null, Year.of(2004), "", "", null));
+			};
+
+			assertThatThrownBy(() -> tm.doInTransaction(code))
+				.isInstanceOf(DatabaseOperationException.class)
+				.hasMessage("Something went wrong committing to DB, rollback done")
+				.hasCauseInstanceOf(PersistenceException.class);
+			assertThat(countCoins()).isZero();
+		}
+
+		@Test
+		@DisplayName("Test that should rollback and re-throw exception if code throws other exception")
+		void testDoInTransactionWhenCodeThrowsOtherExceptionShouldRethrowIt() {
+			CoinTransactionCode<Coin> code = coinRepo -> {
+				coinRepo.save(COIN);
+				throw new IllegalStateException();
+			};
+
+			assertThatThrownBy(() -> tm.doInTransaction(code)).isInstanceOf(IllegalStateException.class);
+			assertThat(countCoins()).isZero();
+		}
+
+		@Test
+		@DisplayName("Test that the next write transaction can begin after a failed one")
+		void testDoInTransactionAfterFailureShouldLetTheNextOneBegin() {
+			assertThatThrownBy(() -> tm.doInTransaction((CoinTransactionCode<Coin>) coinRepo -> coinRepo.findById(null)))
+				.isInstanceOf(DatabaseOperationException.class);
+
+			tm.doInTransaction((CoinTransactionCode<Coin>) coinRepo -> coinRepo.save(COIN));
+
+			assertThat(countCoins()).isOne();
+		}
+
+		@Test
+		@DisplayName("Test that the next write transaction of another thread can begin after a code that threw an error")
+		void testDoInTransactionAfterErrorShouldLetTheNextOneBegin() throws Exception {
+			Error error = new Error("error msg");
+			CoinTransactionCode<Coin> code = coinRepo -> {
+				coinRepo.save(COIN);
+				throw error;
+			};
+
+			assertThatThrownBy(() -> tm.doInTransaction(code)).isSameAs(error);
+			// The lock of the writes is reentrant, only another thread would wait for it
+			CompletableFuture.runAsync(() -> tm.doInTransaction((CoinTransactionCode<Coin>) coinRepo -> coinRepo.save(COIN)))
+				.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+			assertThat(countCoins()).isOne();
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryTransactionManager::doInTransaction(AlbumTransactionCode)")
+	class DoInTransactionAlbum {
+		@Test
+		@DisplayName("Test that should commit and return the returned if code succeds")
+		void testDoInTransactionWhenCodeSuccedsShouldCommitAndReturn() {
+			Album saved = tm.doInTransaction((AlbumTransactionCode<Album>) albumRepo -> albumRepo.save(ALBUM));
+
+			assertThat(tm.doInReadOnlyTransaction((AlbumTransactionCode<Album>) albumRepo -> albumRepo.findById(saved.getId())))
+				.isEqualTo(ALBUM);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryTransactionManager::doInTransaction(CoinAlbumTransactionCode)")
+	class DoInTransactionCoinAlbum {
+		@Test
+		@DisplayName("Test that the coin and the album are committed together")
+		void testDoInTransactionWhenCodeSuccedsShouldCommitBoth() {
+			UUID albumId = tm.doInTransaction((CoinAlbumTransactionCode<UUID>) (coinRepo, albumRepo) -> {
+				Album album = albumRepo.save(ALBUM);
+				COIN.setAlbum(album.getId());
+				coinRepo.save(COIN);
+				albumRepo.occupySlots(album.getId(), 1);
+				return album.getId();
+			});
+
+			assertThat(tm.doInReadOnlyTransaction((CoinAlbumTransactionCode<Integer>) (coinRepo, albumRepo) ->
+					coinRepo.findByAlbum(albumId).size() + albumRepo.findById(albumId).getOccupiedSlots()))
+				.isEqualTo(2);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryTransactionManager::doInTransaction(StatisticsTransactionCode)")
+	class DoInTransactionStatistics {
+		@Test
+		@DisplayName("Test that the statistics are computed on the committed coins")
+		void testDoInTransactionReturnsTheStatistics() {
+			tm.doInTransaction((CoinTransactionCode<Coin>) coinRepo -> coinRepo.save(COIN));
+
+			assertThat(tm.doInReadOnlyTransaction((StatisticsTransactionCode<?>) statisticsRepo -> statisticsRepo.countCoinsByCountry()))
+				.asList().containsExactly(new CoinCount<String>("Italy", 1));
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the read-only transactions of InMemoryTransactionManager")
+	class DoInReadOnlyTransaction {
+		@Test
+		@DisplayName("Test that writing in a read-only transaction throws exception")
+		void testDoInReadOnlyTransactionWhenCodeWritesShouldThrowException() {
+			assertThatThrownBy(() -> tm.doInReadOnlyTransaction((CoinTransactionCode<Coin>) coinRepo -> coinRepo.save(COIN)))
+				.isInstanceOf(DatabaseOperationException.class)
+				.hasMessage("Something went wrong committing to DB, rollback done")
+				.hasCauseInstanceOf(PersistenceException.class);
+			assertThat(countCoins()).isZero();
+		}
+	}
+
+	@Test
+	@DisplayName("Test that ::getTransactionManager of the factory returns always the same transaction manager")
+	void testFactoryReturnsTheSameTransactionManager() {
+		InMemoryTransactionManagerFactory factory = new InMemoryTransactionManagerFactory(database);
+
+		assertThat(factory.getTransactionManager()).isSameAs(factory.getTransactionManager());
+	}
+
+	private int countCoins() {
+		return tm.doInReadOnlyTransaction((CoinTransactionCode<Integer>) coinRepo -> coinRepo.findAll().size());
+	}
+}
@@ -0,0 +1,111 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.metrics.OperationMetrics.Outcome;
+
+class JmxMetricsRegistryTestCase {
+	// Test variables
+	private static final String DOMAIN = "test";
+	private static final String OPERATION = "CoinTransactionalManager.addCoin";
+
+	// Tests
+	private MBeanServer server;
+	private JmxMetricsRegistry registry;
+
+	@BeforeEach
+	void setupTestCase() {
+		server = MBeanServerFactory.newMBeanServer();
+		registry = new JmxMetricsRegistry(server, DOMAIN);
+	}
+
+	@AfterEach
+	void tearDown() {
+		registry.close();
+	}
+
+	@Nested
+	@DisplayName("Tests for the constructor of JmxMetricsRegistry")
+	class Constructor {
+		@Test
+		@DisplayName("Test that a null MBeanServer is refused")
+		void testConstructorWithNullServerShouldThrowException() {
+			assertThatThrownBy(() -> new JmxMetricsRegistry(null, DOMAIN))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("MBeanServer can't be null");
+		}
+
+		@Test
+		@DisplayName("Test that a null domain is refused")
+		void testConstructorWithNullDomainShouldThrowException() {
+			assertThatThrownBy(() -> new JmxMetricsRegistry(server, null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Domain can't be null");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method JmxMetricsRegistry::getOperationMetrics")
+	class GetOperationMetrics {
+		@Test
+		@DisplayName("Test that an operation has always the same metrics")
+		void testGetOperationMetricsShouldReturnTheSameInstance() {
+			OperationMetrics metrics = registry.getOperationMetrics(OPERATION);
+
+			assertThat(registry.getOperationMetrics(OPERATION)).isSameAs(metrics);
+			assertThat(registry.getAllOperationMetrics()).containsOnlyKeys(OPERATION).containsValue(metrics);
+		}
+
+		@Test
+		@DisplayName("Test that a null operation is refused")
+		void testGetOperationMetricsWithNullOperationShouldThrowException() {
+			assertThatThrownBy(() -> registry.getOperationMetrics(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Operation can't be null");
+		}
+
+		@Test
+		@DisplayName("Test that the metrics of an operation are exported as an MXBean")
+		void testGetOperationMetricsShouldRegisterAnMXBean() throws JMException {
+			registry.getOperationMetrics(OPERATION).ended(Outcome.ROLLBACK, 0);
+
+			assertThat(server.getAttribute(registry.objectNameOf(OPERATION), "Rollbacks")).isEqualTo(1L);
+			assertThat(registry.objectNameOf(OPERATION).getDomain()).isEqualTo(DOMAIN);
+		}
+
+		@Test
+		@DisplayName("Test that the metrics are recorded even if they can't be exported")
+		void testGetOperationMetricsWhenTheExportFailsShouldReturnTheMetrics() {
+			try (JmxMetricsRegistry other = new JmxMetricsRegistry(server, DOMAIN)) {
+				registry.getOperationMetrics(OPERATION);
+
+				assertThat(other.getOperationMetrics(OPERATION)).isNotNull();
+			}
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method JmxMetricsRegistry::close")
+	class Close {
+		@Test
+		@DisplayName("Test that closing unregisters all the MXBeans")
+		void testCloseShouldUnregisterTheMXBeans() throws JMException {
+			registry.getOperationMetrics(OPERATION);
+
+			registry.close();
+
+			assertThat(server.isRegistered(registry.objectNameOf(OPERATION))).isFalse();
+		}
+	}
+}
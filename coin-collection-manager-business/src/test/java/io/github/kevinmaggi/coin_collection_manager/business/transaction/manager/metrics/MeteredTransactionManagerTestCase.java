@@ -0,0 +1,207 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.exception.DatabaseOperationException;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.AlbumTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.CoinAlbumTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.CoinTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.StatisticsTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.TransactionManager;
+
+class MeteredTransactionManagerTestCase {
+	// Test variables
+	private static final String RESULT = "result";
+	private static final String OPERATION = "CoinTransactionalManager.addCoin";
+
+	// Tests
+	private AutoCloseable closeable;
+	@Mock
+	TransactionManager tm;
+
+	private InMemoryMetricsRegistry registry;
+	private MeteredTransactionManager mtm;
+
+	@BeforeEach
+	void setupTestCase() {
+		closeable = MockitoAnnotations.openMocks(this);
+
+		registry = new InMemoryMetricsRegistry();
+		mtm = new MeteredTransactionManager(tm, registry);
+	}
+
+	@AfterEach
+	void releaseMocks() throws Exception {
+		closeable.close();
+	}
+
+	// Stands for a method of a manager asking for a transaction
+	private String operation(CoinTransactionCode<String> code) {
+		return mtm.forOperation(OPERATION).doInTransaction(code);
+	}
+
+	@Nested
+	@DisplayName("Tests for the constructor of MeteredTransactionManager")
+	class Constructor {
+		@Test
+		@DisplayName("Test that a null TransactionManager is refused")
+		void testConstructorWithNullTransactionManagerShouldThrowException() {
+			assertThatThrownBy(() -> new MeteredTransactionManager(null, registry))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("TransactionManager can't be null");
+		}
+
+		@Test
+		@DisplayName("Test that a null MetricsRegistry is refused")
+		void testConstructorWithNullRegistryShouldThrowException() {
+			assertThatThrownBy(() -> new MeteredTransactionManager(tm, null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("MetricsRegistry can't be null");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the delegation to the TransactionManager")
+	class Delegation {
+		@Test
+		@DisplayName("Test that every type of code is executed by the TransactionManager, as read-write or read-only")
+		void testEveryMethodShouldDelegateToTheSameMethod() {
+			CoinTransactionCode<String> coinCode = repo -> RESULT;
+			AlbumTransactionCode<String> albumCode = repo -> RESULT;
+			CoinAlbumTransactionCode<String> coinAlbumCode = (coinRepo, albumRepo) -> RESULT;
+			StatisticsTransactionCode<String> statisticsCode = repo -> RESULT;
+
+			mtm.doInTransaction(coinCode);
+			mtm.doInTransaction(albumCode);
+			mtm.doInTransaction(coinAlbumCode);
+			mtm.doInTransaction(statisticsCode);
+			mtm.doInReadOnlyTransaction(coinCode);
+			mtm.doInReadOnlyTransaction(albumCode);
+			mtm.doInReadOnlyTransaction(coinAlbumCode);
+			mtm.doInReadOnlyTransaction(statisticsCode);
+
+			verify(tm).doInTransaction(coinCode);
+			verify(tm).doInTransaction(albumCode);
+			verify(tm).doInTransaction(coinAlbumCode);
+			verify(tm).doInTransaction(statisticsCode);
+			verify(tm).doInReadOnlyTransaction(coinCode);
+			verify(tm).doInReadOnlyTransaction(albumCode);
+			verify(tm).doInReadOnlyTransaction(coinAlbumCode);
+			verify(tm).doInReadOnlyTransaction(statisticsCode);
+		}
+
+		@Test
+		@DisplayName("Test that the result of the code is returned")
+		void testDoInTransactionShouldReturnTheResult() {
+			when(tm.doInTransaction(any(CoinTransactionCode.class))).thenReturn(RESULT);
+
+			assertThat(operation(repo -> RESULT)).isEqualTo(RESULT);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the metrics recorded by MeteredTransactionManager")
+	class Metrics {
+		@Test
+		@DisplayName("Test that the metrics are kept under the operation named by the caller")
+		void testDoInTransactionShouldRecordUnderTheNamedOperation() {
+			operation(repo -> RESULT);
+
+			assertThat(registry.getAllOperationMetrics()).containsOnlyKeys(OPERATION);
+		}
+
+		@Test
+		@DisplayName("Test that a transaction asked for without naming its operation is recorded under the unknown one")
+		void testDoInTransactionWithoutOperationShouldRecordUnderTheUnknownOne() {
+			mtm.doInTransaction((CoinTransactionCode<String>) repo -> RESULT);
+
+			assertThat(registry.getAllOperationMetrics()).containsOnlyKeys(MeteredTransactionManager.UNKNOWN_OPERATION);
+		}
+
+		@Test
+		@DisplayName("Test that the operations of the same MeteredTransactionManager are recorded apart, through the same TransactionManager")
+		void testForOperationShouldRecordEveryOperationApart() {
+			CoinTransactionCode<String> code = repo -> RESULT;
+
+			mtm.forOperation(OPERATION).doInTransaction(code);
+			mtm.forOperation("CoinTransactionalManager.deleteCoin").forOperation(OPERATION).doInTransaction(code);
+			mtm.forOperation("CoinTransactionalManager.deleteCoin").doInTransaction(code);
+
+			assertThat(registry.getOperationMetrics(OPERATION).getCount()).isEqualTo(2);
+			assertThat(registry.getOperationMetrics("CoinTransactionalManager.deleteCoin").getCount()).isEqualTo(1);
+			verify(tm, times(3)).doInTransaction(code);
+		}
+
+		@Test
+		@DisplayName("Test that a null operation is refused")
+		void testForOperationWithNullOperationShouldThrowException() {
+			assertThatThrownBy(() -> mtm.forOperation(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Operation can't be null");
+		}
+
+		@Test
+		@DisplayName("Test that a transaction returned is a commit")
+		void testDoInTransactionWhenTheCodeReturnsShouldRecordACommit() {
+			operation(repo -> RESULT);
+
+			OperationMetrics metrics = registry.getOperationMetrics(OPERATION);
+			assertThat(metrics.getCommits()).isEqualTo(1);
+			assertThat(metrics.getCount()).isEqualTo(1);
+			assertThat(metrics.getInFlight()).isZero();
+		}
+
+		@Test
+		@DisplayName("Test that a DatabaseOperationException is re-thrown and recorded as a rollback")
+		void testDoInTransactionWhenTheDBFailsShouldRecordARollback() {
+			DatabaseOperationException exception = new DatabaseOperationException("failed");
+			when(tm.doInTransaction(any(CoinTransactionCode.class))).thenThrow(exception);
+
+			assertThatThrownBy(() -> operation(repo -> RESULT)).isSameAs(exception);
+
+			OperationMetrics metrics = registry.getOperationMetrics(OPERATION);
+			assertThat(metrics.getRollbacks()).isEqualTo(1);
+			assertThat(metrics.getInFlight()).isZero();
+		}
+
+		@Test
+		@DisplayName("Test that any other exception is re-thrown and recorded as such")
+		void testDoInTransactionWhenTheCodeThrowsShouldRecordAnException() {
+			RuntimeException exception = new IllegalStateException();
+			when(tm.doInTransaction(any(CoinTransactionCode.class))).thenThrow(exception);
+
+			assertThatThrownBy(() -> operation(repo -> RESULT)).isSameAs(exception);
+
+			OperationMetrics metrics = registry.getOperationMetrics(OPERATION);
+			assertThat(metrics.getExceptions()).isEqualTo(1);
+			assertThat(metrics.getInFlight()).isZero();
+		}
+
+		@Test
+		@DisplayName("Test that the transaction is in flight while its code runs")
+		void testDoInTransactionShouldBeInFlightWhileRunning() {
+			long[] inFlight = new long[1];
+			when(tm.doInTransaction(any(CoinTransactionCode.class))).thenAnswer(invocation -> {
+				inFlight[0] = registry.getOperationMetrics(OPERATION).getInFlight();
+				return RESULT;
+			});
+
+			operation(repo -> RESULT);
+
+			assertThat(inFlight[0]).isEqualTo(1);
+		}
+	}
+}
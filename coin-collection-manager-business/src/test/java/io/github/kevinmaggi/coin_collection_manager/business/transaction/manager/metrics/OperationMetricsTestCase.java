@@ -0,0 +1,127 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.metrics.OperationMetrics.Outcome;
+
+class OperationMetricsTestCase {
+	// Test variables
+	private static final long MILLI = 1_000_000;
+
+	// Tests
+	private OperationMetrics metrics;
+
+	@BeforeEach
+	void setupTestCase() {
+		metrics = new OperationMetrics();
+	}
+
+	@Nested
+	@DisplayName("Tests for the counters of OperationMetrics")
+	class Counters {
+		@Test
+		@DisplayName("Test that every outcome is counted on its own")
+		void testEndedShouldCountEveryOutcome() {
+			for (Outcome outcome : new Outcome[] { Outcome.COMMIT, Outcome.COMMIT, Outcome.ROLLBACK, Outcome.EXCEPTION }) {
+				metrics.started();
+				metrics.ended(outcome, MILLI);
+			}
+
+			assertThat(metrics.getCommits()).isEqualTo(2);
+			assertThat(metrics.getRollbacks()).isEqualTo(1);
+			assertThat(metrics.getExceptions()).isEqualTo(1);
+			assertThat(metrics.getCount()).isEqualTo(4);
+		}
+
+		@Test
+		@DisplayName("Test that the transactions are in flight from their start to their end")
+		void testInFlightShouldCountTheRunningTransactions() {
+			metrics.started();
+			metrics.started();
+			assertThat(metrics.getInFlight()).isEqualTo(2);
+
+			metrics.ended(Outcome.COMMIT, MILLI);
+			assertThat(metrics.getInFlight()).isEqualTo(1);
+		}
+
+		@Test
+		@DisplayName("Test that a null outcome is refused")
+		void testEndedWithNullOutcomeShouldThrowException() {
+			assertThatThrownBy(() -> metrics.ended(null, MILLI))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Outcome can't be null");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the latencies of OperationMetrics")
+	class Latencies {
+		@Test
+		@DisplayName("Test that without transactions all the latencies are 0")
+		void testLatenciesWithoutTransactionsShouldBeZero() {
+			assertThat(metrics.getMeanMillis()).isZero();
+			assertThat(metrics.getMaxMillis()).isZero();
+			assertThat(metrics.getP99Millis()).isZero();
+		}
+
+		@Test
+		@DisplayName("Test that mean and maximum are exact")
+		void testMeanAndMaxShouldBeExact() {
+			metrics.ended(Outcome.COMMIT, 1 * MILLI);
+			metrics.ended(Outcome.COMMIT, 3 * MILLI);
+
+			assertThat(metrics.getMeanMillis()).isEqualTo(2);
+			assertThat(metrics.getMaxMillis()).isEqualTo(3);
+		}
+
+		@Test
+		@DisplayName("Test that the percentiles are at most 25% greater than the real ones")
+		void testPercentilesShouldBeCloseToTheRealOnes() {
+			for (int i = 1; i <= 100; i++)
+				metrics.ended(Outcome.COMMIT, i * MILLI);
+
+			assertThat(metrics.getP50Millis()).isBetween(50d, 50 * 1.25);
+			assertThat(metrics.getP95Millis()).isBetween(95d, 100d);
+			assertThat(metrics.getP99Millis()).isBetween(99d, 100d);
+			assertThat(metrics.getPercentileMillis(100)).isEqualTo(100);
+		}
+
+		@Test
+		@DisplayName("Test that a latency longer than the histogram is counted at the maximum")
+		void testPercentileOfALatencyOutOfTheHistogramShouldBeTheMaximum() {
+			metrics.ended(Outcome.COMMIT, 3_600_000 * MILLI);
+
+			assertThat(metrics.getP50Millis()).isCloseTo(3_600_000, within(0.001));
+		}
+
+		@Test
+		@DisplayName("Test that a percentile out of (0, 100] is refused")
+		void testPercentileOutOfRangeShouldThrowException() {
+			assertThatThrownBy(() -> metrics.getPercentileMillis(0))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Percentile must be in (0, 100]");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the buckets of the histogram")
+	class Buckets {
+		@Test
+		@DisplayName("Test that every latency is lower than the upper bound of its bucket and not lower than the previous one")
+		void testEveryLatencyShouldBeInItsBucket() {
+			for (long micros = 0; micros < 100_000; micros++) {
+				int bucket = OperationMetrics.bucketOf(micros);
+				assertThat(micros).isLessThan((long) OperationMetrics.upperBoundOf(bucket));
+				if (bucket > 0)
+					assertThat(micros).isGreaterThanOrEqualTo((long) OperationMetrics.upperBoundOf(bucket - 1));
+			}
+		}
+	}
+}
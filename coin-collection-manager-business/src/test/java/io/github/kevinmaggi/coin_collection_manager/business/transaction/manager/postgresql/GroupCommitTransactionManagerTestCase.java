@@ -0,0 +1,337 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.postgresql;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.*;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.exception.*;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.*;
+import io.github.kevinmaggi.coin_collection_manager.core.model.*;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.*;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.postgresql.*;
+import jakarta.persistence.*;
+
+@Testcontainers
+public class GroupCommitTransactionManagerTestCase {
+	// Tests variables
+	private String MSG_ILLEGAL_ARGUMENT = "An illegal argument has been passed, transaction not committed";
+	private String MSG_GENERIC = "Something went wrong committing to DB, rollback done";
+	private String MSG_CLOSED = "The transaction manager has been closed";
+	private String MSG_ROLLED_BACK = "Rolled back because of another write in the same transaction, not committed";
+
+	private static final int BATCH_SIZE = 4;
+	private static final Duration LONG_DELAY = Duration.ofSeconds(10);
+	private static final long TIMEOUT_SECONDS = 30;
+
+	// Tests
+	@Container
+	private static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:15.1")
+																		.withDatabaseName("databasename")
+																		.withUsername("postgres-test")
+																		.withPassword("postgres-test");
+
+	private static EntityManagerFactory emf;
+
+	// EntityManagers of the transactions, captured when the repositories are bound to them
+	private Set<EntityManager> ems = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+	private GroupCommitTransactionManager tm;
+
+	@BeforeAll
+	public static void setUpTestCase() {
+		System.setProperty("db.port", postgreSQLContainer.getFirstMappedPort().toString());
+		emf = Persistence.createEntityManagerFactory("postgres-test");
+	}
+
+	@BeforeEach
+	public void setUpTest() {
+		tm = newTransactionManager(BATCH_SIZE, LONG_DELAY);
+
+		// Ensure to start every test with an empty database
+		EntityManager em = emf.createEntityManager();
+		em.getTransaction().begin();
+		em.createNativeQuery("TRUNCATE TABLE coins").executeUpdate();
+		em.createNativeQuery("TRUNCATE TABLE albums").executeUpdate();
+		em.getTransaction().commit();
+		em.close();
+	}
+
+	@Nested
+	@DisplayName("Tests for the constructor of GroupCommitTransactionManager")
+	class Constructor {
+		@Test
+		@DisplayName("Test that a non positive batch size is refused")
+		void testConstructorWithNonPositiveBatchSizeShouldThrowException() {
+			assertThatThrownBy(() -> new GroupCommitTransactionManager(emf, 0, LONG_DELAY))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Batch size must be positive");
+		}
+
+		@Test
+		@DisplayName("Test that a null or negative delay is refused")
+		void testConstructorWithInvalidDelayShouldThrowException() {
+			assertThatThrownBy(() -> new GroupCommitTransactionManager(emf, 1, null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Delay can't be null or negative");
+			assertThatThrownBy(() -> new GroupCommitTransactionManager(emf, 1, Duration.ofMillis(-1)))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Delay can't be null or negative");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method GroupCommitTransactionManager::doInTransaction")
+	class DoInTransaction {
+		@Test
+		@DisplayName("Test that a single write is committed after the window, also if no other write arrives")
+		void testDoInTransactionWhenAloneShouldCommitAfterTheWindow() throws Exception {
+			tm = newTransactionManager(BATCH_SIZE, Duration.ofMillis(10));
+
+			Album album = tm.doInTransaction((AlbumRepository repo) -> repo.save(newAlbum(1)));
+
+			assertThat(album.getId()).isNotNull();
+			assertThat(countAlbums()).isEqualTo(1);
+			assertThat(ems).hasSize(1).allMatch(em -> !em.isOpen());
+		}
+
+		@Test
+		@DisplayName("Test that concurrent writes are committed in a single transaction and every caller gets its own result")
+		void testDoInTransactionWhenConcurrentWritesShouldCommitThemTogether() {
+			List<Album> albums = IntStream.rangeClosed(1, BATCH_SIZE).mapToObj(i -> newAlbum(i)).collect(Collectors.toList());
+
+			List<Album> results = concurrently(albums.stream()
+					.map(album -> (Supplier<Album>) () -> tm.doInTransaction((AlbumRepository repo) -> repo.save(album)))
+					.collect(Collectors.toList()));
+
+			assertThat(results).extracting(Album::getVolume).containsExactly(1, 2, 3, 4);
+			assertThat(countAlbums()).isEqualTo(BATCH_SIZE);
+			assertThat(ems).hasSize(1);
+		}
+
+		@Test
+		@DisplayName("Test that a write failing in its code is rolled back alone and only its caller gets the exception")
+		void testDoInTransactionWhenCodeFailsShouldRollbackOnlyIt() {
+			RuntimeException ex = new RuntimeException("ex msg");
+
+			List<CompletableFuture<Album>> results = concurrentlyAsync(List.of(
+					() -> tm.doInTransaction((AlbumRepository repo) -> repo.save(newAlbum(1))),
+					() -> tm.doInTransaction((AlbumRepository repo) -> {repo.save(newAlbum(2)); throw ex;}),
+					() -> tm.doInTransaction((AlbumRepository repo) -> {repo.save(newAlbum(3)); throw new IllegalArgumentException();}),
+					() -> tm.doInTransaction((AlbumRepository repo) -> repo.save(newAlbum(4)))));
+
+			assertThat(results.get(0).join().getVolume()).isEqualTo(1);
+			assertThatThrownBy(results.get(1)::join).isInstanceOf(CompletionException.class).hasCause(ex);
+			assertThatThrownBy(results.get(2)::join).isInstanceOf(CompletionException.class).cause()
+				.isInstanceOf(DatabaseOperationException.class)
+				.hasMessage(MSG_ILLEGAL_ARGUMENT);
+			assertThat(results.get(3).join().getVolume()).isEqualTo(4);
+			assertThat(findVolumes()).containsExactlyInAnyOrder(1, 4);
+			assertThat(ems).hasSize(1);
+		}
+
+		@Test
+		@DisplayName("Test that a write violating a constraint fails, the ones executed before it fail too and the next ones are committed in a new transaction")
+		void testDoInTransactionWhenWriteViolatesConstraintShouldCommitTheNextOnes() {
+			List<CompletableFuture<Album>> results = inOrderAsync(List.of(
+					() -> tm.doInTransaction((AlbumRepository repo) -> repo.save(newAlbum(1))),
+					() -> tm.doInTransaction((AlbumRepository repo) -> repo.save(newAlbum(2))),
+					() -> tm.doInTransaction((AlbumRepository repo) -> repo.save(newAlbum(1))),
+					() -> tm.doInTransaction((AlbumRepository repo) -> repo.save(newAlbum(3)))));
+
+			// Executed again they would be merged, since the rolled back transaction has given them an id
+			for (CompletableFuture<Album> result : results.subList(0, 2))
+				assertThatThrownBy(result::join).isInstanceOf(CompletionException.class).cause()
+					.isInstanceOf(DatabaseOperationException.class)
+					.hasMessage(MSG_ROLLED_BACK)
+					.cause().hasMessage(MSG_GENERIC);
+			assertThatThrownBy(results.get(2)::join).isInstanceOf(CompletionException.class).cause()
+				.isInstanceOf(DatabaseOperationException.class)
+				.hasMessage(MSG_GENERIC)
+				.hasCauseInstanceOf(PersistenceException.class);
+			assertThat(results.get(3).join().getVolume()).isEqualTo(3);
+			assertThat(findVolumes()).containsExactly(3);
+			assertThat(ems).hasSize(2);
+		}
+
+		@Test
+		@DisplayName("Test that a write throwing an error fails alone and the next writes are still committed")
+		void testDoInTransactionWhenCodeThrowsErrorShouldFailOnlyIt() {
+			tm = newTransactionManager(BATCH_SIZE, Duration.ofMillis(10));
+			Error error = new Error("error msg");
+
+			List<CompletableFuture<Album>> results = concurrentlyAsync(List.of(
+					() -> tm.doInTransaction((AlbumRepository repo) -> repo.save(newAlbum(1))),
+					() -> tm.doInTransaction((AlbumRepository repo) -> {repo.save(newAlbum(2)); throw error;}),
+					() -> tm.doInTransaction((AlbumRepository repo) -> repo.save(newAlbum(3)))));
+
+			assertThat(results.get(0).join().getVolume()).isEqualTo(1);
+			assertThatThrownBy(results.get(1)::join).isInstanceOf(CompletionException.class).hasCause(error);
+			assertThat(results.get(2).join().getVolume()).isEqualTo(3);
+			assertThat(tm.doInTransaction((AlbumRepository repo) -> repo.save(newAlbum(4))).getVolume()).isEqualTo(4);
+			assertThat(findVolumes()).containsExactlyInAnyOrder(1, 3, 4);
+		}
+
+		@Test
+		@DisplayName("Test that every type of writing code is committed")
+		void testDoInTransactionForEveryTypeOfCode() {
+			tm = newTransactionManager(1, Duration.ZERO);
+			Album album = tm.doInTransaction((AlbumRepository repo) -> repo.save(newAlbum(1)));
+			Coin coin = new Coin(Grade.AG, "Italy", Year.of(2004), "2€ comm. World Food Programme", "", album.getId());
+
+			tm.doInTransaction((CoinAlbumTransactionCode<Boolean>) (CoinRepository cRepo, AlbumRepository aRepo) -> aRepo.occupySlots(album.getId(), 1));
+			tm.doInTransaction((CoinRepository repo) -> repo.save(coin));
+
+			assertThat(tm.doInTransaction((StatisticsRepository repo) -> repo.countCoinsByAlbum()))
+				.containsExactly(new CoinCount<>(album.getId(), 1));
+			assertThat(ems).hasSize(4);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method GroupCommitTransactionManager::doInReadOnlyTransaction")
+	class DoInReadOnlyTransaction {
+		@Test
+		@DisplayName("Test that the reads don't wait for the window of the writes and run in read-only transactions")
+		void testDoInReadOnlyTransactionShouldNotWaitTheWrites() {
+			long start = System.nanoTime();
+
+			// The only EntityManager is the one of this transaction
+			boolean readOnly = tm.doInReadOnlyTransaction((AlbumRepository repo) ->
+				ems.stream().allMatch(em -> em.unwrap(Session.class).isDefaultReadOnly()));
+
+			assertThat(readOnly).isTrue();
+			assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(LONG_DELAY);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method GroupCommitTransactionManager::close")
+	class Close {
+		@Test
+		@DisplayName("Test that the queued writes are committed before closing and the new ones are refused")
+		void testCloseShouldCommitTheQueuedWritesAndRefuseTheNewOnes() throws Exception {
+			CompletableFuture<Album> queued = new CompletableFuture<>();
+			Thread caller = new Thread(() -> queued.complete(tm.doInTransaction((AlbumRepository repo) -> repo.save(newAlbum(1)))));
+			caller.start();
+			// The caller waits for its write only once it's queued
+			while (caller.getState() != Thread.State.WAITING)
+				Thread.sleep(10);
+
+			tm.close();
+
+			assertThat(queued.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).getVolume()).isEqualTo(1);
+			assertThatThrownBy(() -> tm.doInTransaction((AlbumRepository repo) -> repo.save(newAlbum(2))))
+				.isInstanceOf(DatabaseOperationException.class)
+				.hasMessage(MSG_CLOSED);
+			assertThat(countAlbums()).isEqualTo(1);
+		}
+	}
+
+	@AfterEach
+	public void cleanTest() throws Exception {
+		tm.close();
+	}
+
+	@AfterAll
+	public static void cleanTestCase() {
+		emf.close();
+	}
+
+	// Private methods
+	private GroupCommitTransactionManager newTransactionManager(int batchSize, Duration delay) {
+		if (tm != null)
+			assertThatCode(tm::close).doesNotThrowAnyException();
+		return new GroupCommitTransactionManager(emf, batchSize, delay,
+				em -> {ems.add(em); return new PostgresCoinRepository(em);},
+				em -> {ems.add(em); return new PostgresAlbumRepository(em);},
+				em -> {ems.add(em); return new PostgresStatisticsRepository(em);});
+	}
+
+	private Album newAlbum(int volume) {
+		return new Album("Group commit", volume, "Armadio", 50, 0);
+	}
+
+	private <R> List<R> concurrently(List<Supplier<R>> writes) {
+		return concurrentlyAsync(writes).stream().map(CompletableFuture::join).collect(Collectors.toList());
+	}
+
+	private <R> List<CompletableFuture<R>> concurrentlyAsync(List<Supplier<R>> writes) {
+		CountDownLatch start = new CountDownLatch(1);
+		List<CompletableFuture<R>> results = new ArrayList<>();
+		for (Supplier<R> write : writes)
+			results.add(CompletableFuture.supplyAsync(() -> {
+				awaitQuietly(start);
+				return write.get();
+			}, runnable -> new Thread(runnable).start()));
+		start.countDown();
+		CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).exceptionally(e -> null).join();
+		return results;
+	}
+
+	// Every write is queued only once the previous one is, so they are executed in the given order
+	private <R> List<CompletableFuture<R>> inOrderAsync(List<Supplier<R>> writes) {
+		List<CompletableFuture<R>> results = new ArrayList<>();
+		for (Supplier<R> write : writes) {
+			CompletableFuture<R> result = new CompletableFuture<>();
+			Thread caller = new Thread(() -> {
+				try {
+					result.complete(write.get());
+				} catch (RuntimeException e) {
+					result.completeExceptionally(e);
+				}
+			});
+			caller.start();
+			// The caller waits for its write only once it's queued
+			while (caller.getState() != Thread.State.WAITING && !result.isDone())
+				Thread.onSpinWait();
+			results.add(result);
+		}
+		CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).exceptionally(e -> null).join();
+		return results;
+	}
+
+	private void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private long countAlbums() {
+		EntityManager em = emf.createEntityManager();
+		try {
+			return em.createQuery("SELECT COUNT(a) FROM Album a", Long.class).getSingleResult();
+		} finally {
+			em.close();
+		}
+	}
+
+	private List<Integer> findVolumes() {
+		EntityManager em = emf.createEntityManager();
+		try {
+			return em.createQuery("SELECT a.volume FROM Album a", Integer.class).getResultList();
+		} finally {
+			em.close();
+		}
+	}
+}
@@ -1,87 +1,33 @@
 package io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.postgresql;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
 
-import org.junit.jupiter.api.AfterAll;
-import org.junit.jupiter.api.AfterEach;
-import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.testcontainers.containers.PostgreSQLContainer;
-import org.testcontainers.junit.jupiter.Container;
-import org.testcontainers.junit.jupiter.Testcontainers;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
 
-import io.github.kevinmaggi.coin_collection_manager.core.repository.postgresql.PostgresAlbumRepository;
-import io.github.kevinmaggi.coin_collection_manager.core.repository.postgresql.PostgresCoinRepository;
-import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.Persistence;
 
-@Testcontainers
+@ExtendWith(MockitoExtension.class)
 class PostgresTransactionManagerFactoryTestCase {
 
-	// Need to create EntityManager and for this is necessary an EntityManagerFactory and so a DB
-	@Container
-	private static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:15.1")
-																		.withDatabaseName("databasename")
-																		.withUsername("postgres-test")
-																		.withPassword("postgres-test");
-
-	private static EntityManagerFactory emf;
-	private EntityManager em;
+	@Mock
+	private EntityManagerFactory emf;
 	private PostgresTransactionManagerFactory factory;
 
-	@BeforeAll
-	static void setUpTestCase() {
-		System.setProperty("db.port", postgreSQLContainer.getFirstMappedPort().toString());
-		emf = Persistence.createEntityManagerFactory("postgres-test");
-	}
-
 	@BeforeEach
 	void setUp() {
-		em = emf.createEntityManager();
-		factory = new PostgresTransactionManagerFactory(em);
-	}
-
-	@Test
-	@DisplayName("Test that ::getCoinRepository the first time instantiate and return")
-	void testGetCoinRepositoryWhenFirstTimeCallThenInstantiateAndReturn() {
-		PostgresCoinRepository cr = new PostgresCoinRepository(em);
-
-		assertThat(factory.getCoinRepository()).usingRecursiveComparison().isEqualTo(cr);
-	}
-
-	@Test
-	@DisplayName("Test that ::getCoinRepository the next time returns the same repository")
-	void testGetCoinRepositoryWhenFirstTimeCallThenReturnTheSame() {
-		PostgresCoinRepository cr = factory.getCoinRepository();
-
-		assertThat(factory.getCoinRepository()).isSameAs(cr);
-	}
-
-	@Test
-	@DisplayName("Test that ::getAlbumRepository the first time instantiate and return")
-	void testGetAlbumRepositoryWhenFirstTimeCallThenInstantiateAndReturn() {
-		PostgresAlbumRepository ar = new PostgresAlbumRepository(em);
-
-		assertThat(factory.getAlbumRepository()).usingRecursiveComparison().isEqualTo(ar);
-	}
-
-	@Test
-	@DisplayName("Test that ::getAlbumRepository the next time returns the same repository")
-	void testGetAlbumRepositoryWhenFirstTimeCallThenReturnTheSame() {
-		PostgresAlbumRepository ar = factory.getAlbumRepository();
-
-		assertThat(factory.getAlbumRepository()).isSameAs(ar);
+		factory = new PostgresTransactionManagerFactory(emf);
 	}
 
 	@Test
 	@DisplayName("Test that ::getTransactionManager the first time instantiate and return")
 	void testGetTransactionManagerRepositoryWhenFirstTimeCallThenInstantiateAndReturn() {
-		PostgresAlbumRepository ar = new PostgresAlbumRepository(em);
-		PostgresCoinRepository cr = new PostgresCoinRepository(em);
-		PostgresTransactionManager tm = new PostgresTransactionManager(em, cr, ar);
+		PostgresTransactionManager tm = new PostgresTransactionManager(emf);
 
 		assertThat(factory.getTransactionManager()).usingRecursiveComparison().isEqualTo(tm);
 	}
@@ -94,14 +40,11 @@ class PostgresTransactionManagerFactoryTestCase {
 		assertThat(factory.getTransactionManager()).isSameAs(tm);
 	}
 
-	@AfterEach
-	void cleanTest() throws Exception {
-		em.clear();
-		em.close();
-	}
+	@Test
+	@DisplayName("Test that ::getTransactionManager doesn't open any EntityManager, they are opened by the transactions")
+	void testGetTransactionManagerDoesNotCreateEntityManagers() {
+		factory.getTransactionManager();
 
-	@AfterAll
-	static void cleanTestCase() {
-		emf.close();
+		verifyNoInteractions(emf);
 	}
 }
@@ -4,12 +4,20 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.Year;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -18,8 +26,11 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import io.github.kevinmaggi.coin_collection_manager.business.service.transactional.CoinTransactionalManager;
 import io.github.kevinmaggi.coin_collection_manager.business.transaction.exception.*;
 import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.*;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.IsolationLevel;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.RetryPolicy;
 import io.github.kevinmaggi.coin_collection_manager.core.model.*;
 import io.github.kevinmaggi.coin_collection_manager.core.repository.*;
 import io.github.kevinmaggi.coin_collection_manager.core.repository.postgresql.*;
@@ -36,6 +47,9 @@ public class PostgresTransactionManagerTestCase {
 	private Coin COIN = new Coin(Grade.AG, "Italy", Year.of(2004), "2€ comm. World Food Programme", "", ALBUM_UUID);
 	private Album ALBUM = new Album("2€ commemorative", 1, "Armadio", 50, 50);
 
+	private int MAX_ATTEMPTS = 3;
+	private RetryPolicy RETRY_POLICY = new RetryPolicy(MAX_ATTEMPTS, Duration.ZERO, Duration.ZERO);
+
 	// Tests
 	@Container
 	private static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:15.1")
@@ -44,6 +58,7 @@ public class PostgresTransactionManagerTestCase {
 																		.withPassword("postgres-test");
 
 	private static EntityManagerFactory emf;
+	// EntityManager of the last transaction, captured when the repositories are bound to it
 	private EntityManager em;
 
 	PostgresTransactionManager tm;
@@ -52,6 +67,8 @@ public class PostgresTransactionManagerTestCase {
 	PostgresCoinRepository coinRepo;
 	@Mock
 	PostgresAlbumRepository albumRepo;
+	@Mock
+	PostgresStatisticsRepository statisticsRepo;
 
 	@BeforeAll
 	public static void setUpTestCase() {
@@ -61,9 +78,7 @@ public class PostgresTransactionManagerTestCase {
 
 	@BeforeEach
 	public void setUpTest() {
-		em = emf.createEntityManager();
-
-		tm = new PostgresTransactionManager(em, coinRepo, albumRepo);
+		tm = newTransactionManager(RetryPolicy.noRetry(), Map.of());
 	}
 
 	@Nested
@@ -82,7 +97,7 @@ public class PostgresTransactionManagerTestCase {
 
 			verify(coinRepo).findAll();
 			assertThat(result).isSameAs(list);
-			assertThat(em.getTransaction().isActive()).isFalse();
+			assertThat(em.isOpen()).isFalse();
 		}
 
 		@Test
@@ -97,7 +112,7 @@ public class PostgresTransactionManagerTestCase {
 				.hasMessage(MSG_ILLEGAL_ARGUMENT)
 				.hasCauseInstanceOf(IllegalArgumentException.class);
 			verify(coinRepo).findById(any());
-			assertThat(em.getTransaction().isActive()).isFalse();
+			assertThat(em.isOpen()).isFalse();
 		}
 
 		@Test
@@ -112,7 +127,7 @@ public class PostgresTransactionManagerTestCase {
 				.hasMessage(MSG_GENERIC)
 				.hasCauseInstanceOf(PersistenceException.class);
 			verify(coinRepo).findAll();
-			assertThat(em.getTransaction().isActive()).isFalse();
+			assertThat(em.isOpen()).isFalse();
 		}
 
 		@Test
@@ -126,7 +141,21 @@ public class PostgresTransactionManagerTestCase {
 			assertThatThrownBy(() -> tm.doInTransaction(code))
 				.isSameAs(ex);
 			verify(coinRepo).findAll();
-			assertThat(em.getTransaction().isActive()).isFalse();
+			assertThat(em.isOpen()).isFalse();
+		}
+
+		@Test
+		@DisplayName("Test that every transaction uses its own EntityManager")
+		void testDoInTransactionWhenCalledTwiceShouldUseDifferentEntityManagers() {
+			CoinTransactionCode<List<Coin>> code = (CoinRepository repo) -> {return repo.findAll();};
+
+			tm.doInTransaction(code);
+			EntityManager firstEm = em;
+			tm.doInTransaction(code);
+
+			assertThat(em).isNotSameAs(firstEm);
+			assertThat(firstEm.isOpen()).isFalse();
+			assertThat(em.isOpen()).isFalse();
 		}
 	}
 
@@ -146,7 +175,7 @@ public class PostgresTransactionManagerTestCase {
 
 			verify(albumRepo).findAll();
 			assertThat(result).isSameAs(list);
-			assertThat(em.getTransaction().isActive()).isFalse();
+			assertThat(em.isOpen()).isFalse();
 		}
 
 		@Test
@@ -161,7 +190,7 @@ public class PostgresTransactionManagerTestCase {
 				.hasMessage(MSG_ILLEGAL_ARGUMENT)
 				.hasCauseInstanceOf(IllegalArgumentException.class);
 			verify(albumRepo).findById(any());
-			assertThat(em.getTransaction().isActive()).isFalse();
+			assertThat(em.isOpen()).isFalse();
 		}
 
 		@Test
@@ -176,7 +205,7 @@ public class PostgresTransactionManagerTestCase {
 				.hasMessage(MSG_GENERIC)
 				.hasCauseInstanceOf(PersistenceException.class);
 			verify(albumRepo).findAll();
-			assertThat(em.getTransaction().isActive()).isFalse();
+			assertThat(em.isOpen()).isFalse();
 		}
 
 		@Test
@@ -190,7 +219,7 @@ public class PostgresTransactionManagerTestCase {
 			assertThatThrownBy(() -> tm.doInTransaction(code))
 				.isSameAs(ex);
 			verify(albumRepo).findAll();
-			assertThat(em.getTransaction().isActive()).isFalse();
+			assertThat(em.isOpen()).isFalse();
 		}
 	}
 
@@ -212,7 +241,7 @@ public class PostgresTransactionManagerTestCase {
 			verify(coinRepo).findAll();
 			verify(albumRepo).findAll();
 			assertThat(result).isSameAs(list);
-			assertThat(em.getTransaction().isActive()).isFalse();
+			assertThat(em.isOpen()).isFalse();
 		}
 
 		@Test
@@ -228,7 +257,7 @@ public class PostgresTransactionManagerTestCase {
 				.hasCauseInstanceOf(IllegalArgumentException.class);
 			verify(coinRepo).findAll();
 			verify(albumRepo).findAll();
-			assertThat(em.getTransaction().isActive()).isFalse();
+			assertThat(em.isOpen()).isFalse();
 		}
 
 		@Test
@@ -244,7 +273,7 @@ public class PostgresTransactionManagerTestCase {
 				.hasCauseInstanceOf(PersistenceException.class);
 			verify(coinRepo).findAll();
 			verify(albumRepo).findAll();
-			assertThat(em.getTransaction().isActive()).isFalse();
+			assertThat(em.isOpen()).isFalse();
 		}
 
 		@Test
@@ -259,18 +288,321 @@ public class PostgresTransactionManagerTestCase {
 				.isSameAs(ex);
 			verify(coinRepo).findAll();
 			verify(albumRepo).findAll();
-			assertThat(em.getTransaction().isActive()).isFalse();
+			assertThat(em.isOpen()).isFalse();
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method PostgresTransactionManager::doInTransaction(StatisticsTransactionCode)")
+	class DoInTransactionStatistics {
+		@Test
+		@DisplayName("Test that should commit and return the returned if code succeds")
+		void testDoInTransactionWhenCodeSuccedsShouldCommitAndReturn() {
+			List<CoinCount<String>> list = new ArrayList<CoinCount<String>>();
+			list.add(new CoinCount<String>(COIN.getCountry(), 1));
+			when(statisticsRepo.countCoinsByCountry()).thenReturn(list);
+
+			StatisticsTransactionCode<List<CoinCount<String>>> code = (StatisticsRepository repo) -> {return repo.countCoinsByCountry();};
+
+			List<CoinCount<String>> result = tm.doInTransaction(code);
+
+			verify(statisticsRepo).countCoinsByCountry();
+			assertThat(result).isSameAs(list);
+			assertThat(em.isOpen()).isFalse();
+		}
+
+		@Test
+		@DisplayName("Test that should rollback and throw exception if the code throws IllegalArgumentException")
+		void testDoInTransactionWhenCodeThrowIAEShouldThrowException() {
+			when(statisticsRepo.countCoinsByCountry()).thenThrow(IllegalArgumentException.class);
+
+			StatisticsTransactionCode<List<CoinCount<String>>> code = (StatisticsRepository repo) -> {return repo.countCoinsByCountry();};
+
+			assertThatThrownBy(() -> tm.doInTransaction(code))
+				.isInstanceOf(DatabaseOperationException.class)
+				.hasMessage(MSG_ILLEGAL_ARGUMENT)
+				.hasCauseInstanceOf(IllegalArgumentException.class);
+			verify(statisticsRepo).countCoinsByCountry();
+			assertThat(em.isOpen()).isFalse();
+		}
+
+		@Test
+		@DisplayName("Test that should rollback and throw exception if the code throws PersistenceException")
+		void testDoInTransactionWhenCodeThrowPEShouldThrowException() {
+			when(statisticsRepo.countCoinsByCountry()).thenThrow(PersistenceException.class);
+
+			StatisticsTransactionCode<List<CoinCount<String>>> code = (StatisticsRepository repo) -> {return repo.countCoinsByCountry();};
+
+			assertThatThrownBy(() -> tm.doInTransaction(code))
+				.isInstanceOf(DatabaseOperationException.class)
+				.hasMessage(MSG_GENERIC)
+				.hasCauseInstanceOf(PersistenceException.class);
+			verify(statisticsRepo).countCoinsByCountry();
+			assertThat(em.isOpen()).isFalse();
+		}
+
+		@Test
+		@DisplayName("Test that should rollback and re-throw exception if code throws other exception")
+		void testDoInTransactionWhenCodeThrowsOtherExceptionShouldRethrowIt() {
+			RuntimeException ex = new RuntimeException("ex msg");
+			when(statisticsRepo.countCoinsByCountry()).thenThrow(ex);
+
+			StatisticsTransactionCode<?> code = (StatisticsRepository repo) -> {return repo.countCoinsByCountry();};
+
+			assertThatThrownBy(() -> tm.doInTransaction(code))
+				.isSameAs(ex);
+			verify(statisticsRepo).countCoinsByCountry();
+			assertThat(em.isOpen()).isFalse();
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the methods PostgresTransactionManager::doInReadOnlyTransaction")
+	class DoInReadOnlyTransaction {
+		@Test
+		@DisplayName("Test that session and connection are read-only, the session is never flushed and the result is returned")
+		void testDoInReadOnlyTransactionShouldMarkSessionAndConnectionReadOnly() {
+			List<Coin> list = new ArrayList<Coin>();
+			list.add(COIN);
+			when(coinRepo.findAll()).thenReturn(list);
+			List<Object> modes = new ArrayList<>();
+
+			CoinTransactionCode<List<Coin>> code = (CoinRepository repo) -> {
+				Session session = em.unwrap(Session.class);
+				modes.add(session.isDefaultReadOnly());
+				modes.add(session.getHibernateFlushMode());
+				modes.add(session.doReturningWork(Connection::isReadOnly));
+				return repo.findAll();
+			};
+
+			List<Coin> result = tm.doInReadOnlyTransaction(code);
+
+			verify(coinRepo).findAll();
+			assertThat(result).isSameAs(list);
+			assertThat(modes).containsExactly(true, FlushMode.MANUAL, true);
+			assertThat(em.isOpen()).isFalse();
+		}
+
+		@Test
+		@DisplayName("Test that the transactions are read-only for every type of code")
+		void testDoInReadOnlyTransactionForEveryTypeOfCode() {
+			AlbumTransactionCode<Boolean> albumCode = (AlbumRepository repo) -> em.unwrap(Session.class).isDefaultReadOnly();
+			CoinAlbumTransactionCode<Boolean> coinAlbumCode = (CoinRepository cRepo, AlbumRepository aRepo) -> em.unwrap(Session.class).isDefaultReadOnly();
+			StatisticsTransactionCode<Boolean> statisticsCode = (StatisticsRepository repo) -> em.unwrap(Session.class).isDefaultReadOnly();
+
+			assertThat(tm.doInReadOnlyTransaction(albumCode)).isTrue();
+			assertThat(tm.doInReadOnlyTransaction(coinAlbumCode)).isTrue();
+			assertThat(tm.doInReadOnlyTransaction(statisticsCode)).isTrue();
+		}
+
+		@Test
+		@DisplayName("Test that the read-write transactions don't inherit the read-only mode from the pooled connections")
+		void testDoInTransactionAfterReadOnlyOneShouldBeReadWrite() {
+			CoinTransactionCode<Boolean> code = (CoinRepository repo) -> em.unwrap(Session.class).doReturningWork(Connection::isReadOnly);
+
+			tm.doInReadOnlyTransaction(code);
+
+			assertThat(tm.doInTransaction(code)).isFalse();
+		}
+
+		@Test
+		@DisplayName("Test that the database refuses the writes executed in a read-only transaction")
+		void testDoInReadOnlyTransactionWhenCodeWritesShouldThrowException() {
+			PostgresTransactionManager realTm = new PostgresTransactionManager(emf);
+
+			AlbumTransactionCode<Boolean> code = (AlbumRepository repo) -> repo.releaseSlots(ALBUM_UUID, 1);
+
+			assertThatThrownBy(() -> realTm.doInReadOnlyTransaction(code))
+				.isInstanceOf(DatabaseOperationException.class)
+				.hasMessage(MSG_GENERIC)
+				.hasCauseInstanceOf(PersistenceException.class);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the retry of the transactions failed because of concurrent ones")
+	class Retry {
+		@BeforeEach
+		void setUpNestedTest() {
+			tm = newTransactionManager(RETRY_POLICY, Map.of());
+		}
+
+		@Test
+		@DisplayName("Test that a transaction failed because of a serialization failure is executed again")
+		void testDoInTransactionWhenSerializationFailureShouldRetry() {
+			List<Coin> list = new ArrayList<Coin>();
+			when(coinRepo.findAll()).thenThrow(transientFailure("40001")).thenReturn(list);
+
+			CoinTransactionCode<List<Coin>> code = (CoinRepository repo) -> repo.findAll();
+
+			assertThat(tm.doInTransaction(code)).isSameAs(list);
+			verify(coinRepo, times(2)).findAll();
+			assertThat(em.isOpen()).isFalse();
+		}
+
+		@Test
+		@DisplayName("Test that a transaction failed because of a deadlock is retried at most the configured times")
+		void testDoInTransactionWhenDeadlockShouldRetryUpToMaxAttempts() {
+			when(albumRepo.findAll()).thenThrow(transientFailure("40P01"));
+
+			AlbumTransactionCode<List<Album>> code = (AlbumRepository repo) -> repo.findAll();
+
+			assertThatThrownBy(() -> tm.doInTransaction(code))
+				.isInstanceOf(DatabaseOperationException.class)
+				.hasMessage(MSG_GENERIC)
+				.hasCauseInstanceOf(PersistenceException.class);
+			verify(albumRepo, times(MAX_ATTEMPTS)).findAll();
+		}
+
+		@Test
+		@DisplayName("Test that also the read-only transactions are retried")
+		void testDoInReadOnlyTransactionWhenSerializationFailureShouldRetry() {
+			when(statisticsRepo.findAlbumFills()).thenThrow(transientFailure("40001")).thenReturn(List.of());
+
+			StatisticsTransactionCode<List<AlbumFill>> code = (StatisticsRepository repo) -> repo.findAlbumFills();
+
+			assertThat(tm.doInReadOnlyTransaction(code)).isEmpty();
+			verify(statisticsRepo, times(2)).findAlbumFills();
+		}
+
+		@Test
+		@DisplayName("Test that a transaction failed for another reason is not retried")
+		void testDoInTransactionWhenOtherFailureShouldNotRetry() {
+			when(coinRepo.findAll()).thenThrow(transientFailure("23505"));
+
+			CoinTransactionCode<List<Coin>> code = (CoinRepository repo) -> repo.findAll();
+
+			assertThatThrownBy(() -> tm.doInTransaction(code))
+				.isInstanceOf(DatabaseOperationException.class)
+				.hasMessage(MSG_GENERIC);
+			verify(coinRepo, times(1)).findAll();
+		}
+
+		@Test
+		@DisplayName("Test that a transaction failed because of an illegal argument or of the code is not retried")
+		void testDoInTransactionWhenCodeFailsShouldNotRetry() {
+			RuntimeException ex = new RuntimeException("ex msg");
+			when(coinRepo.findById(any())).thenThrow(IllegalArgumentException.class).thenThrow(ex);
+
+			CoinAlbumTransactionCode<Coin> code = (CoinRepository cRepo, AlbumRepository aRepo) -> cRepo.findById(null);
+
+			assertThatThrownBy(() -> tm.doInTransaction(code))
+				.isInstanceOf(DatabaseOperationException.class)
+				.hasMessage(MSG_ILLEGAL_ARGUMENT);
+			assertThatThrownBy(() -> tm.doInTransaction(code))
+				.isSameAs(ex);
+			verify(coinRepo, times(2)).findById(any());
+		}
+
+		@Test
+		@DisplayName("Test that a real serialization failure is retried and the retry sees the concurrent changes")
+		void testDoInTransactionWhenConcurrentUpdateShouldRetryAndSucceed() {
+			PostgresTransactionManager realTm = new PostgresTransactionManager(emf, RETRY_POLICY,
+					Map.of(AlbumTransactionCode.class, IsolationLevel.REPEATABLE_READ));
+			Album album = realTm.doInTransaction((AlbumRepository repo) -> repo.save(new Album("Retry", 1, "Armadio", 50, 0)));
+			AtomicInteger attempts = new AtomicInteger();
+
+			// The first attempt reads the album, then a concurrent transaction updates it before the first one does
+			AlbumTransactionCode<Boolean> code = (AlbumRepository repo) -> {
+				repo.findFreshById(album.getId());
+				if (attempts.incrementAndGet() == 1)
+					CompletableFuture.runAsync(() -> realTm.doInTransaction((AlbumRepository other) -> other.occupySlots(album.getId(), 1))).join();
+				return repo.occupySlots(album.getId(), 1);
+			};
+
+			try {
+				assertThat(realTm.doInTransaction(code)).isTrue();
+				assertThat(attempts).hasValue(2);
+				assertThat(realTm.doInTransaction((AlbumRepository repo) -> repo.findFreshById(album.getId()).getOccupiedSlots())).isEqualTo(2);
+			} finally {
+				realTm.doInTransaction((AlbumRepository repo) -> {repo.delete(repo.findById(album.getId())); return null;});
+			}
+		}
+		@Test
+		@DisplayName("Test that addCoins retried after a serialization failure inserts the coins again, leaving the given ones untouched")
+		void testAddCoinsWhenSerializationFailureShouldInsertTheCoinsAgain() {
+			AtomicInteger attempts = new AtomicInteger();
+			PostgresTransactionManager realTm = new PostgresTransactionManager(emf, RETRY_POLICY, Map.of(),
+					transactionEm -> {
+						PostgresCoinRepository repo = spy(new PostgresCoinRepository(transactionEm));
+						// The first attempt fails once the coins have been inserted, as a concurrent transaction would make it fail;
+						// the other transactions of the test don't save coins at all
+						lenient().doAnswer(invocation -> {
+							Object saved = invocation.callRealMethod();
+							if (attempts.incrementAndGet() == 1)
+								throw transientFailure("40001");
+							return saved;
+						}).when(repo).saveAll(any());
+						return repo;
+					},
+					PostgresAlbumRepository::new, PostgresStatisticsRepository::new);
+			Album album = realTm.doInTransaction((AlbumRepository repo) -> repo.save(new Album("Retry", 2, "Armadio", 50, 0)));
+			List<Coin> coins = List.of(
+					new Coin(Grade.AG, "Italy", Year.of(2004), "Retried coin 1", "", album.getId()),
+					new Coin(Grade.AG, "Italy", Year.of(2005), "Retried coin 2", "", album.getId()));
+
+			try {
+				List<Coin> added = new CoinTransactionalManager(realTm).addCoins(coins);
+
+				assertThat(attempts).hasValue(2);
+				assertThat(coins).extracting(Coin::getId).containsOnlyNulls();
+				assertThat(added).containsExactlyElementsOf(coins).extracting(Coin::getId).doesNotContainNull();
+				assertThat(realTm.doInTransaction((CoinRepository repo) -> repo.findByAlbum(album.getId()))).containsExactlyInAnyOrderElementsOf(coins);
+				assertThat(realTm.doInTransaction((AlbumRepository repo) -> repo.findFreshById(album.getId()).getOccupiedSlots())).isEqualTo(2);
+			} finally {
+				realTm.doInTransaction((CoinRepository repo) -> {repo.findByAlbum(album.getId()).forEach(coin -> repo.delete(repo.findById(coin.getId()))); return null;});
+				realTm.doInTransaction((AlbumRepository repo) -> {repo.delete(repo.findById(album.getId())); return null;});
+			}
 		}
 	}
 
-	@AfterEach
-	public void cleanTest() throws Exception {
-		em.clear();
-		em.close();
+	@Nested
+	@DisplayName("Tests for the isolation level of the transactions")
+	class Isolation {
+		@Test
+		@DisplayName("Test that the transactions run at the isolation level configured for their type of code, the others at the default one")
+		void testDoInTransactionRunsAtTheConfiguredIsolationLevel() {
+			tm = newTransactionManager(RetryPolicy.noRetry(), Map.of(CoinAlbumTransactionCode.class, IsolationLevel.SERIALIZABLE,
+					StatisticsTransactionCode.class, IsolationLevel.REPEATABLE_READ));
+
+			CoinAlbumTransactionCode<Integer> coinAlbumCode = (CoinRepository cRepo, AlbumRepository aRepo) -> isolationLevel();
+			StatisticsTransactionCode<Integer> statisticsCode = (StatisticsRepository repo) -> isolationLevel();
+			CoinTransactionCode<Integer> coinCode = (CoinRepository repo) -> isolationLevel();
+
+			assertThat(tm.doInTransaction(coinAlbumCode)).isEqualTo(Connection.TRANSACTION_SERIALIZABLE);
+			assertThat(tm.doInReadOnlyTransaction(statisticsCode)).isEqualTo(Connection.TRANSACTION_REPEATABLE_READ);
+			assertThat(tm.doInTransaction(coinCode)).isEqualTo(Connection.TRANSACTION_READ_COMMITTED);
+		}
+
+		@Test
+		@DisplayName("Test that the isolation levels can't be set for other types than the transaction codes")
+		void testConstructorWithIsolationLevelOfOtherTypeShouldThrowException() {
+			Map<Class<?>, IsolationLevel> isolationLevels = Map.of(Runnable.class, IsolationLevel.SERIALIZABLE);
+
+			assertThatThrownBy(() -> new PostgresTransactionManager(emf, RetryPolicy.noRetry(), isolationLevels))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Isolation levels can be set only for the types of transaction code");
+		}
 	}
 
 	@AfterAll
 	public static void cleanTestCase() {
 		emf.close();
 	}
+
+	// Private methods
+	private PostgresTransactionManager newTransactionManager(RetryPolicy retryPolicy, Map<Class<?>, IsolationLevel> isolationLevels) {
+		return new PostgresTransactionManager(emf, retryPolicy, isolationLevels,
+				transactionEm -> {em = transactionEm; return coinRepo;},
+				transactionEm -> {em = transactionEm; return albumRepo;},
+				transactionEm -> {em = transactionEm; return statisticsRepo;});
+	}
+
+	private int isolationLevel() {
+		return em.unwrap(Session.class).doReturningWork(Connection::getTransactionIsolation);
+	}
+
+	private PersistenceException transientFailure(String sqlState) {
+		return new PersistenceException(new SQLException("failure", sqlState));
+	}
 }
@@ -0,0 +1,261 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transfer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.answer;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import io.github.kevinmaggi.coin_collection_manager.business.service.AlbumManager;
+import io.github.kevinmaggi.coin_collection_manager.business.service.CoinManager;
+import io.github.kevinmaggi.coin_collection_manager.business.service.exception.AlbumNotFoundException;
+import io.github.kevinmaggi.coin_collection_manager.business.service.exception.DatabaseException;
+import io.github.kevinmaggi.coin_collection_manager.business.service.exception.DuplicateCoinException;
+import io.github.kevinmaggi.coin_collection_manager.business.service.exception.FullAlbumException;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+
+class CoinImporterTestCase {
+	// Tests variables
+	private static final String HEADER = "grade,country,minting_year,description,note,album_name,album_volume\n";
+
+	private UUID UUID_ALBUM = UUID.fromString("123e4567-e89b-12d3-a456-426614174001");
+
+	private Coin COIN_1 = new Coin(Grade.AG, "Italy", Year.of(2004), "2€ comm. World Food Programme", "", null);
+	private Coin COIN_2 = new Coin(Grade.VF, "Greece", Year.of(-44), "Denarius of Caesar", "minting error", null);
+	private Coin COIN_3 = new Coin(Grade.G, "Italy", Year.of(1995), "500 Lire", "", UUID_ALBUM);
+
+	// Tests
+	private AutoCloseable closeable;
+	@Mock
+	CoinManager coinManager;
+	@Mock
+	AlbumManager albumManager;
+
+	private Album album;
+	private List<RejectedRow> rejected;
+
+	@BeforeEach
+	void setupTestCase() {
+		closeable = MockitoAnnotations.openMocks(this);
+
+		album = spy(new Album("Europa pre-euro", 1, "Armadio", 50, 48));
+		when(album.getId()).thenReturn(UUID_ALBUM);
+		when(albumManager.findAlbumByNameAndVolume("Europa pre-euro", 1)).thenReturn(album);
+		when(albumManager.findAlbumByNameAndVolume("Europa", 2)).thenThrow(new AlbumNotFoundException("Doesn't exist such album in the DB"));
+		rejected = new ArrayList<>();
+	}
+
+	@Nested
+	@DisplayName("Tests for method CoinImporter::importCoins")
+	class ImportCoins {
+		@Test
+		@DisplayName("Test that the valid rows are added in batches of the given size")
+		void testImportAddsTheCoinsInBatches() throws IOException {
+			String csv = HEADER
+					+ "AG,Italy,2004,2€ comm. World Food Programme,,,\n"
+					+ "Very Fine,Greece,-44,Denarius of Caesar,minting error,,\n"
+					+ "g, Italy ,1995,500 Lire,,Europa pre-euro,1\n";
+
+			ImportReport report = new CoinImporter(coinManager, albumManager, 2, 2).importCoins(new StringReader(csv), ImportFormat.CSV, rejected::add);
+
+			assertThat(report).isEqualTo(new ImportReport(3, 3, 0));
+			assertThat(rejected).isEmpty();
+			verify(coinManager).addCoins(List.of(COIN_1, COIN_2));
+			verify(coinManager).addCoins(List.of(COIN_3));
+		}
+
+		@Test
+		@DisplayName("Test that the rows of a JSON file are imported")
+		void testImportJson() throws IOException {
+			String json = "[{\"grade\": \"G\", \"country\": \"Italy\", \"minting_year\": 1995, \"description\": \"500 Lire\","
+					+ " \"album_name\": \"Europa pre-euro\", \"album_volume\": 1}]";
+
+			ImportReport report = new CoinImporter(coinManager, albumManager, 10, 1).importCoins(new StringReader(json), ImportFormat.JSON, rejected::add);
+
+			assertThat(report).isEqualTo(new ImportReport(1, 1, 0));
+			verify(coinManager).addCoins(List.of(COIN_3));
+		}
+
+		@Test
+		@DisplayName("Test that the invalid rows are rejected with their reason, in the order of the file")
+		void testImportRejectsInvalidRows() throws IOException {
+			String csv = HEADER
+					+ ",Italy,2004,2€ comm. World Food Programme,,,\n"
+					+ "XX,Italy,2004,2€ comm. World Food Programme,,,\n"
+					+ "AG,Italy,MMIV,2€ comm. World Food Programme,,,\n"
+					+ "AG,Italy,2004,2€ comm. World Food Programme,,Europa pre-euro,\n"
+					+ "AG,Italy,2004,2€ comm. World Food Programme,,Europa,2\n"
+					+ "AG,Italy,2004\n"
+					+ "AG,Italy,2004,2€ comm. World Food Programme,,,\n";
+
+			ImportReport report = new CoinImporter(coinManager, albumManager, 2, 3).importCoins(new StringReader(csv), ImportFormat.CSV, rejected::add);
+
+			assertThat(report).isEqualTo(new ImportReport(7, 1, 6));
+			assertThat(rejected).containsExactly(
+					new RejectedRow(2, "Missing grade"),
+					new RejectedRow(3, "Invalid grade: XX"),
+					new RejectedRow(4, "Invalid minting_year: MMIV"),
+					new RejectedRow(5, "Album name and volume must be given together"),
+					new RejectedRow(6, "Album not found: Europa vol. 2"),
+					new RejectedRow(7, "Expected 7 fields, found 3"));
+			verify(coinManager).addCoins(List.of(COIN_1));
+		}
+
+		@Test
+		@DisplayName("Test that every album is found only once by a thread")
+		void testImportFindsEveryAlbumOnce() throws IOException {
+			String csv = HEADER
+					+ "G,Italy,1995,500 Lire,,Europa pre-euro,1\n"
+					+ "G,Italy,1996,500 Lire,,Europa pre-euro,1\n";
+
+			new CoinImporter(coinManager, albumManager, 1, 1).importCoins(new StringReader(csv), ImportFormat.CSV, rejected::add);
+
+			verify(albumManager, times(1)).findAlbumByNameAndVolume("Europa pre-euro", 1);
+		}
+
+		@Test
+		@DisplayName("Test that the rows that don't fit in their album, and the ones repeated, are rejected before adding")
+		void testImportRejectsCoinsNotFittingTheAlbum() throws IOException {
+			String csv = HEADER
+					+ "G,Italy,1995,500 Lire,,Europa pre-euro,1\n"
+					+ "G,Italy,1995,500 Lire,,Europa pre-euro,1\n"
+					+ "G,Italy,1996,500 Lire,,Europa pre-euro,1\n"
+					+ "G,Italy,1997,500 Lire,,Europa pre-euro,1\n";
+
+			ImportReport report = new CoinImporter(coinManager, albumManager, 4, 1).importCoins(new StringReader(csv), ImportFormat.CSV, rejected::add);
+
+			assertThat(report).isEqualTo(new ImportReport(4, 2, 2));
+			assertThat(rejected).containsExactly(
+					new RejectedRow(3, "Coin already present"),
+					new RejectedRow(5, "Album is full: Europa pre-euro vol. 1"));
+			verify(coinManager).addCoins(List.of(COIN_3, new Coin(Grade.G, "Italy", Year.of(1996), "500 Lire", "", UUID_ALBUM)));
+		}
+
+		@Test
+		@DisplayName("Test that the coins of a batch rejected by the DB are added one by one")
+		void testImportAddsOneByOneWhenTheBatchIsRejected() throws IOException {
+			String csv = HEADER
+					+ "AG,Italy,2004,2€ comm. World Food Programme,,,\n"
+					+ "VF,Greece,-44,Denarius of Caesar,minting error,,\n"
+					+ "G,Italy,1995,500 Lire,,Europa pre-euro,1\n";
+			doThrow(new DuplicateCoinException("Such coin is already present in the DB")).when(coinManager).addCoins(anyCollection());
+			when(coinManager.addCoin(COIN_2)).thenThrow(new DuplicateCoinException("Such coin is already present in the DB"));
+			when(coinManager.addCoin(COIN_3)).thenThrow(new FullAlbumException("Can't add such coin to the album because it's already full"));
+
+			ImportReport report = new CoinImporter(coinManager, albumManager, 3, 1).importCoins(new StringReader(csv), ImportFormat.CSV, rejected::add);
+
+			assertThat(report).isEqualTo(new ImportReport(3, 1, 2));
+			assertThat(rejected).containsExactly(
+					new RejectedRow(3, "Coin already present"),
+					new RejectedRow(4, "Album is full: Europa pre-euro vol. 1"));
+			verify(coinManager).addCoin(COIN_1);
+		}
+
+		@Test
+		@DisplayName("Test that a batch with coins already in DB is added again without them")
+		void testImportAddsTheBatchAgainWithoutTheDuplicates() throws IOException {
+			String csv = HEADER
+					+ "AG,Italy,2004,2€ comm. World Food Programme,,,\n"
+					+ "VF,Greece,-44,Denarius of Caesar,minting error,,\n"
+					+ "G,Italy,1995,500 Lire,,Europa pre-euro,1\n";
+			doThrow(new DuplicateCoinException("Such coin is already present in the DB", List.of(COIN_2)))
+				.when(coinManager).addCoins(List.of(COIN_1, COIN_2, COIN_3));
+
+			ImportReport report = new CoinImporter(coinManager, albumManager, 3, 1).importCoins(new StringReader(csv), ImportFormat.CSV, rejected::add);
+
+			assertThat(report).isEqualTo(new ImportReport(3, 2, 1));
+			assertThat(rejected).containsExactly(new RejectedRow(3, "Coin already present"));
+			verify(coinManager).addCoins(List.of(COIN_1, COIN_3));
+			verify(coinManager, never()).addCoin(any());
+		}
+
+		@Test
+		@DisplayName("Test that many rows are all imported, in order")
+		void testImportManyRows() throws IOException {
+			StringBuilder csv = new StringBuilder(HEADER);
+			for (int year = 1; year <= 10000; year++)
+				csv.append("F,Italy,").append(year).append(",1 Lira,,,\n");
+			List<Integer> added = new ArrayList<>();
+			doAnswer(answer((Collection<Coin> coins) -> {
+				coins.forEach(coin -> added.add(coin.getMintingYear().getValue()));
+				return null;
+			})).when(coinManager).addCoins(anyCollection());
+
+			ImportReport report = new CoinImporter(coinManager, albumManager, 100, 4).importCoins(new StringReader(csv.toString()), ImportFormat.CSV, rejected::add);
+
+			assertThat(report).isEqualTo(new ImportReport(10000, 10000, 0));
+			verify(coinManager, times(100)).addCoins(anyCollection());
+			assertThat(added).isEqualTo(IntStream.rangeClosed(1, 10000).boxed().collect(Collectors.toList()));
+		}
+
+		@Test
+		@DisplayName("Test that a DB error stops the import, throwing DatabaseException")
+		void testImportWhenDatabaseFailsShouldThrowException() {
+			String csv = HEADER + "AG,Italy,2004,2€ comm. World Food Programme,,,\n";
+			doThrow(new DatabaseException("Something went wrong during the DB querying")).when(coinManager).addCoins(anyCollection());
+
+			assertThatThrownBy(() -> new CoinImporter(coinManager, albumManager, 1, 1).importCoins(new StringReader(csv), ImportFormat.CSV, rejected::add))
+				.isInstanceOf(DatabaseException.class);
+			verify(coinManager, never()).addCoin(any());
+		}
+
+		@Test
+		@DisplayName("Test that a malformed file throws IOException")
+		void testImportMalformedFileShouldThrowException() {
+			assertThatThrownBy(() -> new CoinImporter(coinManager, albumManager, 1, 1).importCoins(new StringReader("{\"grade\": AG}"), ImportFormat.JSON, rejected::add))
+				.isInstanceOf(IOException.class);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the constructor of CoinImporter")
+	class Constructor {
+		@Test
+		@DisplayName("Test that a null manager throws IllegalArgumentException")
+		void testConstructorWithNullManagerShouldThrowException() {
+			assertThatThrownBy(() -> new CoinImporter(null, albumManager, 1, 1))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Coin manager can't be null");
+		}
+
+		@Test
+		@DisplayName("Test that a batch size not positive throws IllegalArgumentException")
+		void testConstructorWithBatchSizeNotPositiveShouldThrowException() {
+			assertThatThrownBy(() -> new CoinImporter(coinManager, albumManager, 0, 1))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Batch size must be positive");
+		}
+	}
+
+	@AfterEach
+	void releaseMocks() throws Exception {
+		closeable.close();
+	}
+}
@@ -0,0 +1,79 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transfer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class CsvRecordReaderTestCase {
+	@Nested
+	@DisplayName("Tests for method CsvRecordReader::next")
+	class Next {
+		@Test
+		@DisplayName("Test that the fields are read by the names of the header, with the line where the record starts")
+		void testNextReadsTheFieldsByHeader() throws IOException {
+			CsvRecordReader reader = new CsvRecordReader(new StringReader("grade, country\r\nAG,Italy\r\nVF,Greece\r\n"));
+
+			SourceRecord first = reader.next();
+			SourceRecord second = reader.next();
+
+			assertThat(first.getFields()).isEqualTo(Map.of("grade", "AG", "country", "Italy"));
+			assertThat(first.getRow()).isEqualTo(2);
+			assertThat(first.getError()).isNull();
+			assertThat(second.getFields()).isEqualTo(Map.of("grade", "VF", "country", "Greece"));
+			assertThat(second.getRow()).isEqualTo(3);
+			assertThat(reader.next()).isNull();
+		}
+
+		@Test
+		@DisplayName("Test that a quoted field can contain separators, line breaks and escaped quotes")
+		void testNextReadsQuotedFields() throws IOException {
+			CsvRecordReader reader = new CsvRecordReader(new StringReader("description,note\n\"2€, \"\"comm.\"\"\",\"first\nsecond\"\nlast,\n"));
+
+			SourceRecord first = reader.next();
+			SourceRecord second = reader.next();
+
+			assertThat(first.getFields()).isEqualTo(Map.of("description", "2€, \"comm.\"", "note", "first\nsecond"));
+			assertThat(second.getFields()).isEqualTo(Map.of("description", "last", "note", ""));
+			assertThat(second.getRow()).isEqualTo(4);
+		}
+
+		@Test
+		@DisplayName("Test that the blank lines, the byte order mark and a missing final line break are tolerated")
+		void testNextSkipsBlankLines() throws IOException {
+			CsvRecordReader reader = new CsvRecordReader(new StringReader("\uFEFFgrade\n\nAG\n\nVF"));
+
+			assertThat(reader.next().getFields()).isEqualTo(Map.of("grade", "AG"));
+			SourceRecord last = reader.next();
+			assertThat(last.getFields()).isEqualTo(Map.of("grade", "VF"));
+			assertThat(last.getRow()).isEqualTo(5);
+			assertThat(reader.next()).isNull();
+		}
+
+		@Test
+		@DisplayName("Test that a record with a wrong number of fields is read with an error")
+		void testNextWithWrongNumberOfFieldsHasError() throws IOException {
+			CsvRecordReader reader = new CsvRecordReader(new StringReader("grade,country\nAG\nVF,Greece\n"));
+
+			assertThat(reader.next().getError()).isEqualTo("Expected 2 fields, found 1");
+			assertThat(reader.next().getError()).isNull();
+		}
+
+		@Test
+		@DisplayName("Test that a quoted field not closed throws IOException")
+		void testNextWithQuotedFieldNotClosedShouldThrowException() throws IOException {
+			CsvRecordReader reader = new CsvRecordReader(new StringReader("grade\nAG\n\"VF\n"));
+			reader.next();
+
+			assertThatThrownBy(() -> reader.next())
+				.isInstanceOf(IOException.class)
+				.hasMessage("Quoted field not closed, starting at line 3");
+		}
+	}
+}
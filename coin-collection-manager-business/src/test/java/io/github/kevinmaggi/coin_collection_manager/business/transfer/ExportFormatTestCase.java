@@ -0,0 +1,155 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transfer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+
+class ExportFormatTestCase {
+	@Nested
+	@DisplayName("Tests for the writer of ExportFormat::CSV")
+	class Csv {
+		@Test
+		@DisplayName("Test that the coins written can be read again, quoted if needed")
+		void testWrittenCoinsCanBeRead() throws IOException {
+			String csv = write(ExportFormat.CSV, writer -> {
+				writer.write(Grade.AG, "Italy", 2004, "2€ comm. \"World Food Programme\"", "a, b\nc", "Europa pre-euro", 1);
+				writer.write(Grade.VF, "Ελλάδα", -44, "Denarius of Caesar", "", null, 0);
+			});
+			CsvRecordReader reader = new CsvRecordReader(new StringReader(csv));
+
+			assertThat(reader.next().getFields()).isEqualTo(Map.of("grade", "AG", "country", "Italy", "minting_year", "2004",
+					"description", "2€ comm. \"World Food Programme\"", "note", "a, b\nc", "album_name", "Europa pre-euro", "album_volume", "1"));
+			assertThat(reader.next().getFields()).isEqualTo(Map.of("grade", "VF", "country", "Ελλάδα", "minting_year", "-44",
+					"description", "Denarius of Caesar", "note", "", "album_name", "", "album_volume", ""));
+			assertThat(reader.next()).isNull();
+		}
+
+		@Test
+		@DisplayName("Test that more coins than fit in the buffer are all written")
+		void testManyCoinsAreAllWritten() throws IOException {
+			String csv = write(ExportFormat.CSV, writer -> {
+				for (int year = 1; year <= 20000; year++)
+					writer.write(Grade.F, "Italy", year, "1 Lira", "", null, 0);
+			});
+			CsvRecordReader reader = new CsvRecordReader(new StringReader(csv));
+
+			List<String> years = new ArrayList<>();
+			for (SourceRecord record = reader.next(); record != null; record = reader.next())
+				years.add(record.getFields().get("minting_year"));
+			assertThat(years).hasSize(20000).endsWith("20000");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the writer of ExportFormat::JSON_LINES")
+	class JsonLines {
+		@Test
+		@DisplayName("Test that the coins are written an object per line, that can be read again")
+		void testWrittenCoinsCanBeRead() throws IOException {
+			String json = write(ExportFormat.JSON_LINES, writer -> {
+				writer.write(Grade.AG, "Italy", 2004, "2€ \"comm.\"\\", "tab\there\u0001", "Europa pre-euro", 1);
+				writer.write(Grade.VF, "Greece", -44, "Denarius of Caesar", "", null, 0);
+			});
+			JsonRecordReader reader = new JsonRecordReader(new StringReader(json));
+
+			assertThat(json.lines()).hasSize(2);
+			assertThat(reader.next().getFields()).isEqualTo(Map.of("grade", "AG", "country", "Italy", "minting_year", "2004",
+					"description", "2€ \"comm.\"\\", "note", "tab\there\u0001", "album_name", "Europa pre-euro", "album_volume", "1"));
+			assertThat(reader.next().getFields()).isEqualTo(Map.of("grade", "VF", "country", "Greece", "minting_year", "-44",
+					"description", "Denarius of Caesar", "note", ""));
+			assertThat(reader.next()).isNull();
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the writer of ExportFormat::BINARY")
+	class Binary {
+		@Test
+		@DisplayName("Test that the coins are written in the binary format, the repeated countries and albums by number")
+		void testWrittenCoinsFollowTheFormat() throws IOException {
+			ByteBuffer file = ByteBuffer.wrap(write(ExportFormat.BINARY, writer -> {
+				writer.write(Grade.AG, "Italy", 2004, "2€", "", "Europa", 1);
+				writer.write(Grade.VF, "Italy", -44, "Denarius", "rare", "Europa", 200);
+				writer.write(Grade.G, "Greece", 1, "Drachma", "", null, 0);
+			}).getBytes(StandardCharsets.ISO_8859_1));
+
+			byte[] magic = new byte[4];
+			file.get(magic);
+			assertThat(new String(magic, StandardCharsets.US_ASCII)).isEqualTo("CCMB");
+			assertThat(file.get()).isEqualTo((byte) 1);
+
+			assertThat(file.get()).isEqualTo((byte) (Grade.AG.ordinal() + 1));
+			assertThat(readVarLong(file)).isZero();
+			assertThat(readText(file)).isEqualTo("Italy");
+			assertThat(readVarLong(file)).isEqualTo(4008);
+			assertThat(readText(file)).isEqualTo("2€");
+			assertThat(readText(file)).isEmpty();
+			assertThat(readVarLong(file)).isZero();
+			assertThat(readText(file)).isEqualTo("Europa");
+			assertThat(readVarLong(file)).isEqualTo(2);
+
+			assertThat(file.get()).isEqualTo((byte) (Grade.VF.ordinal() + 1));
+			assertThat(readVarLong(file)).isEqualTo(1);
+			assertThat(readVarLong(file)).isEqualTo(87);
+			assertThat(readText(file)).isEqualTo("Denarius");
+			assertThat(readText(file)).isEqualTo("rare");
+			assertThat(readVarLong(file)).isEqualTo(2);
+			assertThat(readVarLong(file)).isEqualTo(400);
+
+			assertThat(file.get()).isEqualTo((byte) (Grade.G.ordinal() + 1));
+			assertThat(readVarLong(file)).isZero();
+			assertThat(readText(file)).isEqualTo("Greece");
+			assertThat(readVarLong(file)).isEqualTo(2);
+			assertThat(readText(file)).isEqualTo("Drachma");
+			assertThat(readText(file)).isEmpty();
+			assertThat(file.get()).isZero();
+
+			assertThat(file.get()).isZero();
+			assertThat(file.hasRemaining()).isFalse();
+		}
+	}
+
+	// Private methods
+	private interface Coins {
+		void writeTo(CoinWriter writer) throws IOException;
+	}
+
+	// The bytes of the file as ISO-8859-1 text, to be decoded by the caller as needed
+	private String write(ExportFormat format, Coins coins) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		CoinWriter writer = format.newWriter(Channels.newChannel(bytes));
+		coins.writeTo(writer);
+		writer.finish();
+		return format == ExportFormat.BINARY ? bytes.toString(StandardCharsets.ISO_8859_1) : bytes.toString(StandardCharsets.UTF_8);
+	}
+
+	private long readVarLong(ByteBuffer file) {
+		long value = 0;
+		for (int shift = 0; ; shift += 7) {
+			byte b = file.get();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+	}
+
+	private String readText(ByteBuffer file) {
+		byte[] text = new byte[(int) readVarLong(file)];
+		file.get(text);
+		return new String(text, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,75 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transfer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class JsonRecordReaderTestCase {
+	@Nested
+	@DisplayName("Tests for method JsonRecordReader::next")
+	class Next {
+		@Test
+		@DisplayName("Test that the objects of an array are read, with the line where they start")
+		void testNextReadsAnArray() throws IOException {
+			JsonRecordReader reader = new JsonRecordReader(new StringReader("[\n"
+					+ "  {\"grade\": \"AG\", \"minting_year\": -44, \"note\": null},\n"
+					+ "  {\"description\": \"2\\u20ac \\\"comm.\\\"\\n\", \"proof\": true}\n"
+					+ "]\n"));
+
+			SourceRecord first = reader.next();
+			SourceRecord second = reader.next();
+
+			assertThat(first.getFields()).isEqualTo(Map.of("grade", "AG", "minting_year", "-44"));
+			assertThat(first.getRow()).isEqualTo(2);
+			assertThat(second.getFields()).isEqualTo(Map.of("description", "2€ \"comm.\"\n", "proof", "true"));
+			assertThat(second.getRow()).isEqualTo(3);
+			assertThat(reader.next()).isNull();
+			assertThat(reader.next()).isNull();
+		}
+
+		@Test
+		@DisplayName("Test that an object per line is read")
+		void testNextReadsJsonLines() throws IOException {
+			JsonRecordReader reader = new JsonRecordReader(new StringReader("{\"grade\":\"AG\"}\n{}\n{\"grade\":\"VF\"}"));
+
+			assertThat(reader.next().getFields()).isEqualTo(Map.of("grade", "AG"));
+			assertThat(reader.next().getFields()).isEmpty();
+			assertThat(reader.next().getRow()).isEqualTo(3);
+			assertThat(reader.next()).isNull();
+		}
+
+		@Test
+		@DisplayName("Test that an empty array has no records")
+		void testNextWithEmptyArray() throws IOException {
+			assertThat(new JsonRecordReader(new StringReader(" [ ] ")).next()).isNull();
+		}
+
+		@Test
+		@DisplayName("Test that a nested object throws IOException")
+		void testNextWithNestedObjectShouldThrowException() {
+			JsonRecordReader reader = new JsonRecordReader(new StringReader("[{\"album\": {\"name\": \"Europa\"}}]"));
+
+			assertThatThrownBy(() -> reader.next())
+				.isInstanceOf(IOException.class)
+				.hasMessage("Malformed JSON at line 1: Nested objects and arrays are not supported");
+		}
+
+		@Test
+		@DisplayName("Test that an array not closed throws IOException")
+		void testNextWithArrayNotClosedShouldThrowException() throws IOException {
+			JsonRecordReader reader = new JsonRecordReader(new StringReader("[{\"grade\": \"AG\"},\n"));
+			reader.next();
+
+			assertThatThrownBy(() -> reader.next())
+				.isInstanceOf(IOException.class)
+				.hasMessage("Malformed JSON at line 2: ']' expected");
+		}
+	}
+}
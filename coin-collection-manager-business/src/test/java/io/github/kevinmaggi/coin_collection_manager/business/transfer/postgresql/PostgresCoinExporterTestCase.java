@@ -0,0 +1,166 @@
+package io.github.kevinmaggi.coin_collection_manager.business.transfer.postgresql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Year;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import io.github.kevinmaggi.coin_collection_manager.business.service.exception.DatabaseException;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.function.CoinAlbumTransactionCode;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.TransactionManager;
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.postgresql.PostgresTransactionManagerFactory;
+import io.github.kevinmaggi.coin_collection_manager.business.transfer.ExportFilter;
+import io.github.kevinmaggi.coin_collection_manager.business.transfer.ExportFormat;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+
+@Testcontainers
+class PostgresCoinExporterTestCase {
+	// Tests variables
+	private static final String HEADER = "grade,country,minting_year,description,note,album_name,album_volume\r\n";
+
+	private Album ALBUM = new Album("Europa pre-euro", 1, "Armadio", 50, 0);
+	private Coin COIN_1 = new Coin(Grade.AG, "Italy", Year.of(1995), "500 Lire", "", null);
+	private Coin COIN_2 = new Coin(Grade.VF, "Greece", Year.of(-44), "Denarius, of Caesar", "minting error", null);
+
+	// Tests
+	@Container
+	private static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:15.1")
+																		.withDatabaseName("databasename")
+																		.withUsername("postgres-test")
+																		.withPassword("postgres-test");
+
+	private static EntityManagerFactory emf;
+	private static TransactionManager tm;
+
+	@TempDir
+	Path directory;
+
+	private PostgresCoinExporter exporter;
+
+	@BeforeAll
+	static void setUpTestCase() {
+		System.setProperty("db.port", postgreSQLContainer.getFirstMappedPort().toString());
+		emf = Persistence.createEntityManagerFactory("postgres-test");
+		tm = new PostgresTransactionManagerFactory(emf).getTransactionManager();
+	}
+
+	@BeforeEach
+	void setUpTest() {
+		EntityManager em = emf.createEntityManager();
+		em.getTransaction().begin();
+		em.createNativeQuery("TRUNCATE coins, albums").executeUpdate();
+		em.getTransaction().commit();
+		em.close();
+
+		tm.doInTransaction((CoinAlbumTransactionCode<Void>) (coinRepo, albumRepo) -> {
+			albumRepo.save(ALBUM);
+			COIN_1.setAlbum(ALBUM.getId());
+			coinRepo.saveAll(List.of(COIN_1, COIN_2));
+			return null;
+		});
+		exporter = new PostgresCoinExporter(emf, 1);
+	}
+
+	@Nested
+	@DisplayName("Tests for method PostgresCoinExporter::exportCoins")
+	class ExportCoins {
+		@Test
+		@DisplayName("Test that all the coins are exported, with the name and volume of their album")
+		void testExportAllCoins() throws IOException {
+			Path file = directory.resolve("coins.csv");
+
+			assertThat(exporter.exportCoins(file, ExportFormat.CSV, ExportFilter.ALL, false)).isEqualTo(2);
+
+			assertThat(Files.readString(file)).startsWith(HEADER)
+				.contains("AG,Italy,1995,500 Lire,,Europa pre-euro,1\r\n")
+				.contains("VF,Greece,-44,\"Denarius, of Caesar\",minting error,,\r\n");
+		}
+
+		@Test
+		@DisplayName("Test that only the coins matching the filter are exported")
+		void testExportFilteredCoins() throws IOException {
+			assertThat(export(new ExportFilter(ALBUM.getId(), null, null))).isEqualTo(HEADER + "AG,Italy,1995,500 Lire,,Europa pre-euro,1\r\n");
+			assertThat(export(new ExportFilter(null, "Greece", null))).isEqualTo(HEADER + "VF,Greece,-44,\"Denarius, of Caesar\",minting error,,\r\n");
+			assertThat(export(new ExportFilter(null, "Italy", Grade.VF))).isEqualTo(HEADER);
+		}
+
+		@Test
+		@DisplayName("Test that a compressed file is written with gzip")
+		void testExportCompressed() throws IOException {
+			Path file = directory.resolve("coins.jsonl.gz");
+
+			exporter.exportCoins(file, ExportFormat.JSON_LINES, new ExportFilter(null, "Greece", null), true);
+
+			try (InputStream input = new GZIPInputStream(Files.newInputStream(file))) {
+				assertThat(new String(input.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("{\"grade\":\"VF\",\"country\":\"Greece\","
+						+ "\"minting_year\":-44,\"description\":\"Denarius, of Caesar\",\"note\":\"minting error\"}\n");
+			}
+		}
+
+		@Test
+		@DisplayName("Test that when the DB can't be queried DatabaseException is thrown")
+		void testExportWhenDatabaseFailsShouldThrowException() {
+			EntityManager em = emf.createEntityManager();
+			em.getTransaction().begin();
+			em.createNativeQuery("ALTER TABLE albums RENAME TO old_albums").executeUpdate();
+			em.getTransaction().commit();
+
+			try {
+				assertThatThrownBy(() -> export(ExportFilter.ALL)).isInstanceOf(DatabaseException.class);
+			} finally {
+				em.getTransaction().begin();
+				em.createNativeQuery("ALTER TABLE old_albums RENAME TO albums").executeUpdate();
+				em.getTransaction().commit();
+				em.close();
+			}
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the constructor of PostgresCoinExporter")
+	class Constructor {
+		@Test
+		@DisplayName("Test that a fetch size not positive throws IllegalArgumentException")
+		void testConstructorWithFetchSizeNotPositiveShouldThrowException() {
+			assertThatThrownBy(() -> new PostgresCoinExporter(emf, 0))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Fetch size must be positive");
+		}
+	}
+
+	@AfterAll
+	static void tearDownTestCase() {
+		emf.close();
+	}
+
+	private String export(ExportFilter filter) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		exporter.exportCoins(Channels.newChannel(bytes), ExportFormat.CSV, filter);
+		return bytes.toString(StandardCharsets.UTF_8);
+	}
+}
@@ -2,19 +2,56 @@ package io.github.kevinmaggi.coin_collection_manager.core.model;
 
 import java.util.Objects;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.NamedNativeQuery;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.QueryHint;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 
 /**
  * Represents an album that can contain coin.
+ * Albums change rarely, so they (and the results of the most frequent queries) are kept in the second-level cache
+ * when the persistence unit enables it. Their slot counters change at every coin written instead: they are updated by native
+ * statements that evict only the album they touch, see {@code PostgresAlbumRepository}.
+ * The queries on albums are declared here, so that they are parsed and validated once, when the persistence unit boots.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "albums")
+@NamedQuery(name = "Album.findAll", query = "SELECT a FROM Album a", hints = {
+		@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+		@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "album-queries")})
+@NamedQuery(name = "Album.findAllSummaries", query = Album.SELECT_SUMMARY + "FROM Album a")
+@NamedQuery(name = "Album.findFirstPage", query = "SELECT a FROM Album a ORDER BY a.id")
+@NamedQuery(name = "Album.findPageAfter", query = "SELECT a FROM Album a WHERE a.id > :after ORDER BY a.id")
+@NamedQuery(name = "Album.findByIds", query = "SELECT a FROM Album a WHERE a.id IN :ids")
+@NamedQuery(name = "Album.findByNames", query = "SELECT a FROM Album a WHERE a.name IN :keys")
+@NamedQuery(name = "Album.findByNameAndVolume", query = "SELECT a FROM Album a WHERE a.name = :name AND a.volume = :volume", hints = {
+		@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+		@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "album-queries")})
+@NamedNativeQuery(name = "Album.occupySlots", query = "UPDATE albums SET number_of_occupied_slots = number_of_occupied_slots + :count, "
+		+ "version = version + 1 WHERE id = :id AND number_of_occupied_slots + :count <= number_of_slots")
+@NamedNativeQuery(name = "Album.releaseSlots", query = "UPDATE albums SET number_of_occupied_slots = number_of_occupied_slots - :count, "
+		+ "version = version + 1 WHERE id = :id AND number_of_occupied_slots >= :count")
+@NamedQuery(name = "Album.findFills", query = "SELECT new io.github.kevinmaggi.coin_collection_manager.core.model.AlbumFill("
+		+ "a.id, a.name, a.volume, a.occupiedSlots, a.numberOfSlots) FROM Album a ORDER BY a.name, a.volume")
 @Table (name = "albums", uniqueConstraints = {
 		@UniqueConstraint(columnNames = {"name", "volume"})})
 public class Album extends BaseEntity {
 
+	/**
+	 * Select clause of the queries that build {@code AlbumSummary}s.
+	 */
+	static final String SELECT_SUMMARY = "SELECT new io.github.kevinmaggi.coin_collection_manager.core.model.AlbumSummary("
+			+ "a.id, a.name, a.volume, a.location, a.numberOfSlots, a.occupiedSlots) ";
+
 	/**
 	 * Name of the album.
 	 */
@@ -45,6 +82,12 @@ public class Album extends BaseEntity {
 	@Column(name = "number_of_occupied_slots")
 	private int occupiedSlots;
 
+	/**
+	 * Label returned by {@code toString}, rebuilt only when any of the fields it shows has changed since: they are changed
+	 * by the persistence provider too, without passing through the setters.
+	 */
+	private transient Label label;
+
 	/**
 	 * Constructs a new {@code Album} specifying all its characteristics.
 	 *
@@ -109,12 +152,20 @@ public class Album extends BaseEntity {
 
 	@Override
 	public String toString() {
-		return name + " vol." + volume + " [" + occupiedSlots + "/" + numberOfSlots + "] (" + location + ")";
+		Label current = label;
+		if (current == null || !current.isOf(this)) {
+			current = new Label(this);
+			label = current;
+		}
+		return current.text;
 	}
 
+	/**
+	 * Same value as {@code Objects.hash(name, volume)}, without boxing the volume in a new array.
+	 */
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.name, this.volume);
+		return 31 * (31 + Objects.hashCode(this.name)) + this.volume;
 	}
 
 	@Override
@@ -126,6 +177,31 @@ public class Album extends BaseEntity {
 		if (getClass() != obj.getClass())
 			return false;
 		Album other = (Album) obj;
-		return Objects.equals(this.name, other.name) && Objects.equals(this.volume, other.volume);
+		return this.volume == other.volume && Objects.equals(this.name, other.name);
+	}
+
+	// Immutable, so a label is never seen half built by another thread
+	private static final class Label {
+		private final String name;
+		private final int volume;
+		private final String location;
+		private final int numberOfSlots;
+		private final int occupiedSlots;
+		private final String text;
+
+		private Label(Album album) {
+			this.name = album.name;
+			this.volume = album.volume;
+			this.location = album.location;
+			this.numberOfSlots = album.numberOfSlots;
+			this.occupiedSlots = album.occupiedSlots;
+			this.text = name + " vol." + volume + " [" + occupiedSlots + "/" + numberOfSlots + "] (" + location + ")";
+		}
+
+		// Comparing the strings by identity is enough, an equal copy only costs a new label
+		private boolean isOf(Album album) {
+			return name == album.name && volume == album.volume && location == album.location
+					&& numberOfSlots == album.numberOfSlots && occupiedSlots == album.occupiedSlots;
+		}
 	}
 }
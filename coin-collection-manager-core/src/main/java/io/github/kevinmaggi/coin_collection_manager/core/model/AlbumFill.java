@@ -0,0 +1,84 @@
+package io.github.kevinmaggi.coin_collection_manager.core.model;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * How much an {@code Album} is filled, as computed by an aggregate query.
+ */
+public final class AlbumFill {
+	private final UUID album;
+	private final String name;
+	private final int volume;
+	private final int occupiedSlots;
+	private final int numberOfSlots;
+
+	/**
+	 * Constructs a new {@code AlbumFill}.
+	 *
+	 * @param album			Id of the album
+	 * @param name			Name of the album
+	 * @param volume		Volume of the album
+	 * @param occupiedSlots	Number of coins that the album stores
+	 * @param numberOfSlots	Number of total slots of the album
+	 */
+	public AlbumFill(UUID album, String name, int volume, int occupiedSlots, int numberOfSlots) {
+		this.album = album;
+		this.name = name;
+		this.volume = volume;
+		this.occupiedSlots = occupiedSlots;
+		this.numberOfSlots = numberOfSlots;
+	}
+
+	public UUID getAlbum() {
+		return album;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getVolume() {
+		return volume;
+	}
+
+	public int getOccupiedSlots() {
+		return occupiedSlots;
+	}
+
+	public int getNumberOfSlots() {
+		return numberOfSlots;
+	}
+
+	/**
+	 * Get the fraction of occupied slots.
+	 *
+	 * @return	the fill ratio, between 0 and 1, or 0 if the album has no slots
+	 */
+	public double getFillRatio() {
+		return numberOfSlots == 0 ? 0 : (double) occupiedSlots / numberOfSlots;
+	}
+
+	@Override
+	public String toString() {
+		return name + " vol." + volume + " [" + occupiedSlots + "/" + numberOfSlots + "]";
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(album, name, volume, occupiedSlots, numberOfSlots);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		AlbumFill other = (AlbumFill) obj;
+		return Objects.equals(this.album, other.album) && Objects.equals(this.name, other.name) && this.volume == other.volume
+				&& this.occupiedSlots == other.occupiedSlots && this.numberOfSlots == other.numberOfSlots;
+	}
+}
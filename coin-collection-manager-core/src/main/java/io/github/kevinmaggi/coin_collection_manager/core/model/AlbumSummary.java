@@ -0,0 +1,107 @@
+package io.github.kevinmaggi.coin_collection_manager.core.model;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Read-only view of an {@code Album}, with just what is needed to list it.
+ * Summaries are built by the queries with a constructor expression, so they aren't managed (nor dirty-checked)
+ * by the persistence context: to change an album its full entity must be fetched by id.
+ */
+public final class AlbumSummary {
+	private final UUID id;
+	private final String name;
+	private final int volume;
+	private final String location;
+	private final int numberOfSlots;
+	private final int occupiedSlots;
+	// Racy like String's hash: at worst the label is built more than once
+	private String label;
+
+	/**
+	 * Constructs a new {@code AlbumSummary} specifying all its characteristics.
+	 *
+	 * @param id			Id of the album
+	 * @param name			Name of the album
+	 * @param volume		Volume of the album
+	 * @param location		Where the album is located
+	 * @param numberOfSlots	Number of total slots of the album
+	 * @param occupiedSlots	Number of coins that the album stores
+	 */
+	public AlbumSummary(UUID id, String name, int volume, String location, int numberOfSlots, int occupiedSlots) {
+		this.id = id;
+		this.name = name;
+		this.volume = volume;
+		this.location = location;
+		this.numberOfSlots = numberOfSlots;
+		this.occupiedSlots = occupiedSlots;
+	}
+
+	/**
+	 * Constructs the summary of an {@code Album}.
+	 *
+	 * @param album	the {@code Album}
+	 * @return		its summary
+	 */
+	public static AlbumSummary of(Album album) {
+		return new AlbumSummary(album.getId(), album.getName(), album.getVolume(), album.getLocation(), album.getNumberOfSlots(),
+				album.getOccupiedSlots());
+	}
+
+	public UUID getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getVolume() {
+		return volume;
+	}
+
+	public String getLocation() {
+		return location;
+	}
+
+	public int getNumberOfSlots() {
+		return numberOfSlots;
+	}
+
+	public int getOccupiedSlots() {
+		return occupiedSlots;
+	}
+
+	/**
+	 * The label is built at the first call and then kept, since the lists call it at every repaint.
+	 */
+	@Override
+	public String toString() {
+		String result = label;
+		if (result == null) {
+			result = name + " vol." + volume + " [" + occupiedSlots + "/" + numberOfSlots + "] (" + location + ")";
+			label = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Summaries identify an album, so they are equal if they have the same id, even if one of them is outdated.
+	 */
+	@Override
+	public int hashCode() {
+		return Objects.hashCode(id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		AlbumSummary other = (AlbumSummary) obj;
+		return Objects.equals(this.id, other.id);
+	}
+}
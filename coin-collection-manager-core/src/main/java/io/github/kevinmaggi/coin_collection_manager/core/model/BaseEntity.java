@@ -4,9 +4,11 @@ import java.util.UUID;
 
 import org.hibernate.annotations.UuidGenerator;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Version;
 
 /**
  * Represents an entity to be persisted.
@@ -22,6 +24,13 @@ public abstract class BaseEntity {
 	@UuidGenerator
 	private UUID id;
 
+	/**
+	 * Version for optimistic locking, incremented at every update of the entity.
+	 */
+	@Version
+	@Column(name = "version", columnDefinition = "bigint default 0", nullable = false)
+	private long version;
+
 	protected BaseEntity() {
 		super();
 	}
@@ -30,6 +39,10 @@ public abstract class BaseEntity {
 		return id;
 	}
 
+	public long getVersion() {
+		return version;
+	}
+
 	@Override
 	public abstract String toString();
 
@@ -1,24 +1,80 @@
 package io.github.kevinmaggi.coin_collection_manager.core.model;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Year;
 import java.util.Objects;
 import java.util.UUID;
 
 import io.github.kevinmaggi.coin_collection_manager.core.utility.YearAttributeConverter;
 import jakarta.persistence.Column;
+import jakarta.persistence.ColumnResult;
+import jakarta.persistence.ConstructorResult;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.NamedNativeQuery;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.SqlResultSetMapping;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 
 /**
  * Represents a coin.
+ * The queries on coins are declared here, so that they are parsed and validated once, when the persistence unit boots.
+ * Two coins are the same coin if they have the same fingerprint, which is unique in the database.
  */
 @Entity
+@NamedQuery(name = "Coin.findAll", query = "SELECT c FROM Coin c")
+@NamedQuery(name = "Coin.findFirstPage", query = "SELECT c FROM Coin c ORDER BY c.id")
+@NamedQuery(name = "Coin.findPageAfter", query = "SELECT c FROM Coin c WHERE c.id > :after ORDER BY c.id")
+@NamedQuery(name = "Coin.findByIds", query = "SELECT c FROM Coin c WHERE c.id IN :ids")
+@NamedQuery(name = "Coin.findByFingerprints", query = "SELECT c FROM Coin c WHERE c.fingerprint IN :keys")
+@NamedQuery(name = "Coin.findByDescription", query = "SELECT c FROM Coin c WHERE c.description LIKE :description")
+@NamedQuery(name = "Coin.findByAlbum", query = "SELECT c FROM Coin c WHERE c.album = :album")
+@NamedQuery(name = "Coin.deleteByAlbum", query = "DELETE FROM Coin c WHERE c.album = :album")
+@NamedQuery(name = "Coin.findAllSummaries", query = Coin.SELECT_SUMMARY + "FROM Coin c")
+@NamedQuery(name = "Coin.findSummariesByAlbum", query = Coin.SELECT_SUMMARY + "FROM Coin c WHERE c.album = :album")
+@NamedQuery(name = "Coin.findSummariesByDescription", query = Coin.SELECT_SUMMARY + "FROM Coin c WHERE c.description LIKE :description")
+@NamedQuery(name = "Coin.findByFingerprint", query = "SELECT c FROM Coin c WHERE c.fingerprint = :fingerprint")
+@NamedQuery(name = "Coin.countByAlbum", query = Coin.SELECT_COUNT + "c.album, COUNT(c)) FROM Coin c GROUP BY c.album")
+@NamedQuery(name = "Coin.countByCountry", query = Coin.SELECT_COUNT + "c.country, COUNT(c)) FROM Coin c GROUP BY c.country ORDER BY c.country")
+@NamedQuery(name = "Coin.countByGrade", query = Coin.SELECT_COUNT + "c.grade, COUNT(c)) FROM Coin c GROUP BY c.grade ORDER BY c.grade")
+@NamedNativeQuery(name = "Coin.countByDecade", resultSetMapping = "Coin.countByDecade", query = "SELECT "
+		+ "CAST(floor(minting_year / 10.0) * 10 AS integer) AS decade, COUNT(*) AS coins FROM coins GROUP BY decade ORDER BY decade")
+@SqlResultSetMapping(name = "Coin.countByDecade", classes = @ConstructorResult(targetClass = CoinCount.class, columns = {
+		@ColumnResult(name = "decade", type = Integer.class), @ColumnResult(name = "coins", type = Long.class)}))
+@NamedNativeQuery(name = "Coin.searchByDescription", resultClass = Coin.class, query = "SELECT * FROM coins "
+		+ "WHERE description ILIKE :pattern ORDER BY similarity(description, :description) DESC, id")
+@NamedNativeQuery(name = "Coin.insertIfAbsent", resultClass = Coin.class, query = "INSERT INTO coins "
+		+ "(id, version, grade, country, minting_year, description, note, album, fingerprint) "
+		+ "VALUES (gen_random_uuid(), 0, :grade, :country, :year, :description, :note, :album, :fingerprint) "
+		+ "ON CONFLICT ON CONSTRAINT " + Coin.FINGERPRINT_CONSTRAINT + " DO NOTHING RETURNING *")
 @Table(name = "coins", uniqueConstraints = {
-		@UniqueConstraint(columnNames = {"grade", "country", "minting_year", "description", "note"})})
+		@UniqueConstraint(name = Coin.FINGERPRINT_CONSTRAINT, columnNames = {"fingerprint"})})
 public class Coin extends BaseEntity {
 
+	/**
+	 * Name of the unique constraint on the fingerprint, used as conflict target when inserting.
+	 */
+	public static final String FINGERPRINT_CONSTRAINT = "coins_fingerprint_key";
+
+	/**
+	 * Select clause of the queries that build {@code CoinSummary}s.
+	 */
+	static final String SELECT_SUMMARY = "SELECT new io.github.kevinmaggi.coin_collection_manager.core.model.CoinSummary("
+			+ "c.id, c.grade, c.country, c.mintingYear, c.description, c.note, c.album) ";
+
+	/**
+	 * Select clause of the queries that count the coins grouped by a characteristic, to complete with the key and the count.
+	 */
+	static final String SELECT_COUNT = "SELECT new io.github.kevinmaggi.coin_collection_manager.core.model.CoinCount(";
+
+	/**
+	 * Separator of the fields hashed in the fingerprint, a control character that can't be typed in a text field.
+	 */
+	private static final String FINGERPRINT_SEPARATOR = "\u001F";
+
 	/**
 	 * Coin's conditions/quality.
 	 */
@@ -56,6 +112,20 @@ public class Coin extends BaseEntity {
 	@Column(name = "album")
 	private UUID album;
 
+	/**
+	 * MD5 hash of the fields that identify the coin, kept up to date by the setters.
+	 * It's nullable in the mapping only to let the schema update add it to existing tables,
+	 * {@code PostgresSchemaInitializer} fills it and makes it not null.
+	 */
+	@Column(name = "fingerprint", length = 32)
+	private String fingerprint;
+
+	/**
+	 * Label returned by {@code toString}, built once for each fingerprint: every way of changing the fields it shows, the
+	 * setters as well as the persistence provider, sets a new fingerprint too.
+	 */
+	private transient Label label;
+
 	/**
 	 * Constructs a new {@code Coin} specifying all its characteristics.
 	 *
@@ -74,6 +144,7 @@ public class Coin extends BaseEntity {
 		this.description = description;
 		this.note = note;
 		this.album = album;
+		updateFingerprint();
 	}
 
 	protected Coin() {
@@ -86,6 +157,7 @@ public class Coin extends BaseEntity {
 
 	public void setGrade(Grade grade) {
 		this.grade = grade;
+		updateFingerprint();
 	}
 
 	public String getCountry() {
@@ -94,6 +166,7 @@ public class Coin extends BaseEntity {
 
 	public void setCountry(String country) {
 		this.country = country;
+		updateFingerprint();
 	}
 
 	public Year getMintingYear() {
@@ -102,6 +175,7 @@ public class Coin extends BaseEntity {
 
 	public void setMintingYear(Year mintingYear) {
 		this.mintingYear = mintingYear;
+		updateFingerprint();
 	}
 
 	public String getDescription() {
@@ -110,6 +184,7 @@ public class Coin extends BaseEntity {
 
 	public void setDescription(String description) {
 		this.description = description;
+		updateFingerprint();
 	}
 
 	public String getNote() {
@@ -118,6 +193,7 @@ public class Coin extends BaseEntity {
 
 	public void setNote(String note) {
 		this.note = note;
+		updateFingerprint();
 	}
 
 	public UUID getAlbum() {
@@ -128,14 +204,71 @@ public class Coin extends BaseEntity {
 		this.album = album;
 	}
 
+	public String getFingerprint() {
+		return fingerprint;
+	}
+
+	private void updateFingerprint() {
+		this.fingerprint = fingerprintOf(grade, country, mintingYear, description, note);
+	}
+
+	/**
+	 * Computes the fingerprint of a coin: the hex MD5 hash of the grade's ordinal, the country, the minting year,
+	 * the description and the note, separated by {@code U+001F}.
+	 * The same value is computed by Postgres with {@code md5(grade || chr(31) || country || ...)}.
+	 *
+	 * @param grade			{@code Grade} of the coin
+	 * @param country		Country of the coin
+	 * @param mintingYear	Minting year of the coin
+	 * @param description	Description of the coin
+	 * @param note			Possible notes of the coin
+	 * @return				the fingerprint, or null if any argument is null
+	 */
+	public static String fingerprintOf(Grade grade, String country, Year mintingYear, String description, String note) {
+		if (grade == null || country == null || mintingYear == null || description == null || note == null)
+			return null;
+		else {
+			String key = String.join(FINGERPRINT_SEPARATOR,
+					String.valueOf(grade.ordinal()), country, String.valueOf(mintingYear.getValue()), description, note);
+			try {
+				byte[] hash = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+				StringBuilder hex = new StringBuilder(2 * hash.length);
+				for (byte b : hash)
+					hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+				return hex.toString();
+			} catch (NoSuchAlgorithmException e) {
+				// every Java platform is required to support MD5
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
 	@Override
 	public String toString() {
+		if (fingerprint == null)
+			return buildLabel();
+		Label current = label;
+		if (current == null || current.fingerprint != fingerprint) {
+			current = new Label(fingerprint, buildLabel());
+			label = current;
+		}
+		return current.text;
+	}
+
+	private String buildLabel() {
 		return "[" + country + " " + mintingYear + "] {" + grade.toString() + "} " + description + " (" + note + ")";
 	}
 
+	/**
+	 * The fingerprint is computed from the fields compared by {@code equals} and {@code String} caches its hash, so the fields
+	 * are hashed again only if the fingerprint is missing.
+	 */
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.grade, this.country, this.mintingYear, this.description, this.note);
+		if (fingerprint != null)
+			return fingerprint.hashCode();
+		else
+			return Objects.hash(this.grade, this.country, this.mintingYear, this.description, this.note);
 	}
 
 	@Override
@@ -151,4 +284,15 @@ public class Coin extends BaseEntity {
 				Objects.equals(this.mintingYear, other.mintingYear) && Objects.equals(this.description, other.description) &&
 				Objects.equals(this.note, other.note);
 	}
+
+	// Immutable, so a label is never seen half built by another thread
+	private static final class Label {
+		private final String fingerprint;
+		private final String text;
+
+		private Label(String fingerprint, String text) {
+			this.fingerprint = fingerprint;
+			this.text = text;
+		}
+	}
 }
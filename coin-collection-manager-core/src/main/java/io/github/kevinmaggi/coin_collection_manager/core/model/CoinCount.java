@@ -0,0 +1,56 @@
+package io.github.kevinmaggi.coin_collection_manager.core.model;
+
+import java.util.Objects;
+
+/**
+ * Number of coins that share the same value of a characteristic (e.g. the same country), as computed by an aggregate query.
+ *
+ * @param <K> Type of the characteristic
+ */
+public final class CoinCount<K> {
+	private final K key;
+	private final long count;
+
+	/**
+	 * Constructs a new {@code CoinCount}.
+	 * The key is declared as {@code Object} so that the queries can build it with a constructor expression whatever the key is.
+	 *
+	 * @param key		Value of the characteristic, it may be null (e.g. the coins not stored in any album)
+	 * @param count		Number of coins with that value
+	 */
+	@SuppressWarnings("unchecked")
+	public CoinCount(Object key, long count) {
+		this.key = (K) key;
+		this.count = count;
+	}
+
+	public K getKey() {
+		return key;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	@Override
+	public String toString() {
+		return key + ": " + count;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(key, count);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		CoinCount<?> other = (CoinCount<?>) obj;
+		return Objects.equals(this.key, other.key) && this.count == other.count;
+	}
+}
@@ -0,0 +1,115 @@
+package io.github.kevinmaggi.coin_collection_manager.core.model;
+
+import java.time.Year;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Read-only view of a {@code Coin}, with just what is needed to list it.
+ * Summaries are built by the queries with a constructor expression, so they aren't managed (nor dirty-checked)
+ * by the persistence context: to change a coin its full entity must be fetched by id.
+ */
+public final class CoinSummary {
+	private final UUID id;
+	private final Grade grade;
+	private final String country;
+	private final Year mintingYear;
+	private final String description;
+	private final String note;
+	private final UUID album;
+	// Racy like String's hash: at worst the label is built more than once
+	private String label;
+
+	/**
+	 * Constructs a new {@code CoinSummary} specifying all its characteristics.
+	 *
+	 * @param id			Id of the coin
+	 * @param grade			{@code Grade} of the coin
+	 * @param country		Country of the coin
+	 * @param mintingYear	Minting year of the coin
+	 * @param description	Description of the coin
+	 * @param note			Possible notes of the coin
+	 * @param album			Id of the {@code Album} in which the coin is stored
+	 */
+	public CoinSummary(UUID id, Grade grade, String country, Year mintingYear, String description, String note, UUID album) {
+		this.id = id;
+		this.grade = grade;
+		this.country = country;
+		this.mintingYear = mintingYear;
+		this.description = description;
+		this.note = note;
+		this.album = album;
+	}
+
+	/**
+	 * Constructs the summary of a {@code Coin}.
+	 *
+	 * @param coin	the {@code Coin}
+	 * @return		its summary
+	 */
+	public static CoinSummary of(Coin coin) {
+		return new CoinSummary(coin.getId(), coin.getGrade(), coin.getCountry(), coin.getMintingYear(), coin.getDescription(),
+				coin.getNote(), coin.getAlbum());
+	}
+
+	public UUID getId() {
+		return id;
+	}
+
+	public Grade getGrade() {
+		return grade;
+	}
+
+	public String getCountry() {
+		return country;
+	}
+
+	public Year getMintingYear() {
+		return mintingYear;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public String getNote() {
+		return note;
+	}
+
+	public UUID getAlbum() {
+		return album;
+	}
+
+	/**
+	 * The label is built at the first call and then kept, since the lists call it at every repaint.
+	 */
+	@Override
+	public String toString() {
+		String result = label;
+		if (result == null) {
+			result = "[" + country + " " + mintingYear + "] {" + grade.toString() + "} " + description + " (" + note + ")";
+			label = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Summaries identify a coin, so they are equal if they have the same id, even if one of them is outdated.
+	 */
+	@Override
+	public int hashCode() {
+		return Objects.hashCode(id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		CoinSummary other = (CoinSummary) obj;
+		return Objects.equals(this.id, other.id);
+	}
+}
@@ -1,4 +1,4 @@
 /**
- * This package describes all the entities of the coin collection model.
+ * This package describes all the entities of the coin collection model and their read-only summaries and statistics.
  */
 package io.github.kevinmaggi.coin_collection_manager.core.model;
\ No newline at end of file
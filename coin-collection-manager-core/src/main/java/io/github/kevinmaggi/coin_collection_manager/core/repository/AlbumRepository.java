@@ -1,12 +1,23 @@
 package io.github.kevinmaggi.coin_collection_manager.core.repository;
 
+import java.util.List;
+import java.util.UUID;
+
 import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.AlbumSummary;
 
 /**
  * Interface for repository layer for {@code Album} entity.
  */
 public interface AlbumRepository extends BaseRepository<Album> {
 
+	/**
+	 * Get the summaries of all the {@code Album}s contained in the database.
+	 *
+	 * @return		A list with the summaries of all the {@code Album}s
+	 */
+	public List<AlbumSummary> findAllSummaries();
+
 	/**
 	 * Get {@code Album}s by their name.
 	 *
@@ -16,4 +27,31 @@ public interface AlbumRepository extends BaseRepository<Album> {
 	 * @throws IllegalArgumentException 	If the {@code name} is null
 	 */
 	public Album findByNameAndVolume(String name, int volume) throws IllegalArgumentException;
+
+	/**
+	 * Atomically occupy some slots of an {@code Album}, only if they are all free.
+	 *
+	 * @param id		the {@code Album}'s id
+	 * @param count		the number of slots to occupy
+	 * @return			true if the slots have been occupied, false if the {@code Album} doesn't have enough free slots (or doesn't exist)
+	 * @throws IllegalArgumentException 	If the {@code id} is null or the {@code count} is negative
+	 */
+	public boolean occupySlots(UUID id, int count) throws IllegalArgumentException;
+
+	/**
+	 * Atomically release some slots of an {@code Album}, only if they are all occupied.
+	 *
+	 * @param id		the {@code Album}'s id
+	 * @param count		the number of slots to release
+	 * @return			true if the slots have been released, false if the {@code Album} has less occupied slots (or doesn't exist)
+	 * @throws IllegalArgumentException 	If the {@code id} is null or the {@code count} is negative
+	 */
+	public boolean releaseSlots(UUID id, int count) throws IllegalArgumentException;
+
+	/**
+	 * Get the usage statistics of the cache of {@code Album}s and of their queries.
+	 *
+	 * @return			the statistics, all zero if the cache (or the statistics collection) is disabled
+	 */
+	public CacheStatistics getCacheStatistics();
 }
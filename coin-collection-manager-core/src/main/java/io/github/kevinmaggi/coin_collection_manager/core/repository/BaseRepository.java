@@ -1,7 +1,9 @@
 package io.github.kevinmaggi.coin_collection_manager.core.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import io.github.kevinmaggi.coin_collection_manager.core.model.BaseEntity;
 
@@ -19,8 +21,29 @@ public interface BaseRepository<T extends BaseEntity> {
 	 */
 	List<T> findAll();
 
+	/**
+	 * Get a page of {@code T entity} ordered by id, starting right after the given id (keyset pagination).
+	 * The returned {@code T entities} are detached, so that browsing many pages doesn't fill the persistence context.
+	 *
+	 * @param after	id of the last {@code T entity} of the previous page, or null for the first page
+	 * @param limit	maximum number of {@code T entities} in the page
+	 * @return		A list with at most {@code limit} {@code T entities}
+	 * @throws IllegalArgumentException 	If the {@code limit} is not positive
+	 */
+	List<T> findPage(UUID after, int limit) throws IllegalArgumentException;
+
+	/**
+	 * Get all the {@code T entity} contained in the database as a stream, fetched lazily and detached one by one.
+	 * The stream must be consumed and closed inside the same transaction that opened it.
+	 *
+	 * @return		A stream with all the {@code T entities}
+	 */
+	Stream<T> streamAll();
+
 	/**
 	 * Get a {@code T entity} by its id.
+	 * If the {@code T entity} is already in the persistence context it's returned as is, without reading the database:
+	 * stale state is detected by the optimistic version check when the {@code T entity} is written.
 	 *
 	 * @param id 	{@code T entity} id
 	 * @return 		the {@code T entity}
@@ -28,6 +51,26 @@ public interface BaseRepository<T extends BaseEntity> {
 	 */
 	T findById(UUID id) throws IllegalArgumentException;
 
+	/**
+	 * Get a {@code T entity} by its id, always re-reading its state from the database.
+	 *
+	 * @param id 	{@code T entity} id
+	 * @return 		the {@code T entity}, or null if it's not (anymore) in the database
+	 * @throws IllegalArgumentException 	If the {@code id} is null
+	 */
+	T findFreshById(UUID id) throws IllegalArgumentException;
+
+	/**
+	 * Get the {@code T entities} with any of the given ids.
+	 * The lookup is done with one query for each batch of ids; as for {@link #findById(UUID)}, the {@code T entities} already in
+	 * the persistence context are returned as they are.
+	 *
+	 * @param ids 	{@code T entities} ids
+	 * @return 		a list with the {@code T entities} found, in no particular order: the ones not (anymore) in the database are missing
+	 * @throws IllegalArgumentException 	If the collection is null
+	 */
+	List<T> findAllById(Collection<UUID> ids) throws IllegalArgumentException;
+
 	/**
 	 * Persist (add or update) a {@code T entity} in the database.
 	 *
@@ -37,6 +80,26 @@ public interface BaseRepository<T extends BaseEntity> {
 	 */
 	T save(T t) throws IllegalArgumentException;
 
+	/**
+	 * Persist (add or update) many {@code T entities} in the database, sending the statements in batches.
+	 * The returned {@code T entities} are detached, so that saving many of them doesn't fill the persistence context.
+	 *
+	 * @param ts	the {@code T entities} to save
+	 * @return		the saved {@code T entities}, in the same order
+	 * @throws IllegalArgumentException 	If the collection or any {@code T entity} in it is null
+	 */
+	List<T> saveAll(Collection<T> ts) throws IllegalArgumentException;
+
+	/**
+	 * Get the {@code T entities} in the database equal (i.e. with the same natural key) to any of the given ones.
+	 * The lookup is done with one query for each batch of {@code T entities}.
+	 *
+	 * @param ts	the {@code T entities} to look for
+	 * @return		a list with the {@code T entities} already in the database
+	 * @throws IllegalArgumentException 	If the collection is null
+	 */
+	List<T> findAllMatching(Collection<T> ts) throws IllegalArgumentException;
+
 	/**
 	 * Remove a {@code T entity} from the database.
 	 *
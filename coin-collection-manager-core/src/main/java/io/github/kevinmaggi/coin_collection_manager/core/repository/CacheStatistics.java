@@ -0,0 +1,81 @@
+package io.github.kevinmaggi.coin_collection_manager.core.repository;
+
+import java.util.Objects;
+
+/**
+ * Snapshot of the usage statistics of a cache, cumulative since the application started.
+ */
+public final class CacheStatistics {
+	/**
+	 * Statistics of a disabled cache.
+	 */
+	public static final CacheStatistics EMPTY = new CacheStatistics(0, 0, 0, 0);
+
+	private final long hits;
+	private final long misses;
+	private final long puts;
+	private final long evictions;
+
+	/**
+	 * Constructs a new snapshot.
+	 *
+	 * @param hits			number of lookups answered by the cache
+	 * @param misses		number of lookups that had to reach the database
+	 * @param puts			number of entries stored in the cache
+	 * @param evictions		number of entries removed from the cache to make room for new ones
+	 */
+	public CacheStatistics(long hits, long misses, long puts, long evictions) {
+		this.hits = hits;
+		this.misses = misses;
+		this.puts = puts;
+		this.evictions = evictions;
+	}
+
+	public long getHits() {
+		return hits;
+	}
+
+	public long getMisses() {
+		return misses;
+	}
+
+	public long getPuts() {
+		return puts;
+	}
+
+	public long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Get the fraction of lookups answered by the cache.
+	 *
+	 * @return	the hit ratio, 0 if there haven't been lookups
+	 */
+	public double getHitRatio() {
+		long lookups = hits + misses;
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+
+	@Override
+	public String toString() {
+		return "hits: " + hits + ", misses: " + misses + ", puts: " + puts + ", evictions: " + evictions;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(hits, misses, puts, evictions);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		CacheStatistics other = (CacheStatistics) obj;
+		return hits == other.hits && misses == other.misses && puts == other.puts && evictions == other.evictions;
+	}
+}
@@ -5,12 +5,20 @@ import java.util.List;
 import java.util.UUID;
 
 import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinSummary;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
 
 /**
  * Interface for repository layer for {@code Coin} entity.
  */
 public interface CoinRepository extends BaseRepository<Coin> {
+	/**
+	 * Get the summaries of all the {@code Coin}s contained in the database.
+	 *
+	 * @return		A list with the summaries of all the {@code Coin}s
+	 */
+	public List<CoinSummary> findAllSummaries();
+
 	/**
 	 * Get {@code Coin}s by their description.
 	 *
@@ -20,6 +28,24 @@ public interface CoinRepository extends BaseRepository<Coin> {
 	 */
 	public List<Coin> findByDescription(String description) throws IllegalArgumentException;
 
+	/**
+	 * Get the summaries of the {@code Coin}s by their description.
+	 *
+	 * @param description	{@code Coin}s' (part of) description
+	 * @return				a list with the summaries of the corresponding {@code Coin}s
+	 * @throws IllegalArgumentException 	If the {@code description} is null
+	 */
+	public List<CoinSummary> findSummariesByDescription(String description) throws IllegalArgumentException;
+
+	/**
+	 * Get {@code Coin}s whose description contains the given text ignoring case, the most similar first.
+	 *
+	 * @param description	{@code Coin}s' (part of) description
+	 * @return				a list with the corresponding {@code Coin}s, ranked by similarity
+	 * @throws IllegalArgumentException 	If the {@code description} is null
+	 */
+	public List<Coin> searchByDescription(String description) throws IllegalArgumentException;
+
 	/**
 	 * Get all the {@code Coin}s in a specific {@code Album}.
 	 *
@@ -29,6 +55,24 @@ public interface CoinRepository extends BaseRepository<Coin> {
 	 */
 	public List<Coin> findByAlbum(UUID id) throws IllegalArgumentException;
 
+	/**
+	 * Get the summaries of all the {@code Coin}s in a specific {@code Album}.
+	 *
+	 * @param id	the {@code Album}'s id
+	 * @return		a list with the summaries of all the {@code Coin}s
+	 * @throws IllegalArgumentException 	If the {@code id} is null
+	 */
+	public List<CoinSummary> findSummariesByAlbum(UUID id) throws IllegalArgumentException;
+
+	/**
+	 * Remove all the {@code Coin}s in a specific {@code Album} with a single statement.
+	 *
+	 * @param id	the {@code Album}'s id
+	 * @return		the number of removed {@code Coin}s
+	 * @throws IllegalArgumentException 	If the {@code id} is null
+	 */
+	public int deleteByAlbum(UUID id) throws IllegalArgumentException;
+
 	/**
 	 * Get a specific {@code Coin}.
 	 *
@@ -42,4 +86,13 @@ public interface CoinRepository extends BaseRepository<Coin> {
 	 */
 	public Coin findByGradeCountryYearDescriptionAndNote(Grade grade, String country, Year year, String description, String note)
 			throws IllegalArgumentException;
+
+	/**
+	 * Add a {@code Coin} to the database only if an equal one isn't already there, checking it with the same statement.
+	 *
+	 * @param coin	the {@code Coin} to add
+	 * @return		the added {@code Coin}, or null if an equal one is already in the database
+	 * @throws IllegalArgumentException 	If the {@code Coin} is null
+	 */
+	public Coin insertIfAbsent(Coin coin) throws IllegalArgumentException;
 }
@@ -0,0 +1,51 @@
+package io.github.kevinmaggi.coin_collection_manager.core.repository;
+
+import java.time.Year;
+import java.util.List;
+import java.util.UUID;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.AlbumFill;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinCount;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+
+/**
+ * Interface for repository layer for the statistics on the collection.
+ * The statistics are aggregated by the database, so that only the results are transferred, whatever the size of the collection.
+ */
+public interface StatisticsRepository {
+
+	/**
+	 * Count the coins stored in each album.
+	 *
+	 * @return		a list with the number of coins for each {@code Album}'s id (null for the coins not in an album)
+	 */
+	public List<CoinCount<UUID>> countCoinsByAlbum();
+
+	/**
+	 * Count the coins of each country.
+	 *
+	 * @return		a list with the number of coins for each country, ordered by country
+	 */
+	public List<CoinCount<String>> countCoinsByCountry();
+
+	/**
+	 * Count the coins of each grade.
+	 *
+	 * @return		a list with the number of coins for each {@code Grade}, ordered by grade
+	 */
+	public List<CoinCount<Grade>> countCoinsByGrade();
+
+	/**
+	 * Count the coins minted in each decade.
+	 *
+	 * @return		a list with the number of coins for each decade, identified by its first year, ordered by decade
+	 */
+	public List<CoinCount<Year>> countCoinsByDecade();
+
+	/**
+	 * Get how much each album is filled.
+	 *
+	 * @return		a list with the fill of each {@code Album}, ordered by name and volume
+	 */
+	public List<AlbumFill> findAlbumFills();
+}
@@ -0,0 +1,153 @@
+package io.github.kevinmaggi.coin_collection_manager.core.repository.memory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Append-only log of the commits of a {@code FileDatabase}, written through a memory-mapped file.
+ * The file starts with the generation of the snapshot the log applies to, followed by a record for each commit: the length of
+ * its block of changes, the checksum of the block and the block itself. The mapping is grown a chunk at a time, so the file
+ * ends with zeros: the first record that is empty, truncated or whose checksum doesn't match marks the end of the log, since
+ * it's a commit interrupted by a crash.
+ */
+final class CommitLog implements Closeable {
+	private static final int MAGIC = 0x43434D4C;
+	private static final int GENERATION = Integer.BYTES;
+	private static final int HEADER_SIZE = GENERATION + Long.BYTES;
+	private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+	private static final int CHUNK_SIZE = 1 << 20;
+
+	private final FileChannel channel;
+	private MappedByteBuffer buffer;
+	private int end;
+
+	private CommitLog(FileChannel channel) {
+		this.channel = channel;
+	}
+
+	/**
+	 * Open a log, creating it if it doesn't exist, and replay its commits.
+	 * A log that applies to an older snapshot has already been compacted into the current one, so it's emptied without replaying it.
+	 *
+	 * @param path			the file of the log
+	 * @param generation	the generation of the current snapshot
+	 * @param replay		replays the block of changes of a commit
+	 * @return				the log, ready to append new commits
+	 * @throws IOException	if the file can't be read, it's not a log or it applies to a newer snapshot than the current one
+	 */
+	static CommitLog open(Path path, long generation, Consumer<ByteBuffer> replay) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		CommitLog log = new CommitLog(channel);
+		try {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE)
+				throw new IOException("The commit log is too large: " + path);
+			log.map(Math.max((int) size, HEADER_SIZE));
+			if (size != 0 && log.buffer.getInt(0) != MAGIC)
+				throw new IOException("Not a commit log: " + path);
+			else if (size != 0 && log.buffer.getLong(GENERATION) > generation)
+				throw new IOException("The commit log applies to a newer snapshot than the current one: " + path);
+			else if (size != 0 && log.buffer.getLong(GENERATION) == generation)
+				log.replay(replay);
+			else {
+				log.end = log.buffer.capacity();
+				log.reset(generation);
+			}
+			return log;
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Append the block of changes of a commit and wait for it to be written to the disk.
+	 *
+	 * @param block			the block, from its position to its limit, left untouched
+	 * @throws IOException	if the block can't be written
+	 */
+	void append(ByteBuffer block) throws IOException {
+		int length = block.remaining();
+		long recordEnd = (long) end + RECORD_HEADER_SIZE + length;
+		if (recordEnd > Integer.MAX_VALUE)
+			throw new IOException("The commit log is too large");
+		if (recordEnd > buffer.capacity())
+			map((int) recordEnd);
+		buffer.putInt(end + Integer.BYTES, Records.checksum(block));
+		buffer.duplicate().position(end + RECORD_HEADER_SIZE).put(block.duplicate());
+		buffer.putInt(end, length);
+		buffer.force();
+		end = (int) recordEnd;
+	}
+
+	/**
+	 * Empty the log, so that it applies to a new snapshot.
+	 *
+	 * @param generation	the generation of the snapshot
+	 */
+	void reset(long generation) {
+		byte[] zeros = new byte[Math.min(end, CHUNK_SIZE)];
+		for (int position = 0; position < end; position += zeros.length)
+			buffer.duplicate().position(position).put(zeros, 0, Math.min(zeros.length, end - position));
+		buffer.putInt(0, MAGIC);
+		buffer.putLong(GENERATION, generation);
+		buffer.force();
+		end = HEADER_SIZE;
+	}
+
+	/**
+	 * Get the size of the commits in the log.
+	 *
+	 * @return	the size in bytes
+	 */
+	int size() {
+		return end - HEADER_SIZE;
+	}
+
+	/**
+	 * Close the file of the log.
+	 *
+	 * @throws IOException	if the file can't be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		buffer.force();
+		channel.close();
+	}
+
+	private void replay(Consumer<ByteBuffer> replay) {
+		int position = HEADER_SIZE;
+		while (position + RECORD_HEADER_SIZE <= buffer.capacity()) {
+			int length = buffer.getInt(position);
+			if (length <= 0 || length > buffer.capacity() - position - RECORD_HEADER_SIZE)
+				break;
+			ByteBuffer block = buffer.duplicate().position(position + RECORD_HEADER_SIZE).limit(position + RECORD_HEADER_SIZE + length);
+			if (Records.checksum(block) != buffer.getInt(position + Integer.BYTES))
+				break;
+			replay.accept(block.slice());
+			position += RECORD_HEADER_SIZE + length;
+		}
+		end = position;
+		// Clear what's left of an interrupted commit, so that it can't be taken for the continuation of the next one
+		int dirty = position;
+		for (int i = position; i < buffer.capacity(); i++) {
+			if (buffer.get(i) != 0)
+				dirty = i + 1;
+		}
+		if (dirty > position) {
+			buffer.duplicate().position(position).put(new byte[dirty - position]);
+			buffer.force();
+		}
+	}
+
+	private void map(int size) throws IOException {
+		long chunks = ((long) size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.min(chunks * CHUNK_SIZE, Integer.MAX_VALUE));
+	}
+}
@@ -0,0 +1,123 @@
+package io.github.kevinmaggi.coin_collection_manager.core.repository.memory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.time.Year;
+import java.util.UUID;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.BaseEntity;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+
+/**
+ * Copies of the entities kept in memory.
+ * The id and the version of an entity have no setters, since they are generated by the persistence provider: they are written
+ * with the same field access used by Hibernate, as are the fields of the {@code Coin}s, so that copying them or reading them
+ * from a file doesn't compute their fingerprint again.
+ */
+final class Entities {
+	private static final VarHandle ID;
+	private static final VarHandle VERSION;
+	private static final MethodHandle NEW_COIN;
+	private static final VarHandle GRADE;
+	private static final VarHandle COUNTRY;
+	private static final VarHandle MINTING_YEAR;
+	private static final VarHandle DESCRIPTION;
+	private static final VarHandle NOTE;
+	private static final VarHandle ALBUM;
+	private static final VarHandle FINGERPRINT;
+
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(BaseEntity.class, MethodHandles.lookup());
+			ID = lookup.findVarHandle(BaseEntity.class, "id", UUID.class);
+			VERSION = lookup.findVarHandle(BaseEntity.class, "version", long.class);
+			MethodHandles.Lookup coinLookup = MethodHandles.privateLookupIn(Coin.class, MethodHandles.lookup());
+			NEW_COIN = coinLookup.findConstructor(Coin.class, MethodType.methodType(void.class));
+			GRADE = coinLookup.findVarHandle(Coin.class, "grade", Grade.class);
+			COUNTRY = coinLookup.findVarHandle(Coin.class, "country", String.class);
+			MINTING_YEAR = coinLookup.findVarHandle(Coin.class, "mintingYear", Year.class);
+			DESCRIPTION = coinLookup.findVarHandle(Coin.class, "description", String.class);
+			NOTE = coinLookup.findVarHandle(Coin.class, "note", String.class);
+			ALBUM = coinLookup.findVarHandle(Coin.class, "album", UUID.class);
+			FINGERPRINT = coinLookup.findVarHandle(Coin.class, "fingerprint", String.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private Entities() {}
+
+	/**
+	 * Copy a {@code Coin}, with its id and version.
+	 * The fingerprint is copied too, instead of hashing the fields again.
+	 *
+	 * @param coin	the {@code Coin} to copy
+	 * @return		the copy
+	 */
+	static Coin copyOf(Coin coin) {
+		return coin(coin.getId(), coin.getVersion(), coin.getGrade(), coin.getCountry(), coin.getMintingYear(), coin.getDescription(),
+				coin.getNote(), coin.getAlbum(), coin.getFingerprint());
+	}
+
+	/**
+	 * Build a {@code Coin} with all its fields, taking its fingerprint as is instead of hashing the other ones.
+	 *
+	 * @param id			its id
+	 * @param version		its version
+	 * @param grade			its {@code Grade}
+	 * @param country		its country
+	 * @param mintingYear	its minting year
+	 * @param description	its description
+	 * @param note			its note
+	 * @param album			its {@code Album}'s id, or null
+	 * @param fingerprint	its fingerprint
+	 * @return				the {@code Coin}
+	 */
+	static Coin coin(UUID id, long version, Grade grade, String country, Year mintingYear, String description, String note,
+			UUID album, String fingerprint) {
+		Coin coin;
+		try {
+			coin = (Coin) NEW_COIN.invoke();
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+		GRADE.set(coin, grade);
+		COUNTRY.set(coin, country);
+		MINTING_YEAR.set(coin, mintingYear);
+		DESCRIPTION.set(coin, description);
+		NOTE.set(coin, note);
+		ALBUM.set(coin, album);
+		FINGERPRINT.set(coin, fingerprint);
+		return withIdentity(coin, id, version);
+	}
+
+	/**
+	 * Copy an {@code Album}, with its id and version.
+	 *
+	 * @param album	the {@code Album} to copy
+	 * @return		the copy
+	 */
+	static Album copyOf(Album album) {
+		Album copy = new Album(album.getName(), album.getVolume(), album.getLocation(), album.getNumberOfSlots(), album.getOccupiedSlots());
+		return withIdentity(copy, album.getId(), album.getVersion());
+	}
+
+	/**
+	 * Set the id and the version of an entity.
+	 *
+	 * @param <T>		type of the entity
+	 * @param entity	the entity
+	 * @param id		its id
+	 * @param version	its version
+	 * @return			the same entity
+	 */
+	static <T extends BaseEntity> T withIdentity(T entity, UUID id, long version) {
+		ID.set(entity, id);
+		VERSION.set(entity, version);
+		return entity;
+	}
+}
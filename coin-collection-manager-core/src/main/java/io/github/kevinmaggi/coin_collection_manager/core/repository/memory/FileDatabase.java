@@ -0,0 +1,185 @@
+package io.github.kevinmaggi.coin_collection_manager.core.repository.memory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * An {@code InMemoryDatabase} stored in a directory, for deployments without a database server.
+ * The rows are kept in a snapshot file and the changes made since then in a log file, where every commit is appended (and
+ * written to the disk) before being applied in memory. When the log grows too large, and when the database is closed, it's
+ * compacted into a new snapshot.
+ * At startup the snapshot is loaded and the log replayed, up to the last commit written entirely before a crash, if any.
+ * Both files are memory-mapped and the rows are stored as fixed-width binary records (see {@code Records}), so they're read
+ * without parsing; the secondary indexes are rebuilt when first used.
+ */
+public class FileDatabase extends InMemoryDatabase implements Closeable {
+	/**
+	 * Size of the log beyond which it's compacted into a new snapshot, unless otherwise specified.
+	 */
+	public static final int DEFAULT_COMPACTION_THRESHOLD = 64 << 20;
+
+	private static final Logger LOGGER = LogManager.getLogger(FileDatabase.class);
+
+	private static final String SNAPSHOT = "collection.snapshot";
+	private static final String LOG = "collection.log";
+
+	// Snapshot file: magic number, generation, length and checksum of the block of rows, block of rows
+	private static final int MAGIC = 0x43434D53;
+	private static final int GENERATION = Integer.BYTES;
+	private static final int LENGTH = GENERATION + Long.BYTES;
+	private static final int CHECKSUM = LENGTH + Integer.BYTES;
+	private static final int HEADER_SIZE = CHECKSUM + Integer.BYTES;
+
+	private final Path directory;
+	private final int compactionThreshold;
+	private long generation = 0;
+	private CommitLog log;
+	private boolean closed = false;
+
+	private FileDatabase(Path directory, int compactionThreshold) {
+		this.directory = directory;
+		this.compactionThreshold = compactionThreshold;
+	}
+
+	/**
+	 * Open the database stored in a directory, creating it if it doesn't exist.
+	 *
+	 * @param directory		the directory
+	 * @return				the database, with all the committed rows loaded
+	 * @throws IOException	if the files of the database can't be read
+	 */
+	public static FileDatabase open(Path directory) throws IOException {
+		return open(directory, DEFAULT_COMPACTION_THRESHOLD);
+	}
+
+	/**
+	 * Open the database stored in a directory, creating it if it doesn't exist.
+	 *
+	 * @param directory				the directory
+	 * @param compactionThreshold	size in bytes of the log beyond which it's compacted into a new snapshot
+	 * @return						the database, with all the committed rows loaded
+	 * @throws IOException			if the files of the database can't be read
+	 * @throws IllegalArgumentException		if the threshold is not positive
+	 */
+	public static FileDatabase open(Path directory, int compactionThreshold) throws IOException, IllegalArgumentException {
+		if (compactionThreshold <= 0)
+			throw new IllegalArgumentException("Compaction threshold must be positive");
+		Files.createDirectories(directory);
+		FileDatabase database = new FileDatabase(directory, compactionThreshold);
+		database.loadSnapshot();
+		database.log = CommitLog.open(directory.resolve(LOG), database.generation, database::apply);
+		return database;
+	}
+
+	/**
+	 * Write the changes of a transaction to the log, then apply them all at once.
+	 *
+	 * @param transaction	the transaction
+	 * @throws PersistenceException		if the database is closed or the log can't be written, the changes are not applied
+	 */
+	@Override
+	void commit(InMemoryTransaction transaction) {
+		Map<UUID, Coin> coinChanges = transaction.getCoins().getChanges();
+		Map<UUID, Album> albumChanges = transaction.getAlbums().getChanges();
+		if (!coinChanges.isEmpty() || !albumChanges.isEmpty()) {
+			if (closed)
+				throw new PersistenceException("The database is closed");
+			try {
+				log.append(Records.encode(coinChanges, albumChanges));
+			} catch (IOException e) {
+				throw new PersistenceException("Can't write the commit to the log", e);
+			}
+		}
+		super.commit(transaction);
+		if (log.size() > compactionThreshold) {
+			try {
+				compact();
+			} catch (IOException e) {
+				// The log still has all the commits, the next one tries again
+				LOGGER.warn("Can't compact the log of {}, it will be retried at the next commit.", directory, e);
+			}
+		}
+	}
+
+	/**
+	 * Compact the log into a new snapshot and close the files, waiting for the write transaction being executed, if any.
+	 * The rows can still be read, but no more changes can be committed.
+	 *
+	 * @throws IOException	if the snapshot can't be written, the log is kept
+	 */
+	@Override
+	public void close() throws IOException {
+		InMemoryTransaction transaction = begin(false);
+		try {
+			if (!closed) {
+				closed = true;
+				try {
+					if (log.size() > 0)
+						compact();
+				} finally {
+					log.close();
+				}
+			}
+		} finally {
+			transaction.rollback();
+		}
+	}
+
+	private void loadSnapshot() throws IOException {
+		Path snapshot = directory.resolve(SNAPSHOT);
+		if (!Files.exists(snapshot))
+			return;
+		try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+			if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE)
+				throw new IOException("Not a snapshot: " + snapshot);
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			int length = buffer.getInt(LENGTH);
+			if (buffer.getInt(0) != MAGIC || length < 0 || length > buffer.capacity() - HEADER_SIZE)
+				throw new IOException("Not a snapshot: " + snapshot);
+			ByteBuffer block = buffer.duplicate().position(HEADER_SIZE).limit(HEADER_SIZE + length).slice();
+			if (Records.checksum(block) != buffer.getInt(CHECKSUM))
+				throw new IOException("The snapshot is corrupted: " + snapshot);
+			generation = buffer.getLong(GENERATION);
+			apply(block);
+		}
+	}
+
+	private void apply(ByteBuffer block) {
+		Records.decode(block, coins::apply, albums::apply);
+	}
+
+	// Writers must be excluded, the readers can go on
+	private void compact() throws IOException {
+		Path temporary = directory.resolve(SNAPSHOT + ".tmp");
+		ByteBuffer block = Records.encode(coins.rowsAfter(null), albums.rowsAfter(null));
+		try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) block.remaining());
+			buffer.putInt(MAGIC).putLong(generation + 1).putInt(block.remaining()).putInt(Records.checksum(block)).put(block);
+			buffer.force();
+		}
+		Files.move(temporary, directory.resolve(SNAPSHOT), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		// The rename must be on the disk before the log is reset, or a crash could leave the old snapshot with an empty log
+		try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+			channel.force(true);
+		}
+		generation++;
+		log.reset(generation);
+	}
+}
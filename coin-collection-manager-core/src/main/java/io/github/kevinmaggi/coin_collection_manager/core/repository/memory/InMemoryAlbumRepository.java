@@ -0,0 +1,273 @@
+package io.github.kevinmaggi.coin_collection_manager.core.repository.memory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.AlbumSummary;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.AlbumRepository;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.CacheStatistics;
+
+/**
+ * Implementation of repository layer for {@code Album} entity kept in memory.
+ * The returned {@code Album}s are copies, so they are always detached: changes are stored only by saving them.
+ */
+public class InMemoryAlbumRepository extends InMemoryRepository implements AlbumRepository {
+
+	/**
+	 * Simple constructor.
+	 *
+	 * @param transaction {@code InMemoryTransaction} to use for database operation
+	 */
+	public InMemoryAlbumRepository(InMemoryTransaction transaction) {
+		super(transaction);
+	}
+
+	/**
+	 * Get all the {@code Album}s contained in the database.
+	 *
+	 * @return		A list with all the {@code Album}s
+	 */
+	@Override
+	public List<Album> findAll() {
+		return transaction.getAlbums().select(album -> true, Entities::copyOf);
+	}
+
+	/**
+	 * Get the summaries of all the {@code Album}s contained in the database, without copying the entities.
+	 *
+	 * @return		A list with the summaries of all the {@code Album}s
+	 */
+	@Override
+	public List<AlbumSummary> findAllSummaries() {
+		return transaction.getAlbums().select(album -> true, AlbumSummary::of);
+	}
+
+	/**
+	 * Get a page of {@code Album}s ordered by id, starting right after the given id (keyset pagination).
+	 *
+	 * @param after	id of the last {@code Album} of the previous page, or null for the first page
+	 * @param limit	maximum number of {@code Album}s in the page
+	 * @return		A list with at most {@code limit} {@code Album}s
+	 * @throws IllegalArgumentException 	If the {@code limit} is not positive
+	 */
+	@Override
+	public List<Album> findPage(UUID after, int limit) throws IllegalArgumentException {
+		if (limit <= 0)
+			throw new IllegalArgumentException("Limit must be positive");
+		else
+			return transaction.getAlbums().page(after, limit);
+	}
+
+	/**
+	 * Get all the {@code Album}s contained in the database as a stream.
+	 * The {@code Album}s are all in memory anyway, so the stream is over the list of all of them.
+	 *
+	 * @return		A stream with all the {@code Album}s
+	 */
+	@Override
+	public Stream<Album> streamAll() {
+		return findAll().stream();
+	}
+
+	/**
+	 * Get a {@code Album} by its id.
+	 *
+	 * @param id 	{@code Album} id
+	 * @return 		the {@code Album}, or null if it's not in the database
+	 * @throws IllegalArgumentException 	If the {@code id} is null
+	 */
+	@Override
+	public Album findById(UUID id) throws IllegalArgumentException {
+		if (id == null)
+			throw new IllegalArgumentException("ID can't be null");
+		else
+			return transaction.getAlbums().get(id);
+	}
+
+	/**
+	 * Get a {@code Album} by its id.
+	 * There's no cache to bypass, so it's the same as {@link #findById(UUID)}.
+	 *
+	 * @param id 	{@code Album} id
+	 * @return 		the {@code Album}, or null if it's not in the database
+	 * @throws IllegalArgumentException 	If the {@code id} is null
+	 */
+	@Override
+	public Album findFreshById(UUID id) throws IllegalArgumentException {
+		return findById(id);
+	}
+
+	/**
+	 * Get the {@code Album}s with any of the given ids, looking them up by id.
+	 *
+	 * @param ids 	{@code Album}s ids
+	 * @return 		a list with the {@code Album}s found, in no particular order
+	 * @throws IllegalArgumentException 	If the collection is null
+	 */
+	@Override
+	public List<Album> findAllById(Collection<UUID> ids) throws IllegalArgumentException {
+		if (ids == null)
+			throw new IllegalArgumentException("IDs can't be null");
+		else {
+			List<Album> found = new ArrayList<>();
+			for (UUID id : new HashSet<>(ids)) {
+				Album album = id == null ? null : transaction.getAlbums().get(id);
+				if (album != null)
+					found.add(album);
+			}
+			return found;
+		}
+	}
+
+	/**
+	 * Persist (add or update) a {@code Album} in the database.
+	 * A new {@code Album} gets its id and is returned as is, otherwise a copy with the new version is returned.
+	 *
+	 * @param album	the {@code Album} to save
+	 * @return		the {@code Album}
+	 * @throws IllegalArgumentException 	If the {@code Album} is null
+	 */
+	@Override
+	public Album save(Album album) throws IllegalArgumentException {
+		if (album == null)
+			throw new IllegalArgumentException("Album to save can't be null");
+		else
+			return transaction.getAlbums().save(album);
+	}
+
+	/**
+	 * Persist (add or update) many {@code Album}s in the database.
+	 *
+	 * @param albums	the {@code Album}s to save
+	 * @return		the saved {@code Album}s, in the same order
+	 * @throws IllegalArgumentException 	If the collection or any {@code Album} in it is null
+	 */
+	@Override
+	public List<Album> saveAll(Collection<Album> albums) throws IllegalArgumentException {
+		if (albums == null)
+			throw new IllegalArgumentException("Albums to save can't be null");
+		else {
+			List<Album> saved = new ArrayList<>(albums.size());
+			for (Album album : albums)
+				saved.add(save(album));
+			return saved;
+		}
+	}
+
+	/**
+	 * Get the {@code Album}s in the database equal to any of the given ones, looking them up by name and volume.
+	 *
+	 * @param albums	the {@code Album}s to look for
+	 * @return		a list with the {@code Album}s already in the database
+	 * @throws IllegalArgumentException 	If the collection is null
+	 */
+	@Override
+	public List<Album> findAllMatching(Collection<Album> albums) throws IllegalArgumentException {
+		if (albums == null)
+			throw new IllegalArgumentException("Albums can't be null");
+		else {
+			Set<Album> wanted = new HashSet<>(albums);
+			wanted.remove(null);
+			List<Album> found = new ArrayList<>();
+			for (Album album : wanted) {
+				Album matching = transaction.getAlbums().getUnique(InMemoryDatabase.albumKey(album.getName(), album.getVolume()));
+				if (matching != null)
+					found.add(matching);
+			}
+			return found;
+		}
+	}
+
+	/**
+	 * Remove a {@code Album} from the database.
+	 *
+	 * @param album	the {@code Album} to delete
+	 * @throws IllegalArgumentException 	If the {@code Album} is null
+	 */
+	@Override
+	public void delete(Album album) throws IllegalArgumentException {
+		if (album == null)
+			throw new IllegalArgumentException("Album to delete can't be null");
+		else if (album.getId() != null)
+			transaction.getAlbums().remove(album.getId());
+	}
+
+	/**
+	 * Get {@code Album}s by their name and volume.
+	 *
+	 * @param name		{@code Album}s' name
+	 * @param volume 	{@code Album}'s volume
+	 * @return			the corresponding {@code Album}, or null if it's not in the database
+	 * @throws IllegalArgumentException 	If the {@code name} is null
+	 */
+	@Override
+	public Album findByNameAndVolume(String name, int volume) throws IllegalArgumentException {
+		if (name == null)
+			throw new IllegalArgumentException("Name can't be null");
+		else
+			return transaction.getAlbums().getUnique(InMemoryDatabase.albumKey(name, volume));
+	}
+
+	/**
+	 * Atomically occupy some slots of an {@code Album}, only if they are all free.
+	 * Write transactions are executed one at a time, so the check and the update can't interleave with other ones.
+	 *
+	 * @param id		the {@code Album}'s id
+	 * @param count		the number of slots to occupy
+	 * @return			true if the slots have been occupied, false if the {@code Album} doesn't have enough free slots (or doesn't exist)
+	 * @throws IllegalArgumentException 	If the {@code id} is null or the {@code count} is negative
+	 */
+	@Override
+	public boolean occupySlots(UUID id, int count) throws IllegalArgumentException {
+		return updateSlots(id, count, true);
+	}
+
+	/**
+	 * Atomically release some slots of an {@code Album}, only if they are all occupied.
+	 * Write transactions are executed one at a time, so the check and the update can't interleave with other ones.
+	 *
+	 * @param id		the {@code Album}'s id
+	 * @param count		the number of slots to release
+	 * @return			true if the slots have been released, false if the {@code Album} has less occupied slots (or doesn't exist)
+	 * @throws IllegalArgumentException 	If the {@code id} is null or the {@code count} is negative
+	 */
+	@Override
+	public boolean releaseSlots(UUID id, int count) throws IllegalArgumentException {
+		return updateSlots(id, count, false);
+	}
+
+	/**
+	 * Get the usage statistics of the cache of {@code Album}s.
+	 * The whole database is in memory, so there's no cache.
+	 *
+	 * @return			the statistics, all zero
+	 */
+	@Override
+	public CacheStatistics getCacheStatistics() {
+		return CacheStatistics.EMPTY;
+	}
+
+	private boolean updateSlots(UUID id, int count, boolean occupy) {
+		if (id == null)
+			throw new IllegalArgumentException("Album's id can't be null");
+		else if (count < 0)
+			throw new IllegalArgumentException("Count can't be negative");
+		else {
+			Album album = transaction.getAlbums().get(id);
+			if (album == null)
+				return false;
+			long occupied = (long) album.getOccupiedSlots() + (occupy ? count : -count);
+			if (occupied < 0 || occupied > album.getNumberOfSlots())
+				return false;
+			album.setOccupiedSlots((int) occupied);
+			transaction.getAlbums().save(album);
+			return true;
+		}
+	}
+}
@@ -0,0 +1,365 @@
+package io.github.kevinmaggi.coin_collection_manager.core.repository.memory;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinSummary;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.CoinRepository;
+
+/**
+ * Implementation of repository layer for {@code Coin} entity kept in memory.
+ * The returned {@code Coin}s are copies, so they are always detached: changes are stored only by saving them.
+ */
+public class InMemoryCoinRepository extends InMemoryRepository implements CoinRepository {
+
+	/**
+	 * Simple constructor.
+	 *
+	 * @param transaction {@code InMemoryTransaction} to use for database operation
+	 */
+	public InMemoryCoinRepository(InMemoryTransaction transaction) {
+		super(transaction);
+	}
+
+	/**
+	 * Get all the {@code Coin}s contained in the database.
+	 *
+	 * @return		A list with all the {@code Coin}s
+	 */
+	@Override
+	public List<Coin> findAll() {
+		return transaction.getCoins().select(coin -> true, Entities::copyOf);
+	}
+
+	/**
+	 * Get the summaries of all the {@code Coin}s contained in the database, without copying the entities.
+	 *
+	 * @return		A list with the summaries of all the {@code Coin}s
+	 */
+	@Override
+	public List<CoinSummary> findAllSummaries() {
+		return transaction.getCoins().select(coin -> true, CoinSummary::of);
+	}
+
+	/**
+	 * Get a page of {@code Coin}s ordered by id, starting right after the given id (keyset pagination).
+	 *
+	 * @param after	id of the last {@code Coin} of the previous page, or null for the first page
+	 * @param limit	maximum number of {@code Coin}s in the page
+	 * @return		A list with at most {@code limit} {@code Coin}s
+	 * @throws IllegalArgumentException 	If the {@code limit} is not positive
+	 */
+	@Override
+	public List<Coin> findPage(UUID after, int limit) throws IllegalArgumentException {
+		if (limit <= 0)
+			throw new IllegalArgumentException("Limit must be positive");
+		else
+			return transaction.getCoins().page(after, limit);
+	}
+
+	/**
+	 * Get all the {@code Coin}s contained in the database as a stream.
+	 * The {@code Coin}s are all in memory anyway, so the stream is over the list of all of them.
+	 *
+	 * @return		A stream with all the {@code Coin}s
+	 */
+	@Override
+	public Stream<Coin> streamAll() {
+		return findAll().stream();
+	}
+
+	/**
+	 * Get a {@code Coin} by its id.
+	 *
+	 * @param id 	{@code Coin} id
+	 * @return 		the {@code Coin}, or null if it's not in the database
+	 * @throws IllegalArgumentException 	If the {@code id} is null
+	 */
+	@Override
+	public Coin findById(UUID id) throws IllegalArgumentException {
+		if (id == null)
+			throw new IllegalArgumentException("ID can't be null");
+		else
+			return transaction.getCoins().get(id);
+	}
+
+	/**
+	 * Get a {@code Coin} by its id.
+	 * There's no cache to bypass, so it's the same as {@link #findById(UUID)}.
+	 *
+	 * @param id 	{@code Coin} id
+	 * @return 		the {@code Coin}, or null if it's not in the database
+	 * @throws IllegalArgumentException 	If the {@code id} is null
+	 */
+	@Override
+	public Coin findFreshById(UUID id) throws IllegalArgumentException {
+		return findById(id);
+	}
+
+	/**
+	 * Get the {@code Coin}s with any of the given ids, looking them up by id.
+	 *
+	 * @param ids 	{@code Coin}s ids
+	 * @return 		a list with the {@code Coin}s found, in no particular order
+	 * @throws IllegalArgumentException 	If the collection is null
+	 */
+	@Override
+	public List<Coin> findAllById(Collection<UUID> ids) throws IllegalArgumentException {
+		if (ids == null)
+			throw new IllegalArgumentException("IDs can't be null");
+		else {
+			List<Coin> found = new ArrayList<>();
+			for (UUID id : new HashSet<>(ids)) {
+				Coin coin = id == null ? null : transaction.getCoins().get(id);
+				if (coin != null)
+					found.add(coin);
+			}
+			return found;
+		}
+	}
+
+	/**
+	 * Persist (add or update) a {@code Coin} in the database.
+	 * A new {@code Coin} gets its id and is returned as is, otherwise a copy with the new version is returned.
+	 *
+	 * @param coin	the {@code Coin} to save
+	 * @return		the {@code Coin}
+	 * @throws IllegalArgumentException 	If the {@code Coin} is null
+	 */
+	@Override
+	public Coin save(Coin coin) throws IllegalArgumentException {
+		if (coin == null)
+			throw new IllegalArgumentException("Coin to save can't be null");
+		else
+			return transaction.getCoins().save(coin);
+	}
+
+	/**
+	 * Persist (add or update) many {@code Coin}s in the database.
+	 *
+	 * @param coins	the {@code Coin}s to save
+	 * @return		the saved {@code Coin}s, in the same order
+	 * @throws IllegalArgumentException 	If the collection or any {@code Coin} in it is null
+	 */
+	@Override
+	public List<Coin> saveAll(Collection<Coin> coins) throws IllegalArgumentException {
+		if (coins == null)
+			throw new IllegalArgumentException("Coins to save can't be null");
+		else {
+			List<Coin> saved = new ArrayList<>(coins.size());
+			for (Coin coin : coins)
+				saved.add(save(coin));
+			return saved;
+		}
+	}
+
+	/**
+	 * Add a {@code Coin} to the database only if an equal one isn't already there, looking it up by fingerprint.
+	 * The given {@code Coin} isn't modified, the returned one is a new instance.
+	 *
+	 * @param coin	the {@code Coin} to add
+	 * @return		the added {@code Coin}, or null if an equal one is already in the database
+	 * @throws IllegalArgumentException 	If the {@code Coin} is null
+	 */
+	@Override
+	public Coin insertIfAbsent(Coin coin) throws IllegalArgumentException {
+		if (coin == null)
+			throw new IllegalArgumentException("Coin to save can't be null");
+		else
+			return transaction.getCoins().insertIfAbsent(coin);
+	}
+
+	/**
+	 * Get the {@code Coin}s in the database equal to any of the given ones, looking them up by fingerprint.
+	 *
+	 * @param coins	the {@code Coin}s to look for
+	 * @return		a list with the {@code Coin}s already in the database
+	 * @throws IllegalArgumentException 	If the collection is null
+	 */
+	@Override
+	public List<Coin> findAllMatching(Collection<Coin> coins) throws IllegalArgumentException {
+		if (coins == null)
+			throw new IllegalArgumentException("Coins can't be null");
+		else {
+			Set<String> keys = new HashSet<>();
+			List<Coin> found = new ArrayList<>();
+			for (Coin coin : coins) {
+				if (coin != null && coin.getFingerprint() != null && keys.add(coin.getFingerprint())) {
+					Coin matching = transaction.getCoins().getUnique(coin.getFingerprint());
+					if (matching != null)
+						found.add(matching);
+				}
+			}
+			return found;
+		}
+	}
+
+	/**
+	 * Remove a {@code Coin} from the database.
+	 *
+	 * @param coin	the {@code Coin} to delete
+	 * @throws IllegalArgumentException 	If the {@code Coin} is null
+	 */
+	@Override
+	public void delete(Coin coin) throws IllegalArgumentException {
+		if (coin == null)
+			throw new IllegalArgumentException("Coin to delete can't be null");
+		else if (coin.getId() != null)
+			transaction.getCoins().remove(coin.getId());
+	}
+
+	/**
+	 * Get {@code Coin}s by their description.
+	 * All the descriptions are scanned: indexing their trigrams costs much more, in time and memory, than it saves.
+	 *
+	 * @param description	{@code Coin}s' (part of) description
+	 * @return				a list with the corresponding {@code Coin}s
+	 * @throws IllegalArgumentException 	If the {@code description} is null
+	 */
+	@Override
+	public List<Coin> findByDescription(String description) throws IllegalArgumentException {
+		if (description == null)
+			throw new IllegalArgumentException("Description can't be null");
+		else
+			return transaction.getCoins().select(coin -> coin.getDescription().contains(description), Entities::copyOf);
+	}
+
+	/**
+	 * Get the summaries of the {@code Coin}s by their description, without copying the entities.
+	 *
+	 * @param description	{@code Coin}s' (part of) description
+	 * @return				a list with the summaries of the corresponding {@code Coin}s
+	 * @throws IllegalArgumentException 	If the {@code description} is null
+	 */
+	@Override
+	public List<CoinSummary> findSummariesByDescription(String description) throws IllegalArgumentException {
+		if (description == null)
+			throw new IllegalArgumentException("Description can't be null");
+		else
+			return transaction.getCoins().select(coin -> coin.getDescription().contains(description), CoinSummary::of);
+	}
+
+	/**
+	 * Get {@code Coin}s whose description contains the given text ignoring case, the most similar first.
+	 * The similarity is computed on trigrams, as by Postgres, and the {@code Coin}s are looked up by the words of their description.
+	 *
+	 * @param description	{@code Coin}s' (part of) description
+	 * @return				a list with the corresponding {@code Coin}s, ranked by similarity
+	 * @throws IllegalArgumentException 	If the {@code description} is null
+	 */
+	@Override
+	public List<Coin> searchByDescription(String description) throws IllegalArgumentException {
+		if (description == null)
+			throw new IllegalArgumentException("Description can't be null");
+		else {
+			String folded = Trigrams.fold(description);
+			Predicate<Coin> filter = coin -> Trigrams.fold(coin.getDescription()).contains(folded);
+			// A text without words (e.g. only spaces) can be anywhere, otherwise its longest word is part of a word of the coins
+			Optional<String> longest = Trigrams.words(description).stream().max(Comparator.comparingInt(String::length));
+			List<Coin> found = longest.isEmpty() ? transaction.getCoins().select(filter, Entities::copyOf)
+					: transaction.getCoins().selectByMatching(transaction.getDatabase().coinsByWord,
+							word -> ((String) word).contains(longest.get()), filter, Entities::copyOf);
+			Map<UUID, Double> similarities = new HashMap<>();
+			found.forEach(coin -> similarities.put(coin.getId(), Trigrams.similarity(coin.getDescription(), description)));
+			found.sort(Comparator.comparing((Coin coin) -> similarities.get(coin.getId()), Comparator.reverseOrder())
+					.thenComparing(Coin::getId));
+			return found;
+		}
+	}
+
+	/**
+	 * Get all the {@code Coin}s in a specific {@code Album}, looking them up by album.
+	 *
+	 * @param id	the {@code Album}'s id
+	 * @return		a list with all the {@code Coin}s
+	 * @throws IllegalArgumentException 	If the {@code id} is null
+	 */
+	@Override
+	public List<Coin> findByAlbum(UUID id) throws IllegalArgumentException {
+		if (id == null)
+			throw new IllegalArgumentException("Album's id can't be null");
+		else
+			return selectByAlbum(id, Entities::copyOf);
+	}
+
+	/**
+	 * Get the summaries of all the {@code Coin}s in a specific {@code Album}, without copying the entities.
+	 *
+	 * @param id	the {@code Album}'s id
+	 * @return		a list with the summaries of all the {@code Coin}s
+	 * @throws IllegalArgumentException 	If the {@code id} is null
+	 */
+	@Override
+	public List<CoinSummary> findSummariesByAlbum(UUID id) throws IllegalArgumentException {
+		if (id == null)
+			throw new IllegalArgumentException("Album's id can't be null");
+		else
+			return selectByAlbum(id, CoinSummary::of);
+	}
+
+	/**
+	 * Remove all the {@code Coin}s in a specific {@code Album}.
+	 *
+	 * @param id	the {@code Album}'s id
+	 * @return		the number of removed {@code Coin}s
+	 * @throws IllegalArgumentException 	If the {@code id} is null
+	 */
+	@Override
+	public int deleteByAlbum(UUID id) throws IllegalArgumentException {
+		if (id == null)
+			throw new IllegalArgumentException("Album's id can't be null");
+		else {
+			List<UUID> ids = selectByAlbum(id, Coin::getId);
+			ids.forEach(transaction.getCoins()::remove);
+			return ids.size();
+		}
+	}
+
+	/**
+	 * Get a specific {@code Coin}, looking it up by its fingerprint.
+	 *
+	 * @param grade			the {@code Grade} of the {@code Coin}
+	 * @param country		the country of the {@code Coin}
+	 * @param year			the minting year of the {@code Coin}
+	 * @param description	the description of the {@code Coin}
+	 * @param note			the note relative to the {@code Coin}
+	 * @return				the {@code Coin}
+	 * @throws IllegalArgumentException 	If any argument is null
+	 */
+	@Override
+	public Coin findByGradeCountryYearDescriptionAndNote(Grade grade, String country, Year year, String description, String note)
+			throws IllegalArgumentException {
+		if (grade == null)
+			throw new IllegalArgumentException("Grade can't be null");
+		else if (country == null)
+			throw new IllegalArgumentException("Country can't be null");
+		if (year == null)
+			throw new IllegalArgumentException("Year can't be null");
+		if (description == null)
+			throw new IllegalArgumentException("Description can't be null");
+		if (note == null)
+			throw new IllegalArgumentException("Note can't be null");
+		else
+			return transaction.getCoins().getUnique(Coin.fingerprintOf(grade, country, year, description, note));
+	}
+
+
+	private <R> List<R> selectByAlbum(UUID id, Function<Coin, R> mapper) {
+		return transaction.getCoins().selectBy(transaction.getDatabase().coinsByAlbum, Set.of(id),
+				coin -> id.equals(coin.getAlbum()), mapper);
+	}
+}
@@ -0,0 +1,99 @@
+package io.github.kevinmaggi.coin_collection_manager.core.repository.memory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+
+/**
+ * A database kept in memory, with the {@code Coin}s and the {@code Album}s of the collection.
+ * The {@code Coin}s are indexed by album, by the words of their description and by their fingerprint (i.e. by grade, country,
+ * year, description and note), the
+ * {@code Album}s by name and volume.
+ *
+ * Every transaction sees the committed rows overlaid with its own changes, which are applied at once by the commit and
+ * simply discarded by the rollback: every lookup sees only committed changes, as at the {@code READ COMMITTED} isolation level.
+ * Write transactions are executed one at a time, so they can't conflict, while read-only ones never wait for them
+ * (except for the instant of a commit).
+ * The database is safe for use by multiple threads, but every transaction must be ended by the thread that began it and
+ * that thread must not begin another write transaction meanwhile.
+ */
+public class InMemoryDatabase {
+	private final ReentrantLock writeTransactionLock = new ReentrantLock();
+	private final ReadWriteLock commitLock = new ReentrantReadWriteLock();
+
+	final Index<Coin> coinsByAlbum = new Index<>(coin -> coin.getAlbum() == null ? Set.of() : Set.of(coin.getAlbum()));
+	final Index<Coin> coinsByWord = new Index<>(coin -> coin.getDescription() == null ? Set.of() : Trigrams.words(coin.getDescription()));
+	final Table<Coin> coins = new Table<>(Entities::copyOf, coin -> coin.getFingerprint() != null, Coin::getFingerprint,
+			List.of(coinsByAlbum, coinsByWord));
+	final Table<Album> albums = new Table<>(Entities::copyOf, album -> album.getName() != null,
+			album -> albumKey(album.getName(), album.getVolume()), List.of());
+
+	/**
+	 * Begin a new transaction.
+	 * A write transaction waits for the one being executed, if any, to end.
+	 *
+	 * @param readOnly	if the transaction only reads
+	 * @return			the transaction
+	 */
+	public InMemoryTransaction begin(boolean readOnly) {
+		if (!readOnly)
+			writeTransactionLock.lock();
+		return new InMemoryTransaction(this, readOnly);
+	}
+
+	/**
+	 * Get the unique key of an {@code Album}.
+	 *
+	 * @param name		the name of the {@code Album}
+	 * @param volume	the volume of the {@code Album}
+	 * @return			the key
+	 */
+	static Object albumKey(String name, int volume) {
+		return Arrays.asList(name, volume);
+	}
+
+	/**
+	 * Execute a lookup that involves many rows, so that it doesn't see a commit only in part.
+	 *
+	 * @param <R>		type of the result
+	 * @param lookup	the lookup
+	 * @return			its result
+	 */
+	<R> R read(Supplier<R> lookup) {
+		commitLock.readLock().lock();
+		try {
+			return lookup.get();
+		} finally {
+			commitLock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Apply the changes of a transaction, all at once.
+	 *
+	 * @param transaction	the transaction
+	 */
+	void commit(InMemoryTransaction transaction) {
+		commitLock.writeLock().lock();
+		try {
+			coins.apply(transaction.getCoins().getChanges());
+			albums.apply(transaction.getAlbums().getChanges());
+		} finally {
+			commitLock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Let the next write transaction begin.
+	 */
+	void endWriteTransaction() {
+		writeTransactionLock.unlock();
+	}
+}
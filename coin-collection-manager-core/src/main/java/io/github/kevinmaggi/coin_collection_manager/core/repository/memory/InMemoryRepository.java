@@ -0,0 +1,20 @@
+package io.github.kevinmaggi.coin_collection_manager.core.repository.memory;
+
+/**
+ * Base in-memory repository to extend for all type of repository kept in memory.
+ */
+public abstract class InMemoryRepository {
+	/**
+	 * {@code InMemoryTransaction} to use for operation on database.
+	 */
+	protected InMemoryTransaction transaction;
+
+	/**
+	 * Simple constructor
+	 *
+	 * @param transaction	{@code InMemoryTransaction} to use for operation on database
+	 */
+	protected InMemoryRepository(InMemoryTransaction transaction) {
+		this.transaction = transaction;
+	}
+}
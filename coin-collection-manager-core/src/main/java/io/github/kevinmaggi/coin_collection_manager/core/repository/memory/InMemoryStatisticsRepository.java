@@ -0,0 +1,96 @@
+package io.github.kevinmaggi.coin_collection_manager.core.repository.memory;
+
+import java.time.Year;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.AlbumFill;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinCount;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.StatisticsRepository;
+import io.github.kevinmaggi.coin_collection_manager.core.utility.Years;
+
+/**
+ * Implementation of repository layer for the statistics on the collection kept in memory.
+ * Every statistic is computed with a single scan, without copying the entities.
+ */
+public class InMemoryStatisticsRepository extends InMemoryRepository implements StatisticsRepository {
+	private static final int DECADE = 10;
+
+	/**
+	 * Simple constructor.
+	 *
+	 * @param transaction {@code InMemoryTransaction} to use for database operation
+	 */
+	public InMemoryStatisticsRepository(InMemoryTransaction transaction) {
+		super(transaction);
+	}
+
+	/**
+	 * Count the coins stored in each album.
+	 *
+	 * @return		a list with the number of coins for each {@code Album}'s id (null for the coins not in an album)
+	 */
+	@Override
+	public List<CoinCount<UUID>> countCoinsByAlbum() {
+		return countBy(Coin::getAlbum, new HashMap<>());
+	}
+
+	/**
+	 * Count the coins of each country.
+	 *
+	 * @return		a list with the number of coins for each country, ordered by country
+	 */
+	@Override
+	public List<CoinCount<String>> countCoinsByCountry() {
+		return countBy(Coin::getCountry, new TreeMap<>());
+	}
+
+	/**
+	 * Count the coins of each grade.
+	 *
+	 * @return		a list with the number of coins for each {@code Grade}, ordered by grade
+	 */
+	@Override
+	public List<CoinCount<Grade>> countCoinsByGrade() {
+		return countBy(Coin::getGrade, new TreeMap<>());
+	}
+
+	/**
+	 * Count the coins minted in each decade.
+	 * Decades are computed rounding down, so that also the years before Christ fall in the right decade.
+	 *
+	 * @return		a list with the number of coins for each decade, identified by its first year, ordered by decade
+	 */
+	@Override
+	public List<CoinCount<Year>> countCoinsByDecade() {
+		return countBy(coin -> Years.of(Math.floorDiv(coin.getMintingYear().getValue(), DECADE) * DECADE), new TreeMap<>());
+	}
+
+	/**
+	 * Get how much each album is filled.
+	 *
+	 * @return		a list with the fill of each {@code Album}, ordered by name and volume
+	 */
+	@Override
+	public List<AlbumFill> findAlbumFills() {
+		List<AlbumFill> fills = transaction.getAlbums().select(album -> true,
+				album -> new AlbumFill(album.getId(), album.getName(), album.getVolume(), album.getOccupiedSlots(), album.getNumberOfSlots()));
+		fills.sort(Comparator.comparing(AlbumFill::getName).thenComparingInt(AlbumFill::getVolume));
+		return fills;
+	}
+
+	private <K> List<CoinCount<K>> countBy(Function<Coin, K> key, Map<K, Long> counts) {
+		transaction.getCoins().select(coin -> true, key).forEach(k -> counts.merge(k, 1L, Long::sum));
+		return counts.entrySet().stream()
+				.map(count -> new CoinCount<K>(count.getKey(), count.getValue()))
+				.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,95 @@
+package io.github.kevinmaggi.coin_collection_manager.core.repository.memory;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+
+/**
+ * A transaction on an {@code InMemoryDatabase}, to which the in-memory repositories are bound.
+ * Its changes are kept apart until the commit, that applies all of them at once, while the rollback discards them.
+ */
+public final class InMemoryTransaction {
+	private final InMemoryDatabase database;
+	private final boolean readOnly;
+	private final TableView<Coin> coins;
+	private final TableView<Album> albums;
+	private boolean active = true;
+
+	/**
+	 * Simple constructor.
+	 *
+	 * @param database	the database
+	 * @param readOnly	if the transaction only reads
+	 */
+	InMemoryTransaction(InMemoryDatabase database, boolean readOnly) {
+		this.database = database;
+		this.readOnly = readOnly;
+		this.coins = new TableView<>(this, database.coins);
+		this.albums = new TableView<>(this, database.albums);
+	}
+
+	/**
+	 * Tell if the transaction only reads: any write fails.
+	 *
+	 * @return	true if the transaction only reads
+	 */
+	public boolean isReadOnly() {
+		return readOnly;
+	}
+
+	/**
+	 * Tell if the transaction hasn't been ended yet.
+	 *
+	 * @return	true if the transaction can still be used
+	 */
+	public boolean isActive() {
+		return active;
+	}
+
+	/**
+	 * Apply all the changes of the transaction and end it.
+	 *
+	 * @throws IllegalStateException	if the transaction has already been ended
+	 */
+	public void commit() throws IllegalStateException {
+		checkActive();
+		try {
+			if (!readOnly)
+				database.commit(this);
+		} finally {
+			end();
+		}
+	}
+
+	/**
+	 * Discard all the changes of the transaction and end it.
+	 *
+	 * @throws IllegalStateException	if the transaction has already been ended
+	 */
+	public void rollback() throws IllegalStateException {
+		checkActive();
+		end();
+	}
+
+	InMemoryDatabase getDatabase() {
+		return database;
+	}
+
+	TableView<Coin> getCoins() {
+		return coins;
+	}
+
+	TableView<Album> getAlbums() {
+		return albums;
+	}
+
+	private void checkActive() {
+		if (!active)
+			throw new IllegalStateException("The transaction is not active");
+	}
+
+	private void end() {
+		active = false;
+		if (!readOnly)
+			database.endWriteTransaction();
+	}
+}
@@ -0,0 +1,103 @@
+package io.github.kevinmaggi.coin_collection_manager.core.repository.memory;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.BaseEntity;
+
+/**
+ * Secondary index of the committed rows of a {@code Table}: the ids of the rows for each key.
+ * A row can have many keys or none (e.g. a {@code Coin} not in an album).
+ * The index is built from the rows on its first lookup, so that loading many rows doesn't pay for indexes never used.
+ *
+ * @param <T>	type of the rows
+ */
+final class Index<T extends BaseEntity> {
+	private final Map<Object, Set<UUID>> ids = new ConcurrentHashMap<>();
+	private final Function<T, Collection<?>> keys;
+	private volatile boolean built = false;
+
+	/**
+	 * Simple constructor.
+	 *
+	 * @param keys	the keys of a row
+	 */
+	Index(Function<T, Collection<?>> keys) {
+		this.keys = keys;
+	}
+
+	/**
+	 * Get the ids of the rows with a key.
+	 *
+	 * @param key	the key
+	 * @return		a live view of the ids
+	 */
+	Set<UUID> get(Object key) {
+		Set<UUID> found = ids.get(key);
+		return found == null ? Set.of() : found;
+	}
+
+	/**
+	 * Get the ids of the rows with any key that satisfies a condition, testing every key of the index.
+	 *
+	 * @param key	the condition on the keys
+	 * @return		a new set with the ids
+	 */
+	Set<UUID> getMatching(Predicate<Object> key) {
+		Set<UUID> found = new HashSet<>();
+		ids.forEach((k, set) -> {
+			if (key.test(k))
+				found.addAll(set);
+		});
+		return found;
+	}
+
+	/**
+	 * Build the index from the rows, if it's not built yet.
+	 * Rows must not change meanwhile, so the index must be built while commits are excluded.
+	 *
+	 * @param rows	all the rows
+	 */
+	void build(Collection<T> rows) {
+		if (!built) {
+			synchronized (this) {
+				if (!built) {
+					for (T row : rows)
+						index(row, null);
+					built = true;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Index a new version of a row, replacing the old one.
+	 * The new keys are added before removing the old ones, so a key kept by the row is never missing.
+	 * Nothing is done until the index is built.
+	 *
+	 * @param row	the new version, or null if the row has been removed
+	 * @param old	the old version, or null if the row is new
+	 */
+	void replace(T row, T old) {
+		if (built)
+			index(row, old);
+	}
+
+	private void index(T row, T old) {
+		Collection<?> rowKeys = row == null ? Set.of() : keys.apply(row);
+		for (Object key : rowKeys)
+			ids.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(row.getId());
+		if (old != null) {
+			for (Object key : keys.apply(old)) {
+				if (!rowKeys.contains(key))
+					ids.computeIfPresent(key, (k, set) -> set.remove(old.getId()) && set.isEmpty() ? null : set);
+			}
+		}
+	}
+}
@@ -0,0 +1,231 @@
+package io.github.kevinmaggi.coin_collection_manager.core.repository.memory;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+
+/**
+ * Binary layout of the rows stored in the files of a {@code FileDatabase}.
+ * A block of rows starts with the number of saved and removed rows of each table, followed by a fixed-width record for each
+ * saved row, the ids of the removed rows and a heap with the UTF-8 bytes of the texts, that the records reference by offset
+ * and length. Every text is stored once per block, so repeated ones (e.g. the countries) are also shared when read.
+ * A {@code Grade} is stored as its ordinal, a {@code Year} as an int and the fingerprint of a {@code Coin} as its 32 hex
+ * digits, so that it's not computed again.
+ */
+final class Records {
+	private static final int HEADER_SIZE = 5 * Integer.BYTES;
+	private static final int ID_SIZE = 2 * Long.BYTES;
+	private static final int TEXT_SIZE = 2 * Integer.BYTES;
+	private static final int FINGERPRINT_SIZE = 32;
+	private static final int NULL_TEXT = -1;
+
+	// Coin record: id, version, grade, year, album (all zero if none), fingerprint, country, description, note
+	private static final int COIN_VERSION = ID_SIZE;
+	private static final int COIN_GRADE = COIN_VERSION + Long.BYTES;
+	private static final int COIN_YEAR = COIN_GRADE + Byte.BYTES;
+	private static final int COIN_ALBUM = COIN_YEAR + Integer.BYTES;
+	private static final int COIN_FINGERPRINT = COIN_ALBUM + ID_SIZE;
+	private static final int COIN_COUNTRY = COIN_FINGERPRINT + FINGERPRINT_SIZE;
+	private static final int COIN_DESCRIPTION = COIN_COUNTRY + TEXT_SIZE;
+	private static final int COIN_NOTE = COIN_DESCRIPTION + TEXT_SIZE;
+	static final int COIN_SIZE = COIN_NOTE + TEXT_SIZE;
+
+	// Album record: id, version, volume, number of slots, occupied slots, name, location
+	private static final int ALBUM_VERSION = ID_SIZE;
+	private static final int ALBUM_VOLUME = ALBUM_VERSION + Long.BYTES;
+	private static final int ALBUM_SLOTS = ALBUM_VOLUME + Integer.BYTES;
+	private static final int ALBUM_OCCUPIED_SLOTS = ALBUM_SLOTS + Integer.BYTES;
+	private static final int ALBUM_NAME = ALBUM_OCCUPIED_SLOTS + Integer.BYTES;
+	private static final int ALBUM_LOCATION = ALBUM_NAME + TEXT_SIZE;
+	static final int ALBUM_SIZE = ALBUM_LOCATION + TEXT_SIZE;
+
+	private static final Grade[] GRADES = Grade.values();
+	private static final UUID NO_ALBUM = new UUID(0, 0);
+
+	private Records() {}
+
+	/**
+	 * Encode the changes of some rows in a block.
+	 *
+	 * @param coins		the new version of each changed {@code Coin}, or null for the removed ones
+	 * @param albums	the new version of each changed {@code Album}, or null for the removed ones
+	 * @return			the block, ready to be read
+	 */
+	static ByteBuffer encode(Map<UUID, Coin> coins, Map<UUID, Album> albums) {
+		List<Coin> savedCoins = new ArrayList<>();
+		List<UUID> removedCoins = new ArrayList<>();
+		split(coins, savedCoins, removedCoins);
+		List<Album> savedAlbums = new ArrayList<>();
+		List<UUID> removedAlbums = new ArrayList<>();
+		split(albums, savedAlbums, removedAlbums);
+
+		Heap heap = new Heap();
+		ByteBuffer records = ByteBuffer.allocate(savedCoins.size() * COIN_SIZE + savedAlbums.size() * ALBUM_SIZE
+				+ (removedCoins.size() + removedAlbums.size()) * ID_SIZE);
+		for (Coin coin : savedCoins) {
+			putId(records, coin.getId());
+			records.putLong(coin.getVersion());
+			records.put((byte) coin.getGrade().ordinal());
+			records.putInt(coin.getMintingYear().getValue());
+			putId(records, coin.getAlbum() == null ? NO_ALBUM : coin.getAlbum());
+			records.put(coin.getFingerprint().getBytes(StandardCharsets.US_ASCII));
+			heap.put(records, coin.getCountry());
+			heap.put(records, coin.getDescription());
+			heap.put(records, coin.getNote());
+		}
+		for (Album album : savedAlbums) {
+			putId(records, album.getId());
+			records.putLong(album.getVersion());
+			records.putInt(album.getVolume());
+			records.putInt(album.getNumberOfSlots());
+			records.putInt(album.getOccupiedSlots());
+			heap.put(records, album.getName());
+			heap.put(records, album.getLocation());
+		}
+		removedCoins.forEach(id -> putId(records, id));
+		removedAlbums.forEach(id -> putId(records, id));
+
+		ByteBuffer block = ByteBuffer.allocate(HEADER_SIZE + records.capacity() + heap.size());
+		block.putInt(savedCoins.size()).putInt(savedAlbums.size()).putInt(removedCoins.size()).putInt(removedAlbums.size())
+			.putInt(heap.size());
+		block.put(records.flip());
+		block.put(heap.toByteArray());
+		return block.flip();
+	}
+
+	/**
+	 * Decode a block of changes.
+	 * The records are read by absolute position, so the block is left untouched.
+	 *
+	 * @param block		the block, from its position to its limit
+	 * @param coins		takes the id and the new version of each changed {@code Coin}, or null for the removed ones
+	 * @param albums	takes the id and the new version of each changed {@code Album}, or null for the removed ones
+	 */
+	static void decode(ByteBuffer block, BiConsumer<UUID, Coin> coins, BiConsumer<UUID, Album> albums) {
+		int base = block.position();
+		int savedCoins = block.getInt(base);
+		int savedAlbums = block.getInt(base + Integer.BYTES);
+		int removedCoins = block.getInt(base + 2 * Integer.BYTES);
+		int removedAlbums = block.getInt(base + 3 * Integer.BYTES);
+		int heapSize = block.getInt(base + 4 * Integer.BYTES);
+
+		int position = base + HEADER_SIZE;
+		int heapStart = position + savedCoins * COIN_SIZE + savedAlbums * ALBUM_SIZE + (removedCoins + removedAlbums) * ID_SIZE;
+		byte[] heapBytes = new byte[heapSize];
+		block.duplicate().position(heapStart).get(heapBytes);
+		// The values repeated by many rows are shared, as the texts are
+		Map<Long, String> texts = new HashMap<>();
+		Map<Integer, Year> years = new HashMap<>();
+		Map<UUID, UUID> albumIds = new HashMap<>();
+		byte[] fingerprint = new byte[FINGERPRINT_SIZE];
+
+		for (int i = 0; i < savedCoins; i++, position += COIN_SIZE) {
+			UUID id = getId(block, position);
+			UUID album = albumIds.computeIfAbsent(getId(block, position + COIN_ALBUM), albumId -> albumId);
+			for (int j = 0; j < FINGERPRINT_SIZE; j++)
+				fingerprint[j] = block.get(position + COIN_FINGERPRINT + j);
+			coins.accept(id, Entities.coin(id,
+					block.getLong(position + COIN_VERSION),
+					GRADES[block.get(position + COIN_GRADE)],
+					text(block, position + COIN_COUNTRY, heapBytes, texts),
+					years.computeIfAbsent(block.getInt(position + COIN_YEAR), Year::of),
+					text(block, position + COIN_DESCRIPTION, heapBytes, texts),
+					text(block, position + COIN_NOTE, heapBytes, texts),
+					NO_ALBUM.equals(album) ? null : album,
+					new String(fingerprint, StandardCharsets.US_ASCII)));
+		}
+		for (int i = 0; i < savedAlbums; i++, position += ALBUM_SIZE) {
+			UUID id = getId(block, position);
+			Album album = new Album(text(block, position + ALBUM_NAME, heapBytes, texts),
+					block.getInt(position + ALBUM_VOLUME),
+					text(block, position + ALBUM_LOCATION, heapBytes, texts),
+					block.getInt(position + ALBUM_SLOTS),
+					block.getInt(position + ALBUM_OCCUPIED_SLOTS));
+			albums.accept(id, Entities.withIdentity(album, id, block.getLong(position + ALBUM_VERSION)));
+		}
+		for (int i = 0; i < removedCoins; i++, position += ID_SIZE)
+			coins.accept(getId(block, position), null);
+		for (int i = 0; i < removedAlbums; i++, position += ID_SIZE)
+			albums.accept(getId(block, position), null);
+	}
+
+	/**
+	 * Compute the checksum of some bytes, to detect a block written only in part.
+	 *
+	 * @param bytes		the bytes, from their position to their limit, left untouched
+	 * @return			the checksum
+	 */
+	static int checksum(ByteBuffer bytes) {
+		CRC32 crc = new CRC32();
+		crc.update(bytes.duplicate());
+		return (int) crc.getValue();
+	}
+
+	private static <T> void split(Map<UUID, T> changes, List<T> saved, List<UUID> removed) {
+		changes.forEach((id, row) -> {
+			if (row == null)
+				removed.add(id);
+			else
+				saved.add(row);
+		});
+	}
+
+	private static void putId(ByteBuffer buffer, UUID id) {
+		buffer.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+	}
+
+	private static UUID getId(ByteBuffer buffer, int position) {
+		return new UUID(buffer.getLong(position), buffer.getLong(position + Long.BYTES));
+	}
+
+	// An empty text has the same offset of the next one, so the texts are told apart also by length
+	private static String text(ByteBuffer buffer, int position, byte[] heap, Map<Long, String> texts) {
+		int offset = buffer.getInt(position);
+		int length = buffer.getInt(position + Integer.BYTES);
+		if (length == NULL_TEXT)
+			return null;
+		else
+			return texts.computeIfAbsent((long) offset << Integer.SIZE | length,
+					reference -> new String(heap, offset, length, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * The texts of a block, each stored once.
+	 */
+	private static final class Heap extends ByteArrayOutputStream {
+		// Offset and length of each text
+		private final Map<String, int[]> references = new HashMap<>();
+
+		/**
+		 * Put the reference to a text in a record, adding the text to the heap if it's new.
+		 *
+		 * @param record	the buffer of the records, at the position of the reference
+		 * @param text		the text, or null
+		 */
+		void put(ByteBuffer record, String text) {
+			if (text == null) {
+				record.putInt(0).putInt(NULL_TEXT);
+				return;
+			}
+			int[] reference = references.computeIfAbsent(text, t -> {
+				byte[] bytes = t.getBytes(StandardCharsets.UTF_8);
+				int offset = size();
+				write(bytes, 0, bytes.length);
+				return new int[] {offset, bytes.length};
+			});
+			record.putInt(reference[0]).putInt(reference[1]);
+		}
+	}
+}
@@ -0,0 +1,124 @@
+package io.github.kevinmaggi.coin_collection_manager.core.repository.memory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.BaseEntity;
+
+/**
+ * Committed rows of an entity, ordered by id, with the index of their unique key and their secondary indexes.
+ * The rows are private copies that are never modified: a change replaces the whole row.
+ * Rows and unique keys can be read without locking, since a single lookup sees either the old or the new version of a row.
+ *
+ * @param <T>	type of the rows
+ */
+final class Table<T extends BaseEntity> {
+	private final ConcurrentNavigableMap<UUID, T> rows = new ConcurrentSkipListMap<>();
+	private final Map<Object, UUID> uniqueIds = new ConcurrentHashMap<>();
+
+	private final UnaryOperator<T> copy;
+	private final Predicate<T> complete;
+	private final Function<T, Object> uniqueKey;
+	private final List<Index<T>> indexes;
+
+	/**
+	 * Simple constructor.
+	 *
+	 * @param copy			copies a row
+	 * @param complete		checks that all the not-null fields of a row are set
+	 * @param uniqueKey		the unique key of a complete row
+	 * @param indexes		the secondary indexes
+	 */
+	Table(UnaryOperator<T> copy, Predicate<T> complete, Function<T, Object> uniqueKey, List<Index<T>> indexes) {
+		this.copy = copy;
+		this.complete = complete;
+		this.uniqueKey = uniqueKey;
+		this.indexes = indexes;
+	}
+
+	/**
+	 * Get a committed row.
+	 *
+	 * @param id	the id of the row
+	 * @return		the row, or null if it doesn't exist
+	 */
+	T get(UUID id) {
+		return rows.get(id);
+	}
+
+	/**
+	 * Get the committed rows after an id, in order of id.
+	 *
+	 * @param after		the id, or null to start from the first row
+	 * @return			a live view of the rows
+	 */
+	NavigableMap<UUID, T> rowsAfter(UUID after) {
+		return after == null ? rows : rows.tailMap(after, false);
+	}
+
+	/**
+	 * Get the id of the committed row with a unique key.
+	 *
+	 * @param key	the unique key
+	 * @return		the id, or null if no row has the key
+	 */
+	UUID idOf(Object key) {
+		return uniqueIds.get(key);
+	}
+
+	/**
+	 * Get a secondary index of the table, building it if it's the first lookup.
+	 *
+	 * @param index		the index
+	 * @return			the same index, built
+	 */
+	Index<T> built(Index<T> index) {
+		index.build(rows.values());
+		return index;
+	}
+
+	T copy(T row) {
+		return copy.apply(row);
+	}
+
+	boolean isComplete(T row) {
+		return complete.test(row);
+	}
+
+	Object uniqueKey(T row) {
+		return uniqueKey.apply(row);
+	}
+
+	/**
+	 * Apply the changes of a transaction, updating all the indexes.
+	 *
+	 * @param changes	the new version of each changed row, or null for the removed ones
+	 */
+	void apply(Map<UUID, T> changes) {
+		changes.forEach(this::apply);
+	}
+
+	/**
+	 * Apply the change of a row, updating all the indexes.
+	 *
+	 * @param id	the id of the row
+	 * @param row	the new version of the row, or null if it has been removed
+	 */
+	void apply(UUID id, T row) {
+		T old = row == null ? rows.remove(id) : rows.put(id, row);
+		if (row != null)
+			uniqueIds.put(uniqueKey(row), id);
+		if (old != null && (row == null || !uniqueKey(old).equals(uniqueKey(row))))
+			uniqueIds.remove(uniqueKey(old), id);
+		for (Index<T> index : indexes)
+			index.replace(row, old);
+	}
+}
@@ -0,0 +1,265 @@
+package io.github.kevinmaggi.coin_collection_manager.core.repository.memory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.BaseEntity;
+import jakarta.persistence.EntityExistsException;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * A {@code Table} as seen by a transaction: the committed rows overlaid with the changes of the transaction, which are kept
+ * apart (copy-on-write) until the commit.
+ * The rows handed out are copies, so changing them has no effect until they are saved.
+ *
+ * @param <T>	type of the rows
+ */
+final class TableView<T extends BaseEntity> {
+	private final InMemoryTransaction transaction;
+	private final Table<T> table;
+
+	// The new version of each changed row, or null for the removed ones
+	private final NavigableMap<UUID, T> changes = new TreeMap<>();
+	// The id of the last changed row that took each unique key
+	private final Map<Object, UUID> changedUniqueIds = new HashMap<>();
+
+	/**
+	 * Simple constructor.
+	 *
+	 * @param transaction	the transaction
+	 * @param table			the table
+	 */
+	TableView(InMemoryTransaction transaction, Table<T> table) {
+		this.transaction = transaction;
+		this.table = table;
+	}
+
+	/**
+	 * Get a row.
+	 *
+	 * @param id	the id of the row
+	 * @return		a copy of the row, or null if it doesn't exist
+	 */
+	T get(UUID id) {
+		T row = row(id);
+		return row == null ? null : table.copy(row);
+	}
+
+	/**
+	 * Get the row with a unique key.
+	 *
+	 * @param key	the unique key
+	 * @return		a copy of the row, or null if no row has the key
+	 */
+	T getUnique(Object key) {
+		T row = uniqueRow(key);
+		return row == null ? null : table.copy(row);
+	}
+
+	/**
+	 * Get the rows that satisfy a condition, scanning all of them.
+	 *
+	 * @param <R>		type of the results
+	 * @param filter	the condition
+	 * @param mapper	maps a row to a result, it can't keep the row since it's not a copy
+	 * @return			the results
+	 */
+	<R> List<R> select(Predicate<? super T> filter, Function<? super T, R> mapper) {
+		return transaction.getDatabase().read(() -> merge(table.rowsAfter(null).values(), filter, mapper));
+	}
+
+	/**
+	 * Get the rows that satisfy a condition, among the ones that have all the given keys in a secondary index.
+	 * Since only the committed rows are indexed, the condition must be satisfied exactly by the rows with the keys.
+	 *
+	 * @param <R>		type of the results
+	 * @param index		the secondary index
+	 * @param keys		the keys
+	 * @param filter	the condition
+	 * @param mapper	maps a row to a result, it can't keep the row since it's not a copy
+	 * @return			the results
+	 */
+	<R> List<R> selectBy(Index<T> index, Collection<?> keys, Predicate<? super T> filter, Function<? super T, R> mapper) {
+		return transaction.getDatabase().read(() -> {
+			Index<T> built = table.built(index);
+			List<Set<UUID>> idSets = keys.stream().map(built::get).sorted(Comparator.comparingInt(Set::size)).collect(Collectors.toList());
+			List<T> candidates = new ArrayList<>();
+			if (!idSets.isEmpty()) {
+				for (UUID id : idSets.get(0)) {
+					if (idSets.stream().allMatch(ids -> ids.contains(id)))
+						candidates.add(table.get(id));
+				}
+			}
+			return merge(candidates, filter, mapper);
+		});
+	}
+
+	/**
+	 * Get the rows that satisfy a condition, among the ones with any key of a secondary index that satisfies another one.
+	 * Since only the committed rows are indexed, the condition must be satisfied exactly by the rows with such keys.
+	 *
+	 * @param <R>		type of the results
+	 * @param index		the secondary index
+	 * @param key		the condition on the keys
+	 * @param filter	the condition
+	 * @param mapper	maps a row to a result, it can't keep the row since it's not a copy
+	 * @return			the results
+	 */
+	<R> List<R> selectByMatching(Index<T> index, Predicate<Object> key, Predicate<? super T> filter, Function<? super T, R> mapper) {
+		return transaction.getDatabase().read(() -> {
+			List<T> candidates = new ArrayList<>();
+			for (UUID id : table.built(index).getMatching(key))
+				candidates.add(table.get(id));
+			return merge(candidates, filter, mapper);
+		});
+	}
+
+	/**
+	 * Get a page of rows ordered by id.
+	 *
+	 * @param after		id of the last row of the previous page, or null for the first page
+	 * @param limit		maximum number of rows in the page
+	 * @return			copies of the rows
+	 */
+	List<T> page(UUID after, int limit) {
+		return transaction.getDatabase().read(() -> {
+			NavigableMap<UUID, T> page = new TreeMap<>();
+			for (T row : table.rowsAfter(after).values()) {
+				if (page.size() == limit)
+					break;
+				if (!changes.containsKey(row.getId()))
+					page.put(row.getId(), row);
+			}
+			(after == null ? changes : changes.tailMap(after, false)).values().stream()
+				.filter(Objects::nonNull).limit(limit).forEach(row -> page.put(row.getId(), row));
+			return page.values().stream().limit(limit).map(table::copy).collect(Collectors.toList());
+		});
+	}
+
+	/**
+	 * Add or update a row, from a copy of the entity.
+	 * A new entity (without id) gets its id, as by {@code persist}, and it's returned as is; otherwise, as by {@code merge},
+	 * a copy is returned with the new version, unless it doesn't exist anymore and it's added again with a new id.
+	 *
+	 * @param entity	the entity
+	 * @return			the saved entity
+	 * @throws PersistenceException		if a not-null field is null, if another row has the same unique key or if the entity
+	 * 									has been changed since it was read
+	 */
+	T save(T entity) {
+		checkWritable();
+		T current = entity.getId() == null ? null : row(entity.getId());
+		if (current == null) {
+			T row = insert(entity);
+			return entity.getId() == null ? Entities.withIdentity(entity, row.getId(), row.getVersion()) : table.copy(row);
+		} else if (current.getVersion() != entity.getVersion())
+			throw new OptimisticLockException("Row was updated or deleted by another transaction", null, entity);
+		else
+			return table.copy(write(Entities.withIdentity(table.copy(entity), current.getId(), current.getVersion() + 1)));
+	}
+
+	/**
+	 * Add a new row, from a copy of the entity, only if no row has the same unique key.
+	 *
+	 * @param entity	the entity
+	 * @return			a copy of the new row, or null if another row has the same unique key
+	 * @throws PersistenceException		if a not-null field is null
+	 */
+	T insertIfAbsent(T entity) {
+		checkWritable();
+		checkComplete(entity);
+		return uniqueRow(table.uniqueKey(entity)) == null ? table.copy(insert(entity)) : null;
+	}
+
+	/**
+	 * Remove a row.
+	 *
+	 * @param id	the id of the row
+	 * @return		true if the row has been removed, false if it doesn't exist
+	 */
+	boolean remove(UUID id) {
+		checkWritable();
+		if (row(id) == null)
+			return false;
+		else {
+			changes.put(id, null);
+			return true;
+		}
+	}
+
+	/**
+	 * Get the changes of the transaction.
+	 *
+	 * @return		the new version of each changed row, or null for the removed ones
+	 */
+	Map<UUID, T> getChanges() {
+		return changes;
+	}
+
+	private T row(UUID id) {
+		return changes.containsKey(id) ? changes.get(id) : table.get(id);
+	}
+
+	private T uniqueRow(Object key) {
+		T row = rowWithKey(changedUniqueIds.get(key), key);
+		return row != null ? row : rowWithKey(table.idOf(key), key);
+	}
+
+	// The row may have changed its key since it was indexed
+	private T rowWithKey(UUID id, Object key) {
+		T row = id == null ? null : row(id);
+		return row != null && key.equals(table.uniqueKey(row)) ? row : null;
+	}
+
+	private T insert(T entity) {
+		return write(Entities.withIdentity(table.copy(entity), UUID.randomUUID(), 0));
+	}
+
+	private T write(T row) {
+		checkComplete(row);
+		T owner = uniqueRow(table.uniqueKey(row));
+		if (owner != null && !owner.getId().equals(row.getId()))
+			throw new EntityExistsException("Another row has the same unique key");
+		changes.put(row.getId(), row);
+		changedUniqueIds.put(table.uniqueKey(row), row.getId());
+		return row;
+	}
+
+	private <R> List<R> merge(Collection<T> committed, Predicate<? super T> filter, Function<? super T, R> mapper) {
+		List<R> results = new ArrayList<>();
+		for (T row : committed) {
+			if (row != null && !changes.containsKey(row.getId()) && filter.test(row))
+				results.add(mapper.apply(row));
+		}
+		for (T row : changes.values()) {
+			if (row != null && filter.test(row))
+				results.add(mapper.apply(row));
+		}
+		return results;
+	}
+
+	private void checkWritable() {
+		if (!transaction.isActive())
+			throw new IllegalStateException("The transaction is not active");
+		if (transaction.isReadOnly())
+			throw new PersistenceException("Can't write in a read-only transaction");
+	}
+
+	private void checkComplete(T row) {
+		if (!table.isComplete(row))
+			throw new PersistenceException("A not-null field is null");
+	}
+}
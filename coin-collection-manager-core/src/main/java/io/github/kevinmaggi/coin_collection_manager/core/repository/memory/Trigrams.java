@@ -0,0 +1,71 @@
+package io.github.kevinmaggi.coin_collection_manager.core.repository.memory;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Trigrams of the descriptions, to rank them as the {@code pg_trgm} extension of Postgres does.
+ */
+final class Trigrams {
+	private static final int LENGTH = 3;
+	private static final String NOT_WORD = "[^\\p{L}\\p{N}]+";
+
+	private Trigrams() {}
+
+	/**
+	 * Convert a text to lower case character by character, so that its length (and so its substrings) doesn't change.
+	 *
+	 * @param text	the text
+	 * @return		the text in lower case
+	 */
+	static String fold(String text) {
+		char[] chars = text.toCharArray();
+		for (int i = 0; i < chars.length; i++)
+			chars[i] = Character.toLowerCase(chars[i]);
+		return new String(chars);
+	}
+
+	/**
+	 * Get the words of a text in lower case, i.e. its runs of letters and digits.
+	 * A folded text contains another one only if the longest word of the latter is part of a word of the former.
+	 *
+	 * @param text	the text
+	 * @return		the words, without repetitions
+	 */
+	static Set<String> words(String text) {
+		Set<String> words = new HashSet<>();
+		for (String word : fold(text).split(NOT_WORD)) {
+			if (!word.isEmpty())
+				words.add(word);
+		}
+		return words;
+	}
+
+	/**
+	 * Get how similar two texts are as {@code similarity} of {@code pg_trgm}: the number of trigrams of their words they share,
+	 * over the number of distinct trigrams of both.
+	 *
+	 * @param a		a text
+	 * @param b		another text
+	 * @return		the similarity, from 0 (nothing in common) to 1
+	 */
+	static double similarity(String a, String b) {
+		Set<String> trigramsOfA = wordTrigrams(a);
+		Set<String> trigramsOfB = wordTrigrams(b);
+		int all = trigramsOfA.size() + trigramsOfB.size();
+		trigramsOfA.retainAll(trigramsOfB);
+		int common = trigramsOfA.size();
+		return all == common ? 0 : (double) common / (all - common);
+	}
+
+	// Words are runs of letters and digits, padded with two spaces before and one after
+	private static Set<String> wordTrigrams(String text) {
+		Set<String> trigrams = new HashSet<>();
+		for (String word : words(text)) {
+			String padded = "  " + word + " ";
+			for (int i = 0; i + LENGTH <= padded.length(); i++)
+				trigrams.add(padded.substring(i, i + LENGTH));
+		}
+		return trigrams;
+	}
+}
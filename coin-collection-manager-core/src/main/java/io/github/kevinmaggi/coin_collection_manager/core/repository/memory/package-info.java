@@ -0,0 +1,6 @@
+/**
+ * This package offers an implementation of the abstract repository that keeps the whole collection in memory, with
+ * transactions over a private set of changes that is applied at commit, for single-user deployments and as a baseline for benchmarks.
+ * The collection can also be stored in a directory, as a snapshot and a log of the later commits, to run without a database server.
+ */
+package io.github.kevinmaggi.coin_collection_manager.core.repository.memory;
@@ -1,10 +1,30 @@
 package io.github.kevinmaggi.coin_collection_manager.core.repository.postgresql;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 
 import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.AlbumSummary;
 import io.github.kevinmaggi.coin_collection_manager.core.repository.AlbumRepository;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.CacheStatistics;
+import jakarta.persistence.Cache;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.NoResultException;
@@ -14,6 +34,26 @@ import jakarta.persistence.TypedQuery;
  * Implementation of repository layer for {@code Album} entity for Postgres DBs.
  */
 public class PostgresAlbumRepository extends PostgresRepository implements AlbumRepository {
+	/**
+	 * Second-level cache region of the {@code Album} entities, as declared on the entity.
+	 */
+	static final String CACHE_REGION = "albums";
+
+	/**
+	 * Second-level cache region of the results of the {@code Album} queries, as declared on the cacheable named queries.
+	 */
+	static final String QUERY_CACHE_REGION = "album-queries";
+
+	/**
+	 * Query space of the slot updates. No entity is mapped to it, so Hibernate doesn't evict the whole cache region of the
+	 * {@code Album}s after them, as it does after any bulk statement on their table.
+	 */
+	static final String SLOTS_QUERY_SPACE = "album_slots";
+
+	/**
+	 * Table of the {@code Album}s, the query space the cached queries depend on.
+	 */
+	static final String TABLE = "albums";
 
 	/**
 	 * Simple constructor.
@@ -26,16 +66,67 @@ public class PostgresAlbumRepository extends PostgresRepository implements Album
 
 	/**
 	 * Get all the {@code Album}s contained in the database.
+	 * The result is served by the query cache, when enabled, until an {@code Album} or its slots are written. The returned {@code Album}s are detached.
 	 *
 	 * @return		A list with all the {@code Album}s
 	 */
 	@Override
 	public List<Album> findAll() {
-		return em.createQuery("SELECT a FROM Album a", Album.class).getResultList();
+		return detachedList(em.createNamedQuery("Album.findAll", Album.class));
+	}
+
+	/**
+	 * Get the summaries of all the {@code Album}s contained in the database, without loading the entities.
+	 * They contain the slot counters, that change at every {@code Coin} written, so they are never cached.
+	 *
+	 * @return		A list with the summaries of all the {@code Album}s
+	 */
+	@Override
+	public List<AlbumSummary> findAllSummaries() {
+		return em.createNamedQuery("Album.findAllSummaries", AlbumSummary.class).getResultList();
+	}
+
+	/**
+	 * Get a page of {@code Album}s ordered by id, starting right after the given id (keyset pagination).
+	 * The returned {@code Album}s are detached.
+	 *
+	 * @param after	id of the last {@code Album} of the previous page, or null for the first page
+	 * @param limit	maximum number of {@code Album}s in the page
+	 * @return		A list with at most {@code limit} {@code Album}s
+	 * @throws IllegalArgumentException 	If the {@code limit} is not positive
+	 */
+	@Override
+	public List<Album> findPage(UUID after, int limit) throws IllegalArgumentException {
+		if (limit <= 0)
+			throw new IllegalArgumentException("Limit must be positive");
+		else {
+			TypedQuery<Album> q;
+			if (after == null)
+				q = em.createNamedQuery("Album.findFirstPage", Album.class);
+			else {
+				q = em.createNamedQuery("Album.findPageAfter", Album.class);
+				q.setParameter("after", after);
+			}
+			List<Album> page = q.setMaxResults(limit).getResultList();
+			page.forEach(em::detach);
+			return page;
+		}
+	}
+
+	/**
+	 * Get all the {@code Album}s contained in the database as a stream, fetched lazily and detached one by one.
+	 * The stream must be consumed and closed inside the same transaction that opened it.
+	 *
+	 * @return		A stream with all the {@code Album}s
+	 */
+	@Override
+	public Stream<Album> streamAll() {
+		return detachedStream(em.createNamedQuery("Album.findAll", Album.class));
 	}
 
 	/**
 	 * Get a {@code Album} by its id.
+	 * If the {@code Album} is already in the persistence context it's returned without reading the database.
 	 *
 	 * @param id 	{@code Album} id
 	 * @return 		the {@code Album}
@@ -43,6 +134,21 @@ public class PostgresAlbumRepository extends PostgresRepository implements Album
 	 */
 	@Override
 	public Album findById(UUID id) throws IllegalArgumentException {
+		if (id == null)
+			throw new IllegalArgumentException("ID can't be null");
+		else
+			return em.find(Album.class, id);
+	}
+
+	/**
+	 * Get a {@code Album} by its id, always re-reading its state from the database.
+	 *
+	 * @param id 	{@code Album} id
+	 * @return 		the {@code Album}, or null if it's not (anymore) in the database
+	 * @throws IllegalArgumentException 	If the {@code id} is null
+	 */
+	@Override
+	public Album findFreshById(UUID id) throws IllegalArgumentException {
 		if (id == null)
 			throw new IllegalArgumentException("ID can't be null");
 		else
@@ -56,6 +162,31 @@ public class PostgresAlbumRepository extends PostgresRepository implements Album
 			}
 	}
 
+	/**
+	 * Get the {@code Album}s with any of the given ids.
+	 * They are looked up by id, one query for each batch, but the ones already in the persistence context are returned as they are.
+	 *
+	 * @param ids 	{@code Album}s ids
+	 * @return 		a list with the {@code Album}s found, in no particular order
+	 * @throws IllegalArgumentException 	If the collection is null
+	 */
+	@Override
+	public List<Album> findAllById(Collection<UUID> ids) throws IllegalArgumentException {
+		if (ids == null)
+			throw new IllegalArgumentException("IDs can't be null");
+		else {
+			Set<UUID> keys = new HashSet<>(ids);
+			keys.remove(null);
+			List<Album> found = new ArrayList<>();
+			for (List<UUID> batch : batches(new ArrayList<>(keys))) {
+				TypedQuery<Album> q = em.createNamedQuery("Album.findByIds", Album.class);
+				q.setParameter("ids", batch);
+				found.addAll(q.getResultList());
+			}
+			return found;
+		}
+	}
+
 	/**
 	 * Persist (add or update) a {@code Album} in the database.
 	 *
@@ -76,6 +207,49 @@ public class PostgresAlbumRepository extends PostgresRepository implements Album
 		}
 	}
 
+	/**
+	 * Persist (add or update) many {@code Album}s in the database, sending the statements in batches.
+	 * The returned {@code Album}s are detached.
+	 *
+	 * @param albums	the {@code Album}s to save
+	 * @return		the saved {@code Album}s, in the same order
+	 * @throws IllegalArgumentException 	If the collection or any {@code Album} in it is null
+	 */
+	@Override
+	public List<Album> saveAll(Collection<Album> albums) throws IllegalArgumentException {
+		if (albums == null)
+			throw new IllegalArgumentException("Albums to save can't be null");
+		else
+			return saveInBatches(albums, this::save);
+	}
+
+	/**
+	 * Get the {@code Album}s in the database equal to any of the given ones.
+	 * Candidates are selected by name, one query for each batch, and then compared in memory.
+	 *
+	 * @param albums	the {@code Album}s to look for
+	 * @return		a list with the {@code Album}s already in the database
+	 * @throws IllegalArgumentException 	If the collection is null
+	 */
+	@Override
+	public List<Album> findAllMatching(Collection<Album> albums) throws IllegalArgumentException {
+		if (albums == null)
+			throw new IllegalArgumentException("Albums can't be null");
+		else {
+			Set<Album> wanted = new HashSet<>(albums);
+			wanted.remove(null);
+			Set<String> keys = new HashSet<>();
+			wanted.forEach(album -> keys.add(album.getName()));
+			List<Album> found = new ArrayList<>();
+			for (List<String> batch : batches(new ArrayList<>(keys))) {
+				TypedQuery<Album> q = em.createNamedQuery("Album.findByNames", Album.class);
+				q.setParameter("keys", batch);
+				q.getResultList().stream().filter(wanted::contains).forEach(found::add);
+			}
+			return found;
+		}
+	}
+
 	/**
 	 * Remove a {@code Album} from the database.
 	 *
@@ -92,6 +266,7 @@ public class PostgresAlbumRepository extends PostgresRepository implements Album
 
 	/**
 	 * Get {@code Album}s by their name.
+	 * The result is served by the query cache, when enabled, until an {@code Album} or its slots are written.
 	 *
 	 * @param name		{@code Album}s' name
 	 * @param volume 	{@code Album}'s volume
@@ -104,7 +279,7 @@ public class PostgresAlbumRepository extends PostgresRepository implements Album
 			throw new IllegalArgumentException("Name can't be null");
 		else {
 			try {
-				TypedQuery<Album> q = em.createQuery("SELECT a FROM Album a WHERE a.name = :name AND a.volume = :volume", Album.class);
+				TypedQuery<Album> q = em.createNamedQuery("Album.findByNameAndVolume", Album.class);
 				q.setParameter("name", name);
 				q.setParameter("volume", volume);
 				return q.getSingleResult();
@@ -114,4 +289,120 @@ public class PostgresAlbumRepository extends PostgresRepository implements Album
 		}
 	}
 
+	/**
+	 * Atomically occupy some slots of an {@code Album}, only if they are all free.
+	 * It's a single conditional update, so concurrent transactions can't lose updates or overfill the {@code Album};
+	 * if the {@code Album} is managed it's refreshed afterwards.
+	 * Only this {@code Album} is evicted from the second-level cache, the other ones stay cached; the cached queries on the
+	 * {@code Album}s are re-executed, since their results hold the counters too.
+	 *
+	 * @param id		the {@code Album}'s id
+	 * @param count		the number of slots to occupy
+	 * @return			true if the slots have been occupied, false if the {@code Album} doesn't have enough free slots (or doesn't exist)
+	 * @throws IllegalArgumentException 	If the {@code id} is null or the {@code count} is negative
+	 */
+	@Override
+	public boolean occupySlots(UUID id, int count) throws IllegalArgumentException {
+		return updateSlots(id, count, "Album.occupySlots");
+	}
+
+	/**
+	 * Atomically release some slots of an {@code Album}, only if they are all occupied.
+	 * It's a single conditional update, so concurrent transactions can't lose updates;
+	 * if the {@code Album} is managed it's refreshed afterwards.
+	 * Only this {@code Album} is evicted from the second-level cache, the other ones stay cached; the cached queries on the
+	 * {@code Album}s are re-executed, since their results hold the counters too.
+	 *
+	 * @param id		the {@code Album}'s id
+	 * @param count		the number of slots to release
+	 * @return			true if the slots have been released, false if the {@code Album} has less occupied slots (or doesn't exist)
+	 * @throws IllegalArgumentException 	If the {@code id} is null or the {@code count} is negative
+	 */
+	@Override
+	public boolean releaseSlots(UUID id, int count) throws IllegalArgumentException {
+		return updateSlots(id, count, "Album.releaseSlots");
+	}
+
+	/**
+	 * Get the usage statistics of the second-level cache of {@code Album}s and of their queries.
+	 * Hits, misses and puts are collected by Hibernate (if {@code hibernate.generate_statistics} is enabled),
+	 * evictions by the JCache provider (if it exposes its statistics through JMX).
+	 *
+	 * @return			the statistics, all zero if the cache (or the statistics collection) is disabled
+	 */
+	@Override
+	public CacheStatistics getCacheStatistics() {
+		SessionFactoryImplementor factory = em.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+		Statistics statistics = factory.getStatistics();
+		if (!statistics.isStatisticsEnabled())
+			return CacheStatistics.EMPTY;
+		else {
+			List<CacheRegionStatistics> regions = new ArrayList<>();
+			if (factory.getCache().getCacheRegionNames().contains(CACHE_REGION))
+				regions.add(statistics.getDomainDataRegionStatistics(CACHE_REGION));
+			// Asked only once the region exists, otherwise Hibernate would remember it as missing
+			if (factory.getCache().getQueryResultsCacheStrictly(QUERY_CACHE_REGION) != null)
+				regions.add(statistics.getQueryRegionStatistics(QUERY_CACHE_REGION));
+
+			long hits = 0;
+			long misses = 0;
+			long puts = 0;
+			for (CacheRegionStatistics region : regions) {
+				hits += region.getHitCount();
+				misses += region.getMissCount();
+				puts += region.getPutCount();
+			}
+			return new CacheStatistics(hits, misses, puts, evictions(CACHE_REGION) + evictions(QUERY_CACHE_REGION));
+		}
+	}
+
+	private static long evictions(String region) {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		long evictions = 0;
+		try {
+			for (ObjectName name : server.queryNames(new ObjectName("javax.cache:type=CacheStatistics,Cache=" + region + ",*"), null))
+				evictions += (Long) server.getAttribute(name, "CacheEvictions");
+		} catch (JMException e) {
+			// The cache has been closed meanwhile, there's nothing left to count
+		}
+		return evictions;
+	}
+
+	// Evicted now and once the transaction ends, so a concurrent reader can't put back the old counters until the next write
+	private void evict(UUID id) {
+		SessionImplementor session = em.unwrap(SessionImplementor.class);
+		Cache cache = em.getEntityManagerFactory().getCache();
+		// Null if the second-level cache is disabled
+		TimestampsCache timestamps = session.getFactory().getCache().getTimestampsCache();
+		String[] spaces = { TABLE };
+		cache.evict(Album.class, id);
+		if (timestamps != null)
+			timestamps.preInvalidate(spaces, session);
+		session.getActionQueue().registerProcess((success, completed) -> {
+			cache.evict(Album.class, id);
+			if (timestamps != null)
+				timestamps.invalidate(spaces, completed);
+		});
+	}
+
+	private boolean updateSlots(UUID id, int count, String queryName) {
+		if (id == null)
+			throw new IllegalArgumentException("Album's id can't be null");
+		else if (count < 0)
+			throw new IllegalArgumentException("Count can't be negative");
+		else {
+			em.flush();
+			int updated = em.createNamedQuery(queryName)
+					.unwrap(NativeQuery.class)
+					.addSynchronizedQuerySpace(SLOTS_QUERY_SPACE)
+					.setParameter("id", id)
+					.setParameter("count", count)
+					.executeUpdate();
+			evict(id);
+			Album managed = findManaged(Album.class, id);
+			if (managed != null)
+				em.refresh(managed);
+			return updated == 1;
+		}
+	}
 }
@@ -1,10 +1,18 @@
 package io.github.kevinmaggi.coin_collection_manager.core.repository.postgresql;
 
 import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.hibernate.query.NativeQuery;
 
 import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinSummary;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
 import io.github.kevinmaggi.coin_collection_manager.core.repository.CoinRepository;
 import jakarta.persistence.EntityManager;
@@ -28,16 +36,66 @@ public class PostgresCoinRepository extends PostgresRepository implements CoinRe
 
 	/**
 	 * Get all the {@code Coin}s contained in the database.
+	 * The returned {@code Coin}s are detached.
 	 *
 	 * @return		A list with all the {@code Coin}s
 	 */
 	@Override
 	public List<Coin> findAll() {
-		return em.createQuery("SELECT c FROM Coin c", Coin.class).getResultList();
+		return detachedList(em.createNamedQuery("Coin.findAll", Coin.class));
+	}
+
+	/**
+	 * Get the summaries of all the {@code Coin}s contained in the database, without loading the entities.
+	 *
+	 * @return		A list with the summaries of all the {@code Coin}s
+	 */
+	@Override
+	public List<CoinSummary> findAllSummaries() {
+		return em.createNamedQuery("Coin.findAllSummaries", CoinSummary.class).getResultList();
+	}
+
+	/**
+	 * Get a page of {@code Coin}s ordered by id, starting right after the given id (keyset pagination).
+	 * The returned {@code Coin}s are detached.
+	 *
+	 * @param after	id of the last {@code Coin} of the previous page, or null for the first page
+	 * @param limit	maximum number of {@code Coin}s in the page
+	 * @return		A list with at most {@code limit} {@code Coin}s
+	 * @throws IllegalArgumentException 	If the {@code limit} is not positive
+	 */
+	@Override
+	public List<Coin> findPage(UUID after, int limit) throws IllegalArgumentException {
+		if (limit <= 0)
+			throw new IllegalArgumentException("Limit must be positive");
+		else {
+			TypedQuery<Coin> q;
+			if (after == null)
+				q = em.createNamedQuery("Coin.findFirstPage", Coin.class);
+			else {
+				q = em.createNamedQuery("Coin.findPageAfter", Coin.class);
+				q.setParameter("after", after);
+			}
+			List<Coin> page = q.setMaxResults(limit).getResultList();
+			page.forEach(em::detach);
+			return page;
+		}
+	}
+
+	/**
+	 * Get all the {@code Coin}s contained in the database as a stream, fetched lazily and detached one by one.
+	 * The stream must be consumed and closed inside the same transaction that opened it.
+	 *
+	 * @return		A stream with all the {@code Coin}s
+	 */
+	@Override
+	public Stream<Coin> streamAll() {
+		return detachedStream(em.createNamedQuery("Coin.findAll", Coin.class));
 	}
 
 	/**
 	 * Get a {@code Coin} by its id.
+	 * If the {@code Coin} is already in the persistence context it's returned without reading the database.
 	 *
 	 * @param id 	{@code Coin} id
 	 * @return 		the {@code Coin}
@@ -45,6 +103,21 @@ public class PostgresCoinRepository extends PostgresRepository implements CoinRe
 	 */
 	@Override
 	public Coin findById(UUID id) throws IllegalArgumentException {
+		if (id == null)
+			throw new IllegalArgumentException("ID can't be null");
+		else
+			return em.find(Coin.class, id);
+	}
+
+	/**
+	 * Get a {@code Coin} by its id, always re-reading its state from the database.
+	 *
+	 * @param id 	{@code Coin} id
+	 * @return 		the {@code Coin}, or null if it's not (anymore) in the database
+	 * @throws IllegalArgumentException 	If the {@code id} is null
+	 */
+	@Override
+	public Coin findFreshById(UUID id) throws IllegalArgumentException {
 		if (id == null)
 			throw new IllegalArgumentException("ID can't be null");
 		else
@@ -58,6 +131,31 @@ public class PostgresCoinRepository extends PostgresRepository implements CoinRe
 			}
 	}
 
+	/**
+	 * Get the {@code Coin}s with any of the given ids.
+	 * They are looked up by id, one query for each batch, but the ones already in the persistence context are returned as they are.
+	 *
+	 * @param ids 	{@code Coin}s ids
+	 * @return 		a list with the {@code Coin}s found, in no particular order
+	 * @throws IllegalArgumentException 	If the collection is null
+	 */
+	@Override
+	public List<Coin> findAllById(Collection<UUID> ids) throws IllegalArgumentException {
+		if (ids == null)
+			throw new IllegalArgumentException("IDs can't be null");
+		else {
+			Set<UUID> keys = new HashSet<>(ids);
+			keys.remove(null);
+			List<Coin> found = new ArrayList<>();
+			for (List<UUID> batch : batches(new ArrayList<>(keys))) {
+				TypedQuery<Coin> q = em.createNamedQuery("Coin.findByIds", Coin.class);
+				q.setParameter("ids", batch);
+				found.addAll(q.getResultList());
+			}
+			return found;
+		}
+	}
+
 	/**
 	 * Persist (add or update) a {@code Coin} in the database.
 	 *
@@ -78,6 +176,80 @@ public class PostgresCoinRepository extends PostgresRepository implements CoinRe
 		}
 	}
 
+	/**
+	 * Persist (add or update) many {@code Coin}s in the database, sending the statements in batches.
+	 * The returned {@code Coin}s are detached.
+	 *
+	 * @param coins	the {@code Coin}s to save
+	 * @return		the saved {@code Coin}s, in the same order
+	 * @throws IllegalArgumentException 	If the collection or any {@code Coin} in it is null
+	 */
+	@Override
+	public List<Coin> saveAll(Collection<Coin> coins) throws IllegalArgumentException {
+		if (coins == null)
+			throw new IllegalArgumentException("Coins to save can't be null");
+		else
+			return saveInBatches(coins, this::save);
+	}
+
+	/**
+	 * Add a {@code Coin} to the database only if an equal one isn't already there.
+	 * The duplicate check is done by the database with a single {@code INSERT ... ON CONFLICT DO NOTHING} on the
+	 * unique fingerprint, so it's also safe against concurrent inserts of the same {@code Coin}.
+	 * The given {@code Coin} isn't modified, the returned one is a new managed instance.
+	 *
+	 * @param coin	the {@code Coin} to add
+	 * @return		the added {@code Coin}, or null if an equal one is already in the database
+	 * @throws IllegalArgumentException 	If the {@code Coin} is null, or its grade or minting year are null
+	 */
+	@Override
+	public Coin insertIfAbsent(Coin coin) throws IllegalArgumentException {
+		if (coin == null)
+			throw new IllegalArgumentException("Coin to save can't be null");
+		else if (coin.getGrade() == null || coin.getMintingYear() == null)
+			throw new IllegalArgumentException("Grade and minting year of the coin to save can't be null");
+		else {
+			TypedQuery<Coin> q = em.createNamedQuery("Coin.insertIfAbsent", Coin.class);
+			q.setParameter("grade", coin.getGrade().ordinal());
+			q.setParameter("country", coin.getCountry());
+			q.setParameter("year", coin.getMintingYear().getValue());
+			q.setParameter("description", coin.getDescription());
+			q.setParameter("note", coin.getNote());
+			q.unwrap(NativeQuery.class).setParameter("album", coin.getAlbum(), UUID.class);
+			q.setParameter("fingerprint", coin.getFingerprint());
+			List<Coin> inserted = q.getResultList();
+			return inserted.isEmpty() ? null : inserted.get(0);
+		}
+	}
+
+	/**
+	 * Get the {@code Coin}s in the database equal to any of the given ones.
+	 * They are looked up by fingerprint, one query for each batch.
+	 *
+	 * @param coins	the {@code Coin}s to look for
+	 * @return		a list with the {@code Coin}s already in the database
+	 * @throws IllegalArgumentException 	If the collection is null
+	 */
+	@Override
+	public List<Coin> findAllMatching(Collection<Coin> coins) throws IllegalArgumentException {
+		if (coins == null)
+			throw new IllegalArgumentException("Coins can't be null");
+		else {
+			Set<String> keys = new HashSet<>();
+			for (Coin coin : coins) {
+				if (coin != null && coin.getFingerprint() != null)
+					keys.add(coin.getFingerprint());
+			}
+			List<Coin> found = new ArrayList<>();
+			for (List<String> batch : batches(new ArrayList<>(keys))) {
+				TypedQuery<Coin> q = em.createNamedQuery("Coin.findByFingerprints", Coin.class);
+				q.setParameter("keys", batch);
+				found.addAll(q.getResultList());
+			}
+			return found;
+		}
+	}
+
 	/**
 	 * Remove a {@code Coin} from the database.
 	 *
@@ -94,6 +266,8 @@ public class PostgresCoinRepository extends PostgresRepository implements CoinRe
 
 	/**
 	 * Get {@code Coin}s by their description.
+	 * The pattern has wildcards on both sides, so it's served by the trigram index created by {@code PostgresSchemaInitializer}.
+	 * The returned {@code Coin}s are detached.
 	 *
 	 * @param description	{@code Coin}s' (part of) description
 	 * @return				a list with the corresponding {@code Coin}s
@@ -104,14 +278,54 @@ public class PostgresCoinRepository extends PostgresRepository implements CoinRe
 		if (description == null)
 			throw new IllegalArgumentException("Description can't be null");
 		else {
-			TypedQuery<Coin> q = em.createQuery("SELECT c FROM Coin c WHERE c.description LIKE :description", Coin.class);
+			TypedQuery<Coin> q = em.createNamedQuery("Coin.findByDescription", Coin.class);
+			q.setParameter("description", "%" + description + "%");
+			return detachedList(q);
+		}
+	}
+
+	/**
+	 * Get the summaries of the {@code Coin}s by their description, without loading the entities.
+	 *
+	 * @param description	{@code Coin}s' (part of) description
+	 * @return				a list with the summaries of the corresponding {@code Coin}s
+	 * @throws IllegalArgumentException 	If the {@code description} is null
+	 */
+	@Override
+	public List<CoinSummary> findSummariesByDescription(String description) throws IllegalArgumentException {
+		if (description == null)
+			throw new IllegalArgumentException("Description can't be null");
+		else {
+			TypedQuery<CoinSummary> q = em.createNamedQuery("Coin.findSummariesByDescription", CoinSummary.class);
 			q.setParameter("description", "%" + description + "%");
 			return q.getResultList();
 		}
 	}
 
+	/**
+	 * Get {@code Coin}s whose description contains the given text ignoring case, the most similar first.
+	 * Both the matching and the ranking use the trigram index created by {@code PostgresSchemaInitializer}.
+	 * The returned {@code Coin}s are detached.
+	 *
+	 * @param description	{@code Coin}s' (part of) description
+	 * @return				a list with the corresponding {@code Coin}s, ranked by similarity
+	 * @throws IllegalArgumentException 	If the {@code description} is null
+	 */
+	@Override
+	public List<Coin> searchByDescription(String description) throws IllegalArgumentException {
+		if (description == null)
+			throw new IllegalArgumentException("Description can't be null");
+		else {
+			TypedQuery<Coin> q = em.createNamedQuery("Coin.searchByDescription", Coin.class);
+			q.setParameter("pattern", "%" + description + "%");
+			q.setParameter("description", description);
+			return detachedList(q);
+		}
+	}
+
 	/**
 	 * Get all the {@code Coin}s in a specific {@code Album}.
+	 * The returned {@code Coin}s are detached.
 	 *
 	 * @param id	the {@code Album}'s id
 	 * @return		a list with all the {@code Coin}s
@@ -122,14 +336,55 @@ public class PostgresCoinRepository extends PostgresRepository implements CoinRe
 		if (id == null)
 			throw new IllegalArgumentException("Album's id can't be null");
 		else {
-			TypedQuery<Coin> q = em.createQuery("SELECT c FROM Coin c WHERE c.album = :album", Coin.class);
+			TypedQuery<Coin> q = em.createNamedQuery("Coin.findByAlbum", Coin.class);
+			q.setParameter("album", id);
+			return detachedList(q);
+		}
+	}
+
+	/**
+	 * Get the summaries of all the {@code Coin}s in a specific {@code Album}, without loading the entities.
+	 *
+	 * @param id	the {@code Album}'s id
+	 * @return		a list with the summaries of all the {@code Coin}s
+	 * @throws IllegalArgumentException 	If the {@code id} is null
+	 */
+	@Override
+	public List<CoinSummary> findSummariesByAlbum(UUID id) throws IllegalArgumentException {
+		if (id == null)
+			throw new IllegalArgumentException("Album's id can't be null");
+		else {
+			TypedQuery<CoinSummary> q = em.createNamedQuery("Coin.findSummariesByAlbum", CoinSummary.class);
 			q.setParameter("album", id);
 			return q.getResultList();
 		}
 	}
 
 	/**
-	 * Get a specific {@code Coin}.
+	 * Remove all the {@code Coin}s in a specific {@code Album} with a single bulk statement.
+	 * Pending changes are flushed before and the removed {@code Coin}s that were managed are detached after,
+	 * so the persistence context stays consistent without loading the {@code Coin}s.
+	 *
+	 * @param id	the {@code Album}'s id
+	 * @return		the number of removed {@code Coin}s
+	 * @throws IllegalArgumentException 	If the {@code id} is null
+	 */
+	@Override
+	public int deleteByAlbum(UUID id) throws IllegalArgumentException {
+		if (id == null)
+			throw new IllegalArgumentException("Album's id can't be null");
+		else {
+			em.flush();
+			int deleted = em.createNamedQuery("Coin.deleteByAlbum")
+					.setParameter("album", id)
+					.executeUpdate();
+			detachManaged(Coin.class, coin -> id.equals(coin.getAlbum()));
+			return deleted;
+		}
+	}
+
+	/**
+	 * Get a specific {@code Coin}, looking it up by its fingerprint.
 	 *
 	 * @param grade			the {@code Grade} of the {@code Coin}
 	 * @param country		the country of the {@code Coin}
@@ -154,14 +409,8 @@ public class PostgresCoinRepository extends PostgresRepository implements CoinRe
 			throw new IllegalArgumentException("Note can't be null");
 		else {
 			try {
-				String query = "SELECT c FROM Coin c WHERE "
-						+ "c.grade = :grade AND c.country = :country AND c.mintingYear = :year AND c.description = :description AND c.note = :note";
-				TypedQuery<Coin> q = em.createQuery(query, Coin.class);
-				q.setParameter("grade", grade);
-				q.setParameter("country", country);
-				q.setParameter("year", year);
-				q.setParameter("description", description);
-				q.setParameter("note", note);
+				TypedQuery<Coin> q = em.createNamedQuery("Coin.findByFingerprint", Coin.class);
+				q.setParameter("fingerprint", Coin.fingerprintOf(grade, country, year, description, note));
 				return q.getSingleResult();
 			} catch (NoResultException e) {
 				return null;
@@ -1,16 +1,49 @@
 package io.github.kevinmaggi.coin_collection_manager.core.repository.postgresql;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.Query;
+
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
 
 /**
  * Base Postgres repository to extend for all type of repository for Postgres.
  */
 public abstract class PostgresRepository {
+	/**
+	 * Number of rows fetched from the database at each round trip when streaming results.
+	 */
+	protected static final int FETCH_SIZE = 100;
+
+	/**
+	 * Number of entities written (or looked up) together in bulk operations when {@code hibernate.jdbc.batch_size} is not set.
+	 */
+	protected static final int DEFAULT_BATCH_SIZE = 50;
+
 	/**
 	 * {@code EntityManager} to use for operation on database.
 	 */
 	protected EntityManager em;
 
+	/**
+	 * Number of entities written (or looked up) together in bulk operations, taken from {@code hibernate.jdbc.batch_size}.
+	 * It's also the cap on the entities that a bulk operation or a list read ({@link #detachedList(TypedQuery)}) keeps in the
+	 * persistence context at the same time.
+	 */
+	protected final int batchSize;
+
 	/**
 	 * Simple constructor
 	 *
@@ -18,5 +51,146 @@ public abstract class PostgresRepository {
 	 */
 	protected PostgresRepository(EntityManager em) {
 		this.em = em;
+		this.batchSize = batchSize(em.getEntityManagerFactory().getProperties());
+	}
+
+	/**
+	 * Executes a query streaming its results through a server side cursor, detaching every entity as soon as it is handed over,
+	 * so that the memory used doesn't depend on the number of results.
+	 *
+	 * @param <T>		type of the results
+	 * @param query		query to execute
+	 * @return			the stream of (detached) results
+	 */
+	protected <T> Stream<T> detachedStream(TypedQuery<T> query) {
+		return query.setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE).getResultStream().map(this::detach);
+	}
+
+	/**
+	 * Executes a query loading its results read-only and detaching them, so that they aren't kept (and dirty-checked at commit)
+	 * in the persistence context for the rest of the transaction.
+	 * The results are streamed through a server side cursor and detached every {@code batchSize}, so that the persistence context
+	 * never holds more than {@code batchSize} of them, however many they are. The results of cacheable queries (e.g. the albums')
+	 * can't be streamed without bypassing the query cache, so they're loaded all at once and then detached.
+	 * Results that were already managed before the query are left as they are, since the transaction may be changing them.
+	 *
+	 * @param <T>		type of the results
+	 * @param query		query to execute
+	 * @return			the list of results
+	 */
+	protected <T> List<T> detachedList(TypedQuery<T> query) {
+		SessionImplementor session = em.unwrap(SessionImplementor.class);
+		query.setHint(HibernateHints.HINT_READ_ONLY, true);
+		List<T> results = new ArrayList<>();
+		List<T> loaded = new ArrayList<>(batchSize);
+		try (Stream<T> stream = query.unwrap(Query.class).isCacheable() ? query.getResultList().stream()
+				: query.setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE).getResultStream()) {
+			stream.forEach(result -> {
+				results.add(result);
+				if (session.isReadOnly(result))
+					loaded.add(result);
+				if (loaded.size() == batchSize) {
+					loaded.forEach(em::detach);
+					loaded.clear();
+				}
+			});
+		}
+		loaded.forEach(em::detach);
+		return results;
+	}
+
+	/**
+	 * Detaches an entity from the persistence context.
+	 *
+	 * @param <T>		type of the entity
+	 * @param entity	entity to detach
+	 * @return			the same entity, now detached
+	 */
+	protected <T> T detach(T entity) {
+		em.detach(entity);
+		return entity;
+	}
+
+	/**
+	 * Saves many entities flushing them every {@code batchSize}, so that their statements are sent as JDBC batches,
+	 * and detaching them once flushed, so that the persistence context doesn't grow with the number of entities.
+	 *
+	 * @param <T>		type of the entities
+	 * @param entities	entities to save
+	 * @param save		how to save a single entity, returning the managed instance
+	 * @return			the saved (detached) entities, in the same order
+	 */
+	protected <T> List<T> saveInBatches(Collection<T> entities, UnaryOperator<T> save) {
+		List<T> saved = new ArrayList<>(entities.size());
+		for (T entity : entities) {
+			saved.add(save.apply(entity));
+			if (saved.size() % batchSize == 0)
+				flushAndDetach(saved.subList(saved.size() - batchSize, saved.size()));
+		}
+		flushAndDetach(saved.subList(saved.size() - saved.size() % batchSize, saved.size()));
+		return saved;
+	}
+
+	/**
+	 * Splits a list in consecutive chunks of at most {@code batchSize} elements.
+	 *
+	 * @param <T>	type of the elements
+	 * @param list	list to split
+	 * @return		the chunks
+	 */
+	protected <T> List<List<T>> batches(List<T> list) {
+		List<List<T>> batches = new ArrayList<>();
+		for (int i = 0; i < list.size(); i += batchSize)
+			batches.add(list.subList(i, Math.min(i + batchSize, list.size())));
+		return batches;
+	}
+
+	/**
+	 * Get the size of the batches configured by {@code hibernate.jdbc.batch_size}, or the default one if it's not set or not positive.
+	 *
+	 * @param properties	properties of the persistence unit
+	 * @return				the size of the batches
+	 */
+	static int batchSize(Map<String, Object> properties) {
+		Object configured = properties.get(AvailableSettings.STATEMENT_BATCH_SIZE);
+		int size = configured == null ? DEFAULT_BATCH_SIZE : Integer.parseInt(configured.toString().trim());
+		return size > 0 ? size : DEFAULT_BATCH_SIZE;
+	}
+
+	/**
+	 * Detaches the managed entities of a type that satisfy a condition, e.g. because a bulk statement removed their rows.
+	 * Only the persistence context is scanned, so no entity is loaded from the database.
+	 *
+	 * @param <T>		type of the entities
+	 * @param type		class of the entities
+	 * @param filter	condition on the entities to detach
+	 */
+	protected <T> void detachManaged(Class<T> type, Predicate<T> filter) {
+		for (Map.Entry<Object, EntityEntry> entry : em.unwrap(SessionImplementor.class).getPersistenceContextInternal().reentrantSafeEntityEntries()) {
+			Object entity = entry.getKey();
+			if (type.isInstance(entity) && filter.test(type.cast(entity)))
+				em.detach(entity);
+		}
+	}
+
+	/**
+	 * Get the managed instance of an entity, if any, without querying the database.
+	 *
+	 * @param <T>		type of the entity
+	 * @param type		class of the entity
+	 * @param id		id of the entity
+	 * @return			the managed instance, or null if the entity isn't in the persistence context
+	 */
+	protected <T> T findManaged(Class<T> type, Object id) {
+		SessionImplementor session = em.unwrap(SessionImplementor.class);
+		EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(type);
+		return type.cast(session.getPersistenceContextInternal().getEntity(session.generateEntityKey(id, persister)));
+	}
+
+	private <T> void flushAndDetach(List<T> entities) {
+		if (!entities.isEmpty()) {
+			em.flush();
+			entities.forEach(em::detach);
+		}
 	}
 }
@@ -0,0 +1,101 @@
+package io.github.kevinmaggi.coin_collection_manager.core.repository.postgresql;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
+import org.hibernate.StatelessSession;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+
+/**
+ * Creates the Postgres specific database objects that can't be expressed with JPA mapping (extensions, non B-tree indexes,
+ * triggers) and migrates the data that schema generation can't (coins' fingerprints of databases created by older versions).
+ * It runs after Hibernate schema generation, so the tables already exist, and all its statements are idempotent: the migrations
+ * look at the catalog first and alter the tables only when they haven't been migrated yet.
+ * To enable it set the {@code hibernate.session_factory_observer} property of the persistence unit to this class.
+ */
+public class PostgresSchemaInitializer implements SessionFactoryObserver {
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Channel on which a notification is sent for every coin and album inserted, updated or deleted, once committed.
+	 * Its payload is the name of the table, the operation ({@code INSERT}, {@code UPDATE} or {@code DELETE}) and the id of
+	 * the row, separated by spaces.
+	 */
+	public static final String CHANGES_CHANNEL = "collection_changes";
+
+	/**
+	 * Statements executed, in order, when the {@code SessionFactory} is created.
+	 */
+	static final List<String> STATEMENTS = List.of(
+			"CREATE EXTENSION IF NOT EXISTS pg_trgm",
+			"CREATE INDEX IF NOT EXISTS coins_description_trgm_idx ON coins USING gin (description gin_trgm_ops)",
+			// same hash as Coin.fingerprintOf; the catalog is checked first, so that the table isn't locked and scanned at every start
+			"DO $$ BEGIN "
+					+ "IF EXISTS (SELECT 1 FROM pg_attribute WHERE attrelid = CAST('coins' AS regclass) AND attname = 'fingerprint' "
+					+ "AND NOT attnotnull) THEN "
+					+ "UPDATE coins SET fingerprint = md5(CAST(grade AS text) || chr(31) || country || chr(31) || CAST(minting_year AS text) "
+					+ "|| chr(31) || description || chr(31) || note) WHERE fingerprint IS NULL; "
+					+ "ALTER TABLE coins ALTER COLUMN fingerprint SET NOT NULL; "
+					+ "END IF; END $$",
+			// the fingerprint replaced the unique constraint on all the coin's fields; the table is altered only if one is found
+			"DO $$ DECLARE c record; BEGIN "
+					+ "FOR c IN SELECT conname FROM pg_constraint WHERE conrelid = CAST('coins' AS regclass) AND contype = 'u' "
+					+ "AND conname <> '" + Coin.FINGERPRINT_CONSTRAINT + "' LOOP "
+					+ "EXECUTE format('ALTER TABLE coins DROP CONSTRAINT %I', c.conname); "
+					+ "END LOOP; END $$",
+			// the row-level triggers of older versions are replaced by the statement-level ones below
+			"DROP TRIGGER IF EXISTS coins_changes ON coins",
+			"DROP TRIGGER IF EXISTS albums_changes ON albums",
+			"CREATE OR REPLACE FUNCTION notify_collection_change() RETURNS trigger LANGUAGE plpgsql AS $$ BEGIN "
+					+ "IF TG_OP = 'DELETE' THEN "
+					+ "PERFORM pg_notify('" + CHANGES_CHANNEL + "', TG_TABLE_NAME || ' ' || TG_OP || ' ' || id) FROM old_rows; "
+					+ "ELSE "
+					+ "PERFORM pg_notify('" + CHANGES_CHANNEL + "', TG_TABLE_NAME || ' ' || TG_OP || ' ' || id) FROM new_rows; "
+					+ "END IF; "
+					+ "RETURN NULL; END $$",
+			changesTrigger("coins", "INSERT", "NEW TABLE AS new_rows"),
+			changesTrigger("coins", "UPDATE", "NEW TABLE AS new_rows"),
+			changesTrigger("coins", "DELETE", "OLD TABLE AS old_rows"),
+			changesTrigger("albums", "INSERT", "NEW TABLE AS new_rows"),
+			changesTrigger("albums", "UPDATE", "NEW TABLE AS new_rows"),
+			changesTrigger("albums", "DELETE", "OLD TABLE AS old_rows")
+			);
+
+	/**
+	 * Creates a statement-level trigger that notifies the rows changed by an operation on a table, so that bulk operations
+	 * call the notifying function once instead of once per row.
+	 * Transition tables allow a single event per trigger, hence one trigger for each operation.
+	 *
+	 * @param table		the table
+	 * @param operation	the operation
+	 * @param rows		the transition table with the changed rows
+	 * @return			the statement
+	 */
+	private static String changesTrigger(String table, String operation, String rows) {
+		return "CREATE OR REPLACE TRIGGER " + table + "_" + operation.toLowerCase(Locale.ROOT) + "_changes AFTER " + operation + " ON " + table
+				+ " REFERENCING " + rows + " FOR EACH STATEMENT EXECUTE FUNCTION notify_collection_change()";
+	}
+
+	/**
+	 * Executes the initialization statements on the new {@code SessionFactory}.
+	 *
+	 * @param factory	the {@code SessionFactory} just created
+	 */
+	@Override
+	public void sessionFactoryCreated(SessionFactory factory) {
+		try (StatelessSession session = factory.openStatelessSession()) {
+			session.doWork(connection -> {
+				try (Statement statement = connection.createStatement()) {
+					for (String sql : STATEMENTS)
+						statement.execute(sql);
+				}
+				if (!connection.getAutoCommit())
+					connection.commit();
+			});
+		}
+	}
+}
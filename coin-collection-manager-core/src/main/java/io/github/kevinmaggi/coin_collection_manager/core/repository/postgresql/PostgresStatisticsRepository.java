@@ -0,0 +1,88 @@
+package io.github.kevinmaggi.coin_collection_manager.core.repository.postgresql;
+
+import java.time.Year;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.AlbumFill;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinCount;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.StatisticsRepository;
+import io.github.kevinmaggi.coin_collection_manager.core.utility.Years;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Implementation of repository layer for the statistics on the collection for Postgres DBs.
+ * Every statistic is a single {@code GROUP BY} query, no entity is loaded in the persistence context.
+ */
+public class PostgresStatisticsRepository extends PostgresRepository implements StatisticsRepository {
+
+	/**
+	 * Simple constructor.
+	 *
+	 * @param em {@code EntityManager} to use for database operation
+	 */
+	public PostgresStatisticsRepository(EntityManager em) {
+		super(em);
+	}
+
+	/**
+	 * Count the coins stored in each album.
+	 *
+	 * @return		a list with the number of coins for each {@code Album}'s id (null for the coins not in an album)
+	 */
+	@Override
+	public List<CoinCount<UUID>> countCoinsByAlbum() {
+		return countBy("Coin.countByAlbum");
+	}
+
+	/**
+	 * Count the coins of each country.
+	 *
+	 * @return		a list with the number of coins for each country, ordered by country
+	 */
+	@Override
+	public List<CoinCount<String>> countCoinsByCountry() {
+		return countBy("Coin.countByCountry");
+	}
+
+	/**
+	 * Count the coins of each grade.
+	 *
+	 * @return		a list with the number of coins for each {@code Grade}, ordered by grade
+	 */
+	@Override
+	public List<CoinCount<Grade>> countCoinsByGrade() {
+		return countBy("Coin.countByGrade");
+	}
+
+	/**
+	 * Count the coins minted in each decade.
+	 * Decades are computed rounding down, so that also the years before Christ fall in the right decade.
+	 *
+	 * @return		a list with the number of coins for each decade, identified by its first year, ordered by decade
+	 */
+	@Override
+	public List<CoinCount<Year>> countCoinsByDecade() {
+		List<CoinCount<Integer>> decades = countBy("Coin.countByDecade");
+		return decades.stream()
+				.map(decade -> new CoinCount<Year>(Years.of(decade.getKey()), decade.getCount()))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Get how much each album is filled.
+	 *
+	 * @return		a list with the fill of each {@code Album}, ordered by name and volume
+	 */
+	@Override
+	public List<AlbumFill> findAlbumFills() {
+		return em.createNamedQuery("Album.findFills", AlbumFill.class).getResultList();
+	}
+
+	@SuppressWarnings("unchecked")
+	private <K> List<CoinCount<K>> countBy(String queryName) {
+		return (List<CoinCount<K>>) (List<?>) em.createNamedQuery(queryName, CoinCount.class).getResultList();
+	}
+}
@@ -7,6 +7,7 @@ import jakarta.persistence.Converter;
 
 /**
  * Implements a converter between {@code Year} and {@code Integer} types, for database purposes.
+ * It's called for every row read or written, so it takes both from the tables of {@code Years} instead of allocating them.
  */
 @Converter(autoApply = true)
 public class YearAttributeConverter implements AttributeConverter<Year, Integer> {
@@ -19,7 +20,7 @@ public class YearAttributeConverter implements AttributeConverter<Year, Integer>
 	@Override
 	public Integer convertToDatabaseColumn(Year attribute) {
 		if (attribute != null)
-			return attribute.getValue();
+			return Years.valueOf(attribute);
 		else
 			return null;
 	}
@@ -32,7 +33,7 @@ public class YearAttributeConverter implements AttributeConverter<Year, Integer>
 	@Override
 	public Year convertToEntityAttribute(Integer dbData) {
 		if (dbData != null)
-			return Year.of(dbData);
+			return Years.of(dbData);
 		return null;
 	}
 }
\ No newline at end of file
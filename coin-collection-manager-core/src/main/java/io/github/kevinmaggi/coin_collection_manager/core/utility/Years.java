@@ -0,0 +1,61 @@
+package io.github.kevinmaggi.coin_collection_manager.core.utility;
+
+import java.time.Year;
+
+/**
+ * Shared instances of the years in which coins have been minted, and of their values.
+ * {@code Year.of} and {@code Integer.valueOf} allocate a new object for every call (but for small integers), while the
+ * years between {@value #FIRST_CACHED} and {@value #LAST_CACHED} are taken from tables built once. Both classes are
+ * immutable and value-based, so sharing their instances doesn't change anything else.
+ */
+public final class Years {
+	/**
+	 * First year of the tables, before the first known coins.
+	 */
+	public static final int FIRST_CACHED = -1000;
+	/**
+	 * Last year of the tables.
+	 */
+	public static final int LAST_CACHED = 2999;
+
+	private static final Year[] YEARS = new Year[LAST_CACHED - FIRST_CACHED + 1];
+	private static final Integer[] VALUES = new Integer[LAST_CACHED - FIRST_CACHED + 1];
+
+	static {
+		for (int i = 0; i < YEARS.length; i++) {
+			YEARS[i] = Year.of(FIRST_CACHED + i);
+			VALUES[i] = Integer.valueOf(FIRST_CACHED + i);
+		}
+	}
+
+	private Years() {
+	}
+
+	/**
+	 * Obtains a {@code Year}, as {@code Year.of} does.
+	 *
+	 * @param year	the year
+	 * @return		the {@code Year}, shared if between {@value #FIRST_CACHED} and {@value #LAST_CACHED}
+	 * @throws java.time.DateTimeException	if the year is out of the range of {@code Year}
+	 */
+	public static Year of(int year) {
+		if (year >= FIRST_CACHED && year <= LAST_CACHED)
+			return YEARS[year - FIRST_CACHED];
+		else
+			return Year.of(year);
+	}
+
+	/**
+	 * Obtains the value of a {@code Year} boxed.
+	 *
+	 * @param year	the year
+	 * @return		its value, shared if between {@value #FIRST_CACHED} and {@value #LAST_CACHED}
+	 */
+	public static Integer valueOf(Year year) {
+		int value = year.getValue();
+		if (value >= FIRST_CACHED && value <= LAST_CACHED)
+			return VALUES[value - FIRST_CACHED];
+		else
+			return Integer.valueOf(value);
+	}
+}
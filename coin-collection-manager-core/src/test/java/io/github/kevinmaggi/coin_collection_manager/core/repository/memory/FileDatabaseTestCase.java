@@ -0,0 +1,241 @@
+package io.github.kevinmaggi.coin_collection_manager.core.repository.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Year;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+import jakarta.persistence.PersistenceException;
+
+class FileDatabaseTestCase {
+	// Test objects to populate database
+	private UUID ALBUM_UUID = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+
+	private Coin COIN_1 = new Coin(Grade.AG, "Italy", Year.of(2004), "2€ comm. World Food Programme", "", ALBUM_UUID);
+	private Coin COIN_2 = new Coin(Grade.VF, "Ελλάδα", Year.of(-44), "Denarius of Caesar", "minting error", null);
+	private Album ALBUM = new Album("Europa pre-euro", 1, null, 50, 10);
+
+	// Tests
+	@TempDir
+	Path directory;
+
+	@Nested
+	@DisplayName("Tests for method FileDatabase::open")
+	class Open {
+		@Test
+		@DisplayName("Test that a new database is empty")
+		void testOpenNewDatabaseIsEmpty() throws IOException {
+			FileDatabase database = FileDatabase.open(directory.resolve("new"));
+
+			assertThat(coins(database).findAll()).isEmpty();
+			assertThat(Files.exists(directory.resolve("new"))).isTrue();
+			database.close();
+		}
+
+		@Test
+		@DisplayName("Test that the committed rows are found again, with their ids, versions and unique keys")
+		void testOpenAfterCloseLoadsTheCommittedRows() throws IOException {
+			FileDatabase database = FileDatabase.open(directory);
+			inTransaction(database, transaction -> {
+				new InMemoryCoinRepository(transaction).saveAll(List.of(COIN_1, COIN_2));
+				new InMemoryAlbumRepository(transaction).save(ALBUM);
+			});
+			inTransaction(database, transaction -> new InMemoryAlbumRepository(transaction).occupySlots(ALBUM.getId(), 1));
+			database.close();
+
+			FileDatabase reopened = FileDatabase.open(directory);
+
+			assertThat(coins(reopened).findAll()).containsOnly(COIN_1, COIN_2);
+			assertThat(coins(reopened).findByAlbum(ALBUM_UUID)).containsExactly(COIN_1);
+			assertThat(coins(reopened).findByGradeCountryYearDescriptionAndNote(Grade.VF, "Ελλάδα", Year.of(-44), "Denarius of Caesar",
+					"minting error").getId()).isEqualTo(COIN_2.getId());
+			Album album = albums(reopened).findByNameAndVolume("Europa pre-euro", 1);
+			assertThat(album.getId()).isEqualTo(ALBUM.getId());
+			assertThat(album.getVersion()).isEqualTo(1);
+			assertThat(album.getOccupiedSlots()).isEqualTo(11);
+			assertThat(album.getLocation()).isNull();
+			reopened.close();
+		}
+
+		@Test
+		@DisplayName("Test that the commits are replayed from the log if the database hasn't been closed")
+		void testOpenAfterCrashReplaysTheLog() throws IOException {
+			FileDatabase database = FileDatabase.open(directory);
+			inTransaction(database, transaction -> new InMemoryCoinRepository(transaction).saveAll(List.of(COIN_1, COIN_2)));
+			inTransaction(database, transaction -> new InMemoryCoinRepository(transaction).delete(COIN_1));
+
+			FileDatabase reopened = FileDatabase.open(directory);
+
+			assertThat(coins(reopened).findAll()).containsExactly(COIN_2);
+		}
+
+		@Test
+		@DisplayName("Test that a commit written only in part is discarded, and that the log goes on from the previous one")
+		void testOpenAfterCrashDiscardsTheInterruptedCommit() throws IOException {
+			FileDatabase database = FileDatabase.open(directory);
+			inTransaction(database, transaction -> new InMemoryCoinRepository(transaction).save(COIN_1));
+			long end = logEnd();
+			inTransaction(database, transaction -> new InMemoryCoinRepository(transaction).save(COIN_2));
+			corruptLog(end + 20);
+
+			FileDatabase reopened = FileDatabase.open(directory);
+			assertThat(coins(reopened).findAll()).containsExactly(COIN_1);
+			Coin coin3 = new Coin(Grade.G, "Italy", Year.of(1995), "500 Lire", "", null);
+			inTransaction(reopened, transaction -> new InMemoryCoinRepository(transaction).save(coin3));
+
+			assertThat(coins(FileDatabase.open(directory)).findAll()).containsOnly(COIN_1, coin3);
+		}
+
+		@Test
+		@DisplayName("Test that a file that isn't a snapshot throws IOException")
+		void testOpenWithInvalidSnapshotShouldThrowException() throws IOException {
+			Files.write(directory.resolve("collection.snapshot"), "not a snapshot, really".getBytes());
+
+			assertThatThrownBy(() -> FileDatabase.open(directory)).isInstanceOf(IOException.class);
+		}
+
+		@Test
+		@DisplayName("Test that a threshold not positive throws IllegalArgumentException")
+		void testOpenWithThresholdNotPositiveShouldThrowException() {
+			assertThatThrownBy(() -> FileDatabase.open(directory, 0))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Compaction threshold must be positive");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the compaction of the log of FileDatabase")
+	class Compaction {
+		@Test
+		@DisplayName("Test that the log is compacted into a new snapshot when it grows beyond the threshold")
+		void testCommitBeyondThresholdCompactsTheLog() throws IOException {
+			FileDatabase database = FileDatabase.open(directory, 1);
+			inTransaction(database, transaction -> new InMemoryCoinRepository(transaction).saveAll(List.of(COIN_1, COIN_2)));
+			inTransaction(database, transaction -> new InMemoryCoinRepository(transaction).delete(COIN_1));
+
+			assertThat(logEnd()).isZero();
+			assertThat(coins(FileDatabase.open(directory)).findAll()).containsExactly(COIN_2);
+		}
+
+		@Test
+		@DisplayName("Test that a log already compacted into the snapshot is not replayed again")
+		void testOpenIgnoresTheLogOfAnOldSnapshot() throws IOException {
+			FileDatabase database = FileDatabase.open(directory);
+			inTransaction(database, transaction -> new InMemoryCoinRepository(transaction).save(COIN_1));
+			byte[] oldLog = Files.readAllBytes(directory.resolve("collection.log"));
+			inTransaction(database, transaction -> new InMemoryCoinRepository(transaction).delete(COIN_1));
+			database.close();
+			Files.write(directory.resolve("collection.log"), oldLog);
+
+			assertThat(coins(FileDatabase.open(directory)).findAll()).isEmpty();
+		}
+
+		@Test
+		@DisplayName("Test that after a crash the snapshot is loaded and the commits of the reset log are replayed on it")
+		void testOpenAfterCrashReplaysTheResetLogOnTheSnapshot() throws IOException {
+			FileDatabase database = FileDatabase.open(directory);
+			inTransaction(database, transaction -> new InMemoryCoinRepository(transaction).save(COIN_1));
+			database.close();
+			FileDatabase reopened = FileDatabase.open(directory);
+			inTransaction(reopened, transaction -> new InMemoryCoinRepository(transaction).save(COIN_2));
+
+			assertThat(coins(FileDatabase.open(directory)).findAll()).containsOnly(COIN_1, COIN_2);
+		}
+
+		@Test
+		@DisplayName("Test that a snapshot older than the log throws IOException, instead of losing the compacted commits")
+		void testOpenWithSnapshotOlderThanTheLogShouldThrowException() throws IOException {
+			FileDatabase database = FileDatabase.open(directory);
+			inTransaction(database, transaction -> new InMemoryCoinRepository(transaction).save(COIN_1));
+			database.close();
+			byte[] oldSnapshot = Files.readAllBytes(directory.resolve("collection.snapshot"));
+			FileDatabase reopened = FileDatabase.open(directory);
+			inTransaction(reopened, transaction -> new InMemoryCoinRepository(transaction).save(COIN_2));
+			reopened.close();
+			Files.write(directory.resolve("collection.snapshot"), oldSnapshot);
+
+			assertThatThrownBy(() -> FileDatabase.open(directory))
+				.isInstanceOf(IOException.class)
+				.hasMessageStartingWith("The commit log applies to a newer snapshot than the current one");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method FileDatabase::close")
+	class Close {
+		@Test
+		@DisplayName("Test that no more changes can be committed after closing")
+		void testCommitAfterCloseShouldThrowException() throws IOException {
+			FileDatabase database = FileDatabase.open(directory);
+			database.close();
+
+			assertThatThrownBy(() -> inTransaction(database, transaction -> new InMemoryCoinRepository(transaction).save(COIN_1)))
+				.isInstanceOf(PersistenceException.class)
+				.hasMessage("The database is closed");
+			assertThat(coins(database).findAll()).isEmpty();
+		}
+
+		@Test
+		@DisplayName("Test that closing twice has no effect")
+		void testCloseTwice() throws IOException {
+			FileDatabase database = FileDatabase.open(directory);
+			database.close();
+
+			database.close();
+
+			assertThat(coins(FileDatabase.open(directory)).findAll()).isEmpty();
+		}
+	}
+
+	// Private methods
+	private void inTransaction(InMemoryDatabase database, Consumer<InMemoryTransaction> code) {
+		InMemoryTransaction transaction = database.begin(false);
+		try {
+			code.accept(transaction);
+			transaction.commit();
+		} finally {
+			if (transaction.isActive())
+				transaction.rollback();
+		}
+	}
+
+	private InMemoryCoinRepository coins(InMemoryDatabase database) {
+		return new InMemoryCoinRepository(database.begin(true));
+	}
+
+	private InMemoryAlbumRepository albums(InMemoryDatabase database) {
+		return new InMemoryAlbumRepository(database.begin(true));
+	}
+
+	// Size of the commits in the log, found scanning for the first empty record
+	private long logEnd() throws IOException {
+		ByteBuffer log = ByteBuffer.wrap(Files.readAllBytes(directory.resolve("collection.log")));
+		int position = 12;
+		while (log.getInt(position) != 0)
+			position += 8 + log.getInt(position);
+		return position - 12;
+	}
+
+	private void corruptLog(long offset) throws IOException {
+		try (FileChannel channel = FileChannel.open(directory.resolve("collection.log"), StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF}), 12 + offset);
+		}
+	}
+}
@@ -0,0 +1,271 @@
+package io.github.kevinmaggi.coin_collection_manager.core.repository.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.AlbumSummary;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.CacheStatistics;
+import jakarta.persistence.EntityExistsException;
+import jakarta.persistence.OptimisticLockException;
+
+class InMemoryAlbumRepositoryTestCase {
+	// Test objects to populate database
+	private UUID INVALID_UUID = UUID.fromString("123e4567-e89b-12d3-a456-426652340000");
+
+	private String NAME_1 = "Europa pre-euro";
+	private String NAME_2 = "Medio-oriente";
+	private Album ALBUM_1 = new Album(NAME_1, 1, "Armadio", 50, 10);
+	private Album ALBUM_2 = new Album(NAME_1, 2, "Armadio", 40, 40);
+	private Album ALBUM_3 = new Album(NAME_2, 1, "Cassetto", 30, 0);
+
+	// Tests
+	private InMemoryDatabase database;
+	private InMemoryTransaction transaction;
+
+	private InMemoryAlbumRepository repo;
+
+	@BeforeEach
+	void setUpTest() {
+		database = new InMemoryDatabase();
+		transaction = database.begin(false);
+		repo = new InMemoryAlbumRepository(transaction);
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryAlbumRepository::findAll")
+	class FindAll {
+		@Test
+		@DisplayName("Test that an empty list is returned if no albums are in the database")
+		void testFindAllReturnsEmptyListWhenDbIsEmpty() {
+			assertThat(repo.findAll()).isEmpty();
+		}
+
+		@Test
+		@DisplayName("Test that the correct list is returned if there are albums in the database")
+		void testFindAllReturnsCorrectListWhenDbIsNotEmpty() {
+			populateDB();
+
+			assertThat(repo.findAll()).containsOnly(ALBUM_1, ALBUM_2, ALBUM_3);
+		}
+
+		@Test
+		@DisplayName("Test that the summaries of all the albums are returned")
+		void testFindAllSummariesReturnsTheSummaryOfEachAlbum() {
+			populateDB();
+
+			assertThat(repo.findAllSummaries()).containsOnly(AlbumSummary.of(ALBUM_1), AlbumSummary.of(ALBUM_2), AlbumSummary.of(ALBUM_3));
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryAlbumRepository::findById")
+	class FindById {
+		@Test
+		@DisplayName("Test that null is returned if there is no album with that id")
+		void testFindByIdReturnsNullWhenTheAlbumIsNotPresent() {
+			assertThat(repo.findById(INVALID_UUID)).isNull();
+		}
+
+		@Test
+		@DisplayName("Test that a copy of the album is returned")
+		void testFindByIdReturnsACopyOfTheAlbum() {
+			populateDB();
+
+			Album found = repo.findFreshById(ALBUM_1.getId());
+			found.setLocation("Cantina");
+
+			assertThat(found).isNotSameAs(ALBUM_1);
+			assertThat(repo.findById(ALBUM_1.getId()).getLocation()).isEqualTo("Armadio");
+		}
+
+		@Test
+		@DisplayName("Test that a null id throws IllegalArgumentException")
+		void testFindByIdWithNullIdShouldThrowException() {
+			assertThatThrownBy(() -> repo.findById(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("ID can't be null");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryAlbumRepository::findAllById")
+	class FindAllById {
+		@Test
+		@DisplayName("Test that the albums with the ids are returned, skipping the ids not found")
+		void testFindAllByIdReturnsTheFoundAlbums() {
+			populateDB();
+
+			assertThat(repo.findAllById(Arrays.asList(ALBUM_1.getId(), ALBUM_2.getId(), INVALID_UUID, null))).containsOnly(ALBUM_1, ALBUM_2);
+		}
+
+		@Test
+		@DisplayName("Test that a null collection throws IllegalArgumentException")
+		void testFindAllByIdWithNullCollectionShouldThrowException() {
+			assertThatThrownBy(() -> repo.findAllById(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("IDs can't be null");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryAlbumRepository::save")
+	class Save {
+		@Test
+		@DisplayName("Test that the album is saved and can be found by name and volume")
+		void testSaveNewAlbum() {
+			repo.save(ALBUM_1);
+			transaction.commit();
+
+			assertThat(readOnlyRepo().findByNameAndVolume(NAME_1, 1)).isEqualTo(ALBUM_1);
+			assertThat(readOnlyRepo().findByNameAndVolume(NAME_1, 2)).isNull();
+		}
+
+		@Test
+		@DisplayName("Test that renaming an album lets another one take its name and volume")
+		void testSaveRenamedAlbumReleasesItsNameAndVolume() {
+			populateDB();
+			Album album = repo.findById(ALBUM_1.getId());
+			album.setName("Europa");
+			repo.save(album);
+
+			repo.save(new Album(NAME_1, 1, "Cantina", 10, 0));
+			transaction.commit();
+
+			assertThat(readOnlyRepo().findByNameAndVolume(NAME_1, 1).getLocation()).isEqualTo("Cantina");
+			assertThat(readOnlyRepo().findByNameAndVolume("Europa", 1).getId()).isEqualTo(ALBUM_1.getId());
+		}
+
+		@Test
+		@DisplayName("Test that saving an album with the same name and volume of another one throws EntityExistsException")
+		void testSaveDuplicateAlbumShouldThrowException() {
+			populateDB();
+
+			assertThatThrownBy(() -> repo.save(new Album(NAME_1, 1, "Cantina", 10, 0)))
+				.isInstanceOf(EntityExistsException.class);
+		}
+
+		@Test
+		@DisplayName("Test that saving an album changed since it was read throws OptimisticLockException")
+		void testSaveStaleAlbumShouldThrowException() {
+			populateDB();
+			Album stale = repo.findById(ALBUM_1.getId());
+			repo.occupySlots(ALBUM_1.getId(), 1);
+
+			assertThatThrownBy(() -> repo.save(stale)).isInstanceOf(OptimisticLockException.class);
+		}
+
+		@Test
+		@DisplayName("Test that a null album throws IllegalArgumentException")
+		void testSaveNullAlbumShouldThrowException() {
+			assertThatThrownBy(() -> repo.save(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Album to save can't be null");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryAlbumRepository::delete")
+	class Delete {
+		@Test
+		@DisplayName("Test that the album is removed, with its name and volume")
+		void testDeleteRemovesTheAlbum() {
+			populateDB();
+
+			repo.delete(repo.findById(ALBUM_1.getId()));
+			transaction.commit();
+
+			assertThat(readOnlyRepo().findAll()).containsOnly(ALBUM_2, ALBUM_3);
+			assertThat(readOnlyRepo().findByNameAndVolume(NAME_1, 1)).isNull();
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryAlbumRepository::findAllMatching")
+	class FindAllMatching {
+		@Test
+		@DisplayName("Test that only the albums already in the database are returned")
+		void testFindAllMatchingReturnsTheAlbumsInTheDatabase() {
+			populateDB();
+
+			assertThat(repo.findAllMatching(Arrays.asList(new Album(NAME_1, 2, "", 0, 0), new Album(NAME_2, 2, "", 0, 0), null)))
+				.containsExactly(ALBUM_2);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for methods InMemoryAlbumRepository::occupySlots and InMemoryAlbumRepository::releaseSlots")
+	class UpdateSlots {
+		@Test
+		@DisplayName("Test that the slots are occupied only if they are free")
+		void testOccupySlotsOnlyIfFree() {
+			populateDB();
+
+			assertThat(repo.occupySlots(ALBUM_1.getId(), 40)).isTrue();
+			assertThat(repo.occupySlots(ALBUM_1.getId(), 1)).isFalse();
+			assertThat(repo.findById(ALBUM_1.getId()).getOccupiedSlots()).isEqualTo(50);
+		}
+
+		@Test
+		@DisplayName("Test that the slots are released only if they are occupied")
+		void testReleaseSlotsOnlyIfOccupied() {
+			populateDB();
+
+			assertThat(repo.releaseSlots(ALBUM_1.getId(), 11)).isFalse();
+			assertThat(repo.releaseSlots(ALBUM_1.getId(), 10)).isTrue();
+			assertThat(repo.findById(ALBUM_1.getId()).getOccupiedSlots()).isZero();
+		}
+
+		@Test
+		@DisplayName("Test that false is returned if there is no album with that id")
+		void testOccupySlotsOfMissingAlbum() {
+			assertThat(repo.occupySlots(INVALID_UUID, 1)).isFalse();
+		}
+
+		@Test
+		@DisplayName("Test that a negative count throws IllegalArgumentException")
+		void testOccupySlotsWithNegativeCountShouldThrowException() {
+			assertThatThrownBy(() -> repo.occupySlots(INVALID_UUID, -1))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Count can't be negative");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryAlbumRepository::getCacheStatistics")
+	class GetCacheStatistics {
+		@Test
+		@DisplayName("Test that there's no cache to report on")
+		void testGetCacheStatisticsIsEmpty() {
+			assertThat(repo.getCacheStatistics()).isEqualTo(CacheStatistics.EMPTY);
+		}
+	}
+
+	@AfterEach
+	void cleanTest() {
+		if (transaction.isActive())
+			transaction.rollback();
+	}
+
+	// Private methods
+	private void populateDB() {
+		InMemoryTransaction populating = database.begin(false);
+		InMemoryAlbumRepository populatingRepo = new InMemoryAlbumRepository(populating);
+		Stream.of(ALBUM_1, ALBUM_2, ALBUM_3).forEach(populatingRepo::save);
+		populating.commit();
+	}
+
+	private InMemoryAlbumRepository readOnlyRepo() {
+		return new InMemoryAlbumRepository(database.begin(true));
+	}
+}
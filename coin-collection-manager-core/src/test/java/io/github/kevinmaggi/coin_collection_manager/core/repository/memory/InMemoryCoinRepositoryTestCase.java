@@ -0,0 +1,618 @@
+package io.github.kevinmaggi.coin_collection_manager.core.repository.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinSummary;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+import jakarta.persistence.EntityExistsException;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceException;
+
+class InMemoryCoinRepositoryTestCase {
+	// Test objects to populate database
+	private UUID ALBUM_UUID_1 = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+	private UUID ALBUM_UUID_2 = UUID.fromString("123e4567-e89b-12d3-a456-426614174001");
+
+	private Year YEAR = Year.of(2004);
+
+	private UUID INVALID_UUID = UUID.fromString("123e4567-e89b-12d3-a456-426652340000");
+
+	private String DESCRIPTION_1 = "2€ comm. World Food Programme";
+	private String DESCRIPTION_2 = "2€ comm. Olympics Game of Athen 2004";
+	private String COUNTRY_1 = "Italy";
+	private String COUNTRY_2 = "Greece";
+	private Coin COIN_1 = new Coin(Grade.AG, COUNTRY_1, YEAR, DESCRIPTION_1, "", ALBUM_UUID_1);
+	private Coin COIN_2 = new Coin(Grade.AG, COUNTRY_2, YEAR, DESCRIPTION_2, "", ALBUM_UUID_2);
+
+	// Tests
+	private InMemoryDatabase database;
+	private InMemoryTransaction transaction;
+
+	private InMemoryCoinRepository repo;
+
+	@BeforeEach
+	void setUpTest() {
+		database = new InMemoryDatabase();
+		transaction = database.begin(false);
+		repo = new InMemoryCoinRepository(transaction);
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryCoinRepository::findAll")
+	class FindAll {
+		@Test
+		@DisplayName("Test that an empty list is returned if no coins are in the database")
+		void testFindAllReturnsEmptyListWhenDbIsEmpty() {
+			assertThat(repo.findAll()).isEmpty();
+		}
+
+		@Test
+		@DisplayName("Test that the correct list is returned if there are coins in the database")
+		void testFindAllReturnsCorrectListWhenDbIsNotEmpty() {
+			populateDB();
+
+			assertThat(repo.findAll()).containsOnly(COIN_1, COIN_2);
+		}
+
+		@Test
+		@DisplayName("Test that the coins found are copies, so changing them doesn't change the database")
+		void testFindAllReturnsCopies() {
+			populateDB();
+
+			repo.findAll().forEach(coin -> coin.setNote("changed"));
+
+			assertThat(repo.findAll()).extracting(Coin::getNote).containsOnly("");
+		}
+
+		@Test
+		@DisplayName("Test that the changes of the transaction are seen, also if not committed")
+		void testFindAllSeesTheChangesOfTheTransaction() {
+			populateDB();
+
+			Coin coin = repo.findById(COIN_1.getId());
+			coin.setNote("changed");
+			repo.save(coin);
+			repo.delete(repo.findById(COIN_2.getId()));
+
+			assertThat(repo.findAll()).extracting(Coin::getNote).containsExactly("changed");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryCoinRepository::findAllSummaries")
+	class FindAllSummaries {
+		@Test
+		@DisplayName("Test that the summaries of all the coins are returned")
+		void testFindAllSummariesReturnsTheSummaryOfEachCoin() {
+			populateDB();
+
+			assertThat(repo.findAllSummaries()).containsOnly(CoinSummary.of(COIN_1), CoinSummary.of(COIN_2));
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryCoinRepository::findPage")
+	class FindPage {
+		@Test
+		@DisplayName("Test that the pages follow one another in order of id, including the uncommitted coins")
+		void testFindPageReturnsAllTheCoinsInOrderOfId() {
+			populateDB();
+			Coin coin3 = repo.save(new Coin(Grade.G, COUNTRY_1, YEAR, "Third", "", null));
+
+			List<Coin> firstPage = repo.findPage(null, 2);
+			List<Coin> secondPage = repo.findPage(firstPage.get(1).getId(), 2);
+
+			List<UUID> ids = Stream.of(COIN_1, COIN_2, coin3).map(Coin::getId).sorted().collect(Collectors.toList());
+			assertThat(firstPage).extracting(Coin::getId).containsExactlyElementsOf(ids.subList(0, 2));
+			assertThat(secondPage).extracting(Coin::getId).containsExactly(ids.get(2));
+		}
+
+		@Test
+		@DisplayName("Test that the coins removed by the transaction are skipped")
+		void testFindPageSkipsTheRemovedCoins() {
+			populateDB();
+			repo.delete(repo.findById(COIN_1.getId()));
+
+			assertThat(repo.findPage(null, 2)).containsExactly(COIN_2);
+		}
+
+		@Test
+		@DisplayName("Test that a limit not positive throws IllegalArgumentException")
+		void testFindPageWithLimitNotPositiveShouldThrowException() {
+			assertThatThrownBy(() -> repo.findPage(null, 0))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Limit must be positive");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryCoinRepository::findById")
+	class FindById {
+		@Test
+		@DisplayName("Test that null is returned if there is no coin with that id")
+		void testFindByIdReturnsNullWhenTheCoinIsNotPresent() {
+			assertThat(repo.findById(INVALID_UUID)).isNull();
+		}
+
+		@Test
+		@DisplayName("Test that the coin is returned with its id and version")
+		void testFindByIdReturnsTheCoin() {
+			populateDB();
+
+			Coin found = repo.findById(COIN_1.getId());
+
+			assertThat(found).isEqualTo(COIN_1).isNotSameAs(COIN_1);
+			assertThat(found.getId()).isEqualTo(COIN_1.getId());
+			assertThat(found.getVersion()).isZero();
+		}
+
+		@Test
+		@DisplayName("Test that a null id throws IllegalArgumentException")
+		void testFindByIdWithNullIdShouldThrowException() {
+			assertThatThrownBy(() -> repo.findById(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("ID can't be null");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryCoinRepository::findAllById")
+	class FindAllById {
+		@Test
+		@DisplayName("Test that the coins with the ids are returned, skipping the ids not found")
+		void testFindAllByIdReturnsTheFoundCoins() {
+			populateDB();
+
+			assertThat(repo.findAllById(Arrays.asList(COIN_1.getId(), COIN_2.getId(), INVALID_UUID, null))).containsOnly(COIN_1, COIN_2);
+		}
+
+		@Test
+		@DisplayName("Test that a null collection throws IllegalArgumentException")
+		void testFindAllByIdWithNullCollectionShouldThrowException() {
+			assertThatThrownBy(() -> repo.findAllById(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("IDs can't be null");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryCoinRepository::save")
+	class Save {
+		@Test
+		@DisplayName("Test that a new coin gets its id and is seen by the other transactions only after the commit")
+		void testSaveNewCoinIsCommitted() {
+			Coin saved = repo.save(COIN_1);
+
+			assertThat(saved).isSameAs(COIN_1);
+			assertThat(COIN_1.getId()).isNotNull();
+			assertThat(readOnlyRepo().findById(COIN_1.getId())).isNull();
+
+			transaction.commit();
+
+			assertThat(readOnlyRepo().findById(COIN_1.getId())).isEqualTo(COIN_1);
+		}
+
+		@Test
+		@DisplayName("Test that the rollback discards the changes")
+		void testSaveIsDiscardedByTheRollback() {
+			repo.save(COIN_1);
+
+			transaction.rollback();
+
+			assertThat(readOnlyRepo().findAll()).isEmpty();
+		}
+
+		@Test
+		@DisplayName("Test that an update increments the version")
+		void testSaveExistingCoinIncrementsTheVersion() {
+			populateDB();
+			Coin coin = repo.findById(COIN_1.getId());
+			coin.setNote("changed");
+
+			Coin saved = repo.save(coin);
+			transaction.commit();
+
+			assertThat(saved.getVersion()).isEqualTo(1);
+			assertThat(readOnlyRepo().findById(COIN_1.getId()).getNote()).isEqualTo("changed");
+		}
+
+		@Test
+		@DisplayName("Test that saving a coin changed since it was read throws OptimisticLockException")
+		void testSaveStaleCoinShouldThrowException() {
+			populateDB();
+			Coin stale = repo.findById(COIN_1.getId());
+			repo.save(repo.findById(COIN_1.getId()));
+
+			assertThatThrownBy(() -> repo.save(stale)).isInstanceOf(OptimisticLockException.class);
+		}
+
+		@Test
+		@DisplayName("Test that saving a coin equal to another one throws EntityExistsException")
+		void testSaveDuplicateCoinShouldThrowException() {
+			populateDB();
+
+			assertThatThrownBy(() -> repo.save(new Coin(Grade.AG, COUNTRY_1, YEAR, DESCRIPTION_1, "", null)))
+				.isInstanceOf(EntityExistsException.class);
+		}
+
+		@Test
+		@DisplayName("Test that saving a coin with a null field throws PersistenceException")
+		void testSaveIncompleteCoinShouldThrowException() {
+			assertThatThrownBy(() -> repo.save(new Coin(Grade.AG, null, YEAR, DESCRIPTION_1, "", null)))
+				.isInstanceOf(PersistenceException.class);
+		}
+
+		@Test
+		@DisplayName("Test that saving in a read-only transaction throws PersistenceException")
+		void testSaveInReadOnlyTransactionShouldThrowException() {
+			assertThatThrownBy(() -> readOnlyRepo().save(COIN_1))
+				.isInstanceOf(PersistenceException.class)
+				.hasMessage("Can't write in a read-only transaction");
+		}
+
+		@Test
+		@DisplayName("Test that a null coin throws IllegalArgumentException")
+		void testSaveNullCoinShouldThrowException() {
+			assertThatThrownBy(() -> repo.save(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Coin to save can't be null");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryCoinRepository::saveAll")
+	class SaveAll {
+		@Test
+		@DisplayName("Test that all the coins are saved, in the same order")
+		void testSaveAllSavesAllTheCoins() {
+			List<Coin> saved = repo.saveAll(Arrays.asList(COIN_2, COIN_1));
+			transaction.commit();
+
+			assertThat(saved).containsExactly(COIN_2, COIN_1).allMatch(coin -> coin.getId() != null);
+			assertThat(readOnlyRepo().findAll()).containsOnly(COIN_1, COIN_2);
+		}
+
+		@Test
+		@DisplayName("Test that a null coin throws IllegalArgumentException")
+		void testSaveAllWithNullCoinShouldThrowException() {
+			assertThatThrownBy(() -> repo.saveAll(Arrays.asList(COIN_1, null)))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Coin to save can't be null");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryCoinRepository::delete")
+	class Delete {
+		@Test
+		@DisplayName("Test that the coin is removed")
+		void testDeleteRemovesTheCoin() {
+			populateDB();
+
+			repo.delete(repo.findById(COIN_1.getId()));
+			transaction.commit();
+
+			assertThat(readOnlyRepo().findAll()).containsOnly(COIN_2);
+		}
+
+		@Test
+		@DisplayName("Test that a null coin throws IllegalArgumentException")
+		void testDeleteNullCoinShouldThrowException() {
+			assertThatThrownBy(() -> repo.delete(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Coin to delete can't be null");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryCoinRepository::findByDescription")
+	class FindByDescription {
+		@Test
+		@DisplayName("Test that the coins whose description contains the text are returned")
+		void testFindByDescriptionReturnsTheMatchingCoins() {
+			populateDB();
+
+			assertThat(repo.findByDescription("Food")).containsExactly(COIN_1);
+			assertThat(repo.findByDescription("comm.")).containsOnly(COIN_1, COIN_2);
+			assertThat(repo.findByDescription("food")).isEmpty();
+		}
+
+		@Test
+		@DisplayName("Test that a text shorter than a few characters is looked up too")
+		void testFindByDescriptionWithShortText() {
+			populateDB();
+
+			assertThat(repo.findByDescription("Ol")).containsExactly(COIN_2);
+			assertThat(repo.findByDescription("")).containsOnly(COIN_1, COIN_2);
+		}
+
+		@Test
+		@DisplayName("Test that the descriptions changed by the transaction are looked up by their new value")
+		void testFindByDescriptionSeesTheChangesOfTheTransaction() {
+			populateDB();
+			Coin coin = repo.findById(COIN_1.getId());
+			coin.setDescription("Commemorative of the Food Programme");
+			repo.save(coin);
+
+			assertThat(repo.findByDescription("World Food")).isEmpty();
+			assertThat(repo.findByDescription("Commemorative")).containsExactly(coin);
+		}
+
+		@Test
+		@DisplayName("Test that a null description throws IllegalArgumentException")
+		void testFindByDescriptionWithNullDescriptionShouldThrowException() {
+			assertThatThrownBy(() -> repo.findByDescription(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Description can't be null");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryCoinRepository::findSummariesByDescription")
+	class FindSummariesByDescription {
+		@Test
+		@DisplayName("Test that the summaries of the coins whose description contains the text are returned")
+		void testFindSummariesByDescriptionReturnsTheMatchingSummaries() {
+			populateDB();
+
+			assertThat(repo.findSummariesByDescription("Olympics")).containsExactly(CoinSummary.of(COIN_2));
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryCoinRepository::searchByDescription")
+	class SearchByDescription {
+		@Test
+		@DisplayName("Test that the coins are matched ignoring case and ranked by similarity")
+		void testSearchByDescriptionRanksBySimilarity() {
+			populateDB();
+			Coin coin3 = repo.save(new Coin(Grade.G, COUNTRY_1, YEAR, "2€ comm. World Food Programme (proof)", "", null));
+
+			assertThat(repo.searchByDescription("world food programme")).containsExactly(COIN_1, coin3);
+			assertThat(repo.searchByDescription("2€ COMM.")).containsOnly(COIN_1, COIN_2, coin3);
+		}
+
+		@Test
+		@DisplayName("Test that a text across parts of words, or without words, is matched as a whole")
+		void testSearchByDescriptionWithPartsOfWordsShouldMatchTheWholeText() {
+			populateDB();
+
+			assertThat(repo.searchByDescription("LD FOOD PRO")).containsExactly(COIN_1);
+			assertThat(repo.searchByDescription("ld programme")).isEmpty();
+			assertThat(repo.searchByDescription(". ")).containsOnly(COIN_1, COIN_2);
+		}
+
+		@Test
+		@DisplayName("Test that a committed change of description is looked up by its new words only")
+		void testSearchByDescriptionAfterCommittedChangeShouldMatchTheNewWords() {
+			populateDB();
+			assertThat(repo.searchByDescription("olympics")).containsExactly(COIN_2);
+			Coin coin = repo.findById(COIN_2.getId());
+			coin.setDescription("2€ comm. Treaty of Rome");
+			repo.save(coin);
+			transaction.commit();
+
+			assertThat(readOnlyRepo().searchByDescription("olympics")).isEmpty();
+			assertThat(readOnlyRepo().searchByDescription("treaty")).extracting(Coin::getId).containsExactly(COIN_2.getId());
+		}
+
+		@Test
+		@DisplayName("Test that a null description throws IllegalArgumentException")
+		void testSearchByDescriptionWithNullDescriptionShouldThrowException() {
+			assertThatThrownBy(() -> repo.searchByDescription(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Description can't be null");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryCoinRepository::findByAlbum")
+	class FindByAlbum {
+		@Test
+		@DisplayName("Test that the coins in the album are returned, also after being moved by the transaction")
+		void testFindByAlbumReturnsTheCoinsInTheAlbum() {
+			populateDB();
+			assertThat(repo.findByAlbum(ALBUM_UUID_1)).containsExactly(COIN_1);
+
+			Coin coin = repo.findById(COIN_2.getId());
+			coin.setAlbum(ALBUM_UUID_1);
+			repo.save(coin);
+
+			assertThat(repo.findByAlbum(ALBUM_UUID_1)).containsOnly(COIN_1, COIN_2);
+			assertThat(repo.findByAlbum(ALBUM_UUID_2)).isEmpty();
+		}
+
+		@Test
+		@DisplayName("Test that the summaries of the coins in the album are returned")
+		void testFindSummariesByAlbumReturnsTheSummaries() {
+			populateDB();
+
+			assertThat(repo.findSummariesByAlbum(ALBUM_UUID_2)).containsExactly(CoinSummary.of(COIN_2));
+		}
+
+		@Test
+		@DisplayName("Test that a null id throws IllegalArgumentException")
+		void testFindByAlbumWithNullIdShouldThrowException() {
+			assertThatThrownBy(() -> repo.findByAlbum(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Album's id can't be null");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryCoinRepository::deleteByAlbum")
+	class DeleteByAlbum {
+		@Test
+		@DisplayName("Test that all the coins in the album are removed and counted")
+		void testDeleteByAlbumRemovesTheCoinsInTheAlbum() {
+			populateDB();
+			repo.save(new Coin(Grade.G, COUNTRY_1, YEAR, "Third", "", ALBUM_UUID_1));
+
+			assertThat(repo.deleteByAlbum(ALBUM_UUID_1)).isEqualTo(2);
+			transaction.commit();
+
+			assertThat(readOnlyRepo().findAll()).containsOnly(COIN_2);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryCoinRepository::findByGradeCountryYearDescriptionAndNote")
+	class FindByGradeCountryYearDescriptionAndNote {
+		@Test
+		@DisplayName("Test that the coin with those characteristics is returned")
+		void testFindByGradeCountryYearDescriptionAndNoteReturnsTheCoin() {
+			populateDB();
+
+			assertThat(repo.findByGradeCountryYearDescriptionAndNote(Grade.AG, COUNTRY_1, YEAR, DESCRIPTION_1, "")).isEqualTo(COIN_1);
+			assertThat(repo.findByGradeCountryYearDescriptionAndNote(Grade.G, COUNTRY_1, YEAR, DESCRIPTION_1, "")).isNull();
+		}
+
+		@Test
+		@DisplayName("Test that a null argument throws IllegalArgumentException")
+		void testFindByGradeCountryYearDescriptionAndNoteWithNullArgumentShouldThrowException() {
+			assertThatThrownBy(() -> repo.findByGradeCountryYearDescriptionAndNote(Grade.AG, COUNTRY_1, YEAR, DESCRIPTION_1, null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Note can't be null");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryCoinRepository::findAllMatching")
+	class FindAllMatching {
+		@Test
+		@DisplayName("Test that only the coins already in the database are returned, once")
+		void testFindAllMatchingReturnsTheCoinsInTheDatabase() {
+			populateDB();
+			Coin other = new Coin(Grade.G, COUNTRY_1, YEAR, "Third", "", null);
+			Coin copy = new Coin(Grade.AG, COUNTRY_1, YEAR, DESCRIPTION_1, "", null);
+
+			assertThat(repo.findAllMatching(Arrays.asList(copy, other, COIN_1, null))).containsExactly(COIN_1);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryCoinRepository::insertIfAbsent")
+	class InsertIfAbsent {
+		@Test
+		@DisplayName("Test that a new instance is added, without changing the given coin")
+		void testInsertIfAbsentAddsANewInstance() {
+			Coin inserted = repo.insertIfAbsent(COIN_1);
+
+			assertThat(inserted).isEqualTo(COIN_1).isNotSameAs(COIN_1);
+			assertThat(inserted.getId()).isNotNull();
+			assertThat(COIN_1.getId()).isNull();
+		}
+
+		@Test
+		@DisplayName("Test that null is returned if an equal coin is already in the database")
+		void testInsertIfAbsentReturnsNullForDuplicates() {
+			populateDB();
+
+			assertThat(repo.insertIfAbsent(new Coin(Grade.AG, COUNTRY_1, YEAR, DESCRIPTION_1, "", null))).isNull();
+			assertThat(repo.findAll()).hasSize(2);
+		}
+
+		@Test
+		@DisplayName("Test that a coin taking the fingerprint released by the transaction is added")
+		void testInsertIfAbsentAfterChangingTheEqualCoin() {
+			populateDB();
+			Coin coin = repo.findById(COIN_1.getId());
+			coin.setNote("changed");
+			repo.save(coin);
+
+			assertThat(repo.insertIfAbsent(new Coin(Grade.AG, COUNTRY_1, YEAR, DESCRIPTION_1, "", null))).isNotNull();
+			transaction.commit();
+
+			assertThat(readOnlyRepo().findByDescription(DESCRIPTION_1)).hasSize(2);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the transactions on InMemoryDatabase")
+	class Transactions {
+		@Test
+		@DisplayName("Test that a write transaction waits for the one being executed, while a read-only one doesn't")
+		void testWriteTransactionsAreExecutedOneAtATime() throws Exception {
+			CompletableFuture<List<Coin>> reader = CompletableFuture.supplyAsync(() -> readOnlyRepo().findAll());
+			CompletableFuture<Coin> writer = CompletableFuture.supplyAsync(() -> {
+				InMemoryTransaction other = database.begin(false);
+				Coin saved = new InMemoryCoinRepository(other).save(COIN_2);
+				other.commit();
+				return saved;
+			});
+
+			assertThat(reader.get(5, TimeUnit.SECONDS)).isEmpty();
+			assertThat(writer).isNotDone();
+			repo.save(COIN_1);
+			transaction.commit();
+
+			assertThat(writer.get(5, TimeUnit.SECONDS)).isEqualTo(COIN_2);
+			assertThat(readOnlyRepo().findAll()).containsOnly(COIN_1, COIN_2);
+		}
+
+		@Test
+		@DisplayName("Test that a transaction can't be ended twice")
+		void testTransactionCantBeEndedTwice() {
+			transaction.commit();
+
+			assertThatThrownBy(() -> transaction.rollback())
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessage("The transaction is not active");
+			assertThatThrownBy(() -> repo.save(COIN_1))
+				.isInstanceOf(IllegalStateException.class);
+		}
+
+		@Test
+		@DisplayName("Test that many coins are committed and indexed")
+		void testManyCoinsAreIndexed() {
+			List<Coin> coins = new ArrayList<>();
+			for (int i = 0; i < 1000; i++)
+				coins.add(new Coin(Grade.values()[i % Grade.values().length], COUNTRY_1, Year.of(1900 + i % 100), "Coin " + i, "",
+						i % 2 == 0 ? ALBUM_UUID_1 : ALBUM_UUID_2));
+			repo.saveAll(coins);
+			transaction.commit();
+
+			InMemoryCoinRepository reader = readOnlyRepo();
+			assertThat(reader.findByAlbum(ALBUM_UUID_1)).hasSize(500);
+			assertThat(reader.findByDescription("Coin 99")).hasSize(11);
+			assertThat(reader.findByGradeCountryYearDescriptionAndNote(coins.get(42).getGrade(), COUNTRY_1, Year.of(1942), "Coin 42", ""))
+				.isEqualTo(coins.get(42));
+		}
+	}
+
+	@AfterEach
+	void cleanTest() {
+		if (transaction.isActive())
+			transaction.rollback();
+	}
+
+	// Private methods
+	private void populateDB() {
+		InMemoryTransaction populating = database.begin(false);
+		InMemoryCoinRepository populatingRepo = new InMemoryCoinRepository(populating);
+		Stream.of(COIN_1, COIN_2).forEach(populatingRepo::save);
+		populating.commit();
+	}
+
+	private InMemoryCoinRepository readOnlyRepo() {
+		return new InMemoryCoinRepository(database.begin(true));
+	}
+}
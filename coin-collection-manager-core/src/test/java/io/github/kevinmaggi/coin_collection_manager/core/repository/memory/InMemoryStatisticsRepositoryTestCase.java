@@ -0,0 +1,143 @@
+package io.github.kevinmaggi.coin_collection_manager.core.repository.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Year;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.AlbumFill;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinCount;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
+
+class InMemoryStatisticsRepositoryTestCase {
+	// Test objects to populate database
+	private UUID ALBUM_UUID_1 = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+	private UUID ALBUM_UUID_2 = UUID.fromString("123e4567-e89b-12d3-a456-426614174001");
+
+	private Coin COIN_1 = new Coin(Grade.AG, "Italy", Year.of(2004), "2€ comm. World Food Programme", "", ALBUM_UUID_1);
+	private Coin COIN_2 = new Coin(Grade.AG, "Greece", Year.of(2004), "2€ comm. Olympics Game of Athen 2004", "", ALBUM_UUID_1);
+	private Coin COIN_3 = new Coin(Grade.VF, "Italy", Year.of(1995), "500 Lire", "", ALBUM_UUID_2);
+	private Coin COIN_4 = new Coin(Grade.G, "Roman Empire", Year.of(-44), "Denarius of Caesar", "", null);
+
+	private Album ALBUM_1 = new Album("Europa pre-euro", 1, "Armadio", 50, 10);
+	private Album ALBUM_2 = new Album("Europa pre-euro", 2, "Armadio", 40, 40);
+	private Album ALBUM_3 = new Album("Medio-oriente", 1, "Cassetto", 0, 0);
+
+	// Tests
+	private InMemoryDatabase database;
+	private InMemoryTransaction transaction;
+
+	private InMemoryStatisticsRepository repo;
+
+	@BeforeEach
+	void setUpTest() {
+		database = new InMemoryDatabase();
+		transaction = database.begin(true);
+		repo = new InMemoryStatisticsRepository(transaction);
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryStatisticsRepository::countCoinsByAlbum")
+	class CountCoinsByAlbum {
+		@Test
+		@DisplayName("Test that an empty list is returned if no coins are in the database")
+		void testCountCoinsByAlbumReturnsEmptyListWhenDbIsEmpty() {
+			assertThat(repo.countCoinsByAlbum()).isEmpty();
+		}
+
+		@Test
+		@DisplayName("Test that the coins are counted for each album, also the ones not in an album")
+		void testCountCoinsByAlbumReturnsTheCountOfEachAlbum() {
+			populateDB();
+
+			assertThat(repo.countCoinsByAlbum()).containsOnly(
+					new CoinCount<UUID>(ALBUM_UUID_1, 2), new CoinCount<UUID>(ALBUM_UUID_2, 1), new CoinCount<UUID>(null, 1));
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryStatisticsRepository::countCoinsByCountry")
+	class CountCoinsByCountry {
+		@Test
+		@DisplayName("Test that the coins are counted for each country, ordered by country")
+		void testCountCoinsByCountryReturnsTheCountOfEachCountryInOrder() {
+			populateDB();
+
+			assertThat(repo.countCoinsByCountry()).containsExactly(
+					new CoinCount<String>("Greece", 1), new CoinCount<String>("Italy", 2), new CoinCount<String>("Roman Empire", 1));
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryStatisticsRepository::countCoinsByGrade")
+	class CountCoinsByGrade {
+		@Test
+		@DisplayName("Test that the coins are counted for each grade, ordered by grade")
+		void testCountCoinsByGradeReturnsTheCountOfEachGradeInOrder() {
+			populateDB();
+
+			assertThat(repo.countCoinsByGrade()).containsExactly(
+					new CoinCount<Grade>(Grade.AG, 2), new CoinCount<Grade>(Grade.G, 1), new CoinCount<Grade>(Grade.VF, 1));
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryStatisticsRepository::countCoinsByDecade")
+	class CountCoinsByDecade {
+		@Test
+		@DisplayName("Test that the coins are counted for each decade, also before Christ, ordered by decade")
+		void testCountCoinsByDecadeReturnsTheCountOfEachDecadeInOrder() {
+			populateDB();
+
+			assertThat(repo.countCoinsByDecade()).containsExactly(
+					new CoinCount<Year>(Year.of(-50), 1), new CoinCount<Year>(Year.of(1990), 1), new CoinCount<Year>(Year.of(2000), 2));
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method InMemoryStatisticsRepository::findAlbumFills")
+	class FindAlbumFills {
+		@Test
+		@DisplayName("Test that an empty list is returned if no albums are in the database")
+		void testFindAlbumFillsReturnsEmptyListWhenDbIsEmpty() {
+			assertThat(repo.findAlbumFills()).isEmpty();
+		}
+
+		@Test
+		@DisplayName("Test that the fill of each album is returned, ordered by name and volume")
+		void testFindAlbumFillsReturnsTheFillOfEachAlbumInOrder() {
+			populateDB();
+
+			assertThat(repo.findAlbumFills())
+				.containsExactly(
+					new AlbumFill(ALBUM_1.getId(), ALBUM_1.getName(), 1, 10, 50),
+					new AlbumFill(ALBUM_2.getId(), ALBUM_2.getName(), 2, 40, 40),
+					new AlbumFill(ALBUM_3.getId(), ALBUM_3.getName(), 1, 0, 0))
+				.extracting(AlbumFill::getFillRatio).containsExactly(0.2, 1.0, 0.0);
+		}
+	}
+
+	@AfterEach
+	void cleanTest() {
+		transaction.rollback();
+	}
+
+	// Private methods
+	private void populateDB() {
+		InMemoryTransaction populating = database.begin(false);
+		InMemoryCoinRepository coinRepo = new InMemoryCoinRepository(populating);
+		InMemoryAlbumRepository albumRepo = new InMemoryAlbumRepository(populating);
+		Stream.of(COIN_1, COIN_2, COIN_3, COIN_4).forEach(coinRepo::save);
+		Stream.of(ALBUM_3, ALBUM_2, ALBUM_1).forEach(albumRepo::save);
+		populating.commit();
+	}
+}
@@ -2,7 +2,11 @@ package io.github.kevinmaggi.coin_collection_manager.core.repository.postgresql;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.*;
 import org.testcontainers.containers.PostgreSQLContainer;
@@ -10,9 +14,13 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.AlbumSummary;
+import io.github.kevinmaggi.coin_collection_manager.core.repository.CacheStatistics;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.Persistence;
+import jakarta.persistence.RollbackException;
 
 @Testcontainers
 class PostgresAlbumRepositoryTestCase {
@@ -78,6 +86,69 @@ class PostgresAlbumRepositoryTestCase {
 		}
 	}
 
+	@Nested
+	@DisplayName("Tests for method PostgresAlbumRepository::findAllSummaries")
+	class findAllSummaries {
+		@Test
+		@DisplayName("Test that an empty list is returned when there are no albums in the database")
+		void testFindAllSummariesReturnsEmptyListWhenDbIsEmpty() {
+			assertThat(repo.findAllSummaries()).isEmpty();
+		}
+
+		@Test
+		@DisplayName("Test that the summaries of all the albums are returned when there are albums in the database")
+		void testFindAllSummariesReturnsRightListWhenDbIsNotEmpty() {
+			populateDB();
+
+			assertThat(repo.findAllSummaries())
+				.containsOnly(AlbumSummary.of(ALBUM_1), AlbumSummary.of(ALBUM_2))
+				.extracting(AlbumSummary::toString).containsOnly(ALBUM_1.toString(), ALBUM_2.toString());
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method PostgresAlbumRepository::findPage")
+	class findPage {
+		@Test
+		@DisplayName("Test that exception is thrown if a non positive limit is passed")
+		void testFindPageWhenLimitIsNotPositiveShouldThrowException() {
+			assertThatThrownBy(() -> repo.findPage(null, -1))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Limit must be positive");
+		}
+
+		@Test
+		@DisplayName("Test that consecutive pages cover all the albums exactly once")
+		void testFindPageReturnsConsecutivePagesWhenDbIsNotEmpty() {
+			populateDB();
+
+			List<Album> firstPage = repo.findPage(null, 1);
+			List<Album> secondPage = repo.findPage(firstPage.get(0).getId(), 1);
+
+			assertThat(Stream.concat(firstPage.stream(), secondPage.stream())).containsOnly(ALBUM_1, ALBUM_2);
+			assertThat(repo.findPage(secondPage.get(0).getId(), 1)).isEmpty();
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method PostgresAlbumRepository::streamAll")
+	class streamAll {
+		@Test
+		@DisplayName("Test that all the albums are streamed detached")
+		void testStreamAllReturnsAllDetachedAlbumsWhenDbIsNotEmpty() {
+			populateDB();
+
+			em.getTransaction().begin();
+			List<Album> streamed;
+			try (Stream<Album> albums = repo.streamAll()) {
+				streamed = albums.collect(Collectors.toList());
+			}
+			em.getTransaction().commit();
+
+			assertThat(streamed).containsOnly(ALBUM_1, ALBUM_2).noneMatch(em::contains);
+		}
+	}
+
 	@Nested
 	@DisplayName("Tests for method PostgresAlbumRepository::findById")
 	class findById {
@@ -104,9 +175,43 @@ class PostgresAlbumRepositoryTestCase {
 			assertThat(repo.findById(uuid)).isEqualTo(ALBUM_1);
 		}
 
+		@Test
+		@DisplayName("Test that is returned the managed instance, without re-reading it, if it is in the persistence context")
+		void testFindByIdReturnsManagedInstanceWhenDBIsModified() {
+			populateDB();
+			UUID uuid = ALBUM_1.getId();
+
+			EntityManager otherEm = emf.createEntityManager();
+			otherEm.getTransaction().begin();
+			Album otherAlbum = otherEm.find(Album.class, uuid);
+			otherAlbum.setName("new name");
+			otherEm.getTransaction().commit();
+
+			assertThat(repo.findById(uuid)).isSameAs(ALBUM_1);
+			assertThat(repo.findById(uuid).getName()).isNotEqualTo("new name");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method PostgresAlbumRepository::findFreshById")
+	class findFreshById {
+		@Test
+		@DisplayName("Test that exception is thrown if null id is passed")
+		void testFindFreshByIdThrowsExceptionWhenNullIsPassed() {
+			assertThatThrownBy(() -> repo.findFreshById(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("ID can't be null");
+		}
+
+		@Test
+		@DisplayName("Test that is returned null if the id is not found")
+		void testFindFreshByIdReturnsNullWhenIdIsNotFound() {
+			assertThat(repo.findFreshById(INVALID_UUID)).isNull();
+		}
+
 		@Test
 		@DisplayName("Test that is returned the updated object in the case the object in DB is modified")
-		void testFindByIdReturnesUpdatedObjectWhenDBIsModified() {
+		void testFindFreshByIdReturnesUpdatedObjectWhenDBIsModified() {
 			populateDB();
 			UUID uuid = ALBUM_1.getId();
 
@@ -117,12 +222,12 @@ class PostgresAlbumRepositoryTestCase {
 			otherEm.merge(otherAlbum);
 			otherEm.getTransaction().commit();
 
-			assertThat(repo.findById(uuid).getName()).isEqualTo("new name");
+			assertThat(repo.findFreshById(uuid).getName()).isEqualTo("new name");
 		}
 
 		@Test
 		@DisplayName("Test that is returned null if the object is removed from DB")
-		void testFindByIdReturnesNullWhenIsRemovedFromDB() {
+		void testFindFreshByIdReturnesNullWhenIsRemovedFromDB() {
 			populateDB();
 			UUID uuid = ALBUM_1.getId();
 
@@ -132,7 +237,27 @@ class PostgresAlbumRepositoryTestCase {
 			otherEm.remove(otherAlbum);
 			otherEm.getTransaction().commit();
 
-			assertThat(repo.findById(uuid)).isNull();
+			assertThat(repo.findFreshById(uuid)).isNull();
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method PostgresAlbumRepository::findAllById")
+	class findAllById {
+		@Test
+		@DisplayName("Test that the albums with the ids are returned, skipping the ids not found")
+		void testFindAllByIdReturnsTheFoundAlbums() {
+			populateDB();
+
+			assertThat(repo.findAllById(Arrays.asList(ALBUM_1.getId(), ALBUM_2.getId(), INVALID_UUID, null))).containsOnly(ALBUM_1, ALBUM_2);
+		}
+
+		@Test
+		@DisplayName("Test that a null collection throws IllegalArgumentException")
+		void testFindAllByIdWithNullCollectionShouldThrowException() {
+			assertThatThrownBy(() -> repo.findAllById(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("IDs can't be null");
 		}
 	}
 
@@ -254,6 +379,304 @@ class PostgresAlbumRepositoryTestCase {
 			assertThat(em.createQuery("SELECT a FROM Album a", Album.class).getResultList()).contains(ALBUM_1);
 			assertThat(em.find(Album.class, ALBUM_1.getId()).getName()).isEqualTo(ALBUM_NEW_NAME);
 		}
+
+		@Test
+		@DisplayName("Test that saving a stale album fails and the concurrent update wins")
+		void testSaveWhenStaleEntityIsPassedShouldFailWithOptimisticLock() {
+			populateDB();
+			UUID uuid = ALBUM_1.getId();
+
+			EntityManager otherEm = emf.createEntityManager();
+			otherEm.getTransaction().begin();
+			Album otherAlbum = otherEm.find(Album.class, uuid);
+			otherAlbum.setName("new name");
+			otherEm.getTransaction().commit();
+			assertThat(otherAlbum.getVersion()).isEqualTo(ALBUM_1.getVersion() + 1);
+
+			ALBUM_1.setName("stale name");
+			em.getTransaction().begin();
+			repo.save(ALBUM_1);
+			assertThatThrownBy(() -> em.getTransaction().commit())
+				.isInstanceOf(RollbackException.class)
+				.hasCauseInstanceOf(OptimisticLockException.class);
+
+			em.clear();
+			assertThat(em.find(Album.class, uuid).getName()).isEqualTo("new name");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method PostgresAlbumRepository::saveAll")
+	class saveAll {
+		@Test
+		@DisplayName("Test exception is thrown if null is passed")
+		void testSaveAllWhenNullIsPassedShouldThrowException() {
+			assertThatThrownBy(() -> repo.saveAll(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Albums to save can't be null");
+		}
+
+		@Test
+		@DisplayName("Test new entities are added to database and returned detached")
+		void testSaveAllWhenNewEntitiesArePassedShouldBeAddedToDbAndReturned() {
+			em.getTransaction().begin();
+			List<Album> albums = repo.saveAll(List.of(ALBUM_1, ALBUM_2));
+			em.getTransaction().commit();
+
+			assertThat(albums).containsExactly(ALBUM_1, ALBUM_2).noneMatch(em::contains);
+			assertThat(em.createQuery("SELECT a FROM Album a", Album.class).getResultList()).containsOnly(ALBUM_1, ALBUM_2);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method PostgresAlbumRepository::findAllMatching")
+	class findAllMatching {
+		@Test
+		@DisplayName("Test exception is thrown if null is passed")
+		void testFindAllMatchingWhenNullIsPassedShouldThrowException() {
+			assertThatThrownBy(() -> repo.findAllMatching(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Albums can't be null");
+		}
+
+		@Test
+		@DisplayName("Test only the albums already in the database are returned")
+		void testFindAllMatchingShouldReturnOnlyPersistedAlbums() {
+			em.getTransaction().begin();
+			em.persist(ALBUM_1);
+			em.getTransaction().commit();
+
+			assertThat(repo.findAllMatching(List.of(ALBUM_1, ALBUM_2))).containsExactly(ALBUM_1);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method PostgresAlbumRepository::occupySlots")
+	class occupySlots {
+		@Test
+		@DisplayName("Test exception is thrown if null id is passed")
+		void testOccupySlotsWhenNullIsPassedShouldThrowException() {
+			assertThatThrownBy(() -> repo.occupySlots(null, 1))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Album's id can't be null");
+		}
+
+		@Test
+		@DisplayName("Test exception is thrown if negative count is passed")
+		void testOccupySlotsWhenNegativeCountIsPassedShouldThrowException() {
+			assertThatThrownBy(() -> repo.occupySlots(INVALID_UUID, -1))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Count can't be negative");
+		}
+
+		@Test
+		@DisplayName("Test nothing is updated if the album is full")
+		void testOccupySlotsWhenAlbumIsFullShouldReturnFalse() {
+			populateDB();
+
+			em.getTransaction().begin();
+			boolean occupied = repo.occupySlots(ALBUM_1.getId(), 1);
+			em.getTransaction().commit();
+
+			assertThat(occupied).isFalse();
+			assertThat(ALBUM_1.getOccupiedSlots()).isEqualTo(50);
+		}
+
+		@Test
+		@DisplayName("Test slots are occupied and the managed album is refreshed if the album has enough free slots")
+		void testOccupySlotsWhenAlbumHasFreeSlotsShouldUpdateIt() {
+			Album album = new Album(ALBUM_NEW_NAME, 1, "Armadio", 50, 10);
+			em.getTransaction().begin();
+			em.persist(album);
+			em.getTransaction().commit();
+
+			em.getTransaction().begin();
+			boolean occupied = repo.occupySlots(album.getId(), 40);
+			em.getTransaction().commit();
+
+			assertThat(occupied).isTrue();
+			assertThat(album.getOccupiedSlots()).isEqualTo(50);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method PostgresAlbumRepository::releaseSlots")
+	class releaseSlots {
+		@Test
+		@DisplayName("Test exception is thrown if null id is passed")
+		void testReleaseSlotsWhenNullIsPassedShouldThrowException() {
+			assertThatThrownBy(() -> repo.releaseSlots(null, 1))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Album's id can't be null");
+		}
+
+		@Test
+		@DisplayName("Test nothing is updated if the album has less occupied slots")
+		void testReleaseSlotsWhenAlbumHasLessOccupiedSlotsShouldReturnFalse() {
+			populateDB();
+
+			em.getTransaction().begin();
+			boolean released = repo.releaseSlots(ALBUM_1.getId(), 51);
+			em.getTransaction().commit();
+
+			assertThat(released).isFalse();
+			assertThat(ALBUM_1.getOccupiedSlots()).isEqualTo(50);
+		}
+
+		@Test
+		@DisplayName("Test slots are released and the managed album is refreshed")
+		void testReleaseSlotsWhenAlbumHasEnoughOccupiedSlotsShouldUpdateIt() {
+			populateDB();
+
+			em.getTransaction().begin();
+			boolean released = repo.releaseSlots(ALBUM_1.getId(), 1);
+			em.getTransaction().commit();
+
+			assertThat(released).isTrue();
+			assertThat(ALBUM_1.getOccupiedSlots()).isEqualTo(49);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the second-level cache of albums")
+	class cache {
+		@Test
+		@DisplayName("Test that findAll is answered by the cache when repeated")
+		void testFindAllWhenRepeatedShouldHitTheCache() {
+			populateDB();
+			em.clear();
+			em.getTransaction().begin();
+			repo.findAll();
+			em.getTransaction().commit();
+			em.clear();
+			CacheStatistics before = repo.getCacheStatistics();
+
+			em.getTransaction().begin();
+			List<Album> albums = repo.findAll();
+			em.getTransaction().commit();
+
+			CacheStatistics after = repo.getCacheStatistics();
+			assertThat(albums).containsExactlyInAnyOrder(ALBUM_1, ALBUM_2);
+			assertThat(after.getHits()).isGreaterThan(before.getHits());
+			assertThat(after.getMisses()).isEqualTo(before.getMisses());
+		}
+
+		@Test
+		@DisplayName("Test that findByNameAndVolume is answered by the cache when repeated")
+		void testFindByNameAndVolumeWhenRepeatedShouldHitTheCache() {
+			populateDB();
+			em.clear();
+			em.getTransaction().begin();
+			repo.findByNameAndVolume(ALBUM_1_NAME, ALBUM_1_VOLUME);
+			em.getTransaction().commit();
+			em.clear();
+			CacheStatistics before = repo.getCacheStatistics();
+
+			em.getTransaction().begin();
+			Album album = repo.findByNameAndVolume(ALBUM_1_NAME, ALBUM_1_VOLUME);
+			em.getTransaction().commit();
+
+			CacheStatistics after = repo.getCacheStatistics();
+			assertThat(album).isEqualTo(ALBUM_1);
+			assertThat(after.getHits()).isGreaterThan(before.getHits());
+			assertThat(after.getMisses()).isEqualTo(before.getMisses());
+		}
+
+		@Test
+		@DisplayName("Test that saving an album invalidates the cached queries")
+		void testSaveShouldInvalidateTheCachedQueries() {
+			populateDB();
+			em.getTransaction().begin();
+			repo.findAll();
+			em.getTransaction().commit();
+
+			em.getTransaction().begin();
+			repo.save(INVALID_ALBUM);
+			em.getTransaction().commit();
+
+			em.getTransaction().begin();
+			List<Album> albums = repo.findAll();
+			em.getTransaction().commit();
+			assertThat(albums).containsExactlyInAnyOrder(ALBUM_1, ALBUM_2, INVALID_ALBUM);
+		}
+
+		@Test
+		@DisplayName("Test that updating an album from another EntityManager updates the cached album")
+		void testUpdateFromOtherEntityManagerShouldUpdateTheCachedAlbum() {
+			populateDB();
+			UUID uuid = ALBUM_1.getId();
+			em.getTransaction().begin();
+			repo.findAll();
+			em.getTransaction().commit();
+
+			EntityManager otherEm = emf.createEntityManager();
+			otherEm.getTransaction().begin();
+			otherEm.find(Album.class, uuid).setLocation("Cassetto");
+			otherEm.getTransaction().commit();
+			otherEm.close();
+			em.clear();
+
+			assertThat(repo.findById(uuid).getLocation()).isEqualTo("Cassetto");
+		}
+
+		@Test
+		@DisplayName("Test that updating the slots evicts only that album and re-executes the cached queries")
+		void testUpdateSlotsShouldEvictOnlyThatAlbum() {
+			populateDB();
+			em.clear();
+			em.getTransaction().begin();
+			repo.findAll();
+			em.getTransaction().commit();
+
+			em.getTransaction().begin();
+			repo.releaseSlots(ALBUM_1.getId(), 1);
+			em.getTransaction().commit();
+			em.clear();
+
+			assertThat(emf.getCache().contains(Album.class, ALBUM_1.getId())).isFalse();
+			assertThat(emf.getCache().contains(Album.class, ALBUM_2.getId())).isTrue();
+			em.getTransaction().begin();
+			List<Album> albums = repo.findAll();
+			em.getTransaction().commit();
+			assertThat(albums).filteredOn(album -> album.getId().equals(ALBUM_1.getId()))
+				.extracting(Album::getOccupiedSlots).containsExactly(49);
+		}
+
+		@Test
+		@DisplayName("Test that updating the slots from another EntityManager updates the cached album")
+		void testUpdateSlotsFromOtherEntityManagerShouldUpdateTheCachedAlbum() {
+			populateDB();
+			UUID uuid = ALBUM_1.getId();
+			em.clear();
+			assertThat(repo.findById(uuid).getOccupiedSlots()).isEqualTo(50);
+
+			EntityManager otherEm = emf.createEntityManager();
+			otherEm.getTransaction().begin();
+			new PostgresAlbumRepository(otherEm).releaseSlots(uuid, 1);
+			otherEm.getTransaction().commit();
+			otherEm.close();
+			em.clear();
+
+			assertThat(repo.findById(uuid).getOccupiedSlots()).isEqualTo(49);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the named queries on Album")
+	class namedQueries {
+		@Test
+		@DisplayName("Test that all the named queries used by the repository are registered when the persistence unit boots")
+		void testNamedQueriesAreRegistered() {
+			Stream.of("Album.findAll",
+				"Album.findAllSummaries",
+				"Album.findFirstPage",
+				"Album.findPageAfter",
+				"Album.findByNames",
+				"Album.findByNameAndVolume",
+				"Album.occupySlots",
+				"Album.releaseSlots")
+				.forEach(name -> assertThatCode(() -> em.createNamedQuery(name)).doesNotThrowAnyException());
+		}
 	}
 
 	@AfterEach
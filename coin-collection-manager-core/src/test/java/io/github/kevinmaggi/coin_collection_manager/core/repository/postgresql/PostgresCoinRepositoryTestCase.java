@@ -1,11 +1,24 @@
 package io.github.kevinmaggi.coin_collection_manager.core.repository.postgresql;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -18,10 +31,13 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinSummary;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.Persistence;
+import jakarta.persistence.RollbackException;
 
 @Testcontainers
 public class PostgresCoinRepositoryTestCase {
@@ -88,6 +104,129 @@ public class PostgresCoinRepositoryTestCase {
 
 			assertThat(repo.findAll()).containsOnly(COIN_1, COIN_2);
 		}
+
+		@Test
+		@DisplayName("Test that the coins found are detached, so they aren't kept in the persistence context")
+		void testFindAllShouldDetachTheCoinsFound() {
+			populateDB();
+			em.clear();
+
+			em.getTransaction().begin();
+			List<Coin> coins = repo.findAll();
+			em.getTransaction().commit();
+
+			assertThat(coins).hasSize(2).noneMatch(em::contains);
+			assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+		}
+
+		@Test
+		@DisplayName("Test that a coin already managed by the transaction stays managed, with its changes")
+		void testFindAllShouldNotDetachTheCoinsAlreadyManaged() {
+			populateDB();
+
+			em.getTransaction().begin();
+			COIN_1.setNote("changed");
+			repo.findAll();
+			assertThat(em.contains(COIN_1)).isTrue();
+			em.getTransaction().commit();
+			em.clear();
+
+			assertThat(repo.findById(COIN_1.getId()).getNote()).isEqualTo("changed");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method PostgresCoinRepository::findAllSummaries")
+	class FindAllSummaries {
+		@Test
+		@DisplayName("Test that an empty list is returned if no coins are in the database")
+		void testFindAllSummariesReturnsEmptyListWhenDbIsEmpty() {
+			assertThat(repo.findAllSummaries()).isEmpty();
+		}
+
+		@Test
+		@DisplayName("Test that the summaries of all the coins are returned without loading them in the persistence context")
+		void testFindAllSummariesReturnsSummariesWhenDbIsNotEmpty() {
+			populateDB();
+			em.clear();
+
+			List<CoinSummary> summaries = repo.findAllSummaries();
+
+			assertThat(summaries).containsOnly(CoinSummary.of(COIN_1), CoinSummary.of(COIN_2));
+			assertThat(summaries).extracting(CoinSummary::toString).containsOnly(COIN_1.toString(), COIN_2.toString());
+			assertThat(summaries).extracting(CoinSummary::getAlbum).containsOnly(ALBUM_UUID_1, ALBUM_UUID_2);
+			assertThat(em.contains(COIN_1)).isFalse();
+			assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method PostgresCoinRepository::findPage")
+	class FindPage {
+		@Test
+		@DisplayName("Test that exception is thrown if a non positive limit is passed")
+		void testFindPageThrowsExceptionWhenLimitIsNotPositive() {
+			assertThatThrownBy(() -> repo.findPage(null, 0))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Limit must be positive");
+		}
+
+		@Test
+		@DisplayName("Test that an empty list is returned if no coins are in the database")
+		void testFindPageReturnsEmptyListWhenDbIsEmpty() {
+			assertThat(repo.findPage(null, 10)).isEmpty();
+		}
+
+		@Test
+		@DisplayName("Test that consecutive pages cover all the coins exactly once")
+		void testFindPageReturnsConsecutivePagesWhenDbIsNotEmpty() {
+			populateDB();
+
+			List<Coin> firstPage = repo.findPage(null, 1);
+			List<Coin> secondPage = repo.findPage(firstPage.get(0).getId(), 1);
+
+			assertThat(firstPage).hasSize(1);
+			assertThat(secondPage).hasSize(1);
+			assertThat(Stream.concat(firstPage.stream(), secondPage.stream())).containsOnly(COIN_1, COIN_2);
+			assertThat(repo.findPage(secondPage.get(0).getId(), 1)).isEmpty();
+		}
+
+		@Test
+		@DisplayName("Test that the returned coins are detached")
+		void testFindPageReturnsDetachedCoins() {
+			populateDB();
+
+			assertThat(repo.findPage(null, 2)).noneMatch(em::contains);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method PostgresCoinRepository::streamAll")
+	class StreamAll {
+		@Test
+		@DisplayName("Test that an empty stream is returned if no coins are in the database")
+		void testStreamAllReturnsEmptyStreamWhenDbIsEmpty() {
+			em.getTransaction().begin();
+			try (Stream<Coin> coins = repo.streamAll()) {
+				assertThat(coins).isEmpty();
+			}
+			em.getTransaction().commit();
+		}
+
+		@Test
+		@DisplayName("Test that all the coins are streamed detached if there are coins in the database")
+		void testStreamAllReturnsAllDetachedCoinsWhenDbIsNotEmpty() {
+			populateDB();
+
+			em.getTransaction().begin();
+			List<Coin> streamed;
+			try (Stream<Coin> coins = repo.streamAll()) {
+				streamed = coins.collect(Collectors.toList());
+			}
+			em.getTransaction().commit();
+
+			assertThat(streamed).containsOnly(COIN_1, COIN_2).noneMatch(em::contains);
+		}
 	}
 
 	@Nested
@@ -116,9 +255,43 @@ public class PostgresCoinRepositoryTestCase {
 			assertThat(repo.findById(uuid)).isEqualTo(COIN_1);
 		}
 
+		@Test
+		@DisplayName("Test that is returned the managed instance, without re-reading it, if it is in the persistence context")
+		void testFindByIdReturnsManagedInstanceWhenDBIsModified() {
+			populateDB();
+			UUID uuid = COIN_1.getId();
+
+			EntityManager otherEm = emf.createEntityManager();
+			otherEm.getTransaction().begin();
+			Coin otherCoin = otherEm.find(Coin.class, uuid);
+			otherCoin.setDescription("new description");
+			otherEm.getTransaction().commit();
+
+			assertThat(repo.findById(uuid)).isSameAs(COIN_1);
+			assertThat(repo.findById(uuid).getDescription()).isNotEqualTo("new description");
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method PostgresCoinRepository::findFreshById")
+	class FindFreshById {
+		@Test
+		@DisplayName("Test that exception is thrown if null id is passed")
+		void testFindFreshByIdThrowsExceptionWhenNullIsPassed() {
+			assertThatThrownBy(() -> repo.findFreshById(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("ID can't be null");
+		}
+
+		@Test
+		@DisplayName("Test that is returned null if the id is not found")
+		void testFindFreshByIdReturnsNullWhenIdIsNotFound() {
+			assertThat(repo.findFreshById(INVALID_UUID)).isNull();
+		}
+
 		@Test
 		@DisplayName("Test that is returned the updated object in the case the object in DB is modified")
-		void testFindByIdReturnesUpdatedObjectWhenDBIsModified() {
+		void testFindFreshByIdReturnesUpdatedObjectWhenDBIsModified() {
 			populateDB();
 			UUID uuid = COIN_1.getId();
 
@@ -129,12 +302,12 @@ public class PostgresCoinRepositoryTestCase {
 			otherEm.merge(otherCoin);
 			otherEm.getTransaction().commit();
 
-			assertThat(repo.findById(uuid).getDescription()).isEqualTo("new description");
+			assertThat(repo.findFreshById(uuid).getDescription()).isEqualTo("new description");
 		}
 
 		@Test
 		@DisplayName("Test that is returned null if the object is removed from DB")
-		void testFindByIdReturnesNullWhenIsRemovedFromDB() {
+		void testFindFreshByIdReturnesNullWhenIsRemovedFromDB() {
 			populateDB();
 			UUID uuid = COIN_1.getId();
 
@@ -144,7 +317,27 @@ public class PostgresCoinRepositoryTestCase {
 			otherEm.remove(otherCoin);
 			otherEm.getTransaction().commit();
 
-			assertThat(repo.findById(uuid)).isNull();
+			assertThat(repo.findFreshById(uuid)).isNull();
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method PostgresCoinRepository::findAllById")
+	class FindAllById {
+		@Test
+		@DisplayName("Test that the coins with the ids are returned, skipping the ids not found")
+		void testFindAllByIdReturnsTheFoundCoins() {
+			populateDB();
+
+			assertThat(repo.findAllById(Arrays.asList(COIN_1.getId(), COIN_2.getId(), INVALID_UUID, null))).containsOnly(COIN_1, COIN_2);
+		}
+
+		@Test
+		@DisplayName("Test that a null collection throws IllegalArgumentException")
+		void testFindAllByIdWithNullCollectionShouldThrowException() {
+			assertThatThrownBy(() -> repo.findAllById(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("IDs can't be null");
 		}
 	}
 
@@ -204,6 +397,30 @@ public class PostgresCoinRepositoryTestCase {
 			assertThat(em.createQuery("SELECT c FROM Coin c", Coin.class).getResultList()).contains(COIN_1);
 			assertThat(em.find(Coin.class, COIN_1.getId()).getGrade()).isEqualTo(Grade.MS);
 		}
+
+		@Test
+		@DisplayName("Test that saving a stale coin fails and the concurrent update wins")
+		void testSaveWhenStaleEntityIsPassedShouldFailWithOptimisticLock() {
+			populateDB();
+			UUID uuid = COIN_1.getId();
+
+			EntityManager otherEm = emf.createEntityManager();
+			otherEm.getTransaction().begin();
+			Coin otherCoin = otherEm.find(Coin.class, uuid);
+			otherCoin.setDescription("new description");
+			otherEm.getTransaction().commit();
+			assertThat(otherCoin.getVersion()).isEqualTo(COIN_1.getVersion() + 1);
+
+			COIN_1.setGrade(Grade.MS);
+			em.getTransaction().begin();
+			repo.save(COIN_1);
+			assertThatThrownBy(() -> em.getTransaction().commit())
+				.isInstanceOf(RollbackException.class)
+				.hasCauseInstanceOf(OptimisticLockException.class);
+
+			em.clear();
+			assertThat(em.find(Coin.class, uuid).getDescription()).isEqualTo("new description");
+		}
 	}
 
 	@Nested
@@ -276,6 +493,71 @@ public class PostgresCoinRepositoryTestCase {
 		}
 	}
 
+	@Nested
+	@DisplayName("Tests for method PostgresCoinRepository::findSummariesByDescription")
+	class FindSummariesByDescription {
+		@Test
+		@DisplayName("Test that exception is thrown if null value is passed")
+		void testFindSummariesByDescriptionWhenNullIsPassedShouldThrowException() {
+			assertThatThrownBy(() -> repo.findSummariesByDescription(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Description can't be null");
+		}
+
+		@Test
+		@DisplayName("Test that the summaries of the coins containing the description are returned")
+		void testFindSummariesByDescriptionWhenTargetIsFoundShouldReturnCorrectList() {
+			populateDB();
+
+			assertThat(repo.findSummariesByDescription("Olympics")).containsExactly(CoinSummary.of(COIN_2));
+			assertThat(repo.findSummariesByDescription(INVALID_DESCRIPTION)).isEmpty();
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method PostgresCoinRepository::searchByDescription")
+	class SearchByDescription {
+		@Test
+		@DisplayName("Test that exception is thrown if null value is passed")
+		void testSearchByDescriptionWhenNullIsPassedShouldThrowException() {
+			assertThatThrownBy(() -> repo.searchByDescription(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Description can't be null");
+		}
+
+		@Test
+		@DisplayName("Test that empty list is returned if description is not found")
+		void testSearchByDescriptionWhenTargetIsNotFoundShouldReturnEmptyList() {
+			assertThat(repo.searchByDescription(INVALID_DESCRIPTION)).isEmpty();
+		}
+
+		@Test
+		@DisplayName("Test that matching ignores case")
+		void testSearchByDescriptionWhenTargetIsFoundWithDifferentCaseShouldReturnCorrectList() {
+			populateDB();
+
+			assertThat(repo.searchByDescription("olympics")).containsExactly(COIN_2);
+		}
+
+		@Test
+		@DisplayName("Test that results are ranked by similarity")
+		void testSearchByDescriptionWhenManyTargetsAreFoundShouldReturnRankedList() {
+			populateDB();
+
+			assertThat(repo.searchByDescription("2€ COMM.")).containsExactly(COIN_1, COIN_2);
+		}
+
+		@Test
+		@DisplayName("Test that the trigram index on description is created with the schema")
+		void testSearchByDescriptionIndexExists() {
+			Number indexes = (Number) em.createNativeQuery(
+					"SELECT count(*) FROM pg_indexes WHERE tablename = 'coins' AND indexname = 'coins_description_trgm_idx'"
+					).getSingleResult();
+
+			assertThat(indexes.intValue()).isEqualTo(1);
+		}
+	}
+
 	@Nested
 	@DisplayName("Tests for method PostgresCoinRepository::findByAlbum")
 	class FindByAlbum {
@@ -300,6 +582,103 @@ public class PostgresCoinRepositoryTestCase {
 
 			assertThat(repo.findByAlbum(ALBUM_UUID_1)).containsExactly(COIN_1);
 		}
+
+		@Test
+		@DisplayName("Test that the coins found are detached, so they aren't kept in the persistence context")
+		void testFindByAlbumShouldDetachTheCoinsFound() {
+			populateDB();
+			em.clear();
+
+			assertThat(repo.findByAlbum(ALBUM_UUID_1)).hasSize(1).noneMatch(em::contains);
+		}
+
+		@Test
+		@DisplayName("Test that the persistence context never holds more coins than the batch size while they're loaded")
+		void testFindByAlbumShouldCapThePersistenceContext() {
+			List<Coin> coins = new ArrayList<>();
+			for (int i = 0; i < 3 * repo.batchSize + 1; i++)
+				coins.add(new Coin(Grade.AG, COUNTRY_1, YEAR, DESCRIPTION_1 + " " + i, "", ALBUM_UUID_1));
+			em.getTransaction().begin();
+			repo.saveAll(coins);
+			em.getTransaction().commit();
+			em.clear();
+			AtomicInteger maxManaged = new AtomicInteger();
+			PostLoadEventListener listener = event -> maxManaged.accumulateAndGet(
+					event.getSession().getPersistenceContextInternal().getNumberOfManagedEntities(), Math::max);
+			emf.unwrap(SessionFactoryImplementor.class).getServiceRegistry().getService(EventListenerRegistry.class)
+				.appendListeners(EventType.POST_LOAD, listener);
+
+			List<Coin> found = repo.findByAlbum(ALBUM_UUID_1);
+
+			assertThat(found).hasSize(coins.size()).noneMatch(em::contains);
+			assertThat(maxManaged.get()).isPositive().isLessThanOrEqualTo(repo.batchSize);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method PostgresCoinRepository::findSummariesByAlbum")
+	class FindSummariesByAlbum {
+		@Test
+		@DisplayName("Test that exception is thrown if null value is passed")
+		void testFindSummariesByAlbumWhenNullIsPassedShouldThrowException() {
+			assertThatThrownBy(() -> repo.findSummariesByAlbum(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Album's id can't be null");
+		}
+
+		@Test
+		@DisplayName("Test that empty list is returned if album is not found")
+		void testFindSummariesByAlbumWhenTargetIsNotFoundShouldReturnEmptyList() {
+			assertThat(repo.findSummariesByAlbum(INVALID_UUID)).isEmpty();
+		}
+
+		@Test
+		@DisplayName("Test that the summaries of the coins in the album are returned")
+		void testFindSummariesByAlbumWhenTargetIsFoundShouldReturnCorrectList() {
+			populateDB();
+
+			assertThat(repo.findSummariesByAlbum(ALBUM_UUID_1)).containsExactly(CoinSummary.of(COIN_1));
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method PostgresCoinRepository::deleteByAlbum")
+	class DeleteByAlbum {
+		@Test
+		@DisplayName("Test that exception is thrown if null value is passed")
+		void testDeleteByAlbumWhenNullIsPassedShouldThrowException() {
+			assertThatThrownBy(() -> repo.deleteByAlbum(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Album's id can't be null");
+		}
+
+		@Test
+		@DisplayName("Test that nothing is removed if album has no coins")
+		void testDeleteByAlbumWhenAlbumHasNoCoinsShouldRemoveNothing() {
+			populateDB();
+
+			em.getTransaction().begin();
+			int deleted = repo.deleteByAlbum(INVALID_UUID);
+			em.getTransaction().commit();
+
+			assertThat(deleted).isZero();
+			assertThat(repo.findAll()).containsOnly(COIN_1, COIN_2);
+		}
+
+		@Test
+		@DisplayName("Test that only the coins of the album are removed and detached")
+		void testDeleteByAlbumWhenAlbumHasCoinsShouldRemoveAndDetachThem() {
+			populateDB();
+
+			em.getTransaction().begin();
+			int deleted = repo.deleteByAlbum(ALBUM_UUID_1);
+			em.getTransaction().commit();
+
+			assertThat(deleted).isEqualTo(1);
+			assertThat(em.contains(COIN_1)).isFalse();
+			assertThat(em.contains(COIN_2)).isTrue();
+			assertThat(repo.findAll()).containsOnly(COIN_2);
+		}
 	}
 
 	@Nested
@@ -366,6 +745,234 @@ public class PostgresCoinRepositoryTestCase {
 		}
 	}
 
+	@Nested
+	@DisplayName("Tests for method PostgresCoinRepository::saveAll")
+	class SaveAll {
+		@Test
+		@DisplayName("Test that exception is thrown if null value is passed")
+		void testSaveAllWhenNullIsPassedShouldThrowException() {
+			assertThatThrownBy(() -> repo.saveAll(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Coins to save can't be null");
+		}
+
+		@Test
+		@DisplayName("Test that new coins are added to the database and returned detached")
+		void testSaveAllWhenNewCoinsArePassedShouldBeAddedToDbAndReturned() {
+			em.getTransaction().begin();
+			List<Coin> coins = repo.saveAll(List.of(COIN_1, COIN_2));
+			em.getTransaction().commit();
+
+			assertThat(coins).containsExactly(COIN_1, COIN_2).noneMatch(em::contains);
+			assertThat(repo.findAll()).containsOnly(COIN_1, COIN_2);
+		}
+
+		@Test
+		@DisplayName("Test that more coins than a batch are all added to the database")
+		void testSaveAllWhenManyCoinsArePassedShouldBeAllAddedToDb() {
+			List<Coin> coins = new ArrayList<>();
+			for (int i = 0; i < 3 * repo.batchSize + 1; i++)
+				coins.add(new Coin(Grade.AG, COUNTRY_1, YEAR, DESCRIPTION_1 + " " + i, "", ALBUM_UUID_1));
+
+			em.getTransaction().begin();
+			repo.saveAll(coins);
+			em.getTransaction().commit();
+
+			assertThat(repo.findAll()).hasSameSizeAs(coins).containsAll(coins);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method PostgresCoinRepository::findAllMatching")
+	class FindAllMatching {
+		@Test
+		@DisplayName("Test that exception is thrown if null value is passed")
+		void testFindAllMatchingWhenNullIsPassedShouldThrowException() {
+			assertThatThrownBy(() -> repo.findAllMatching(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Coins can't be null");
+		}
+
+		@Test
+		@DisplayName("Test that only the coins already in the database are returned")
+		void testFindAllMatchingShouldReturnOnlyPersistedCoins() {
+			em.getTransaction().begin();
+			em.persist(COIN_1);
+			em.getTransaction().commit();
+			Coin sameDescription = new Coin(Grade.G, COUNTRY_1, YEAR, DESCRIPTION_1, "", ALBUM_UUID_1);
+
+			assertThat(repo.findAllMatching(List.of(COIN_1, COIN_2, sameDescription))).containsExactly(COIN_1);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method PostgresCoinRepository::insertIfAbsent")
+	class InsertIfAbsent {
+		@Test
+		@DisplayName("Test that exception is thrown if null value is passed")
+		void testInsertIfAbsentWhenNullIsPassedShouldThrowException() {
+			assertThatThrownBy(() -> repo.insertIfAbsent(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Coin to save can't be null");
+		}
+
+		@Test
+		@DisplayName("Test that exception is thrown if the coin has no grade or minting year")
+		void testInsertIfAbsentWhenGradeOrYearIsNullShouldThrowException() {
+			Coin withoutGrade = new Coin(null, COUNTRY_1, YEAR, DESCRIPTION_1, "", ALBUM_UUID_1);
+			Coin withoutYear = new Coin(Grade.AG, COUNTRY_1, null, DESCRIPTION_1, "", ALBUM_UUID_1);
+
+			assertThatThrownBy(() -> repo.insertIfAbsent(withoutGrade))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Grade and minting year of the coin to save can't be null");
+			assertThatThrownBy(() -> repo.insertIfAbsent(withoutYear))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Grade and minting year of the coin to save can't be null");
+		}
+
+		@Test
+		@DisplayName("Test that a new coin is added to the database and returned managed")
+		void testInsertIfAbsentWhenCoinIsNewShouldBeAddedToDbAndReturned() {
+			em.getTransaction().begin();
+			Coin inserted = repo.insertIfAbsent(COIN_1);
+			em.getTransaction().commit();
+
+			assertThat(inserted).isEqualTo(COIN_1);
+			assertThat(inserted.getId()).isNotNull();
+			assertThat(inserted.getFingerprint()).isEqualTo(COIN_1.getFingerprint());
+			assertThat(em.contains(inserted)).isTrue();
+			assertThat(repo.findAll()).containsOnly(COIN_1);
+		}
+
+		@Test
+		@DisplayName("Test that a coin without album can be added")
+		void testInsertIfAbsentWhenCoinHasNoAlbumShouldBeAddedToDb() {
+			Coin withoutAlbum = new Coin(Grade.AG, COUNTRY_1, YEAR, DESCRIPTION_1, "", null);
+
+			em.getTransaction().begin();
+			Coin inserted = repo.insertIfAbsent(withoutAlbum);
+			em.getTransaction().commit();
+
+			assertThat(inserted.getAlbum()).isNull();
+			assertThat(repo.findAll()).containsOnly(withoutAlbum);
+		}
+
+		@Test
+		@DisplayName("Test that null is returned and nothing is added if an equal coin is already in the database")
+		void testInsertIfAbsentWhenCoinIsAlreadyInDbShouldReturnNull() {
+			populateDB();
+			Coin duplicate = new Coin(Grade.AG, COUNTRY_1, YEAR, DESCRIPTION_1, "", ALBUM_UUID_2);
+
+			em.getTransaction().begin();
+			Coin inserted = repo.insertIfAbsent(duplicate);
+			em.getTransaction().commit();
+
+			assertThat(inserted).isNull();
+			assertThat(repo.findAll()).containsOnly(COIN_1, COIN_2);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the fingerprint of Coin")
+	class Fingerprint {
+		@Test
+		@DisplayName("Test that the fingerprint follows the changes of the coin's fields")
+		void testFingerprintIsUpdatedBySetters() {
+			Coin coin = new Coin(Grade.AG, COUNTRY_1, YEAR, DESCRIPTION_1, "", ALBUM_UUID_1);
+			String before = coin.getFingerprint();
+
+			coin.setNote("minting error");
+
+			assertThat(coin.getFingerprint()).hasSize(32).isNotEqualTo(before)
+				.isEqualTo(Coin.fingerprintOf(Grade.AG, COUNTRY_1, YEAR, DESCRIPTION_1, "minting error"));
+		}
+
+		@Test
+		@DisplayName("Test that the fingerprint computed by the database for old rows is the same computed by Coin")
+		void testFingerprintComputedByDbIsTheSame() {
+			populateDB();
+
+			em.getTransaction().begin();
+			em.createNativeQuery("ALTER TABLE coins ALTER COLUMN fingerprint DROP NOT NULL").executeUpdate();
+			em.createNativeQuery("UPDATE coins SET fingerprint = NULL").executeUpdate();
+			em.createNativeQuery(PostgresSchemaInitializer.STATEMENTS.get(2)).executeUpdate();
+			em.getTransaction().commit();
+			em.clear();
+
+			assertThat(repo.findAll()).extracting(Coin::getFingerprint)
+				.containsOnly(COIN_1.getFingerprint(), COIN_2.getFingerprint());
+			assertThat(em.createNativeQuery("SELECT attnotnull FROM pg_attribute WHERE attrelid = CAST('coins' AS regclass) "
+					+ "AND attname = 'fingerprint'").getSingleResult()).isEqualTo(true);
+		}
+
+		@Test
+		@DisplayName("Test that the initialization statements can be executed again on a migrated database")
+		void testInitializationStatementsAreIdempotent() {
+			populateDB();
+
+			em.getTransaction().begin();
+			PostgresSchemaInitializer.STATEMENTS.forEach(sql -> em.createNativeQuery(sql).executeUpdate());
+			em.getTransaction().commit();
+			em.clear();
+
+			assertThat(repo.findAll()).extracting(Coin::getFingerprint)
+				.containsOnly(COIN_1.getFingerprint(), COIN_2.getFingerprint());
+		}
+
+		@Test
+		@DisplayName("Test that the fingerprint is the only unique constraint on coins")
+		void testFingerprintIsTheOnlyUniqueConstraint() {
+			@SuppressWarnings("unchecked")
+			List<String> constraints = em.createNativeQuery(
+					"SELECT conname FROM pg_constraint WHERE conrelid = CAST('coins' AS regclass) AND contype = 'u'"
+					).getResultList();
+
+			assertThat(constraints).containsExactly(Coin.FINGERPRINT_CONSTRAINT);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the named queries on Coin")
+	class NamedQueries {
+		@Test
+		@DisplayName("Test that all the named queries used by the repository are registered when the persistence unit boots")
+		void testNamedQueriesAreRegistered() {
+			Stream.of("Coin.findAll",
+				"Coin.findFirstPage",
+				"Coin.findPageAfter",
+				"Coin.findByFingerprints",
+				"Coin.findAllSummaries",
+				"Coin.findByDescription",
+				"Coin.findSummariesByDescription",
+				"Coin.findByAlbum",
+				"Coin.findSummariesByAlbum",
+				"Coin.deleteByAlbum",
+				"Coin.findByFingerprint",
+				"Coin.searchByDescription",
+				"Coin.insertIfAbsent")
+				.forEach(name -> assertThatCode(() -> em.createNamedQuery(name)).doesNotThrowAnyException());
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the size of the batches of bulk operations")
+	class BatchSize {
+		@Test
+		@DisplayName("Test that the batch size is the one configured in the persistence unit")
+		void testBatchSizeShouldBeTakenFromThePersistenceUnit() {
+			assertThat(repo.batchSize).isEqualTo(50);
+			assertThat(PostgresRepository.batchSize(Map.of("hibernate.jdbc.batch_size", "7"))).isEqualTo(7);
+			assertThat(PostgresRepository.batchSize(Map.of("hibernate.jdbc.batch_size", 7))).isEqualTo(7);
+		}
+
+		@Test
+		@DisplayName("Test that the default batch size is used if none or a not positive one is configured")
+		void testBatchSizeWhenNotConfiguredShouldBeTheDefault() {
+			assertThat(PostgresRepository.batchSize(Map.of())).isEqualTo(PostgresRepository.DEFAULT_BATCH_SIZE);
+			assertThat(PostgresRepository.batchSize(Map.of("hibernate.jdbc.batch_size", "0"))).isEqualTo(PostgresRepository.DEFAULT_BATCH_SIZE);
+		}
+	}
+
 	@AfterEach
 	public void cleanTest() {
 		em.clear();
@@ -52,5 +52,12 @@ class YearAttributeConverterTestCase {
 			int year_int = VALID_YEAR_YEAR.getValue();
 			assertThat(converter.convertToEntityAttribute(year_int)).isEqualTo(VALID_YEAR_YEAR);
 		}
+
+		@Test
+		@DisplayName("Test that the same year is converted to the same instance")
+		void testConvertToEntityAttributeShouldNotAllocateTheSameYearAgain() {
+			int year_int = VALID_YEAR_YEAR.getValue();
+			assertThat(converter.convertToEntityAttribute(year_int)).isSameAs(converter.convertToEntityAttribute(year_int));
+		}
 	}
 }
@@ -0,0 +1,64 @@
+package io.github.kevinmaggi.coin_collection_manager.core.utility;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.DateTimeException;
+import java.time.Year;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class YearsTestCase {
+	private static final int CACHED_YEAR = 1995;
+	private static final int UNCACHED_YEAR = Years.LAST_CACHED + 1;
+
+	@Nested
+	@DisplayName("Tests for method Years::of")
+	class Of {
+		@Test
+		@DisplayName("Test that a year of the table is always the same instance")
+		void testOfWhenYearIsCachedShouldReturnTheSameInstance() {
+			assertThat(Years.of(CACHED_YEAR))
+				.isEqualTo(Year.of(CACHED_YEAR))
+				.isSameAs(Years.of(CACHED_YEAR));
+		}
+
+		@Test
+		@DisplayName("Test that the first and the last year of the table are right")
+		void testOfAtTheBoundsOfTheTable() {
+			assertThat(Years.of(Years.FIRST_CACHED)).isEqualTo(Year.of(Years.FIRST_CACHED));
+			assertThat(Years.of(Years.LAST_CACHED)).isEqualTo(Year.of(Years.LAST_CACHED));
+		}
+
+		@Test
+		@DisplayName("Test that a year out of the table is built as Year::of does")
+		void testOfWhenYearIsNotCachedShouldReturnAnEqualYear() {
+			assertThat(Years.of(UNCACHED_YEAR)).isEqualTo(Year.of(UNCACHED_YEAR));
+		}
+
+		@Test
+		@DisplayName("Test that a year out of the range of Year throws DateTimeException")
+		void testOfWhenYearIsOutOfRangeShouldThrowException() {
+			assertThatThrownBy(() -> Years.of(Integer.MAX_VALUE)).isInstanceOf(DateTimeException.class);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for method Years::valueOf")
+	class ValueOf {
+		@Test
+		@DisplayName("Test that the value of a year of the table is always the same instance")
+		void testValueOfWhenYearIsCachedShouldReturnTheSameInstance() {
+			assertThat(Years.valueOf(Year.of(CACHED_YEAR)))
+				.isEqualTo(CACHED_YEAR)
+				.isSameAs(Years.valueOf(Year.of(CACHED_YEAR)));
+		}
+
+		@Test
+		@DisplayName("Test that the value of a year out of the table is right")
+		void testValueOfWhenYearIsNotCachedShouldReturnItsValue() {
+			assertThat(Years.valueOf(Year.of(UNCACHED_YEAR))).isEqualTo(UNCACHED_YEAR);
+		}
+	}
+}
@@ -30,6 +30,7 @@ import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager
 import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.postgresql.PostgresTransactionManagerFactory;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinSummary;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
 import io.github.kevinmaggi.coin_collection_manager.ui.view.View;
 import jakarta.persistence.EntityManager;
@@ -69,7 +70,7 @@ public class PresenterWithTransactionalServiceAndPostgresRepositoryIT {
 		closeable = MockitoAnnotations.openMocks(this);
 
 		em = emf.createEntityManager();
-		factory = new PostgresTransactionManagerFactory(em);
+		factory = new PostgresTransactionManagerFactory(emf);
 
 		coinManager = new CoinTransactionalManager(factory.getTransactionManager());
 		albumManager = new AlbumTransactionalManager(factory.getTransactionManager());
@@ -231,7 +232,7 @@ public class PresenterWithTransactionalServiceAndPostgresRepositoryIT {
 
 			coinPresenter.getAllCoins();
 
-			verify(view).showAllCoins(argThat(l -> l.containsAll(Arrays.asList(COIN_PRE, COIN_COMM_1, COIN_COMM_2))));
+			verify(view).showAllCoins(argThat(l -> l.containsAll(Arrays.asList(CoinSummary.of(COIN_PRE), CoinSummary.of(COIN_COMM_1), CoinSummary.of(COIN_COMM_2)))));
 		}
 
 		@Test
@@ -241,7 +242,7 @@ public class PresenterWithTransactionalServiceAndPostgresRepositoryIT {
 
 			coinPresenter.getCoinsByAlbum(ALBUM_COMM_1);
 
-			verify(view).showCoinsInAlbum(argThat(l -> l.containsAll(Arrays.asList(COIN_COMM_1, COIN_COMM_2))), eq(ALBUM_COMM_1));
+			verify(view).showCoinsInAlbum(argThat(l -> l.containsAll(Arrays.asList(CoinSummary.of(COIN_COMM_1), CoinSummary.of(COIN_COMM_2)))), eq(ALBUM_COMM_1));
 		}
 
 		@Test
@@ -250,7 +251,7 @@ public class PresenterWithTransactionalServiceAndPostgresRepositoryIT {
 			populateDB();
 
 			em.getTransaction().begin();
-			em.remove(ALBUM_PRE);
+			em.remove(em.find(Album.class, ALBUM_PRE.getId()));
 			em.getTransaction().commit();
 
 			coinPresenter.getCoinsByAlbum(ALBUM_PRE);
@@ -277,7 +278,7 @@ public class PresenterWithTransactionalServiceAndPostgresRepositoryIT {
 			coinPresenter.getCoin(INVALID_UUID);
 
 			verify(view).showError(any());
-			verify(view).showAllCoins(argThat(l -> l.containsAll(Arrays.asList(COIN_PRE, COIN_COMM_1, COIN_COMM_2))));
+			verify(view).showAllCoins(argThat(l -> l.containsAll(Arrays.asList(CoinSummary.of(COIN_PRE), CoinSummary.of(COIN_COMM_1), CoinSummary.of(COIN_COMM_2)))));
 		}
 
 		@Test
@@ -287,7 +288,7 @@ public class PresenterWithTransactionalServiceAndPostgresRepositoryIT {
 
 			coinPresenter.searchCoins(COIN_PRE.getDescription());
 
-			verify(view).showSearchedCoins(argThat(l -> l.contains(COIN_PRE)), eq(COIN_PRE.getDescription()));
+			verify(view).showSearchedCoins(argThat(l -> l.contains(CoinSummary.of(COIN_PRE))), eq(COIN_PRE.getDescription()));
 		}
 
 		@Test
@@ -315,7 +316,7 @@ public class PresenterWithTransactionalServiceAndPostgresRepositoryIT {
 			em.getTransaction().commit();
 
 			verify(view).showError(any());
-			verify(view).showAllCoins(argThat(l -> l.containsAll(Arrays.asList(COIN_PRE, COIN_COMM_1, COIN_COMM_2))));
+			verify(view).showAllCoins(argThat(l -> l.containsAll(Arrays.asList(CoinSummary.of(COIN_PRE), CoinSummary.of(COIN_COMM_1), CoinSummary.of(COIN_COMM_2)))));
 			assertThat(fromDB).isEqualTo(COIN_PRE);
 		}
 
@@ -343,7 +344,7 @@ public class PresenterWithTransactionalServiceAndPostgresRepositoryIT {
 			initAlbums();
 			persistAlbums();
 			em.getTransaction().begin();
-			em.remove(ALBUM_COMM_1);
+			em.remove(em.find(Album.class, ALBUM_COMM_1.getId()));
 			em.getTransaction().commit();
 			initCoins();
 
@@ -435,7 +436,7 @@ public class PresenterWithTransactionalServiceAndPostgresRepositoryIT {
 			initAlbums();
 			persistAlbums();
 			em.getTransaction().begin();
-			em.remove(ALBUM_COMM_2);
+			em.remove(em.find(Album.class, ALBUM_COMM_2.getId()));
 			em.getTransaction().commit();
 			initCoins();
 			persistCoins();
@@ -474,6 +475,8 @@ public class PresenterWithTransactionalServiceAndPostgresRepositoryIT {
 		em.persist(COIN_COMM_2);
 		em.persist(COIN_PRE);
 		em.getTransaction().commit();
+		// The managers use their own EntityManager, the test one must not serve stale copies
+		em.clear();
 	}
 
 	private void initCoins() {
@@ -488,6 +491,7 @@ public class PresenterWithTransactionalServiceAndPostgresRepositoryIT {
 		em.persist(ALBUM_COMM_2);
 		em.persist(ALBUM_PRE);
 		em.getTransaction().commit();
+		em.clear();
 	}
 
 	private void initAlbums() {
@@ -83,14 +83,11 @@ public class PresenterWithTransactionalServiceAndPostgresRepositoryRaceCondition
 			List<Thread> threads = IntStream.range(0, NUM_THREADS)
 					.mapToObj(i -> new Thread(
 								() -> {
-									EntityManager localEm = emf.createEntityManager();
-									TransactionManagerFactory factory = new PostgresTransactionManagerFactory(localEm);
+									TransactionManagerFactory factory = new PostgresTransactionManagerFactory(emf);
 
 									AlbumManager albumManager = new AlbumTransactionalManager(factory.getTransactionManager());
 
 									new AlbumPresenter(view, albumManager).addAlbum(ALBUM_PRE);
-
-									localEm.close();
 								}
 					))
 					.peek(Thread::start)
@@ -115,23 +112,16 @@ public class PresenterWithTransactionalServiceAndPostgresRepositoryRaceCondition
 			List<Thread> threads = IntStream.range(0, NUM_THREADS)
 					.mapToObj(i -> new Thread(
 								() -> {
-									EntityManager localEm = emf.createEntityManager();
-									TransactionManagerFactory factory = new PostgresTransactionManagerFactory(localEm);
+									TransactionManagerFactory factory = new PostgresTransactionManagerFactory(emf);
 
 									AlbumManager albumManager = new AlbumTransactionalManager(factory.getTransactionManager());
 
-									// Necessary because ALBUM_PRE in localEm is detached and cannot call delete on detached entities
-									localEm.getTransaction().begin();
-									Album toDelete = localEm.find(Album.class, ALBUM_PRE.getId());
-									localEm.getTransaction().commit();
-									// Necessary to prevent that a thread deletes the entity before than the other retrieves it
+									// Necessary to make all the threads try to delete the entity at the same time
 									try {
 										barrier.await();
 									} catch (Exception e) { }
 
-									new AlbumPresenter(view, albumManager).deleteAlbum(toDelete);
-
-									localEm.close();
+									new AlbumPresenter(view, albumManager).deleteAlbum(ALBUM_PRE);
 								}
 					))
 					.peek(Thread::start)
@@ -156,14 +146,11 @@ public class PresenterWithTransactionalServiceAndPostgresRepositoryRaceCondition
 			List<Thread> threads = IntStream.range(0, NUM_THREADS)
 					.mapToObj(i -> new Thread(
 								() -> {
-									EntityManager localEm = emf.createEntityManager();
-									TransactionManagerFactory factory = new PostgresTransactionManagerFactory(localEm);
+									TransactionManagerFactory factory = new PostgresTransactionManagerFactory(emf);
 
 									AlbumManager albumManager = new AlbumTransactionalManager(factory.getTransactionManager());
 
 									new AlbumPresenter(view, albumManager).moveAlbum(ALBUM_PRE, NEW_LOCATION);
-
-									localEm.close();
 								}
 					))
 					.peek(Thread::start)
@@ -172,6 +159,8 @@ public class PresenterWithTransactionalServiceAndPostgresRepositoryRaceCondition
 			await().atMost(10, SECONDS)
 				.until(() -> threads.stream().noneMatch(Thread::isAlive));
 
+			// the threads changed the fixtures managed by this entity manager, whose versions are now stale
+			em.clear();
 			em.getTransaction().begin();
 			Album fromDB = em.find(Album.class, ALBUM_PRE.getId());
 			em.getTransaction().commit();
@@ -193,15 +182,12 @@ public class PresenterWithTransactionalServiceAndPostgresRepositoryRaceCondition
 			List<Thread> threads = IntStream.range(0, NUM_THREADS)
 					.mapToObj(i -> new Thread(
 								() -> {
-									EntityManager localEm = emf.createEntityManager();
-									TransactionManagerFactory factory = new PostgresTransactionManagerFactory(localEm);
+									TransactionManagerFactory factory = new PostgresTransactionManagerFactory(emf);
 
 									AlbumManager albumManager = new AlbumTransactionalManager(factory.getTransactionManager());
 									CoinManager coinManager = new CoinTransactionalManager(factory.getTransactionManager());
 
 									new CoinPresenter(view, coinManager, albumManager).addCoin(COIN_PRE);
-
-									localEm.close();
 								}
 					))
 					.peek(Thread::start)
@@ -225,24 +211,17 @@ public class PresenterWithTransactionalServiceAndPostgresRepositoryRaceCondition
 			List<Thread> threads = IntStream.range(0, NUM_THREADS)
 					.mapToObj(i -> new Thread(
 								() -> {
-									EntityManager localEm = emf.createEntityManager();
-									TransactionManagerFactory factory = new PostgresTransactionManagerFactory(localEm);
+									TransactionManagerFactory factory = new PostgresTransactionManagerFactory(emf);
 
 									AlbumManager albumManager = new AlbumTransactionalManager(factory.getTransactionManager());
 									CoinManager coinManager = new CoinTransactionalManager(factory.getTransactionManager());
 
-									// Necessary because COIN_PRE in localEm is detached and cannot call delete on detached entities
-									localEm.getTransaction().begin();
-									Coin toDelete = localEm.find(Coin.class, COIN_PRE.getId());
-									localEm.getTransaction().commit();
-									// Necessary to prevent that a thread deletes the entity before than the other retrieves it
+									// Necessary to make all the threads try to delete the entity at the same time
 									try {
 										barrier.await();
 									} catch (Exception e) { }
 
-									new CoinPresenter(view, coinManager, albumManager).deleteCoin(toDelete);
-
-									localEm.close();
+									new CoinPresenter(view, coinManager, albumManager).deleteCoin(COIN_PRE);
 								}
 					))
 					.peek(Thread::start)
@@ -266,15 +245,12 @@ public class PresenterWithTransactionalServiceAndPostgresRepositoryRaceCondition
 			List<Thread> threads = IntStream.range(0, NUM_THREADS)
 					.mapToObj(i -> new Thread(
 								() -> {
-									EntityManager localEm = emf.createEntityManager();
-									TransactionManagerFactory factory = new PostgresTransactionManagerFactory(localEm);
+									TransactionManagerFactory factory = new PostgresTransactionManagerFactory(emf);
 
 									AlbumManager albumManager = new AlbumTransactionalManager(factory.getTransactionManager());
 									CoinManager coinManager = new CoinTransactionalManager(factory.getTransactionManager());
 
 									new CoinPresenter(view, coinManager, albumManager).moveCoin(COIN_COMM_1, ALBUM_COMM_2);
-
-									localEm.close();
 								}
 					))
 					.peek(Thread::start)
@@ -283,6 +259,8 @@ public class PresenterWithTransactionalServiceAndPostgresRepositoryRaceCondition
 			await().atMost(10, SECONDS)
 				.until(() -> threads.stream().noneMatch(Thread::isAlive));
 
+			// the threads changed the fixtures managed by this entity manager, whose versions are now stale
+			em.clear();
 			em.getTransaction().begin();
 			Coin fromDB = em.find(Coin.class, COIN_COMM_1.getId());
 			em.getTransaction().commit();
@@ -28,6 +28,7 @@ import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager
 import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.postgresql.PostgresTransactionManagerFactory;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinSummary;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
 import io.github.kevinmaggi.coin_collection_manager.ui.presenter.AlbumPresenter;
 import io.github.kevinmaggi.coin_collection_manager.ui.presenter.CoinPresenter;
@@ -64,7 +65,7 @@ public class SwingViewWithPresentersIT extends AssertJSwingJUnitTestCase {
 	@Override
 	protected void onSetUp() {
 		em = emf.createEntityManager();
-		factory = new PostgresTransactionManagerFactory(em);
+		factory = new PostgresTransactionManagerFactory(emf);
 
 		CoinManager coinManager = new CoinTransactionalManager(factory.getTransactionManager());
 		AlbumManager albumManager = new AlbumTransactionalManager(factory.getTransactionManager());
@@ -185,7 +186,7 @@ public class SwingViewWithPresentersIT extends AssertJSwingJUnitTestCase {
 			view.getAlbumListModel().addElement(ALBUM_PRE);
 		});
 		em.getTransaction().begin();
-		em.remove(ALBUM_PRE);
+		em.remove(em.find(Album.class, ALBUM_PRE.getId()));
 		em.getTransaction().commit();
 
 		window.list("albumList").selectItems(ALBUM_PRE.toString());
@@ -300,7 +301,7 @@ public class SwingViewWithPresentersIT extends AssertJSwingJUnitTestCase {
 		}, timeout(TIMEOUT));
 
 		em.getTransaction().begin();
-		em.remove(ALBUM_PRE);
+		em.remove(em.find(Album.class, ALBUM_PRE.getId()));
 		em.getTransaction().commit();
 
 		window.button(JButtonMatcher.withText("Delete album")).click();
@@ -368,7 +369,7 @@ public class SwingViewWithPresentersIT extends AssertJSwingJUnitTestCase {
 		}, timeout(TIMEOUT));
 
 		em.getTransaction().begin();
-		em.remove(ALBUM_PRE);
+		em.remove(em.find(Album.class, ALBUM_PRE.getId()));
 		em.getTransaction().commit();
 
 		window.button(JButtonMatcher.withText("Move album")).click();
@@ -432,7 +433,7 @@ public class SwingViewWithPresentersIT extends AssertJSwingJUnitTestCase {
 	public void testSelectCoinUpdatesTheLabelThroughPresenterWhenSuccess() {
 		populateDB();
 		GuiActionRunner.execute(() -> {
-			view.getCoinListModel().addElement(COIN_PRE);
+			view.getCoinListModel().addElement(CoinSummary.of(COIN_PRE));
 		});
 
 		window.list("coinList").selectItems(COIN_PRE.toString());
@@ -456,10 +457,10 @@ public class SwingViewWithPresentersIT extends AssertJSwingJUnitTestCase {
 	public void testSelectCoinUpdatesTheListThroughPresenterWhenFail() {
 		populateDB();
 		GuiActionRunner.execute(() -> {
-			view.getCoinListModel().addElement(COIN_PRE);
+			view.getCoinListModel().addElement(CoinSummary.of(COIN_PRE));
 		});
 		em.getTransaction().begin();
-		em.remove(COIN_PRE);
+		em.remove(em.find(Coin.class, COIN_PRE.getId()));
 		em.getTransaction().commit();
 
 		window.list("coinList").selectItems(COIN_PRE.toString());
@@ -577,7 +578,7 @@ public class SwingViewWithPresentersIT extends AssertJSwingJUnitTestCase {
 		persistAlbums();
 		initCoins();
 		em.getTransaction().begin();
-		em.remove(ALBUM_PRE);
+		em.remove(em.find(Album.class, ALBUM_PRE.getId()));
 		em.getTransaction().commit();
 		GuiActionRunner.execute(() -> {
 			view.getCoinFormAlbumModel().addElement(ALBUM_PRE);
@@ -609,10 +610,18 @@ public class SwingViewWithPresentersIT extends AssertJSwingJUnitTestCase {
 	public void testDeleteCoinButtonRemovesFromTheListThroughPresenterWhenSuccess() {
 		populateDB();
 		GuiActionRunner.execute(() -> {
-			view.getCoinListModel().addElement(COIN_PRE);
+			view.getCoinListModel().addElement(CoinSummary.of(COIN_PRE));
 		});
 
 		window.list("coinList").item(COIN_PRE.toString()).select();
+
+		pause(new Condition("Label react to selection") {
+			@Override
+			public boolean test() {
+				return !window.label("coinSelection").text().trim().isEmpty();
+			}
+		}, timeout(TIMEOUT));
+
 		window.button(JButtonMatcher.withText("Delete coin")).click();
 
 		pause(new Condition("List is empty") {
@@ -631,13 +640,22 @@ public class SwingViewWithPresentersIT extends AssertJSwingJUnitTestCase {
 	public void testDeleteCoinButtonRemovesFromTheListThroughPresenterWhenFail() {
 		populateDB();
 		GuiActionRunner.execute(() -> {
-			view.getCoinListModel().addElement(COIN_PRE);
+			view.getCoinListModel().addElement(CoinSummary.of(COIN_PRE));
 		});
+
+		window.list("coinList").item(COIN_PRE.toString()).select();
+
+		pause(new Condition("Label react to selection") {
+			@Override
+			public boolean test() {
+				return !window.label("coinSelection").text().trim().isEmpty();
+			}
+		}, timeout(TIMEOUT));
+
 		em.getTransaction().begin();
-		em.remove(COIN_PRE);
+		em.remove(em.find(Coin.class, COIN_PRE.getId()));
 		em.getTransaction().commit();
 
-		window.list("coinList").item(COIN_PRE.toString()).select();
 		window.button(JButtonMatcher.withText("Delete coin")).click();
 
 		pause(new Condition("Label shows error relative to deletion") {
@@ -658,10 +676,18 @@ public class SwingViewWithPresentersIT extends AssertJSwingJUnitTestCase {
 		populateDB();
 		GuiActionRunner.execute(() -> {
 			view.getCoinFormAlbumModel().addElement(ALBUM_COMM_2);
-			view.getCoinListModel().addElement(COIN_COMM_1);
+			view.getCoinListModel().addElement(CoinSummary.of(COIN_COMM_1));
 		});
 
 		window.list("coinList").item(COIN_COMM_1.toString()).select();
+
+		pause(new Condition("Label react to selection") {
+			@Override
+			public boolean test() {
+				return !window.label("coinSelection").text().trim().isEmpty();
+			}
+		}, timeout(TIMEOUT));
+
 		window.button(JButtonMatcher.withText("Move coin")).click();
 		window.dialog().comboBox().selectItem(ALBUM_COMM_2.toString());
 		window.dialog().button(JButtonMatcher.withText("OK")).click();
@@ -684,7 +710,7 @@ public class SwingViewWithPresentersIT extends AssertJSwingJUnitTestCase {
 		populateDB();
 		GuiActionRunner.execute(() -> {
 			view.getCoinFormAlbumModel().addElement(ALBUM_COMM_2);
-			view.getCoinListModel().addElement(COIN_COMM_1);
+			view.getCoinListModel().addElement(CoinSummary.of(COIN_COMM_1));
 		});
 
 		window.list("coinList").item(COIN_COMM_1.toString()).select();
@@ -697,7 +723,7 @@ public class SwingViewWithPresentersIT extends AssertJSwingJUnitTestCase {
 		}, timeout(TIMEOUT));
 
 		em.getTransaction().begin();
-		em.remove(COIN_COMM_1);
+		em.remove(em.find(Coin.class, COIN_COMM_1.getId()));
 		em.getTransaction().commit();
 
 		window.button(JButtonMatcher.withText("Move coin")).click();
@@ -722,7 +748,7 @@ public class SwingViewWithPresentersIT extends AssertJSwingJUnitTestCase {
 		populateDB();
 		GuiActionRunner.execute(() -> {
 			view.getCoinFormAlbumModel().addElement(ALBUM_COMM_2);
-			view.getCoinListModel().addElement(COIN_COMM_1);
+			view.getCoinListModel().addElement(CoinSummary.of(COIN_COMM_1));
 		});
 		ALBUM_COMM_2.setOccupiedSlots(ALBUM_COMM_2.getNumberOfSlots());
 		em.getTransaction().begin();
@@ -730,6 +756,14 @@ public class SwingViewWithPresentersIT extends AssertJSwingJUnitTestCase {
 		em.getTransaction().commit();
 
 		window.list("coinList").item(COIN_COMM_1.toString()).select();
+
+		pause(new Condition("Label react to selection") {
+			@Override
+			public boolean test() {
+				return !window.label("coinSelection").text().trim().isEmpty();
+			}
+		}, timeout(TIMEOUT));
+
 		window.button(JButtonMatcher.withText("Move coin")).click();
 		window.dialog().comboBox().selectItem(ALBUM_COMM_2.toString());
 		window.dialog().button(JButtonMatcher.withText("OK")).click();
@@ -753,14 +787,22 @@ public class SwingViewWithPresentersIT extends AssertJSwingJUnitTestCase {
 		populateDB();
 		GuiActionRunner.execute(() -> {
 			view.getCoinFormAlbumModel().addElement(ALBUM_COMM_2);
-			view.getCoinListModel().addElement(COIN_COMM_1);
+			view.getCoinListModel().addElement(CoinSummary.of(COIN_COMM_1));
 		});
 
 		window.list("coinList").item(COIN_COMM_1.toString()).select();
+
+		pause(new Condition("Label react to selection") {
+			@Override
+			public boolean test() {
+				return !window.label("coinSelection").text().trim().isEmpty();
+			}
+		}, timeout(TIMEOUT));
+
 		window.button(JButtonMatcher.withText("Move coin")).click();
 
 		em.getTransaction().begin();
-		em.remove(ALBUM_COMM_2);
+		em.remove(em.find(Album.class, ALBUM_COMM_2.getId()));
 		em.getTransaction().commit();
 
 		window.dialog().comboBox().selectItem(ALBUM_COMM_2.toString());
@@ -809,6 +851,8 @@ public class SwingViewWithPresentersIT extends AssertJSwingJUnitTestCase {
 		em.persist(COIN_COMM_2);
 		em.persist(COIN_PRE);
 		em.getTransaction().commit();
+		// The managers use their own EntityManager, the test one must not serve stale copies
+		em.clear();
 	}
 
 	private void initCoins() {
@@ -823,6 +867,7 @@ public class SwingViewWithPresentersIT extends AssertJSwingJUnitTestCase {
 		em.persist(ALBUM_COMM_2);
 		em.persist(ALBUM_PRE);
 		em.getTransaction().commit();
+		em.clear();
 	}
 
 	private void initAlbums() {
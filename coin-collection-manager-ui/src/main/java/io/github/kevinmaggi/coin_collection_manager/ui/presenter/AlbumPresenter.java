@@ -8,6 +8,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 
+import io.github.kevinmaggi.coin_collection_manager.business.change.Change;
+import io.github.kevinmaggi.coin_collection_manager.business.change.ChangeListener;
 import io.github.kevinmaggi.coin_collection_manager.business.service.AlbumManager;
 import io.github.kevinmaggi.coin_collection_manager.business.service.exception.AlbumNotFoundException;
 import io.github.kevinmaggi.coin_collection_manager.business.service.exception.DatabaseException;
@@ -17,8 +19,9 @@ import io.github.kevinmaggi.coin_collection_manager.ui.view.View;
 
 /**
  * Presenter implementation for Albums.
+ * Subscribed to a {@code ChangeFeed}, it also shows the albums changed by anyone else.
  */
-public class AlbumPresenter extends Presenter {
+public class AlbumPresenter extends Presenter implements ChangeListener<Album> {
 	private static final String DB_RETRIEVE_ERR_MSG = "Impossible to retrieve the albums from the database due to an error";
 	private static final String DB_ERROR_LOG_FORMAT = "Error during DB operations: %s";
 
@@ -165,6 +168,28 @@ public class AlbumPresenter extends Presenter {
 		}
 	}
 
+	/**
+	 * Updates the view with an album changed by anyone, without retrieving all albums from DB again.
+	 *
+	 * @param change	change of the album
+	 */
+	@Override
+	public void changed(Change<Album> change) {
+		if (change.getType() == Change.Type.DELETE)
+			view.albumRemoved(change.getId());
+		else
+			view.albumChanged(change.getEntity());
+		LOGGER.debug(() -> String.format("Album %s changed in DB: %s.", change.getId().toString(), change.getType()));
+	}
+
+	/**
+	 * Retrieves all albums from DB again, since some changes may have been lost.
+	 */
+	@Override
+	public void resynchronize() {
+		getAllAlbums();
+	}
+
 	private void updateViewAlbumsListAfterAlbumNotFound(List<Album> list) {
 		view.showError("This album doesn't exist");
 		view.showAllAlbums(list);
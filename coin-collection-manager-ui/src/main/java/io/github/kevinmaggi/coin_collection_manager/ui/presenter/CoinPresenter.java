@@ -8,6 +8,8 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import io.github.kevinmaggi.coin_collection_manager.business.change.Change;
+import io.github.kevinmaggi.coin_collection_manager.business.change.ChangeListener;
 import io.github.kevinmaggi.coin_collection_manager.business.service.AlbumManager;
 import io.github.kevinmaggi.coin_collection_manager.business.service.CoinManager;
 import io.github.kevinmaggi.coin_collection_manager.business.service.exception.AlbumNotFoundException;
@@ -17,12 +19,15 @@ import io.github.kevinmaggi.coin_collection_manager.business.service.exception.D
 import io.github.kevinmaggi.coin_collection_manager.business.service.exception.FullAlbumException;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinSummary;
 import io.github.kevinmaggi.coin_collection_manager.ui.view.View;
 
 /**
  * Presenter implementation for Coins.
+ * Lists of coins are shown as {@code CoinSummary}s, the full {@code Coin} is fetched only when one is opened.
+ * Subscribed to a {@code ChangeFeed}, it also shows the coins changed by anyone else.
  */
-public class CoinPresenter extends Presenter {
+public class CoinPresenter extends Presenter implements ChangeListener<Coin> {
 	private static final String ALBUM_NOT_FOUND_MSG = "Impossible to complete the operation because this album doesn't exist";
 	private static final String DB_RETRIEVE_ERR_MSG = "Impossible to retrieve the coins from the database due to an error";
 	private static final String DB_ERROR_LOG_FORMAT = "Error during DB operations: %s";
@@ -50,7 +55,7 @@ public class CoinPresenter extends Presenter {
 	 */
 	public void getAllCoins() {
 		try {
-			view.showAllCoins(coinManager.findAllCoins());
+			view.showAllCoins(coinManager.findAllCoinSummaries());
 			LOGGER.info("Successfully retrieved all coins from DB.");
 		} catch (DatabaseException e) {
 			view.showError(DB_RETRIEVE_ERR_MSG);
@@ -70,7 +75,7 @@ public class CoinPresenter extends Presenter {
 			actualAlbums = albumManager.findAllAlbums();
 			UUID id = album.getId();
 			Album retrieved = albumManager.findAlbumById(id);
-			view.showCoinsInAlbum(coinManager.findCoinsByAlbum(id), retrieved);
+			view.showCoinsInAlbum(coinManager.findCoinSummariesByAlbum(id), retrieved);
 			LOGGER.info(() -> String.format("Successfully retrieved coins from album %s from DB.", album.toString()));
 		} catch (DatabaseException e) {
 			view.showError(DB_RETRIEVE_ERR_MSG);
@@ -89,9 +94,9 @@ public class CoinPresenter extends Presenter {
 	 * @param id		id of the coin to retrieve
 	 */
 	public synchronized void getCoin(UUID id) {
-		List<Coin> actualCoins = Collections.emptyList();
+		List<CoinSummary> actualCoins = Collections.emptyList();
 		try {
-			actualCoins = coinManager.findAllCoins();
+			actualCoins = coinManager.findAllCoinSummaries();
 			Coin coin = coinManager.findCoinById(id);
 			Album album = albumManager.findAlbumById(coin.getAlbum());
 			view.showCoin(coin, album);
@@ -113,7 +118,7 @@ public class CoinPresenter extends Presenter {
 	 */
 	public void searchCoins(String description) {
 		try {
-			view.showSearchedCoins(coinManager.findCoinsByDescription(description), description);
+			view.showSearchedCoins(coinManager.findCoinSummariesByDescription(description), description);
 			LOGGER.info(() -> String.format("Successfully retrieved coins for \"%s\" from DB.", description));
 		} catch (DatabaseException e) {
 			view.showError(DB_RETRIEVE_ERR_MSG);
@@ -128,10 +133,10 @@ public class CoinPresenter extends Presenter {
 	 * @param coin		coin to add
 	 */
 	public synchronized void addCoin(Coin coin) {
-		List<Coin> actualCoins = Collections.emptyList();
+		List<CoinSummary> actualCoins = Collections.emptyList();
 		List<Album> actualAlbums = Collections.emptyList();
 		try {
-			actualCoins = coinManager.findAllCoins();
+			actualCoins = coinManager.findAllCoinSummaries();
 			actualAlbums = albumManager.findAllAlbums();
 			albumManager.findAlbumById(coin.getAlbum());
 			Coin added = coinManager.addCoin(coin);
@@ -162,9 +167,9 @@ public class CoinPresenter extends Presenter {
 	 * @param coin		coin to delete
 	 */
 	public synchronized void deleteCoin(Coin coin) {
-		List<Coin> actualCoins = Collections.emptyList();
+		List<CoinSummary> actualCoins = Collections.emptyList();
 		try {
-			actualCoins = coinManager.findAllCoins();
+			actualCoins = coinManager.findAllCoinSummaries();
 			coinManager.deleteCoin(coin);
 			view.coinDeleted(coin);
 			view.showSuccess("Coin successfully deleted: " + coin.toString());
@@ -186,10 +191,10 @@ public class CoinPresenter extends Presenter {
 	 * @param newAlbum		new album into which move the coin
 	 */
 	public synchronized void moveCoin(Coin coin, Album newAlbum) {
-		List<Coin> actualCoins = Collections.emptyList();
+		List<CoinSummary> actualCoins = Collections.emptyList();
 		List<Album> actualAlbums = Collections.emptyList();
 		try {
-			actualCoins = coinManager.findAllCoins();
+			actualCoins = coinManager.findAllCoinSummaries();
 			actualAlbums = albumManager.findAllAlbums();
 			UUID newId = newAlbum.getId();
 			Album oldRetrieved = albumManager.findAlbumById(coin.getAlbum());
@@ -215,7 +220,29 @@ public class CoinPresenter extends Presenter {
 		}
 	}
 
-	private void updateViewCoinsListAfterCoinNotFound(List<Coin> list) {
+	/**
+	 * Updates the view with a coin changed by anyone, without retrieving all coins from DB again.
+	 *
+	 * @param change	change of the coin
+	 */
+	@Override
+	public void changed(Change<Coin> change) {
+		if (change.getType() == Change.Type.DELETE)
+			view.coinRemoved(change.getId());
+		else
+			view.coinChanged(change.getEntity());
+		LOGGER.debug(() -> String.format("Coin %s changed in DB: %s.", change.getId().toString(), change.getType()));
+	}
+
+	/**
+	 * Retrieves all coins from DB again, since some changes may have been lost.
+	 */
+	@Override
+	public void resynchronize() {
+		getAllCoins();
+	}
+
+	private void updateViewCoinsListAfterCoinNotFound(List<CoinSummary> list) {
 		view.showError("This coin doesn't exist");
 		view.showAllCoins(list);
 	}
@@ -1,9 +1,11 @@
 package io.github.kevinmaggi.coin_collection_manager.ui.view;
 
 import java.util.List;
+import java.util.UUID;
 
 import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinSummary;
 import io.github.kevinmaggi.coin_collection_manager.ui.presenter.AlbumPresenter;
 import io.github.kevinmaggi.coin_collection_manager.ui.presenter.CoinPresenter;
 
@@ -62,12 +64,26 @@ public interface View {
 	 */
 	void albumMoved(Album album);
 
+	/**
+	 * Shows the new state of an album changed by anyone (e.g. another instance of the application), adding it if it's new.
+	 *
+	 * @param album		changed album
+	 */
+	void albumChanged(Album album);
+
+	/**
+	 * Stops showing an album deleted by anyone (e.g. another instance of the application), if shown.
+	 *
+	 * @param id		id of the deleted album
+	 */
+	void albumRemoved(UUID id);
+
 	/**
 	 * Shows all coins in the dedicated element and perform additional operation (e.g. inform the user).
 	 *
 	 * @param coins		coins to show
 	 */
-	void showAllCoins(List<Coin> coins);
+	void showAllCoins(List<CoinSummary> coins);
 
 	/**
 	 * Shows the coins result of search in the dedicated element and perform additional operation (e.g. inform the user).
@@ -75,7 +91,7 @@ public interface View {
 	 * @param coins		coins to show
 	 * @param search	searching key as string
 	 */
-	void showSearchedCoins(List<Coin> coins, String search);
+	void showSearchedCoins(List<CoinSummary> coins, String search);
 
 	/**
 	 * Shows the coins contained in an album in the dedicated element and perform additional operation (e.g. inform the user).
@@ -83,7 +99,7 @@ public interface View {
 	 * @param coins		coins to show
 	 * @param album		album subject of the filter
 	 */
-	void showCoinsInAlbum(List<Coin> coins, Album album);
+	void showCoinsInAlbum(List<CoinSummary> coins, Album album);
 
 	/**
 	 * Shows a selected coin in the dedicated element and perform additional operation (e.g. inform the user).
@@ -116,6 +132,21 @@ public interface View {
 	 */
 	void coinMoved(Coin coin, Album oldAlbum, Album newAlbum);
 
+	/**
+	 * Shows the new state of a coin changed by anyone (e.g. another instance of the application), adding it if it's new and
+	 * it belongs to the coins shown.
+	 *
+	 * @param coin		changed coin
+	 */
+	void coinChanged(Coin coin);
+
+	/**
+	 * Stops showing a coin deleted by anyone (e.g. another instance of the application), if shown.
+	 *
+	 * @param id		id of the deleted coin
+	 */
+	void coinRemoved(UUID id);
+
 	/**
 	 * Shows to the user an error message
 	 *
@@ -1,6 +1,7 @@
 package io.github.kevinmaggi.coin_collection_manager.ui.view.swing;
 
 import static io.github.kevinmaggi.coin_collection_manager.ui.view.swing.SwingViewUtilities.comboBoxToArray;
+import static io.github.kevinmaggi.coin_collection_manager.ui.view.swing.SwingViewUtilities.indexOfId;
 
 import java.awt.Color;
 import java.awt.Dimension;
@@ -17,6 +18,10 @@ import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.time.Year;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Predicate;
 
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.DefaultListModel;
@@ -38,8 +43,10 @@ import javax.swing.border.CompoundBorder;
 import javax.swing.border.LineBorder;
 import javax.swing.event.ListSelectionListener;
 
+import io.github.kevinmaggi.coin_collection_manager.business.transaction.manager.TransactionExecutors;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinSummary;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
 import io.github.kevinmaggi.coin_collection_manager.ui.presenter.AlbumPresenter;
 import io.github.kevinmaggi.coin_collection_manager.ui.presenter.CoinPresenter;
@@ -57,6 +64,12 @@ public class SwingView extends JFrame implements View {
 	private static final String COIN_STRING = "%s of %d from %s located in %s vol.%d (Grade: %s) [note: %s]";
 	private static final String RESULTS = "Results for \"%s\":";
 	private static final String IN_ALBUM = "Coins in %s vol.%d:";
+	private static final String BUSY_MSG = "Too many operations in progress, try again later";
+	private static final int DEFAULT_THREADS = 4;
+	private static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+	/////////////// Executor of the user actions, off the event dispatch thread
+	private final transient Executor executor;
 
 	/////////////// Presenters
 	private transient AlbumPresenter albumPresenter;
@@ -84,10 +97,12 @@ public class SwingView extends JFrame implements View {
 	private JTextField coinFilterDescription;
 	private JButton coinFilterButton;
 
-	private DefaultListModel<Coin> coinListModel;
-	private JList<Coin> coinList;
+	private DefaultListModel<CoinSummary> coinListModel;
+	private JList<CoinSummary> coinList;
 	private JLabel coinActualLabel;
 	private JLabel coinSelectionLabel;
+	// The list only holds summaries, so the coin opened by the user is kept to delete or move it
+	private transient Coin shownCoin;
 
 	private JButton coinDeleteButton;
 	private JButton coinMoveButton;
@@ -103,6 +118,10 @@ public class SwingView extends JFrame implements View {
 
 	private JLabel statusLabel;
 
+	// Whether a changed album or coin belongs to the list, as it's filtered now, if it's not already there
+	private transient Predicate<Album> albumsShown = album -> true;
+	private transient Predicate<CoinSummary> coinsShown = coin -> true;
+
 	/////////////// Listeners and adapters
 	private transient KeyAdapter albumSearchButtonEnabler = new KeyAdapter() {
 		@Override
@@ -159,24 +178,24 @@ public class SwingView extends JFrame implements View {
 			};
 
 	private transient ActionListener albumSearchAction =
-			e -> new Thread(() ->
+			e -> inBackground(() ->
 				albumPresenter.searchAlbum(albumSearchName.getText(), Integer.valueOf(albumSearchVolume.getText()))
-			).start();
+			);
 
 	private transient ActionListener albumClearAction =
-			e -> new Thread(() ->
+			e -> inBackground(() ->
 				albumPresenter.getAllAlbums()
-			).start();
+			);
 
 	private transient ListSelectionListener albumListSelection =
 			e -> {
 				if(!e.getValueIsAdjusting()) {
 					if(albumList.getSelectedIndex() != -1) {
-						new Thread(() -> {
+						inBackground(() -> {
 							Album selected = albumList.getSelectedValue();
 							albumPresenter.getAlbum(selected.getId());
 							coinPresenter.getCoinsByAlbum(selected);
-						}).start();
+						});
 					} else {
 						albumSelectionLabel.setText(" ");
 						albumDeleteButton.setEnabled(false);
@@ -186,23 +205,23 @@ public class SwingView extends JFrame implements View {
 			};
 
 	private transient ActionListener albumDeleteAction =
-			e -> new Thread(() -> {
+			e -> inBackground(() -> {
 				albumPresenter.deleteAlbum(albumList.getSelectedValue());
 				coinPresenter.getAllCoins();
-			}).start();
+			});
 
 	private transient ActionListener albumMoveAction =
 			e -> {
 				String input = JOptionPane.showInputDialog(this,
 						"New location:", "Move " + albumList.getSelectedValue().toString(), JOptionPane.PLAIN_MESSAGE);
-				new Thread(() -> {
+				inBackground(() -> {
 					if(input != null && !input.isBlank())
 						albumPresenter.moveAlbum(albumList.getSelectedValue(), input);
-				}).start();
+				});
 			};
 
 	private transient ActionListener albumSaveAction =
-			e -> new Thread(() ->
+			e -> inBackground(() ->
 				albumPresenter.addAlbum(
 						new Album(
 								albumFormName.getText(),
@@ -211,26 +230,27 @@ public class SwingView extends JFrame implements View {
 								Integer.parseInt(albumFormSlots.getText()),
 								0)
 				)
-			).start();
+			);
 
 	private transient ActionListener coinFilterAction =
-			e -> new Thread(() ->
+			e -> inBackground(() ->
 				coinPresenter.searchCoins(coinFilterDescription.getText())
-			).start();
+			);
 
 	private transient ActionListener coinClearAction =
-			e -> new Thread(() ->
+			e -> inBackground(() ->
 				coinPresenter.getAllCoins()
-			).start();
+			);
 
 	private transient ListSelectionListener coinListSelection =
 			e -> {
 				if(!e.getValueIsAdjusting()) {
 					if(coinList.getSelectedIndex() != -1) {
-						new Thread(() ->
+						inBackground(() ->
 							coinPresenter.getCoin(coinList.getSelectedValue().getId())
-						).start();
+						);
 					} else {
+						shownCoin = null;
 						coinSelectionLabel.setText(" ");
 						coinDeleteButton.setEnabled(false);
 						coinMoveButton.setEnabled(false);
@@ -239,23 +259,27 @@ public class SwingView extends JFrame implements View {
 			};
 
 	private transient ActionListener coinDeleteAction =
-			e -> new Thread(() ->
-				coinPresenter.deleteCoin(coinList.getSelectedValue())
-			).start();
+			e -> {
+				Coin coin = shownCoin;
+				inBackground(() ->
+					coinPresenter.deleteCoin(coin)
+				);
+			};
 
 	private transient ActionListener coinMoveAction =
 			e -> {
+				Coin coin = shownCoin;
 				Object input = JOptionPane.showInputDialog(this,
-						"New album:", "Move " + coinList.getSelectedValue().toString(), JOptionPane.PLAIN_MESSAGE,
+						"New album:", "Move " + coin.toString(), JOptionPane.PLAIN_MESSAGE,
 						null, comboBoxToArray(coinFormAlbum), null);
-				new Thread(() -> {
+				inBackground(() -> {
 					if(input != null)
-						coinPresenter.moveCoin(coinList.getSelectedValue(), (Album)input);
-				}).start();
+						coinPresenter.moveCoin(coin, (Album)input);
+				});
 			};
 
 	private transient ActionListener coinSaveAction =
-			e -> new Thread(() ->
+			e -> inBackground(() ->
 				coinPresenter.addCoin(
 						new Coin(
 								(Grade)coinFormGrade.getSelectedItem(),
@@ -265,14 +289,14 @@ public class SwingView extends JFrame implements View {
 								coinFormNote.getText(),
 								((Album)coinFormAlbum.getSelectedItem()).getId())
 				)
-			).start();
+			);
 
 	/////////////// Methods
 	DefaultListModel<Album> getAlbumListModel() {
 		return albumListModel;
 	}
 
-	DefaultListModel<Coin> getCoinListModel() {
+	DefaultListModel<CoinSummary> getCoinListModel() {
 		return coinListModel;
 	}
 
@@ -323,6 +347,7 @@ public class SwingView extends JFrame implements View {
 			albumListModel.removeAllElements();
 			albums.stream().forEach(albumListModel::addElement);
 			albumActualLabel.setText("All albums:");
+			albumsShown = a -> true;
 
 			albumSearchName.setText("");
 			albumSearchVolume.setText("");
@@ -345,6 +370,7 @@ public class SwingView extends JFrame implements View {
 			albumListModel.removeAllElements();
 			albumListModel.addElement(album);
 			albumActualLabel.setText(String.format(RESULTS, search));
+			albumsShown = albumListModel::contains;
 		});
 	}
 
@@ -374,8 +400,11 @@ public class SwingView extends JFrame implements View {
 		SwingUtilities.invokeLater(() -> {
 			int index = coinFormAlbum.getSelectedIndex();
 
-			albumListModel.addElement(album);
-			coinFormAlbumModel.addElement(album);
+			// It may have been already shown as a change
+			if (!albumListModel.contains(album))
+				albumListModel.addElement(album);
+			if (coinFormAlbumModel.getIndexOf(album) == -1)
+				coinFormAlbumModel.addElement(album);
 
 			if (index == -1)
 				coinFormAlbum.setSelectedIndex(-1);
@@ -427,18 +456,71 @@ public class SwingView extends JFrame implements View {
 		});
 	}
 
+	/**
+	 * Shows the new state of an album changed by anyone: updates lists and selection label, or adds it to the lists if it's new.
+	 *
+	 * @param album		changed album
+	 */
+	@Override
+	public void albumChanged(Album album) {
+		SwingUtilities.invokeLater(() -> {
+			int index = indexOfId(albumListModel, Album::getId, album.getId());
+			if (index != -1) {
+				albumListModel.set(index, album);
+				if (albumList.getSelectedIndex() == index)
+					albumSelectionLabel.setText(
+							String.format(ALBUM_STRING,
+									album.getName(), album.getVolume(), album.getLocation(), album.getOccupiedSlots(), album.getNumberOfSlots()));
+			}
+			else if (albumsShown.test(album))
+				albumListModel.addElement(album);
+
+			int formIndex = indexOfId(coinFormAlbumModel, Album::getId, album.getId());
+			int selectedIndex = coinFormAlbum.getSelectedIndex();
+			if (formIndex != -1) {
+				coinFormAlbumModel.removeElementAt(formIndex);
+				coinFormAlbumModel.insertElementAt(album, formIndex);
+			}
+			else
+				coinFormAlbumModel.addElement(album);
+			coinFormAlbum.setSelectedIndex(selectedIndex);
+
+			repaintLists();
+		});
+	}
+
+	/**
+	 * Stops showing an album deleted by anyone: updates lists.
+	 *
+	 * @param id		id of the deleted album
+	 */
+	@Override
+	public void albumRemoved(UUID id) {
+		SwingUtilities.invokeLater(() -> {
+			int index = indexOfId(albumListModel, Album::getId, id);
+			if (index != -1)
+				albumListModel.remove(index);
+			int formIndex = indexOfId(coinFormAlbumModel, Album::getId, id);
+			if (formIndex != -1)
+				coinFormAlbumModel.removeElementAt(formIndex);
+
+			repaintLists();
+		});
+	}
+
 	/**
 	 * Shows all coins in the dedicated element.
 	 *
 	 * @param coins		coins to show
 	 */
 	@Override
-	public void showAllCoins(List<Coin> coins) {
+	public void showAllCoins(List<CoinSummary> coins) {
 		SwingUtilities.invokeLater(() -> {
 			coinList.clearSelection();
 			coinListModel.removeAllElements();
 			coins.stream().forEach(coinListModel::addElement);
 			coinActualLabel.setText("All coins:");
+			coinsShown = c -> true;
 
 			coinFilterDescription.setText("");
 			albumSearchButton.setEnabled(false);
@@ -454,11 +536,12 @@ public class SwingView extends JFrame implements View {
 	 * @param search	searching key as string
 	 */
 	@Override
-	public void showSearchedCoins(List<Coin> coins, String search) {
+	public void showSearchedCoins(List<CoinSummary> coins, String search) {
 		SwingUtilities.invokeLater(() -> {
 			coinListModel.removeAllElements();
 			coins.stream().forEach(coinListModel::addElement);
 			coinActualLabel.setText(String.format(RESULTS, search));
+			coinsShown = coinListModel::contains;
 
 			albumList.clearSelection();
 		});
@@ -471,11 +554,12 @@ public class SwingView extends JFrame implements View {
 	 * @param album		album subject of the filter
 	 */
 	@Override
-	public void showCoinsInAlbum(List<Coin> coins, Album album) {
+	public void showCoinsInAlbum(List<CoinSummary> coins, Album album) {
 		SwingUtilities.invokeLater(() -> {
 			coinListModel.removeAllElements();
 			coins.stream().forEach(coinListModel::addElement);
 			coinActualLabel.setText(String.format(IN_ALBUM, album.getName(), album.getVolume()));
+			coinsShown = c -> album.getId().equals(c.getAlbum());
 		});
 	}
 
@@ -488,6 +572,7 @@ public class SwingView extends JFrame implements View {
 	@Override
 	public void showCoin(Coin coin, Album album) {
 		SwingUtilities.invokeLater(() -> {
+			shownCoin = coin;
 			coinSelectionLabel.setText(
 					String.format(COIN_STRING,
 							coin.getDescription(), coin.getMintingYear().getValue(), coin.getCountry(), album.getName(),
@@ -505,7 +590,10 @@ public class SwingView extends JFrame implements View {
 	@Override
 	public void coinAdded(Coin coin) {
 		SwingUtilities.invokeLater(() -> {
-			coinListModel.addElement(coin);
+			CoinSummary summary = CoinSummary.of(coin);
+			// It may have been already shown as a change
+			if (!coinListModel.contains(summary))
+				coinListModel.addElement(summary);
 
 			coinFormDescription.setText("");
 			coinFormGrade.setSelectedIndex(-1);
@@ -528,7 +616,7 @@ public class SwingView extends JFrame implements View {
 	@Override
 	public void coinDeleted(Coin coin) {
 		SwingUtilities.invokeLater(() -> {
-			coinListModel.removeElement(coin);
+			coinListModel.removeElement(CoinSummary.of(coin));
 
 			repaintLists();
 		});
@@ -544,10 +632,12 @@ public class SwingView extends JFrame implements View {
 	@Override
 	public void coinMoved(Coin coin, Album oldAlbum, Album newAlbum) {
 		SwingUtilities.invokeLater(() -> {
-			int index = coinListModel.indexOf(coin);
-			coinListModel.removeElement(coin);
-			coinListModel.add(index, coin);
-			coinList.setSelectedValue(coin, true);
+			CoinSummary summary = CoinSummary.of(coin);
+			int index = coinListModel.indexOf(summary);
+			coinListModel.removeElement(summary);
+			coinListModel.add(index, summary);
+			coinList.setSelectedValue(summary, true);
+			shownCoin = coin;
 
 			coinSelectionLabel.setText(
 					String.format(COIN_STRING,
@@ -558,6 +648,49 @@ public class SwingView extends JFrame implements View {
 		});
 	}
 
+	/**
+	 * Shows the new state of a coin changed by anyone: updates list and selection label, adds it to the list if it's new and it
+	 * belongs to the coins shown, removes it if it doesn't belong to them anymore (e.g. moved to another album).
+	 *
+	 * @param coin		changed coin
+	 */
+	@Override
+	public void coinChanged(Coin coin) {
+		SwingUtilities.invokeLater(() -> {
+			CoinSummary summary = CoinSummary.of(coin);
+			int index = coinListModel.indexOf(summary);
+			if (!coinsShown.test(summary)) {
+				if (index != -1)
+					coinListModel.remove(index);
+			}
+			else if (index != -1) {
+				coinListModel.set(index, summary);
+				if (shownCoin != null && shownCoin.getId().equals(coin.getId()))
+					showChangedCoin(coin);
+			}
+			else
+				coinListModel.addElement(summary);
+
+			repaintLists();
+		});
+	}
+
+	/**
+	 * Stops showing a coin deleted by anyone: updates list.
+	 *
+	 * @param id		id of the deleted coin
+	 */
+	@Override
+	public void coinRemoved(UUID id) {
+		SwingUtilities.invokeLater(() -> {
+			int index = indexOfId(coinListModel, CoinSummary::getId, id);
+			if (index != -1)
+				coinListModel.remove(index);
+
+			repaintLists();
+		});
+	}
+
 	/**
 	 * Shows to the user an error message
 	 *
@@ -585,6 +718,36 @@ public class SwingView extends JFrame implements View {
 	}
 
 	/////////////// Private utility methods
+	/**
+	 * Executes a user action on the executor; if it is saturated the action is dropped and the user is told to retry.
+	 *
+	 * @param action	the action to execute
+	 */
+	private void inBackground(Runnable action) {
+		try {
+			executor.execute(action);
+		} catch (RejectedExecutionException e) {
+			showError(BUSY_MSG);
+		}
+	}
+
+	/**
+	 * Updates the selection label with the new state of the shown coin, its album is taken from the ones of the form.
+	 *
+	 * @param coin		the shown coin
+	 */
+	private void showChangedCoin(Coin coin) {
+		shownCoin = coin;
+		int albumIndex = coin.getAlbum() == null ? -1 : indexOfId(coinFormAlbumModel, Album::getId, coin.getAlbum());
+		if (albumIndex != -1) {
+			Album album = coinFormAlbumModel.getElementAt(albumIndex);
+			coinSelectionLabel.setText(
+					String.format(COIN_STRING,
+							coin.getDescription(), coin.getMintingYear().getValue(), coin.getCountry(), album.getName(),
+							album.getVolume(), coin.getGrade().getMeaning(), coin.getNote()));
+		}
+	}
+
 	/**
 	 * Force the repainting of the list without delay.
 	 */
@@ -596,9 +759,24 @@ public class SwingView extends JFrame implements View {
 
 	/////////////// GUI construction
 	/**
-	 * Constructor of the GUI
+	 * Constructor of the GUI, that executes the user actions on a small bounded executor of its own.
 	 */
 	public SwingView() {
+		this(TransactionExecutors.newBoundedExecutor(DEFAULT_THREADS, DEFAULT_QUEUE_CAPACITY));
+	}
+
+	/**
+	 * Constructor of the GUI.
+	 * The executor is usually the {@code ExecutorAsyncTransactionManager} of the application, so that the user actions wait in
+	 * the same bounded queue as the other transactions and are counted by its metrics.
+	 *
+	 * @param executor	{@code Executor} where the user actions are executed, off the event dispatch thread
+	 */
+	public SwingView(Executor executor) {
+		if (executor == null)
+			throw new IllegalArgumentException("Executor can't be null");
+
+		this.executor = executor;
 		setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
 		setPreferredSize(new Dimension(1024, 640));
 		setLocale(Locale.ENGLISH);
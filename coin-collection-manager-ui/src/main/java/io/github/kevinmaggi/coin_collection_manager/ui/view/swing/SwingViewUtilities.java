@@ -1,6 +1,10 @@
 package io.github.kevinmaggi.coin_collection_manager.ui.view.swing;
 
+import java.util.UUID;
+import java.util.function.Function;
+
 import javax.swing.JComboBox;
+import javax.swing.ListModel;
 
 import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
 
@@ -28,4 +32,21 @@ public class SwingViewUtilities {
 		return array;
 	}
 
+	/**
+	 * Finds an element of a {@code ListModel} by its id.
+	 *
+	 * @param <T>	type of the elements
+	 * @param model	{@code ListModel} source
+	 * @param idOf	gets the id of an element
+	 * @param id	id to find
+	 * @return		index of the first element with that id, -1 if there isn't any
+	 */
+	public static <T> int indexOfId(ListModel<T> model, Function<T, UUID> idOf, UUID id) {
+		for (int i = 0; i < model.getSize(); i++) {
+			if (id.equals(idOf.apply(model.getElementAt(i))))
+				return i;
+		}
+		return -1;
+	}
+
 }
@@ -2,6 +2,8 @@ package io.github.kevinmaggi.coin_collection_manager.ui.presenter;
 
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
@@ -18,6 +20,7 @@ import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import io.github.kevinmaggi.coin_collection_manager.business.change.Change;
 import io.github.kevinmaggi.coin_collection_manager.business.service.AlbumManager;
 import io.github.kevinmaggi.coin_collection_manager.business.service.exception.AlbumNotFoundException;
 import io.github.kevinmaggi.coin_collection_manager.business.service.exception.DatabaseException;
@@ -371,6 +374,46 @@ public class AlbumPresenterTestCase {
 		}
 	}
 
+	@Nested
+	@DisplayName("Tests for AlbumPresenter::changed method")
+	class Changed {
+		@Test
+		@DisplayName("Test when the album has been inserted or updated should show its new state")
+		void testChangedCallViewWithTheNewStateIfInsertedOrUpdated() {
+			presenter.changed(new Change<>(Change.Type.INSERT, UUID_ALBUM_1, ALBUM_1));
+			presenter.changed(new Change<>(Change.Type.UPDATE, UUID_ALBUM_1, ALBUM_1));
+
+			verify(view, times(2)).albumChanged(ALBUM_1);
+			verifyNoMoreInteractions(manager);
+			verifyNoMoreInteractions(view);
+		}
+
+		@Test
+		@DisplayName("Test when the album has been deleted should remove it")
+		void testChangedCallViewWithTheIdIfDeleted() {
+			presenter.changed(new Change<>(Change.Type.DELETE, UUID_ALBUM_1, null));
+
+			verify(view).albumRemoved(UUID_ALBUM_1);
+			verifyNoMoreInteractions(manager);
+			verifyNoMoreInteractions(view);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for AlbumPresenter::resynchronize method")
+	class Resynchronize {
+		@Test
+		@DisplayName("Test that all albums are retrieved again")
+		void testResynchronizeShowsAllAlbumsAgain() {
+			List<Album> list = Arrays.asList(ALBUM_1, ALBUM_2);
+			when(manager.findAllAlbums()).thenReturn(list);
+
+			presenter.resynchronize();
+
+			verify(view).showAllAlbums(list);
+		}
+	}
+
 	@AfterEach
 	void cleanTestCase() throws Exception {
 		closeable.close();
@@ -4,6 +4,8 @@ import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 import java.time.Year;
@@ -20,6 +22,7 @@ import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import io.github.kevinmaggi.coin_collection_manager.business.change.Change;
 import io.github.kevinmaggi.coin_collection_manager.business.service.AlbumManager;
 import io.github.kevinmaggi.coin_collection_manager.business.service.CoinManager;
 import io.github.kevinmaggi.coin_collection_manager.business.service.exception.AlbumNotFoundException;
@@ -29,6 +32,7 @@ import io.github.kevinmaggi.coin_collection_manager.business.service.exception.D
 import io.github.kevinmaggi.coin_collection_manager.business.service.exception.FullAlbumException;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinSummary;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
 import io.github.kevinmaggi.coin_collection_manager.ui.view.View;
 
@@ -77,14 +81,14 @@ public class CoinPresenterTestCase {
 		@Test
 		@DisplayName("Test when manager doesn't throw exception")
 		void testGetAllCoinsCallViewIfManagerDoesNotThrowException() {
-			List<Coin> list = Arrays.asList(COIN_1, COIN_2);
-			when(coinManager.findAllCoins()).thenReturn(list);
+			List<CoinSummary> list = Arrays.asList(CoinSummary.of(COIN_1), CoinSummary.of(COIN_2));
+			when(coinManager.findAllCoinSummaries()).thenReturn(list);
 
 			InOrder inOrder = inOrder(view, coinManager);
 
 			presenter.getAllCoins();
 
-			inOrder.verify(coinManager).findAllCoins();
+			inOrder.verify(coinManager).findAllCoinSummaries();
 			inOrder.verify(view).showAllCoins(list);
 			verifyNoMoreInteractions(coinManager);
 			verifyNoMoreInteractions(view);
@@ -93,13 +97,13 @@ public class CoinPresenterTestCase {
 		@Test
 		@DisplayName("Test when manager throws exception")
 		void testGetAllCoinsCallViewErrorIfManagerThrowsException() {
-			when(coinManager.findAllCoins()).thenThrow(DatabaseException.class);
+			when(coinManager.findAllCoinSummaries()).thenThrow(DatabaseException.class);
 
 			InOrder inOrder = inOrder(view, coinManager);
 
 			presenter.getAllCoins();
 
-			inOrder.verify(coinManager).findAllCoins();
+			inOrder.verify(coinManager).findAllCoinSummaries();
 			inOrder.verify(view).showError(DB_RETRIEVE_ERR_MSG);
 			verifyNoMoreInteractions(coinManager);
 			verifyNoMoreInteractions(view);
@@ -112,11 +116,11 @@ public class CoinPresenterTestCase {
 		@Test
 		@DisplayName("Test when manager doesn't throw exception")
 		void testGetCoinsByAlbumCallViewIfManagerDoesNotThrowException() {
-			List<Coin> list = Arrays.asList(COIN_1);
+			List<CoinSummary> list = Arrays.asList(CoinSummary.of(COIN_1));
 			Album spiedAlbum = spy(ALBUM_1);
 			when(spiedAlbum.getId()).thenReturn(UUID_ALBUM_1);
 			when(albumManager.findAlbumById(UUID_ALBUM_1)).thenReturn(spiedAlbum);
-			when(coinManager.findCoinsByAlbum(UUID_ALBUM_1)).thenReturn(list);
+			when(coinManager.findCoinSummariesByAlbum(UUID_ALBUM_1)).thenReturn(list);
 
 			InOrder inOrder = inOrder(view, coinManager, albumManager, spiedAlbum);
 
@@ -125,7 +129,7 @@ public class CoinPresenterTestCase {
 			inOrder.verify(albumManager).findAllAlbums();
 			inOrder.verify(spiedAlbum).getId();
 			inOrder.verify(albumManager).findAlbumById(UUID_ALBUM_1);
-			inOrder.verify(coinManager).findCoinsByAlbum(UUID_ALBUM_1);
+			inOrder.verify(coinManager).findCoinSummariesByAlbum(UUID_ALBUM_1);
 			inOrder.verify(view).showCoinsInAlbum(list, spiedAlbum);
 			verifyNoMoreInteractions(spiedAlbum);
 			verifyNoMoreInteractions(albumManager);
@@ -139,7 +143,7 @@ public class CoinPresenterTestCase {
 			Album spiedAlbum = spy(ALBUM_1);
 			when(spiedAlbum.getId()).thenReturn(UUID_ALBUM_1);
 			when(albumManager.findAlbumById(UUID_ALBUM_1)).thenReturn(spiedAlbum);
-			when(coinManager.findCoinsByAlbum(UUID_ALBUM_1)).thenThrow(DatabaseException.class);
+			when(coinManager.findCoinSummariesByAlbum(UUID_ALBUM_1)).thenThrow(DatabaseException.class);
 
 			InOrder inOrder = inOrder(view, coinManager, albumManager, spiedAlbum);
 
@@ -148,7 +152,7 @@ public class CoinPresenterTestCase {
 			inOrder.verify(albumManager).findAllAlbums();
 			inOrder.verify(spiedAlbum).getId();
 			inOrder.verify(albumManager).findAlbumById(UUID_ALBUM_1);
-			inOrder.verify(coinManager).findCoinsByAlbum(UUID_ALBUM_1);
+			inOrder.verify(coinManager).findCoinSummariesByAlbum(UUID_ALBUM_1);
 			inOrder.verify(view).showError(DB_RETRIEVE_ERR_MSG);
 			verifyNoMoreInteractions(spiedAlbum);
 			verifyNoMoreInteractions(coinManager);
@@ -192,7 +196,7 @@ public class CoinPresenterTestCase {
 
 			presenter.getCoin(UUID_COIN_1);
 
-			inOrder.verify(coinManager).findAllCoins();
+			inOrder.verify(coinManager).findAllCoinSummaries();
 			inOrder.verify(coinManager).findCoinById(UUID_COIN_1);
 			inOrder.verify(albumManager).findAlbumById(UUID_ALBUM_1);
 			inOrder.verify(view).showCoin(COIN_1, ALBUM_1);
@@ -210,7 +214,7 @@ public class CoinPresenterTestCase {
 
 			presenter.getCoin(UUID_COIN_1);
 
-			inOrder.verify(coinManager).findAllCoins();
+			inOrder.verify(coinManager).findAllCoinSummaries();
 			inOrder.verify(coinManager).findCoinById(UUID_COIN_1);
 			inOrder.verify(view).showError(DB_RETRIEVE_ERR_MSG);
 			verifyNoMoreInteractions(coinManager);
@@ -221,15 +225,15 @@ public class CoinPresenterTestCase {
 		@Test
 		@DisplayName("Test when manager throws coin not found exception")
 		void testGetCoinCallViewErrorIfManagerThrowsCoinNotFoundException() {
-			List<Coin> list = Arrays.asList(COIN_2);
-			when(coinManager.findAllCoins()).thenReturn(list);
+			List<CoinSummary> list = Arrays.asList(CoinSummary.of(COIN_2));
+			when(coinManager.findAllCoinSummaries()).thenReturn(list);
 			when(coinManager.findCoinById(UUID_COIN_1)).thenThrow(CoinNotFoundException.class);
 
 			InOrder inOrder = inOrder(view, coinManager, albumManager);
 
 			presenter.getCoin(UUID_COIN_1);
 
-			inOrder.verify(coinManager).findAllCoins();
+			inOrder.verify(coinManager).findAllCoinSummaries();
 			inOrder.verify(coinManager).findCoinById(UUID_COIN_1);
 			inOrder.verify(view).showError(COIN_NOT_FOUND_MSG);
 			inOrder.verify(view).showAllCoins(list);
@@ -247,14 +251,14 @@ public class CoinPresenterTestCase {
 		@Test
 		@DisplayName("Test when manager doesn't throw exception")
 		void testSearchCoinsCallViewIfManagerDoesNotThrowException() {
-			List<Coin> list = Arrays.asList(COIN_2);
-			when(coinManager.findCoinsByDescription(key)).thenReturn(list);
+			List<CoinSummary> list = Arrays.asList(CoinSummary.of(COIN_2));
+			when(coinManager.findCoinSummariesByDescription(key)).thenReturn(list);
 
 			InOrder inOrder = inOrder(view, coinManager);
 
 			presenter.searchCoins(key);
 
-			inOrder.verify(coinManager).findCoinsByDescription(key);
+			inOrder.verify(coinManager).findCoinSummariesByDescription(key);
 			inOrder.verify(view).showSearchedCoins(list, key);
 			verifyNoMoreInteractions(coinManager);
 			verifyNoMoreInteractions(view);
@@ -263,13 +267,13 @@ public class CoinPresenterTestCase {
 		@Test
 		@DisplayName("Test when manager throws exception")
 		void testSearchCoinsCallViewErrorIfManagerThrowsException() {
-			when(coinManager.findCoinsByDescription(key)).thenThrow(DatabaseException.class);
+			when(coinManager.findCoinSummariesByDescription(key)).thenThrow(DatabaseException.class);
 
 			InOrder inOrder = inOrder(view, coinManager);
 
 			presenter.searchCoins(key);
 
-			inOrder.verify(coinManager).findCoinsByDescription(key);
+			inOrder.verify(coinManager).findCoinSummariesByDescription(key);
 			inOrder.verify(view).showError(DB_RETRIEVE_ERR_MSG);
 			verifyNoMoreInteractions(coinManager);
 			verifyNoMoreInteractions(view);
@@ -288,7 +292,7 @@ public class CoinPresenterTestCase {
 
 			presenter.addCoin(COIN_1);
 
-			inOrder.verify(coinManager).findAllCoins();
+			inOrder.verify(coinManager).findAllCoinSummaries();
 			inOrder.verify(albumManager).findAllAlbums();
 			inOrder.verify(albumManager).findAlbumById(UUID_ALBUM_1);
 			inOrder.verify(coinManager).addCoin(COIN_1);
@@ -307,7 +311,7 @@ public class CoinPresenterTestCase {
 
 			presenter.addCoin(COIN_1);
 
-			inOrder.verify(coinManager).findAllCoins();
+			inOrder.verify(coinManager).findAllCoinSummaries();
 			inOrder.verify(albumManager).findAllAlbums();
 			inOrder.verify(albumManager).findAlbumById(UUID_ALBUM_1);
 			inOrder.verify(coinManager).addCoin(COIN_1);
@@ -325,7 +329,7 @@ public class CoinPresenterTestCase {
 
 			presenter.addCoin(COIN_1);
 
-			inOrder.verify(coinManager).findAllCoins();
+			inOrder.verify(coinManager).findAllCoinSummaries();
 			inOrder.verify(albumManager).findAllAlbums();
 			inOrder.verify(albumManager).findAlbumById(UUID_ALBUM_1);
 			inOrder.verify(coinManager).addCoin(COIN_1);
@@ -337,15 +341,15 @@ public class CoinPresenterTestCase {
 		@Test
 		@DisplayName("Test when manager throws duplicated coin exception")
 		void testAddCoinCallViewErrorIfManagerThrowsDuplicatedCoinException() {
-			List<Coin> list = Arrays.asList(COIN_1, COIN_2);
-			when(coinManager.findAllCoins()).thenReturn(list);
+			List<CoinSummary> list = Arrays.asList(CoinSummary.of(COIN_1), CoinSummary.of(COIN_2));
+			when(coinManager.findAllCoinSummaries()).thenReturn(list);
 			when(coinManager.addCoin(COIN_1)).thenThrow(DuplicateCoinException.class);
 
 			InOrder inOrder = inOrder(view, coinManager, albumManager);
 
 			presenter.addCoin(COIN_1);
 
-			inOrder.verify(coinManager).findAllCoins();
+			inOrder.verify(coinManager).findAllCoinSummaries();
 			inOrder.verify(albumManager).findAllAlbums();
 			inOrder.verify(albumManager).findAlbumById(UUID_ALBUM_1);
 			inOrder.verify(coinManager).addCoin(COIN_1);
@@ -366,7 +370,7 @@ public class CoinPresenterTestCase {
 
 			presenter.addCoin(COIN_1);
 
-			inOrder.verify(coinManager).findAllCoins();
+			inOrder.verify(coinManager).findAllCoinSummaries();
 			inOrder.verify(albumManager).findAllAlbums();
 			inOrder.verify(albumManager).findAlbumById(UUID_ALBUM_1);
 			inOrder.verify(view).showError(ALBUM_NOT_FOUND_MSG);
@@ -386,7 +390,7 @@ public class CoinPresenterTestCase {
 
 			presenter.deleteCoin(COIN_1);
 
-			inOrder.verify(coinManager).findAllCoins();
+			inOrder.verify(coinManager).findAllCoinSummaries();
 			inOrder.verify(coinManager).deleteCoin(COIN_1);
 			inOrder.verify(view).coinDeleted(COIN_1);
 			inOrder.verify(view).showSuccess(COIN_REMOVED_PREFIX + COIN_1.toString());
@@ -403,7 +407,7 @@ public class CoinPresenterTestCase {
 
 			presenter.deleteCoin(COIN_1);
 
-			inOrder.verify(coinManager).findAllCoins();
+			inOrder.verify(coinManager).findAllCoinSummaries();
 			inOrder.verify(coinManager).deleteCoin(COIN_1);
 			inOrder.verify(view).showError(DB_RETRIEVE_ERR_MSG);
 			verifyNoMoreInteractions(coinManager);
@@ -413,15 +417,15 @@ public class CoinPresenterTestCase {
 		@Test
 		@DisplayName("Test when manager throws coin not found exception")
 		void testDeleteCoinCallViewErrorIfManagerThrowsCoinNotFoundException() {
-			List<Coin> list = Arrays.asList(COIN_2);
-			when(coinManager.findAllCoins()).thenReturn(list);
+			List<CoinSummary> list = Arrays.asList(CoinSummary.of(COIN_2));
+			when(coinManager.findAllCoinSummaries()).thenReturn(list);
 			doThrow(CoinNotFoundException.class).when(coinManager).deleteCoin(COIN_1);
 
 			InOrder inOrder = inOrder(view, coinManager);
 
 			presenter.deleteCoin(COIN_1);
 
-			inOrder.verify(coinManager).findAllCoins();
+			inOrder.verify(coinManager).findAllCoinSummaries();
 			inOrder.verify(coinManager).deleteCoin(COIN_1);
 			inOrder.verify(view).showError(COIN_NOT_FOUND_MSG);
 			inOrder.verify(view).showAllCoins(list);
@@ -446,7 +450,7 @@ public class CoinPresenterTestCase {
 
 			presenter.moveCoin(COIN_1, spiedAlbum);
 
-			inOrder.verify(coinManager).findAllCoins();
+			inOrder.verify(coinManager).findAllCoinSummaries();
 			inOrder.verify(spiedAlbum).getId();
 			inOrder.verify(albumManager).findAlbumById(UUID_ALBUM_1);
 			inOrder.verify(albumManager).findAlbumById(UUID_ALBUM_2);
@@ -470,7 +474,7 @@ public class CoinPresenterTestCase {
 
 			presenter.moveCoin(COIN_1, spiedAlbum);
 
-			inOrder.verify(coinManager).findAllCoins();
+			inOrder.verify(coinManager).findAllCoinSummaries();
 			inOrder.verify(spiedAlbum).getId();
 			inOrder.verify(albumManager).findAlbumById(UUID_ALBUM_1);
 			inOrder.verify(albumManager).findAlbumById(UUID_ALBUM_2);
@@ -493,7 +497,7 @@ public class CoinPresenterTestCase {
 
 			presenter.moveCoin(COIN_1, spiedAlbum);
 
-			inOrder.verify(coinManager).findAllCoins();
+			inOrder.verify(coinManager).findAllCoinSummaries();
 			inOrder.verify(spiedAlbum).getId();
 			inOrder.verify(albumManager).findAlbumById(UUID_ALBUM_1);
 			inOrder.verify(albumManager).findAlbumById(UUID_ALBUM_2);
@@ -506,8 +510,8 @@ public class CoinPresenterTestCase {
 		@Test
 		@DisplayName("Test when manager throws coin not found exception")
 		void testMoveCoinCallViewErrorIfManagerThrowsCoinNotFoundException() {
-			List<Coin> list = Arrays.asList(COIN_2);
-			when(coinManager.findAllCoins()).thenReturn(list);
+			List<CoinSummary> list = Arrays.asList(CoinSummary.of(COIN_2));
+			when(coinManager.findAllCoinSummaries()).thenReturn(list);
 			Album spiedAlbum = spy(ALBUM_2);
 			when(spiedAlbum.getId()).thenReturn(UUID_ALBUM_2);
 			when(albumManager.findAlbumById(UUID_ALBUM_1)).thenReturn(ALBUM_1);
@@ -518,7 +522,7 @@ public class CoinPresenterTestCase {
 
 			presenter.moveCoin(COIN_1, spiedAlbum);
 
-			inOrder.verify(coinManager).findAllCoins();
+			inOrder.verify(coinManager).findAllCoinSummaries();
 			inOrder.verify(spiedAlbum).getId();
 			inOrder.verify(albumManager).findAlbumById(UUID_ALBUM_1);
 			inOrder.verify(albumManager).findAlbumById(UUID_ALBUM_2);
@@ -543,7 +547,7 @@ public class CoinPresenterTestCase {
 
 			presenter.moveCoin(COIN_1, spiedAlbum);
 
-			inOrder.verify(coinManager).findAllCoins();
+			inOrder.verify(coinManager).findAllCoinSummaries();
 			inOrder.verify(albumManager).findAllAlbums();
 			inOrder.verify(spiedAlbum).getId();
 			inOrder.verify(albumManager).findAlbumById(UUID_ALBUM_1);
@@ -556,6 +560,48 @@ public class CoinPresenterTestCase {
 		}
 	}
 
+	@Nested
+	@DisplayName("Tests for CoinPresenter::changed method")
+	class Changed {
+		@Test
+		@DisplayName("Test when the coin has been inserted or updated should show its new state")
+		void testChangedCallViewWithTheNewStateIfInsertedOrUpdated() {
+			presenter.changed(new Change<>(Change.Type.INSERT, UUID_COIN_1, COIN_1));
+			presenter.changed(new Change<>(Change.Type.UPDATE, UUID_COIN_1, COIN_1));
+
+			verify(view, times(2)).coinChanged(COIN_1);
+			verifyNoMoreInteractions(coinManager);
+			verifyNoMoreInteractions(albumManager);
+			verifyNoMoreInteractions(view);
+		}
+
+		@Test
+		@DisplayName("Test when the coin has been deleted should remove it")
+		void testChangedCallViewWithTheIdIfDeleted() {
+			presenter.changed(new Change<>(Change.Type.DELETE, UUID_COIN_1, null));
+
+			verify(view).coinRemoved(UUID_COIN_1);
+			verifyNoMoreInteractions(coinManager);
+			verifyNoMoreInteractions(albumManager);
+			verifyNoMoreInteractions(view);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for CoinPresenter::resynchronize method")
+	class Resynchronize {
+		@Test
+		@DisplayName("Test that all coins are retrieved again")
+		void testResynchronizeShowsAllCoinsAgain() {
+			List<CoinSummary> list = Arrays.asList(CoinSummary.of(COIN_1), CoinSummary.of(COIN_2));
+			when(coinManager.findAllCoinSummaries()).thenReturn(list);
+
+			presenter.resynchronize();
+
+			verify(view).showAllCoins(list);
+		}
+	}
+
 	@AfterEach
 	void cleanTestCase() throws Exception {
 		closeable.close();
@@ -29,6 +29,7 @@ import org.mockito.MockitoAnnotations;
 
 import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Coin;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinSummary;
 import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
 import io.github.kevinmaggi.coin_collection_manager.ui.presenter.AlbumPresenter;
 import io.github.kevinmaggi.coin_collection_manager.ui.presenter.CoinPresenter;
@@ -263,6 +264,66 @@ public class SwingViewTestCase extends AssertJSwingJUnitTestCase {
 				ALBUM_PRE.getLocation() + " with " + ALBUM_PRE.getOccupiedSlots() + "/" + ALBUM_PRE.getNumberOfSlots() + " slots occupied"));
 	}
 
+	@Test @GUITest
+	public void testAlbumChangedShouldReplaceItInListsAndUpdateLabelIfSelected() {
+		Album spiedAlbum = spy(ALBUM_PRE);
+		when(spiedAlbum.getId()).thenReturn(UUID_ALBUM_PRE);
+		Album changedAlbum = spy(new Album("Pre-euro", 1, "Cassetto", 50, 2));
+		when(changedAlbum.getId()).thenReturn(UUID_ALBUM_PRE);
+		GuiActionRunner.execute(() -> {
+			view.getAlbumListModel().addElement(spiedAlbum);
+			view.getCoinFormAlbumModel().addElement(spiedAlbum);
+		});
+		window.list("albumList").selectItem(spiedAlbum.toString());
+
+		view.albumChanged(changedAlbum);
+
+		assertThat(window.list("albumList").contents()).containsExactly(changedAlbum.toString());
+		assertThat(window.comboBox("coinFormAlbum").contents()).containsExactly(changedAlbum.toString());
+		window.label(JLabelMatcher.withName("albumSelection").andText("Pre-euro volume 1 located in Cassetto with 2/50 slots occupied"));
+	}
+
+	@Test @GUITest
+	public void testAlbumChangedShouldAddItToListsIfNewAndDoNotSelectItemInComboBox() {
+		Album spiedAlbum = spy(ALBUM_PRE);
+		when(spiedAlbum.getId()).thenReturn(UUID_ALBUM_PRE);
+
+		view.albumChanged(spiedAlbum);
+
+		assertThat(window.list("albumList").contents()).containsExactly(spiedAlbum.toString());
+		assertThat(window.comboBox("coinFormAlbum").contents()).containsExactly(spiedAlbum.toString());
+		assertThat(window.comboBox("coinFormAlbum").selectedItem()).isNull();
+	}
+
+	@Test @GUITest
+	public void testAlbumChangedShouldNotAddItToSearchResults() {
+		Album spiedAlbum = spy(ALBUM_PRE);
+		when(spiedAlbum.getId()).thenReturn(UUID_ALBUM_PRE);
+		Album spiedOther = spy(ALBUM_COMM_1);
+		when(spiedOther.getId()).thenReturn(UUID_ALBUM_COMM_1);
+		view.showSearchedAlbum(spiedOther, "2€ commemorative vol.1");
+
+		view.albumChanged(spiedAlbum);
+
+		assertThat(window.list("albumList").contents()).containsExactly(spiedOther.toString());
+		assertThat(window.comboBox("coinFormAlbum").contents()).contains(spiedAlbum.toString());
+	}
+
+	@Test @GUITest
+	public void testAlbumRemovedShouldRemoveFromLists() {
+		Album spiedAlbum = spy(ALBUM_PRE);
+		when(spiedAlbum.getId()).thenReturn(UUID_ALBUM_PRE);
+		GuiActionRunner.execute(() -> {
+			view.getAlbumListModel().addElement(spiedAlbum);
+			view.getCoinFormAlbumModel().addElement(spiedAlbum);
+		});
+
+		view.albumRemoved(UUID_ALBUM_PRE);
+
+		assertThat(window.list("albumList").contents()).isEmpty();
+		assertThat(window.comboBox("coinFormAlbum").contents()).isEmpty();
+	}
+
 	/////////////// Test view methods implementation related to coins
 	@Test @GUITest
 	public void testShowAllCoinsShouldUpdateListLabelSearchingAndAlbumSelection() {
@@ -271,7 +332,7 @@ public class SwingViewTestCase extends AssertJSwingJUnitTestCase {
 		});
 		window.list("albumList").selectItem(ALBUM_PRE.toString());
 
-		List<Coin> list = Arrays.asList(COIN_COMM_1, COIN_COMM_2, COIN_PRE);
+		List<CoinSummary> list = Arrays.asList(CoinSummary.of(COIN_COMM_1), CoinSummary.of(COIN_COMM_2), CoinSummary.of(COIN_PRE));
 
 		view.showAllCoins(list);
 
@@ -294,7 +355,7 @@ public class SwingViewTestCase extends AssertJSwingJUnitTestCase {
 
 		String SEARCHING_KEY = "2€";
 
-		List<Coin> coins = Arrays.asList(COIN_COMM_1, COIN_COMM_2);
+		List<CoinSummary> coins = Arrays.asList(CoinSummary.of(COIN_COMM_1), CoinSummary.of(COIN_COMM_2));
 
 		view.showSearchedCoins(coins, SEARCHING_KEY);
 
@@ -308,7 +369,7 @@ public class SwingViewTestCase extends AssertJSwingJUnitTestCase {
 
 	@Test @GUITest
 	public void testShowCoinInAlbumShouldShowThemInListAndModifyTheLabel() {
-		List<Coin> coins = Arrays.asList(COIN_COMM_1, COIN_COMM_2);
+		List<CoinSummary> coins = Arrays.asList(CoinSummary.of(COIN_COMM_1), CoinSummary.of(COIN_COMM_2));
 
 		view.showCoinsInAlbum(coins, ALBUM_COMM_1);
 
@@ -348,7 +409,7 @@ public class SwingViewTestCase extends AssertJSwingJUnitTestCase {
 
 	@Test @GUITest
 	public void testCoinDeletedShouldRemoveFromList() {
-		GuiActionRunner.execute(() -> view.getCoinListModel().addElement(COIN_PRE));
+		GuiActionRunner.execute(() -> view.getCoinListModel().addElement(CoinSummary.of(COIN_PRE)));
 
 		view.coinDeleted(COIN_PRE);
 
@@ -359,7 +420,7 @@ public class SwingViewTestCase extends AssertJSwingJUnitTestCase {
 
 	@Test @GUITest
 	public void testMovedCoinShouldUpdateListLabel() {
-		GuiActionRunner.execute(() -> view.getCoinListModel().addElement(COIN_COMM_1));
+		GuiActionRunner.execute(() -> view.getCoinListModel().addElement(CoinSummary.of(COIN_COMM_1)));
 
 		view.coinMoved(COIN_COMM_1, ALBUM_COMM_1, ALBUM_COMM_2);
 
@@ -371,6 +432,67 @@ public class SwingViewTestCase extends AssertJSwingJUnitTestCase {
 				ALBUM_COMM_2.getVolume() + " (Grade: " + COIN_COMM_1.getGrade().getMeaning() + ") [note: " + COIN_COMM_1.getNote() + "]"));
 	}
 
+	@Test @GUITest
+	public void testCoinChangedShouldAddItToTheListIfAllCoinsAreShown() {
+		Coin spiedCoin = spy(COIN_PRE);
+		when(spiedCoin.getId()).thenReturn(UUID_COIN_PRE);
+		view.showAllCoins(Arrays.asList(CoinSummary.of(COIN_COMM_1)));
+
+		view.coinChanged(spiedCoin);
+
+		assertThat(window.list("coinList").contents()).containsExactly(COIN_COMM_1.toString(), COIN_PRE.toString());
+	}
+
+	@Test @GUITest
+	public void testCoinChangedShouldReplaceItInTheListIfShown() {
+		Coin spiedCoin = spy(COIN_PRE);
+		when(spiedCoin.getId()).thenReturn(UUID_COIN_PRE);
+		Coin changedCoin = spy(new Coin(Grade.AG, "IT", Year.of(1995), "500 Lire", "scratched", UUID_ALBUM_PRE));
+		when(changedCoin.getId()).thenReturn(UUID_COIN_PRE);
+		view.showAllCoins(Arrays.asList(CoinSummary.of(spiedCoin)));
+
+		view.coinChanged(changedCoin);
+
+		assertThat(window.list("coinList").contents()).containsExactly(changedCoin.toString());
+	}
+
+	@Test @GUITest
+	public void testCoinChangedShouldRemoveItFromTheListIfMovedOutOfTheShownAlbum() {
+		Album spiedAlbum = spy(ALBUM_PRE);
+		when(spiedAlbum.getId()).thenReturn(UUID_ALBUM_PRE);
+		Coin spiedCoin = spy(COIN_PRE);
+		when(spiedCoin.getId()).thenReturn(UUID_COIN_PRE);
+		Coin movedCoin = spy(new Coin(Grade.AG, "IT", Year.of(1995), "500 Lire", "", UUID_ALBUM_COMM_1));
+		when(movedCoin.getId()).thenReturn(UUID_COIN_PRE);
+		view.showCoinsInAlbum(Arrays.asList(CoinSummary.of(spiedCoin)), spiedAlbum);
+
+		view.coinChanged(movedCoin);
+
+		assertThat(window.list("coinList").contents()).isEmpty();
+	}
+
+	@Test @GUITest
+	public void testCoinChangedShouldNotAddItToSearchResults() {
+		Coin spiedCoin = spy(COIN_PRE);
+		when(spiedCoin.getId()).thenReturn(UUID_COIN_PRE);
+		view.showSearchedCoins(Arrays.asList(CoinSummary.of(COIN_COMM_1)), "2€");
+
+		view.coinChanged(spiedCoin);
+
+		assertThat(window.list("coinList").contents()).containsExactly(COIN_COMM_1.toString());
+	}
+
+	@Test @GUITest
+	public void testCoinRemovedShouldRemoveFromList() {
+		Coin spiedCoin = spy(COIN_PRE);
+		when(spiedCoin.getId()).thenReturn(UUID_COIN_PRE);
+		GuiActionRunner.execute(() -> view.getCoinListModel().addElement(CoinSummary.of(spiedCoin)));
+
+		view.coinRemoved(UUID_COIN_PRE);
+
+		assertThat(window.list("coinList").contents()).isEmpty();
+	}
+
 	/////////////// Test GUI logic related to albums
 	@Test @GUITest
 	public void testAlbumFormButtonEnablerShouldEnableWhenFieldsAreCompiledWithCorrectFormat() {
@@ -775,11 +897,11 @@ public class SwingViewTestCase extends AssertJSwingJUnitTestCase {
 
 	@Test @GUITest
 	public void testSelectCoinShouldCallPresenter() {
-		Coin spiedCoin = spy(COIN_PRE);
-		when(spiedCoin.getId()).thenReturn(UUID_COIN_PRE);
+		CoinSummary summary = new CoinSummary(UUID_COIN_PRE, COIN_PRE.getGrade(), COIN_PRE.getCountry(), COIN_PRE.getMintingYear(),
+				COIN_PRE.getDescription(), COIN_PRE.getNote(), COIN_PRE.getAlbum());
 
 		GuiActionRunner.execute(() -> {
-			view.getCoinListModel().addElement(spiedCoin);
+			view.getCoinListModel().addElement(summary);
 		});
 
 		window.list("coinList").selectItem(0);
@@ -790,7 +912,7 @@ public class SwingViewTestCase extends AssertJSwingJUnitTestCase {
 	@Test @GUITest
 	public void testDeselectCoinShouldClearLabelAndDisableButtons() {
 		GuiActionRunner.execute(() -> {
-			view.getCoinListModel().addElement(COIN_PRE);
+			view.getCoinListModel().addElement(CoinSummary.of(COIN_PRE));
 		});
 
 		window.list("coinList").selectItem(0);
@@ -804,11 +926,11 @@ public class SwingViewTestCase extends AssertJSwingJUnitTestCase {
 	@Test @GUITest
 	public void testDeleteCoinButtonShouldCallPresenter() {
 		GuiActionRunner.execute(() -> {
-			view.getCoinListModel().addElement(COIN_PRE);
-			view.getCoinDeleteButton().setEnabled(true);
+			view.getCoinListModel().addElement(CoinSummary.of(COIN_PRE));
 		});
 
 		window.list("coinList").item(COIN_PRE.toString()).select();
+		view.showCoin(COIN_PRE, ALBUM_PRE);
 		window.button(JButtonMatcher.withText("Delete coin")).click();
 
 		verify(coinPresenter, Mockito.timeout(TIMEOUT)).deleteCoin(COIN_PRE);
@@ -817,13 +939,13 @@ public class SwingViewTestCase extends AssertJSwingJUnitTestCase {
 	@Test @GUITest
 	public void testMoveCoinButtonShouldShowDialogAndCallPresenterIfNotBlank() {
 		GuiActionRunner.execute(() -> {
-			view.getCoinListModel().addElement(COIN_COMM_1);
+			view.getCoinListModel().addElement(CoinSummary.of(COIN_COMM_1));
 			view.getCoinFormAlbumModel().addElement(ALBUM_COMM_2);
 			view.getCoinFormAlbumModel().addElement(ALBUM_COMM_1);
-			view.getCoinMoveButton().setEnabled(true);
 		});
 
 		window.list("coinList").item(COIN_COMM_1.toString()).select();
+		view.showCoin(COIN_COMM_1, ALBUM_COMM_1);
 		window.button(JButtonMatcher.withText("Move coin")).click();
 
 		window.dialog().label(JLabelMatcher.withText("New album:"));
@@ -837,13 +959,13 @@ public class SwingViewTestCase extends AssertJSwingJUnitTestCase {
 	@Test @GUITest
 	public void testMoveCoinButtonShouldShowDialogAndNotCallPresenterIfBlank() {
 		GuiActionRunner.execute(() -> {
-			view.getCoinListModel().addElement(COIN_COMM_1);
+			view.getCoinListModel().addElement(CoinSummary.of(COIN_COMM_1));
 			view.getCoinFormAlbumModel().addElement(ALBUM_COMM_2);
 			view.getCoinFormAlbumModel().addElement(ALBUM_COMM_1);
-			view.getCoinMoveButton().setEnabled(true);
 		});
 
 		window.list("coinList").item(COIN_COMM_1.toString()).select();
+		view.showCoin(COIN_COMM_1, ALBUM_COMM_1);
 		window.button(JButtonMatcher.withText("Move coin")).click();
 
 		window.dialog().label(JLabelMatcher.withText("New album:"));
@@ -856,13 +978,13 @@ public class SwingViewTestCase extends AssertJSwingJUnitTestCase {
 	@Test @GUITest
 	public void testMoveCoinButtonShouldShowDialogAndNotCallPresenterIfCancel() {
 		GuiActionRunner.execute(() -> {
-			view.getCoinListModel().addElement(COIN_COMM_1);
+			view.getCoinListModel().addElement(CoinSummary.of(COIN_COMM_1));
 			view.getCoinFormAlbumModel().addElement(ALBUM_COMM_2);
 			view.getCoinFormAlbumModel().addElement(ALBUM_COMM_1);
-			view.getCoinMoveButton().setEnabled(true);
 		});
 
 		window.list("coinList").item(COIN_COMM_1.toString()).select();
+		view.showCoin(COIN_COMM_1, ALBUM_COMM_1);
 		window.button(JButtonMatcher.withText("Move coin")).click();
 
 		window.dialog().label(JLabelMatcher.withText("New album:"));
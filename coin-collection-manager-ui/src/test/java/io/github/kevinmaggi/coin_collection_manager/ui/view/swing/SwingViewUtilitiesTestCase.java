@@ -1,8 +1,13 @@
 package io.github.kevinmaggi.coin_collection_manager.ui.view.swing;
 
 import static io.github.kevinmaggi.coin_collection_manager.ui.view.swing.SwingViewUtilities.comboBoxToArray;
+import static io.github.kevinmaggi.coin_collection_manager.ui.view.swing.SwingViewUtilities.indexOfId;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.Year;
+import java.util.UUID;
+
+import javax.swing.DefaultListModel;
 import javax.swing.JComboBox;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +15,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import io.github.kevinmaggi.coin_collection_manager.core.model.Album;
+import io.github.kevinmaggi.coin_collection_manager.core.model.CoinSummary;
+import io.github.kevinmaggi.coin_collection_manager.core.model.Grade;
 
 class SwingViewUtilitiesTestCase {
 
@@ -49,4 +56,24 @@ class SwingViewUtilitiesTestCase {
 
 		assertThat(array).containsExactly((Album)null, album1, album2);
 	}
+
+	@Test
+	@DisplayName("Test when the list model contains an element with the id should return its index")
+	void testIndexOfIdWhenContainsTheId() {
+		UUID id = UUID.fromString("123e4567-e89b-12d3-a456-426614174002");
+		DefaultListModel<CoinSummary> model = new DefaultListModel<>();
+		model.addElement(new CoinSummary(UUID.fromString("123e4567-e89b-12d3-a456-426614174001"), Grade.AG, "IT", Year.of(1995), "500 Lire", "", null));
+		model.addElement(new CoinSummary(id, Grade.G, "IT", Year.of(1995), "1000 Lire", "", null));
+
+		assertThat(indexOfId(model, CoinSummary::getId, id)).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Test when the list model doesn't contain any element with the id should return -1")
+	void testIndexOfIdWhenDoesNotContainTheId() {
+		DefaultListModel<CoinSummary> model = new DefaultListModel<>();
+		model.addElement(new CoinSummary(UUID.fromString("123e4567-e89b-12d3-a456-426614174001"), Grade.AG, "IT", Year.of(1995), "500 Lire", "", null));
+
+		assertThat(indexOfId(model, CoinSummary::getId, UUID.fromString("123e4567-e89b-12d3-a456-426614174002"))).isEqualTo(-1);
+	}
 }